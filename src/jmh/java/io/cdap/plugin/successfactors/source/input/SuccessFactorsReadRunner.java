@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.input;
+
+import com.google.gson.Gson;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.successfactors.common.util.SuccessFactorsUtil;
+import io.cdap.plugin.successfactors.source.SuccessFactorsSource;
+import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
+import io.cdap.plugin.successfactors.source.service.SuccessFactorsService;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsReadMetrics;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.Counters;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.StatusReporter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.JobContextImpl;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a {@code SuccessFactorsSimulator} entity end to end, the way a pipeline run does: the job configuration is
+ * prepared as in {@code SuccessFactorsSource}, then every split of {@code SuccessFactorsInputFormat} is read through
+ * its {@code SuccessFactorsRecordReader}, over HTTP. Reports the records per second, the page latency percentiles,
+ * the number of requests by kind and HTTP status and the {@code SuccessFactorsReadMetrics} of the readers.
+ * <p>
+ * The simulator and the plugin are configured with system properties, e.g.:
+ * mvn -P jmh test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.cdap.plugin.successfactors.source.input.SuccessFactorsReadRunner
+ * -Dsimulator.rows=200000 -Dsimulator.columns=STRING:8,DECIMAL:4,DATETIME:4 -Dsimulator.latencyMillis=50
+ * -Dsimulator.throttleRate=0.01 -Dreader.recordDecoder=streaming -Dreader.parallelPageRequests=4
+ * <p>
+ * Simulator properties: 'simulator.rows', 'simulator.columns' (comma separated TYPE:COUNT of
+ * {@code SuccessFactorsSimulator.ColumnType}), 'simulator.serverPageSize', 'simulator.latencyMillis',
+ * 'simulator.maxLatencyMillis', 'simulator.throttleRate', 'simulator.serverErrorRate'.
+ * <p>
+ * Plugin properties: 'reader.paginationType', 'reader.recordDecoder', 'reader.batchSize', 'reader.splitSize',
+ * 'reader.targetSplitCount', 'reader.prefetchDepth', 'reader.parallelPageRequests', 'reader.responseCompression',
+ * and 'reader.splitThreads', the number of splits read at the same time, as the executors of a pipeline would.
+ */
+public final class SuccessFactorsReadRunner {
+
+  private static final String CLIENT_SIDE = "clientSide";
+  private static final String SERVER_SIDE = "serverSide";
+
+  private SuccessFactorsReadRunner() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    try (SuccessFactorsSimulator simulator = buildSimulator().start()) {
+      SuccessFactorsPluginConfig pluginConfig = buildPluginConfig(simulator);
+      Configuration configuration = prepareJob(pluginConfig);
+      simulator.resetRequests();
+      // counters of all the split reads, as the counters of the tasks add up in a pipeline run
+      Counters counters = new Counters();
+
+      SuccessFactorsInputFormat inputFormat = new SuccessFactorsInputFormat();
+      List<InputSplit> splits = inputFormat.getSplits(new JobContextImpl(configuration, new JobID()));
+      int splitThreads = Integer.getInteger("reader.splitThreads", 1);
+      ExecutorService executor = Executors.newFixedThreadPool(splitThreads);
+      long startNanos = System.nanoTime();
+      long recordCount = 0;
+      try {
+        List<Future<Long>> splitReads = new ArrayList<>();
+        for (InputSplit split : splits) {
+          splitReads.add(executor.submit(() -> readSplit(inputFormat, split, configuration, counters)));
+        }
+        for (Future<Long> splitRead : splitReads) {
+          recordCount += splitRead.get();
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+      long elapsedNanos = System.nanoTime() - startNanos;
+
+      report(simulator, pluginConfig, counters, splits.size(), splitThreads, recordCount, elapsedNanos);
+      if (recordCount != simulator.getRowCount()) {
+        throw new IllegalStateException(String.format("Read %d records out of %d.", recordCount,
+                                                       simulator.getRowCount()));
+      }
+    }
+  }
+
+  private static SuccessFactorsSimulator buildSimulator() {
+    int latencyMillis = Integer.getInteger("simulator.latencyMillis", 0);
+    SuccessFactorsSimulator.Builder builder = SuccessFactorsSimulator.builder()
+      .rowCount(Long.getLong("simulator.rows", 100_000L))
+      .serverPageSize(Integer.getInteger("simulator.serverPageSize", 1000))
+      .latencyMillis(latencyMillis, Integer.getInteger("simulator.maxLatencyMillis", latencyMillis))
+      .throttleRate(Double.parseDouble(System.getProperty("simulator.throttleRate", "0")))
+      .serverErrorRate(Double.parseDouble(System.getProperty("simulator.serverErrorRate", "0")));
+    String columns = System.getProperty("simulator.columns", "STRING:4,INT64:2,DECIMAL:2,DATETIME:2,BOOLEAN:1");
+    for (String column : columns.split(",")) {
+      String[] typeAndCount = column.trim().split(":");
+      builder.columns(SuccessFactorsSimulator.ColumnType.valueOf(typeAndCount[0].trim().toUpperCase(Locale.ROOT)),
+                      typeAndCount.length > 1 ? Integer.parseInt(typeAndCount[1].trim()) : 1);
+    }
+    return builder.build();
+  }
+
+  private static SuccessFactorsPluginConfig buildPluginConfig(SuccessFactorsSimulator simulator) {
+    String batchSize = System.getProperty("reader.batchSize");
+    String splitSize = System.getProperty("reader.splitSize");
+    return SuccessFactorsPluginConfig.builder()
+      .referenceName("simulator")
+      .baseURL(simulator.getServiceUrl())
+      .entityName(simulator.getEntityName())
+      .username("simulator")
+      .password("simulator")
+      .authType("basicAuth")
+      .paginationType(System.getProperty("reader.paginationType", CLIENT_SIDE))
+      .setRecordDecoder(System.getProperty("reader.recordDecoder", SuccessFactorsPluginConfig.RECORD_DECODER_OLINGO))
+      .setBatchSize(batchSize == null ? null : Long.valueOf(batchSize))
+      .setSplitSize(splitSize == null ? null : Long.valueOf(splitSize))
+      .setTargetSplitCount(Integer.getInteger("reader.targetSplitCount"))
+      .setPrefetchDepth(Integer.getInteger("reader.prefetchDepth", SuccessFactorsPluginConfig.DEFAULT_PREFETCH_DEPTH))
+      .setParallelPageRequests(Integer.getInteger("reader.parallelPageRequests",
+                                                  SuccessFactorsPluginConfig.DEFAULT_PARALLEL_PAGE_REQUESTS))
+      .setResponseCompression(Boolean.getBoolean("reader.responseCompression"))
+      // the faults are injected on purpose, retry them quickly
+      .setInitialRetryDuration(1)
+      .setMaxRetryDuration(2)
+      .setRetryMultiplier(2)
+      .setMaxRetryCount(10)
+      .build();
+  }
+
+  /**
+   * Prepares the job configuration as {@code SuccessFactorsSource} does, for a single Server-side split or for the
+   * Client-side splits of {@code SuccessFactorsPartitionBuilder}.
+   */
+  private static Configuration prepareJob(SuccessFactorsPluginConfig pluginConfig) throws Exception {
+    SuccessFactorsService successFactorsService = SuccessFactorsUtil.getSuccessFactorsService(pluginConfig);
+    String metadataString = successFactorsService.getEncodedServiceMetadata();
+    Schema outputSchema = successFactorsService.buildOutputSchema();
+    long availableRowCount = successFactorsService.getTotalAvailableRowCount();
+
+    List<SuccessFactorsInputSplit> partitions;
+    if (SERVER_SIDE.equals(pluginConfig.getPaginationType())) {
+      partitions = Collections.singletonList(new SuccessFactorsInputSplit());
+    } else {
+      partitions = new SuccessFactorsPartitionBuilder(pluginConfig.getTargetSplitCount(), pluginConfig.getSplitSize(),
+                                                      pluginConfig.getBatchSize(), 0L)
+        .buildSplits(availableRowCount);
+    }
+
+    Gson gson = new Gson();
+    Configuration configuration = new Configuration(false);
+    configuration.set(SuccessFactorsInputFormat.SUCCESSFACTORS_PLUGIN_PROPERTIES, gson.toJson(pluginConfig));
+    configuration.set(SuccessFactorsInputFormat.PARTITIONS_PROPERTY, gson.toJson(partitions));
+    configuration.set(SuccessFactorsSource.OUTPUT_SCHEMA, outputSchema.toString());
+    configuration.set(SuccessFactorsInputFormat.ENCODED_ENTITY_METADATA_STRING, metadataString);
+    return configuration;
+  }
+
+  private static long readSplit(SuccessFactorsInputFormat inputFormat, InputSplit split,
+                                Configuration configuration, Counters counters) throws Exception {
+    TaskAttemptContext taskContext = new TaskAttemptContextImpl(configuration, new TaskAttemptID(),
+                                                                new CountersReporter(counters));
+    long recordCount = 0;
+    try (RecordReader<LongWritable, StructuredRecord> reader = inputFormat.createRecordReader(split, taskContext)) {
+      reader.initialize(split, taskContext);
+      while (reader.nextKeyValue()) {
+        if (reader.getCurrentValue() == null) {
+          throw new IllegalStateException("Record reader returned a null record.");
+        }
+        recordCount++;
+      }
+    }
+    return recordCount;
+  }
+
+  private static void report(SuccessFactorsSimulator simulator, SuccessFactorsPluginConfig pluginConfig,
+                             Counters counters, int splitCount, int splitThreads, long recordCount,
+                             long elapsedNanos) {
+    double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    long[] pageLatencies = simulator.getPageLatencies();
+    System.out.printf("Pagination: %s, record decoder: %s, splits: %d, split threads: %d, prefetch depth: %d, "
+                        + "parallel page requests: %d%n", pluginConfig.getPaginationType(),
+                      pluginConfig.getRecordDecoder(), splitCount, splitThreads, pluginConfig.getPrefetchDepth(),
+                      pluginConfig.getParallelPageRequests());
+    System.out.printf("Records: %d in %.3f s, %.0f records/s%n", recordCount, seconds, recordCount / seconds);
+    System.out.printf("Page latency: p50 %d ms, p99 %d ms, max %d ms over %d pages%n",
+                      percentile(pageLatencies, 0.50), percentile(pageLatencies, 0.99),
+                      percentile(pageLatencies, 1.0), pageLatencies.length);
+    for (Map.Entry<String, Long> requestCount : simulator.getRequestCounts().entrySet()) {
+      System.out.printf("Requests '%s': %d%n", requestCount.getKey(), requestCount.getValue());
+    }
+    for (Counter counter : counters.getGroup(SuccessFactorsReadMetrics.COUNTER_GROUP)) {
+      System.out.printf("Reader '%s': %d%n", counter.getName(), counter.getValue());
+    }
+  }
+
+  /**
+   * @return nearest-rank percentile of the given ascending values, 0 if there are none
+   */
+  private static long percentile(long[] sortedValues, double percentile) {
+    if (sortedValues.length == 0) {
+      return 0L;
+    }
+    int rank = (int) Math.ceil(percentile * sortedValues.length);
+    return sortedValues[Math.max(0, Math.min(sortedValues.length, rank) - 1)];
+  }
+
+  /**
+   * Hands the counters of a task over to the counters shared by all the split reads.
+   */
+  private static final class CountersReporter extends StatusReporter {
+    private final Counters counters;
+
+    private CountersReporter(Counters counters) {
+      this.counters = counters;
+    }
+
+    @Override
+    public Counter getCounter(Enum<?> name) {
+      return counters.findCounter(name);
+    }
+
+    @Override
+    public Counter getCounter(String group, String name) {
+      return counters.findCounter(group, name);
+    }
+
+    @Override
+    public void progress() {
+    }
+
+    @Override
+    public float getProgress() {
+      return 0f;
+    }
+
+    @Override
+    public void setStatus(String status) {
+    }
+  }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.io.ByteStreams;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
+import io.cdap.plugin.successfactors.source.transform.SuccessFactorsStreamingDecoder;
+import io.cdap.plugin.successfactors.source.transform.SuccessFactorsTransformer;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsResponseContainer;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsTransporter;
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Replays recorded OData v2 JSON pages and '$metadata' XML documents through the record read path, without any
+ * network call, as a baseline for the decoder changes:
+ * - olingoFeed: {@code SuccessFactorsService.readServiceEntityData()}, including the expanded entity filter when
+ * '$expand' is set, followed by {@code SuccessFactorsTransformer.buildCurrentRecord()} for each entry
+ * - streamingDecoder: {@code SuccessFactorsService.readServiceEntityRecords()}
+ * <p>
+ * Each operation is a single record, so the throughput is in records per second and the 'gc.alloc.rate.norm' of the
+ * GC profiler is in bytes allocated per record.
+ * <p>
+ * Run with: mvn -P jmh test-compile exec:exec -Djmh.include=SuccessFactorsReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuccessFactorsReadBenchmark {
+
+  private static final int RECORD_COUNT = 500;
+
+  /**
+   * Recorded metadata and page of an entity, with the '$expand' option read.
+   */
+  public enum Fixture {
+    // 9 properties, no navigation property
+    NARROW("successfactors-metadata2.xml", "successfactors-data.json", "Background_SpecialAssign", null, null),
+    // 34 properties, decimal and date heavy, the page is generated from the metadata
+    WIDE("successfactors-supported-datatype.xml", null, "EmployeePayrollRunResultsItems", null, null),
+    // navigation entities of 1 to * multiplicity, one and two levels deep
+    EXPAND_1("successfactors-metadata3.xml", "successfactors-data1.json", "Picklist", "picklistOptions",
+             "PicklistOption"),
+    EXPAND_2("successfactors-metadata3.xml", "successfactors-data1.json", "Picklist",
+             "picklistOptions/picklistLabels", "PicklistOption,PicklistLabel");
+
+    private final String metadataResource;
+    @Nullable
+    private final String pageResource;
+    private final String entityName;
+    @Nullable
+    private final String expandOption;
+    @Nullable
+    private final String associatedEntityName;
+
+    Fixture(String metadataResource, @Nullable String pageResource, String entityName,
+            @Nullable String expandOption, @Nullable String associatedEntityName) {
+      this.metadataResource = metadataResource;
+      this.pageResource = pageResource;
+      this.entityName = entityName;
+      this.expandOption = expandOption;
+      this.associatedEntityName = associatedEntityName;
+    }
+  }
+
+  @Param({"NARROW", "WIDE", "EXPAND_1", "EXPAND_2"})
+  public Fixture fixture;
+
+  private SuccessFactorsService service;
+  private Edm edm;
+  private Schema schema;
+  private SuccessFactorsTransformer transformer;
+
+  @Setup
+  public void setUp() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = SuccessFactorsPluginConfig.builder()
+      .baseURL("http://localhost/odata/v2")
+      .entityName(fixture.entityName)
+      .expandOption(fixture.expandOption)
+      .associateEntityName(fixture.associatedEntityName)
+      .username("test")
+      .password("secret")
+      .authType("basicAuth")
+      .paginationType("clientSide")
+      .build();
+
+    byte[] metadata = readResource(fixture.metadataResource);
+    ReplayTransporter transporter = new ReplayTransporter(pluginConfig, metadata);
+    service = new SuccessFactorsService(pluginConfig, transporter);
+    edm = service.getSuccessFactorsServiceEdm(Base64.getEncoder().encodeToString(metadata));
+    schema = service.buildOutputSchema();
+    transformer = new SuccessFactorsTransformer(schema);
+
+    ArrayNode records = fixture.pageResource == null
+      ? generateRecords(edm.getDefaultEntityContainer().getEntitySet(fixture.entityName).getEntityType())
+      : readRecords(readResource(fixture.pageResource));
+    transporter.page = buildPage(records);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void olingoFeed(Blackhole blackhole) throws Exception {
+    ODataFeed feed = service.readServiceEntityData(edm, 0L, (long) RECORD_COUNT);
+    for (ODataEntry entry : feed.getEntries()) {
+      blackhole.consume(transformer.buildCurrentRecord(entry));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void streamingDecoder(Blackhole blackhole) throws Exception {
+    try (SuccessFactorsStreamingDecoder decoder = service.readServiceEntityRecords(edm, schema, 0L,
+                                                                                   (long) RECORD_COUNT)) {
+      StructuredRecord record;
+      while ((record = decoder.nextRecord()) != null) {
+        blackhole.consume(record);
+      }
+    }
+  }
+
+  private static byte[] readResource(String name) throws IOException {
+    try (InputStream stream = SuccessFactorsReadBenchmark.class.getClassLoader().getResourceAsStream(name)) {
+      if (stream == null) {
+        throw new IOException(String.format("Fixture '%s' is not found.", name));
+      }
+      return ByteStreams.toByteArray(stream);
+    }
+  }
+
+  private static ArrayNode readRecords(byte[] page) throws IOException {
+    JsonNode results = new ObjectMapper().readTree(page).path("d").path("results");
+    if (!results.isArray() || results.size() == 0) {
+      throw new IOException("The recorded page holds no record.");
+    }
+    return (ArrayNode) results;
+  }
+
+  /**
+   * Generates a record holding a value for every simple property of the entity type.
+   */
+  private static ArrayNode generateRecords(EdmEntityType entityType) throws EdmException {
+    ObjectMapper mapper = new ObjectMapper();
+    ArrayNode records = mapper.createArrayNode();
+    for (int row = 0; row < 10; row++) {
+      ObjectNode record = records.addObject();
+      for (String name : entityType.getPropertyNames()) {
+        switch (entityType.getProperty(name).getType().getName()) {
+          case "DateTime":
+            record.put(name, "/Date(" + (1583107200000L + row * 86400000L) + ")/");
+            break;
+          case "DateTimeOffset":
+            record.put(name, "/Date(" + (1618796144000L + row * 1000L) + "+0000)/");
+            break;
+          case "Time":
+            record.put(name, "PT" + (row + 8) + "H30M");
+            break;
+          case "Decimal":
+            record.put(name, (1234 + row) + ".56");
+            break;
+          case "Int64":
+            record.put(name, String.valueOf(100000L + row));
+            break;
+          case "Int32":
+          case "Int16":
+          case "Byte":
+            record.put(name, row);
+            break;
+          case "Double":
+          case "Single":
+            record.put(name, row + 0.5d);
+            break;
+          case "Boolean":
+            record.put(name, row % 2 == 0);
+            break;
+          case "String":
+            record.put(name, name + " value " + row);
+            break;
+          default:
+            record.putNull(name);
+        }
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Repeats the given records into a page of {@code RECORD_COUNT} records.
+   */
+  private static byte[] buildPage(ArrayNode records) throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    ObjectNode page = mapper.createObjectNode();
+    ArrayNode results = page.putObject("d").putArray("results");
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      results.add(records.get(i % records.size()).deepCopy());
+    }
+    return mapper.writeValueAsBytes(page);
+  }
+
+  /**
+   * Answers every '$metadata' call with the recorded metadata and every other call with the page.
+   */
+  private static final class ReplayTransporter extends SuccessFactorsTransporter {
+    private static final String METADATA_PATH = "$metadata";
+    private final byte[] metadata;
+    private byte[] page;
+
+    private ReplayTransporter(SuccessFactorsPluginConfig pluginConfig, byte[] metadata) {
+      super(pluginConfig.getConnection());
+      this.metadata = metadata;
+    }
+
+    @Override
+    public SuccessFactorsResponseContainer callSuccessFactorsWithRetry(URL endpoint, String mediaType,
+                                                                       Map<String, String> requestHeaders,
+                                                                       int initialRetryDuration,
+                                                                       int maxRetryDuration, int retryMultiplier,
+                                                                       int maxRetryCount) {
+      return SuccessFactorsResponseContainer.builder()
+        .httpStatusCode(HttpURLConnection.HTTP_OK)
+        .httpStatusMsg("OK")
+        .dataServiceVersion("2.0")
+        .responseStream(endpoint.getPath().endsWith(METADATA_PATH) ? metadata : page)
+        .build();
+    }
+  }
+}
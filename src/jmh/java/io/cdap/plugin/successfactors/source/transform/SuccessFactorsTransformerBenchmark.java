@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
+import org.apache.olingo.odata2.core.ep.entry.ODataEntryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the compiled field plan of {@code SuccessFactorsTransformer} with the former per record schema walk.
+ * <p>
+ * Run with: mvn -P jmh test-compile exec:exec -Djmh.include=SuccessFactorsTransformerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuccessFactorsTransformerBenchmark {
+
+  private static final int RECORD_COUNT = 1000;
+
+  /**
+   * Number of fields of each type of the entity: string, long, decimal, datetime, timestamp and time.
+   */
+  @Param({"2", "8"})
+  public int width;
+
+  private SuccessFactorsTransformer transformer;
+  private LegacyTransformer legacyTransformer;
+  private List<ODataEntry> entries;
+
+  @Setup
+  public void setUp() {
+    Schema managerSchema = Schema.recordOf("manager",
+                                           Schema.Field.of("userId", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+                                           Schema.Field.of("email", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+    List<Schema.Field> fields = new ArrayList<>();
+    for (int i = 0; i < width; i++) {
+      fields.add(Schema.Field.of("string" + i, Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+      fields.add(Schema.Field.of("long" + i, Schema.nullableOf(Schema.of(Schema.Type.LONG))));
+      fields.add(Schema.Field.of("decimal" + i, Schema.nullableOf(Schema.decimalOf(16, 2))));
+      fields.add(Schema.Field.of("datetime" + i, Schema.nullableOf(Schema.of(Schema.LogicalType.DATETIME))));
+      fields.add(Schema.Field.of("timestamp" + i, Schema.nullableOf(Schema.of(Schema.LogicalType.TIMESTAMP_MICROS))));
+      fields.add(Schema.Field.of("time" + i, Schema.nullableOf(Schema.of(Schema.LogicalType.TIME_MICROS))));
+    }
+    fields.add(Schema.Field.of("manager", Schema.nullableOf(managerSchema)));
+    fields.add(Schema.Field.of("directReports", Schema.arrayOf(managerSchema)));
+    Schema schema = Schema.recordOf("User", fields);
+
+    transformer = new SuccessFactorsTransformer(schema);
+    legacyTransformer = new LegacyTransformer(schema);
+    entries = new ArrayList<>(RECORD_COUNT);
+    for (int row = 0; row < RECORD_COUNT; row++) {
+      entries.add(buildEntry(row));
+    }
+  }
+
+  private ODataEntry buildEntry(int row) {
+    GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+    calendar.setTimeInMillis(1_600_000_000_000L + row * 86_400_000L);
+
+    Map<String, Object> properties = new HashMap<>();
+    for (int i = 0; i < width; i++) {
+      properties.put("string" + i, "value " + row + "." + i);
+      properties.put("long" + i, (long) row * i);
+      properties.put("decimal" + i, BigDecimal.valueOf(row * 100L + i, 2));
+      properties.put("datetime" + i, calendar);
+      properties.put("timestamp" + i, calendar);
+      properties.put("time" + i, calendar);
+    }
+    Map<String, Object> manager = new HashMap<>();
+    manager.put("userId", "manager" + row);
+    manager.put("email", "manager" + row + "@example.com");
+    properties.put("manager", new ODataEntryImpl(manager, null, null, null));
+    properties.put("directReports", new ODataEntryImpl(new HashMap<>(manager), null, null, null));
+    return new ODataEntryImpl(properties, null, null, null);
+  }
+
+  @Benchmark
+  public void compiledPlan(Blackhole blackhole) {
+    for (ODataEntry entry : entries) {
+      blackhole.consume(transformer.buildCurrentRecord(entry));
+    }
+  }
+
+  @Benchmark
+  public void schemaWalk(Blackhole blackhole) {
+    for (ODataEntry entry : entries) {
+      blackhole.consume(legacyTransformer.buildCurrentRecord(entry));
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(SuccessFactorsTransformerBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  /**
+   * The transformation as it was before the compiled field plan, kept as the baseline of the comparison.
+   */
+  private static final class LegacyTransformer {
+    private final Schema recordSchema;
+
+    private LegacyTransformer(Schema recordSchema) {
+      this.recordSchema = recordSchema;
+    }
+
+    private StructuredRecord buildCurrentRecord(ODataEntry oDataEntry) {
+      return buildStructureRecord(recordSchema, oDataEntry);
+    }
+
+    private StructuredRecord buildStructureRecord(Schema recordSchema, ODataEntry oDataEntry) {
+      StructuredRecord.Builder recordBuilder = StructuredRecord.builder(recordSchema);
+      recordSchema.getFields().forEach(field -> {
+        String fieldName = field.getName();
+        Object value = oDataEntry.getProperties().get(fieldName);
+        Schema childSchema = field.getSchema();
+        if (childSchema.getType().equals(Schema.Type.ARRAY)) {
+          if (value == null) {
+            value = Collections.emptyList();
+          } else if (value instanceof ODataEntryImpl) {
+            value = Arrays.asList(buildStructureRecord(childSchema.getComponentSchema(), (ODataEntryImpl) value));
+          } else if (value instanceof ODataDeltaFeed) {
+            value = ((ODataDeltaFeed) value).getEntries().stream()
+              .map(entry -> buildStructureRecord(childSchema.getComponentSchema(), entry))
+              .collect(Collectors.toList());
+          }
+        } else if (!childSchema.getType().isSimpleType()) {
+          if (childSchema.getUnionSchema(0).getType().equals(Schema.Type.RECORD) && value != null) {
+            value = buildStructureRecord(childSchema.getUnionSchema(0), (ODataEntry) value);
+          }
+        }
+        if (value != null) {
+          processSchemaTypeValue(childSchema, recordBuilder, fieldName, value);
+        }
+      });
+      return recordBuilder.build();
+    }
+
+    private static void processSchemaTypeValue(Schema fieldSchema, StructuredRecord.Builder recordBuilder,
+                                               String fieldName, Object fieldValue) {
+      fieldSchema = fieldSchema.isNullable() ? fieldSchema.getNonNullable() : fieldSchema;
+      Schema.LogicalType logicalType = fieldSchema.getLogicalType();
+      if (logicalType == null) {
+        recordBuilder.set(fieldName, fieldValue);
+      } else if (logicalType == Schema.LogicalType.DECIMAL) {
+        recordBuilder.setDecimal(fieldName, new BigDecimal(String.valueOf(fieldValue))
+          .setScale(fieldSchema.getScale(), BigDecimal.ROUND_HALF_UP));
+      } else if (logicalType == Schema.LogicalType.DATETIME) {
+        LocalDateTime localDateTime = ((GregorianCalendar) fieldValue).toZonedDateTime().toLocalDateTime();
+        recordBuilder.setDateTime(fieldName, localDateTime);
+      } else if (logicalType == Schema.LogicalType.TIME_MICROS) {
+        LocalTime localTime = ((GregorianCalendar) fieldValue).toZonedDateTime().toLocalTime();
+        recordBuilder.setTime(fieldName, localTime);
+      } else if (logicalType == Schema.LogicalType.TIMESTAMP_MICROS) {
+        ZonedDateTime zonedDateTime = ((GregorianCalendar) fieldValue).toZonedDateTime();
+        recordBuilder.setTimestamp(fieldName, zonedDateTime);
+      }
+    }
+  }
+}
@@ -121,6 +121,8 @@ public class ExceptionParser {
 
     if (SuccessFactorsUtil.isNullOrEmpty(responseContainer.getDataServiceVersion())) {
       failureMessage += ResourceConstants.ERR_MISSING_DATASERVICE_VERSION.getMsgForKey();
+      // the successful body is never going to be read, release the streamed connection
+      responseContainer.close();
       throw new SuccessFactorsServiceException(failureMessage, NO_VERSION_FOUND);
     }
 
@@ -128,6 +130,7 @@ public class ExceptionParser {
       failureMessage += ResourceConstants.ERR_UNSUPPORTED_VERSION
         .getMsgForKey(responseContainer.getDataServiceVersion(), SUPPORTED_DATASERVICE_VERSION);
 
+      responseContainer.close();
       throw new SuccessFactorsServiceException(failureMessage, INVALID_VERSION_FOUND);
     }
   }
@@ -52,7 +52,14 @@ public enum ResourceConstants {
   ERR_METADATA_ENCODED_STRING("CDF_SAP_SUCCESSFACTORS_01504", "err.metadata.encoded.string"),
   ERR_METADATA_DECODE("CDF_SAP_SUCCESSFACTORS_01533", "err.metadata.decode"),
   ERR_RECORD_PULL("CDF_SAP_SUCCESSFACTORS_01536", "err.record.pull"),
-  ERR_RECORD_PROCESSING("CDF_SAP_SUCCESSFACTORS_01537", "err.record.processing");
+  ERR_RECORD_PROCESSING("CDF_SAP_SUCCESSFACTORS_01537", "err.record.processing"),
+  ERR_PARTITION_COLUMN("CDF_SAP_SUCCESSFACTORS_01538", "err.partition.column"),
+  ERR_PARTITION_BOUNDARY("CDF_SAP_SUCCESSFACTORS_01539", "err.partition.boundary"),
+  ERR_KEYSET_COLUMN("CDF_SAP_SUCCESSFACTORS_01540", "err.keyset.column"),
+  ERR_KEYSET_VALUE("CDF_SAP_SUCCESSFACTORS_01541", "err.keyset.value"),
+  ERR_INCREMENTAL_COLUMN("CDF_SAP_SUCCESSFACTORS_01542", "err.incremental.column"),
+  ERR_WATERMARK_STORE("CDF_SAP_SUCCESSFACTORS_01543", "err.watermark.store"),
+  ERR_KEYSET_UNIQUE("CDF_SAP_SUCCESSFACTORS_01544", "err.keyset.unique");
 
   private final String code;
   private final String key;
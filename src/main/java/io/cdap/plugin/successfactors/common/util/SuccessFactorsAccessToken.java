@@ -16,6 +16,7 @@
 
 package io.cdap.plugin.successfactors.common.util;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import io.cdap.plugin.successfactors.connector.SuccessFactorsConnectorConfig;
@@ -77,8 +78,13 @@ import java.security.PrivateKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
 import javax.xml.namespace.QName;
 
 
@@ -87,6 +93,13 @@ import javax.xml.namespace.QName;
  */
 public class SuccessFactorsAccessToken {
   private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsAccessToken.class);
+  // thread safe and pooled, shared by all the token calls of the JVM
+  private static final HttpClient HTTP_CLIENT = HttpClientBuilder.create().build();
+  // a signed assertion is renewed this long before it expires, at most half of its validity
+  private static final long ASSERTION_RENEW_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final ConcurrentMap<String, PrivateKey> PRIVATE_KEYS = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<AssertionKey, CachedAssertion> ASSERTIONS = new ConcurrentHashMap<>();
+  private static volatile boolean bootstrapped;
   private final SuccessFactorsConnectorConfig config;
   private final Gson gson = new Gson();
 
@@ -97,6 +110,9 @@ public class SuccessFactorsAccessToken {
 
   /**
    * Generates a signed SAML assertion for authentication purposes.
+   * <p>
+   * A signed assertion is reused for the same parameters until shortly before it expires, and the private key is
+   * parsed once per JVM, so that fetching an access token does not repeat the XML signature on every call.
    *
    * @param clientId            The client ID associated with the application.
    * @param username            The username of the user for whom the assertion is generated.
@@ -111,12 +127,22 @@ public class SuccessFactorsAccessToken {
                                                    String privateKeyString, int expireInMinutes,
                                                    boolean userUserNameAsUserId) {
 
+    String keyFingerprint = SuccessFactorsUtil.fingerprint(privateKeyString);
+    AssertionKey key = new AssertionKey(clientId, username, tokenUrl, keyFingerprint, expireInMinutes,
+                                        userUserNameAsUserId);
+    long now = System.currentTimeMillis();
+    CachedAssertion cached = ASSERTIONS.get(key);
+    if (cached != null && now < cached.renewAt) {
+      return cached.value;
+    }
+
     Assertion unsignedAssertion = buildDefaultAssertion(clientId, username, tokenUrl, expireInMinutes,
       userUserNameAsUserId);
-    PrivateKey privateKey = generatePrivateKey(privateKeyString);
+    PrivateKey privateKey = PRIVATE_KEYS.computeIfAbsent(keyFingerprint, k -> generatePrivateKey(privateKeyString));
     Assertion assertion = sign(unsignedAssertion, privateKey);
     String signedAssertion = getSAMLAssertionString(assertion);
 
+    ASSERTIONS.put(key, new CachedAssertion(signedAssertion, now, TimeUnit.MINUTES.toMillis(expireInMinutes)));
     return signedAssertion;
   }
 
@@ -135,7 +161,7 @@ public class SuccessFactorsAccessToken {
                                                  boolean userUserNameAsUserId) {
     try {
       DateTime currentTime = new DateTime();
-      DefaultBootstrap.bootstrap();
+      bootstrap();
 
       // Create the assertion and set Id, namespace etc.
       Assertion assertion = create(Assertion.class, Assertion.DEFAULT_ELEMENT_NAME);
@@ -215,6 +241,29 @@ public class SuccessFactorsAccessToken {
     }
   }
 
+  /**
+   * Initializes the OpenSAML library, only the first call of the JVM does the actual work.
+   *
+   * @throws ConfigurationException if the library could not be initialized
+   */
+  private static void bootstrap() throws ConfigurationException {
+    if (bootstrapped) {
+      return;
+    }
+    synchronized (SuccessFactorsAccessToken.class) {
+      if (!bootstrapped) {
+        DefaultBootstrap.bootstrap();
+        bootstrapped = true;
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static void clearCache() {
+    ASSERTIONS.clear();
+    PRIVATE_KEYS.clear();
+  }
+
   /**
    * helper method to create open saml objects.
    * @param cls   class type
@@ -349,8 +398,20 @@ public class SuccessFactorsAccessToken {
   }
 
   public String getAccessToken(String assertionToken) throws IOException {
-    HttpClient client = HttpClientBuilder.create().build();
+    Token token = requestAccessToken(assertionToken);
+    return token == null ? null : token.getValue();
+  }
 
+  /**
+   * Exchanges the given assertion for an access token at the token URL, along with the lifetime of the token when
+   * the response states it.
+   *
+   * @param assertionToken signed SAML assertion
+   * @return the access token or null if the response holds none
+   * @throws IOException any error while calling the token URL
+   */
+  @Nullable
+  public Token requestAccessToken(String assertionToken) throws IOException {
     // Build POST request
     HttpPost request = new HttpPost(URI.create(config.getTokenURL()));
 
@@ -369,8 +430,8 @@ public class SuccessFactorsAccessToken {
     request.setEntity(new StringEntity(body.toString()));
 
     // Execute request and get response
-    HttpResponse response = client.execute(request);
-    String accessToken = null;
+    HttpResponse response = HTTP_CLIENT.execute(request);
+    Token accessToken = null;
     JsonObject jsonObject = null;
 
     // Read response body
@@ -380,10 +441,93 @@ public class SuccessFactorsAccessToken {
 
         // Check if "access_token" is present in the JSON response
         if (jsonObject != null && jsonObject.has("access_token")) {
-          accessToken = jsonObject.get("access_token").getAsString();
+          Long expiresIn = jsonObject.has("expires_in") ? jsonObject.get("expires_in").getAsLong() : null;
+          accessToken = new Token(jsonObject.get("access_token").getAsString(), expiresIn);
         }
       }
     }
     return accessToken;
   }
+
+  /**
+   * Access token returned by the token URL.
+   */
+  public static final class Token {
+    private final String value;
+    private final Long expiresIn;
+
+    public Token(String value, @Nullable Long expiresIn) {
+      this.value = value;
+      this.expiresIn = expiresIn;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    /**
+     * @return lifetime of the token in seconds or null if the token URL did not state it
+     */
+    @Nullable
+    public Long getExpiresIn() {
+      return expiresIn;
+    }
+  }
+
+  /**
+   * Signed assertion along with the time it is renewed.
+   */
+  private static final class CachedAssertion {
+    private final String value;
+    private final long renewAt;
+
+    private CachedAssertion(String value, long signedAt, long validity) {
+      this.value = value;
+      this.renewAt = signedAt + validity - Math.min(ASSERTION_RENEW_MARGIN_MILLIS, validity / 2);
+    }
+  }
+
+  /**
+   * Identifies the parameters an assertion is signed for.
+   */
+  private static final class AssertionKey {
+    private final String clientId;
+    private final String username;
+    private final String tokenUrl;
+    private final String keyFingerprint;
+    private final int expireInMinutes;
+    private final boolean useUserNameAsUserId;
+
+    private AssertionKey(String clientId, String username, String tokenUrl, String keyFingerprint,
+                         int expireInMinutes, boolean useUserNameAsUserId) {
+      this.clientId = clientId;
+      this.username = username;
+      this.tokenUrl = tokenUrl;
+      this.keyFingerprint = keyFingerprint;
+      this.expireInMinutes = expireInMinutes;
+      this.useUserNameAsUserId = useUserNameAsUserId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      AssertionKey that = (AssertionKey) o;
+      return expireInMinutes == that.expireInMinutes
+        && useUserNameAsUserId == that.useUserNameAsUserId
+        && Objects.equals(clientId, that.clientId)
+        && Objects.equals(username, that.username)
+        && Objects.equals(tokenUrl, that.tokenUrl)
+        && Objects.equals(keyFingerprint, that.keyFingerprint);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(clientId, username, tokenUrl, keyFingerprint, expireInMinutes, useUserNameAsUserId);
+    }
+  }
 }
@@ -15,10 +15,13 @@
  */
 package io.cdap.plugin.successfactors.common.util;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
 import io.cdap.plugin.successfactors.source.service.SuccessFactorsService;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsTransporter;
 
+import java.nio.charset.StandardCharsets;
 import javax.annotation.Nullable;
 
 /**
@@ -97,8 +100,38 @@ public class SuccessFactorsUtil {
    * @return SuccessFactorsService instance
    */
   public static SuccessFactorsService getSuccessFactorsService(SuccessFactorsPluginConfig pluginConfig) {
-    SuccessFactorsTransporter transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
-    SuccessFactorsService successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    SuccessFactorsService successFactorsService = new SuccessFactorsService(pluginConfig,
+                                                                            getSuccessFactorsTransporter(pluginConfig));
     return successFactorsService;
   }
+
+  /**
+   * Get the SuccessFactorsTransporter instance configured with the plugin HTTP client tuning parameters.
+   *
+   * @param pluginConfig
+   * @return SuccessFactorsTransporter instance
+   */
+  public static SuccessFactorsTransporter getSuccessFactorsTransporter(SuccessFactorsPluginConfig pluginConfig) {
+    return new SuccessFactorsTransporter(pluginConfig.getConnection(), pluginConfig.getTransportOptions());
+  }
+
+  /**
+   * Returns the SHA-256 fingerprint of the given secrets, used to tell credentials apart in the caches of the JVM
+   * without keeping the secrets in their keys. Each secret is length prefixed, so that moving characters from one
+   * secret to the next changes the fingerprint.
+   *
+   * @param secrets secrets, each of them may be null
+   * @return hex encoded fingerprint
+   */
+  public static String fingerprint(@Nullable String... secrets) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (String secret : secrets) {
+      if (secret == null) {
+        hasher.putInt(-1);
+      } else {
+        hasher.putInt(secret.length()).putString(secret, StandardCharsets.UTF_8);
+      }
+    }
+    return hasher.hash().toString();
+  }
 }
@@ -47,6 +47,7 @@ import io.cdap.plugin.successfactors.source.SuccessFactorsSource;
 import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
 import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsEntityProvider;
 import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsSchemaGenerator;
+import io.cdap.plugin.successfactors.source.service.SuccessFactorsMetadataCache;
 import io.cdap.plugin.successfactors.source.transform.SuccessFactorsTransformer;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsResponseContainer;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsTransporter;
@@ -252,15 +253,17 @@ public class SuccessFactorsConnector implements DirectConnector {
     }
   }
   /**
-   * @return returns the responseStream for metadata call.
+   * @return returns the responseStream for metadata call, served from the {@code SuccessFactorsMetadataCache} if the
+   * metadata has not changed since it was last fetched.
    */
   private InputStream getMetaDataStream(String entity) throws TransportException, IOException {
     URL metadataURL = HttpUrl.parse(config.getBaseURL()).newBuilder().addPathSegments(entity)
       .addPathSegment(METADATACALL).build().url();
     SuccessFactorsTransporter successFactorsHttpClient = new SuccessFactorsTransporter(config);
-    SuccessFactorsResponseContainer responseContainer = successFactorsHttpClient
-      .callSuccessFactorsEntity(metadataURL, MediaType.APPLICATION_XML);
-    return responseContainer.getResponseStream();
+    return SuccessFactorsMetadataCache.getInstance().getMetadata(
+      metadataURL, SuccessFactorsMetadataCache.getCredentialScope(config), null,
+      requestHeaders -> successFactorsHttpClient.callSuccessFactorsEntity(metadataURL, MediaType.APPLICATION_XML,
+                                                                          requestHeaders));
     }
   }
 
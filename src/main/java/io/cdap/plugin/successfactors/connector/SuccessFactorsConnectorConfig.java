@@ -329,6 +329,8 @@ public class SuccessFactorsConnectorConfig extends PluginConfig {
         "Please check the values for connection and proxy parameters if proxy exists.");
       return;
     }
+    // only the status code is checked, the body is never read
+    responseContainer.close();
     if (responseContainer.getHttpStatusCode() == HttpURLConnection.HTTP_UNAUTHORIZED) {
       String errMsg = ResourceConstants.ERR_INVALID_CREDENTIAL.getMsgForKey();
       collector.addFailure(errMsg, COMMON_ACTION);
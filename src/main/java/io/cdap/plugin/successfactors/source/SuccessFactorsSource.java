@@ -45,11 +45,13 @@ import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
 import io.cdap.plugin.successfactors.source.input.SuccessFactorsInputFormat;
 import io.cdap.plugin.successfactors.source.input.SuccessFactorsInputSplit;
 import io.cdap.plugin.successfactors.source.input.SuccessFactorsPartitionBuilder;
+import io.cdap.plugin.successfactors.source.input.SuccessFactorsWatermarkStore;
 import io.cdap.plugin.successfactors.source.service.SuccessFactorsService;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsTransporter;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.mapreduce.Job;
+import org.apache.olingo.odata2.api.edm.Edm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,8 +74,12 @@ public class SuccessFactorsSource extends BatchSource<LongWritable, StructuredRe
   public static final String NAME = "SuccessFactors";
   public static final String OUTPUT_SCHEMA = "outputSchema";
   private static final String SERVER_SIDE = "serverSide";
+  private static final long ROW_SIZE_SAMPLE = 100L;
   private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsSource.class);
   private final SuccessFactorsPluginConfig config;
+  // high watermark read by this run, stored once the run succeeds
+  @Nullable
+  private String nextWatermark;
 
   public SuccessFactorsSource(SuccessFactorsPluginConfig config) {
     this.config = config;
@@ -128,7 +134,7 @@ public class SuccessFactorsSource extends BatchSource<LongWritable, StructuredRe
   @Nullable
   private Schema getOutputSchema(FailureCollector failureCollector) {
     if (config.getConnection() != null) {
-      SuccessFactorsTransporter transporter = new SuccessFactorsTransporter(config.getConnection());
+      SuccessFactorsTransporter transporter = SuccessFactorsUtil.getSuccessFactorsTransporter(config);
       SuccessFactorsService successFactorsServices = new SuccessFactorsService(config, transporter);
       try {
         //validate if the given parameters form a valid SuccessFactors URL.
@@ -215,22 +221,149 @@ public class SuccessFactorsSource extends BatchSource<LongWritable, StructuredRe
 
     SuccessFactorsService successFactorsService = SuccessFactorsUtil.getSuccessFactorsService(config);
 
+    // Serialize the SuccessFactors metadata to save in Hadoop Configuration
+    String metadataString = successFactorsService.getEncodedServiceMetadata();
+
+    String incrementalFilter = null;
+    if (config.isIncrementalExtraction()) {
+      incrementalFilter = buildIncrementalFilter(successFactorsService, metadataString);
+      successFactorsService.setIncrementalFilter(incrementalFilter);
+    }
+
     long availableRowCount = successFactorsService.getTotalAvailableRowCount();
 
-    if (availableRowCount <= 0) {
+    if (availableRowCount <= 0 && incrementalFilter != null) {
+      LOG.info("No records of '{}' changed since the last successful run.", config.getEntityName());
+    } else if (availableRowCount <= 0) {
       LOG.warn(ResourceConstants.ERR_NO_RECORD_FOUND.getMsgForKeyWithCode(config.getEntityName()));
     }
 
-    SuccessFactorsPartitionBuilder partitionBuilder = new SuccessFactorsPartitionBuilder();
     List<SuccessFactorsInputSplit> partitions;
     if (config.getPaginationType().equals(SERVER_SIDE)) {
-      partitions = new ArrayList<>();
-      partitions.add(new SuccessFactorsInputSplit());
+      if (config.getNumPartitions() > 1 && availableRowCount > 0) {
+        // split the entity into key ranges, each read with its own snapshot pagination
+        Edm edm = successFactorsService.getSuccessFactorsServiceEdm(metadataString);
+        String partitionColumn = successFactorsService.getPartitionColumn(edm);
+        List<String> boundaries = successFactorsService.getPartitionBoundaries(edm, partitionColumn,
+                                                                               config.getNumPartitions(),
+                                                                               availableRowCount);
+        partitions = new SuccessFactorsPartitionBuilder().buildKeyRangeSplits(partitionColumn, boundaries);
+        LOG.debug("Reading '{}' in {} key ranges of '{}'.", config.getEntityName(), partitions.size(),
+                  partitionColumn);
+      } else {
+        partitions = new ArrayList<>();
+        partitions.add(new SuccessFactorsInputSplit());
+      }
     } else {
-      partitions = partitionBuilder.buildSplits(availableRowCount);
+      SuccessFactorsPartitionBuilder partitionBuilder = new SuccessFactorsPartitionBuilder(
+        config.getTargetSplitCount(), config.getSplitSize(), config.getBatchSize(),
+        estimateRowBytes(successFactorsService, metadataString, outputSchema, availableRowCount));
+      if (config.isKeysetPagination() && availableRowCount > 0) {
+        // split the entity into key ranges, each read in pages starting after the last seen key
+        Edm edm = successFactorsService.getSuccessFactorsServiceEdm(metadataString);
+        String keysetColumn = successFactorsService.getKeysetColumn(edm);
+        if (outputSchema.getField(keysetColumn) == null) {
+          throw new SuccessFactorsServiceException(ResourceConstants.ERR_KEYSET_COLUMN.getMsgForKeyWithCode(
+            keysetColumn, config.getEntityName()));
+        }
+        List<String> boundaries = successFactorsService.getPartitionBoundaries(
+          edm, keysetColumn, partitionBuilder.getSplitCount(availableRowCount), availableRowCount);
+        partitions = partitionBuilder.buildKeysetSplits(keysetColumn, boundaries, availableRowCount);
+        LOG.debug("Reading '{}' in {} key ranges of '{}' with keyset pagination.", config.getEntityName(),
+                  partitions.size(), keysetColumn);
+      } else {
+        partitions = partitionBuilder.buildSplits(availableRowCount);
+        LOG.debug("Reading '{}' in {} splits.", config.getEntityName(), partitions.size());
+      }
     }
 
-    setJobForDataRead(context, outputSchema, partitions, successFactorsService);
+    setJobForDataRead(context, outputSchema, partitions, metadataString, incrementalFilter);
+  }
+
+  @Override
+  public void onRunFinish(boolean succeeded, BatchSourceContext context) {
+    super.onRunFinish(succeeded, context);
+    if (!succeeded || nextWatermark == null) {
+      return;
+    }
+    SuccessFactorsWatermarkStore watermarkStore = new SuccessFactorsWatermarkStore(config.getWatermarkPath(),
+                                                                                   new Configuration());
+    try {
+      watermarkStore.write(config.getReferenceName(), config.getEntityName(), config.getIncrementalColumn(),
+                           nextWatermark);
+    } catch (IOException e) {
+      // the next run reads the records of this run again
+      LOG.warn("Unable to store the watermark of '{}'.", config.getEntityName(), e);
+    }
+  }
+
+  /**
+   * Builds the '$filter' bounds of the records changed since the last successful run: after the stored watermark,
+   * if any, and up to the current highest value of the incremental column, so that the records changed while this
+   * run is reading are left to the next run.
+   *
+   * @param successFactorsService {@code SuccessFactorsService}
+   * @param metadataString        base64 encoded SuccessFactors entity metadata string
+   * @return '$filter' expression of the incremental bounds or null to read all the records
+   * @throws TransportException             any http client exceptions are wrapped under it.
+   * @throws SuccessFactorsServiceException any SuccessFactors service based exception is wrapped under it.
+   * @throws IOException                    any error while reading the stored watermark.
+   */
+  @Nullable
+  private String buildIncrementalFilter(SuccessFactorsService successFactorsService, String metadataString)
+    throws TransportException, SuccessFactorsServiceException, IOException {
+
+    String incrementalColumn = config.getIncrementalColumn();
+    SuccessFactorsWatermarkStore watermarkStore = new SuccessFactorsWatermarkStore(config.getWatermarkPath(),
+                                                                                   new Configuration());
+    String lowWatermark = watermarkStore.read(config.getReferenceName(), config.getEntityName(), incrementalColumn);
+    Edm edm = successFactorsService.getSuccessFactorsServiceEdm(metadataString);
+    String highWatermark = successFactorsService.getHighWatermark(edm, incrementalColumn);
+    LOG.debug("Reading '{}' changed after {} up to {}.", config.getEntityName(), lowWatermark, highWatermark);
+
+    if (highWatermark == null) {
+      // no record has a value yet, read the records after the stored watermark, if any
+      return lowWatermark == null ? null : String.format("%s gt %s", incrementalColumn, lowWatermark);
+    }
+    nextWatermark = highWatermark;
+    if (lowWatermark == null) {
+      // first run, read all the records
+      return String.format("%1$s le %2$s or %1$s eq null", incrementalColumn, highWatermark);
+    }
+    return String.format("%1$s gt %2$s and %1$s le %3$s", incrementalColumn, lowWatermark, highWatermark);
+  }
+
+  /**
+   * Estimates the response bytes of a single record from a sampled page, falling back to the output schema width if
+   * the page could not be sampled. The sample is skipped when the user given split and batch sizes leave nothing to
+   * derive, or when the output schema is too narrow for the row size to change the default page and split sizes.
+   *
+   * @param successFactorsService {@code SuccessFactorsService}
+   * @param metadataString        base64 encoded SuccessFactors entity metadata string
+   * @param outputSchema          output schema
+   * @param availableRowCount     available row count
+   * @return estimated row size in bytes, 0 if not needed
+   */
+  private long estimateRowBytes(SuccessFactorsService successFactorsService, String metadataString,
+                                Schema outputSchema, long availableRowCount) {
+    boolean splitSizeGiven = config.getSplitSize() != null || config.getTargetSplitCount() != null;
+    if (availableRowCount <= 0 || (splitSizeGiven && config.getBatchSize() != null)) {
+      return 0L;
+    }
+    if (!SuccessFactorsPartitionBuilder.isRowSampleNeeded(outputSchema)) {
+      return SuccessFactorsPartitionBuilder.estimateRowBytes(outputSchema);
+    }
+    try {
+      Edm edm = successFactorsService.getSuccessFactorsServiceEdm(metadataString);
+      long rowBytes = successFactorsService.getSampledRowBytes(edm, outputSchema, ROW_SIZE_SAMPLE);
+      if (rowBytes > 0) {
+        return rowBytes;
+      }
+    } catch (SuccessFactorsServiceException | TransportException e) {
+      LOG.debug("Unable to sample the records of '{}', estimating the row size from the schema.",
+                config.getEntityName(), e);
+    }
+    return SuccessFactorsPartitionBuilder.estimateRowBytes(outputSchema);
   }
 
   /**
@@ -239,15 +372,12 @@ public class SuccessFactorsSource extends BatchSource<LongWritable, StructuredRe
    * @param context
    * @param outputSchema
    * @param partitions
-   * @param successFactorsService
-   * @throws TransportException             any http client exceptions are wrapped under it.
-   * @throws SuccessFactorsServiceException any OData service based exception is wrapped under it.
+   * @param metadataString base64 encoded compact SuccessFactors entity metadata string
+   * @param incrementalFilter '$filter' expression of the incremental bounds or null to read all the records
    * @throws IOException                    any IO exception occurs during the Hadoop Job instance creation.
    */
   private void setJobForDataRead(BatchSourceContext context, Schema outputSchema, List<SuccessFactorsInputSplit>
-    partitions,
-                                 SuccessFactorsService successFactorsService)
-    throws TransportException, SuccessFactorsServiceException, IOException {
+    partitions, String metadataString, @Nullable String incrementalFilter) throws IOException {
 
     Configuration jobConfiguration;
     Job job = JobUtils.createInstance();
@@ -263,10 +393,12 @@ public class SuccessFactorsSource extends BatchSource<LongWritable, StructuredRe
     // Setting plugin output schema
     jobConfiguration.set(OUTPUT_SCHEMA, outputSchema.toString());
 
-    // Serialize the SuccessFactors metadata to save in Hadoop Configuration
-    String metadataString = successFactorsService.getEncodedServiceMetadata();
     jobConfiguration.set(SuccessFactorsInputFormat.ENCODED_ENTITY_METADATA_STRING, metadataString);
 
+    if (incrementalFilter != null) {
+      jobConfiguration.set(SuccessFactorsInputFormat.INCREMENTAL_FILTER, incrementalFilter);
+    }
+
     SourceInputFormatProvider inputFormat = new SourceInputFormatProvider(SuccessFactorsInputFormat.class,
                                                                           jobConfiguration);
     context.setInput(Input.of(config.getReferenceName(), inputFormat));
@@ -29,6 +29,9 @@ import io.cdap.plugin.common.IdUtils;
 import io.cdap.plugin.successfactors.common.util.ResourceConstants;
 import io.cdap.plugin.successfactors.common.util.SuccessFactorsUtil;
 import io.cdap.plugin.successfactors.connector.SuccessFactorsConnectorConfig;
+import io.cdap.plugin.successfactors.source.input.SuccessFactorsPartitionBuilder;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsTransportOptions;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsUrlContainer;
 
 import java.io.IOException;
 import java.util.regex.Pattern;
@@ -55,14 +58,50 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
   private static final String COMMON_ACTION = ResourceConstants.ERR_MISSING_PARAM_OR_MACRO_ACTION.getMsgForKey();
   private static final Pattern PATTERN = Pattern.compile("\\(.*\\)");
   private static final String SAP_SUCCESSFACTORS_ENTITY_NAME = "Entity Name";
+  private static final String SAP_SUCCESSFACTORS_WATERMARK_PATH = "Watermark Path";
   private static final String NAME_INITIAL_RETRY_DURATION = "initialRetryDuration";
   private static final String NAME_MAX_RETRY_DURATION = "maxRetryDuration";
   private static final String NAME_RETRY_MULTIPLIER = "retryMultiplier";
   private static final String NAME_MAX_RETRY_COUNT = "maxRetryCount";
+  private static final String NAME_CONNECTION_POOL_SIZE = "connectionPoolSize";
+  private static final String NAME_KEEP_ALIVE_DURATION = "keepAliveDuration";
+  private static final String NAME_RECORD_DECODER = "recordDecoder";
+  public static final String RECORD_DECODER_OLINGO = "olingo";
+  public static final String RECORD_DECODER_STREAMING = "streaming";
+  private static final String NAME_PREFETCH_DEPTH = "prefetchDepth";
+  private static final String NAME_NUM_PARTITIONS = "numPartitions";
+  private static final String NAME_PARTITION_COLUMN = "partitionColumn";
+  private static final String NAME_TARGET_SPLIT_COUNT = "targetSplitCount";
+  private static final String NAME_SPLIT_SIZE = "splitSize";
+  private static final String NAME_BATCH_SIZE = "batchSize";
+  private static final String NAME_CLIENT_PAGINATION = "clientPagination";
+  public static final String CLIENT_PAGINATION_OFFSET = "offset";
+  public static final String CLIENT_PAGINATION_KEYSET = "keyset";
+  private static final String NAME_EXTRACTION_MODE = "extractionMode";
+  private static final String NAME_INCREMENTAL_COLUMN = "incrementalColumn";
+  private static final String NAME_WATERMARK_PATH = "watermarkPath";
+  private static final String NAME_PAGES_PER_BATCH_REQUEST = "pagesPerBatchRequest";
+  private static final String NAME_RESPONSE_COMPRESSION = "responseCompression";
+  private static final String NAME_MAX_REQUESTS_PER_SECOND = "maxRequestsPerSecond";
+  private static final String NAME_MAX_IN_FLIGHT_REQUESTS = "maxInFlightRequests";
+  private static final String NAME_PARALLEL_PAGE_REQUESTS = "parallelPageRequests";
+  private static final String NAME_METADATA_CACHE_DIRECTORY = "metadataCacheDirectory";
+  public static final String EXTRACTION_MODE_FULL = "full";
+  public static final String EXTRACTION_MODE_INCREMENTAL = "incremental";
+  public static final String DEFAULT_INCREMENTAL_COLUMN = "lastModifiedDateTime";
   public static final int DEFAULT_INITIAL_RETRY_DURATION_SECONDS = 2;
   public static final int DEFAULT_RETRY_MULTIPLIER = 2;
   public static final int DEFAULT_MAX_RETRY_COUNT = 3;
   public static final int DEFAULT_MAX_RETRY_DURATION_SECONDS = 10;
+  public static final int DEFAULT_CONNECTION_POOL_SIZE = SuccessFactorsTransportOptions.DEFAULT_CONNECTION_POOL_SIZE;
+  public static final long DEFAULT_KEEP_ALIVE_DURATION_SECONDS =
+    SuccessFactorsTransportOptions.DEFAULT_KEEP_ALIVE_DURATION_SECONDS;
+  public static final int DEFAULT_PREFETCH_DEPTH = 0;
+  public static final int DEFAULT_NUM_PARTITIONS = 1;
+  public static final int DEFAULT_PAGES_PER_BATCH_REQUEST = 1;
+  // every page of a '$batch' response is held in memory until the response is read
+  public static final int MAX_PAGES_PER_BATCH_REQUEST = 10;
+  public static final int DEFAULT_PARALLEL_PAGE_REQUESTS = 1;
 
   @Macro
   @Name(ENTITY_NAME)
@@ -161,6 +200,146 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
   @Macro
   private Integer retryMultiplier;
 
+  @Name(NAME_CONNECTION_POOL_SIZE)
+  @Description("Maximum number of idle connections to SuccessFactors kept open for reuse by all the readers running " +
+    "in the same executor. Default is 5.")
+  @Nullable
+  @Macro
+  private Integer connectionPoolSize;
+
+  @Name(NAME_KEEP_ALIVE_DURATION)
+  @Description("Time in seconds an idle pooled connection to SuccessFactors is kept open for reuse. " +
+    "Default is 300 seconds.")
+  @Nullable
+  @Macro
+  private Integer keepAliveDuration;
+
+  @Name(NAME_RECORD_DECODER)
+  @Description("Engine used to convert the fetched SuccessFactors records. 'olingo' builds the OData feed of each " +
+    "page before converting it, 'streaming' converts the records directly while reading the response. " +
+    "Default is olingo.")
+  @Nullable
+  @Macro
+  private String recordDecoder;
+
+  @Name(NAME_PREFETCH_DEPTH)
+  @Description("Number of pages fetched in the background ahead of the records being read. Prefetched pages are " +
+    "held in memory as records, so the prefetching is only worth enabling for entities with small records. 0 " +
+    "disables the prefetching. Default is 0.")
+  @Nullable
+  @Macro
+  private Integer prefetchDepth;
+
+  @Name(NAME_NUM_PARTITIONS)
+  @Description("Number of key ranges the entity is split into with Server-side pagination, each range is read " +
+    "by a separate split with its own snapshot pagination. Default is 1.")
+  @Nullable
+  @Macro
+  private Integer numPartitions;
+
+  @Name(NAME_PARTITION_COLUMN)
+  @Description("Property the entity is split on when the number of partitions is greater than 1 or with 'keyset' " +
+    "client pagination. Default is the key of the entity, if it has a single key property. With 'keyset' client " +
+    "pagination, it must be the single key property of the entity.")
+  @Nullable
+  @Macro
+  private String partitionColumn;
+
+  @Name(NAME_TARGET_SPLIT_COUNT)
+  @Description("Number of splits the records are spread over with Client-side pagination, e.g. the executor slots " +
+    "of the pipeline. Default is at most 10000 records in each split, fewer for wide records.")
+  @Nullable
+  @Macro
+  private Integer targetSplitCount;
+
+  @Name(NAME_SPLIT_SIZE)
+  @Description("Number of records read by a single split with Client-side pagination. Takes precedence over the " +
+    "target split count.")
+  @Nullable
+  @Macro
+  private Long splitSize;
+
+  @Name(NAME_BATCH_SIZE)
+  @Description("Number of records fetched in a single page with Client-side pagination, at most 1000. " +
+    "Default is derived from the estimated size of the records.")
+  @Nullable
+  @Macro
+  private Long batchSize;
+
+  @Name(NAME_CLIENT_PAGINATION)
+  @Description("Way the pages are advanced with Client-side pagination. 'offset' skips the records already read, " +
+    "'keyset' splits the entity on the Partition Column and reads the records after the last seen value of that " +
+    "column, so that the deep pages are as fast as the first ones. The column must be the single key property of " +
+    "the entity and selected. Default is offset.")
+  @Nullable
+  @Macro
+  private String clientPagination;
+
+  @Name(NAME_EXTRACTION_MODE)
+  @Description("'full' reads all the records of the entity on every run, 'incremental' only reads the records " +
+    "changed since the last successful run. Default is full.")
+  @Nullable
+  @Macro
+  private String extractionMode;
+
+  @Name(NAME_INCREMENTAL_COLUMN)
+  @Description("Property holding the last change of the records, used to find the records changed since the last " +
+    "successful run with incremental extraction. Default is lastModifiedDateTime.")
+  @Nullable
+  @Macro
+  private String incrementalColumn;
+
+  @Name(NAME_WATERMARK_PATH)
+  @Description("Directory the highest value of the incremental column read by the last successful run is stored " +
+    "in, for each reference name and entity. e.g. gs://bucket/successfactors/watermarks")
+  @Nullable
+  @Macro
+  private String watermarkPath;
+
+  @Name(NAME_PAGES_PER_BATCH_REQUEST)
+  @Description("Number of pages fetched in a single OData $batch request with 'offset' Client-side pagination " +
+    "and the 'streaming' record decoder. 1 fetches each page in a separate request. At most 10, as all the pages of " +
+    "a $batch response are held in memory. Default is 1.")
+  @Nullable
+  @Macro
+  private Integer pagesPerBatchRequest;
+
+  @Name(NAME_RESPONSE_COMPRESSION)
+  @Description("Whether gzip or deflate compressed responses are requested and decompressed while they are read. " +
+    "Default is false, the HTTP client then negotiates gzip on its own.")
+  @Nullable
+  @Macro
+  private Boolean responseCompression;
+
+  @Name(NAME_MAX_REQUESTS_PER_SECOND)
+  @Description("Maximum number of calls to SuccessFactors started per second by each executor. " +
+    "Default is 0, which means no limit.")
+  @Nullable
+  @Macro
+  private Integer maxRequestsPerSecond;
+
+  @Name(NAME_MAX_IN_FLIGHT_REQUESTS)
+  @Description("Maximum number of concurrent calls to SuccessFactors by each executor. The limit is halved " +
+    "whenever SuccessFactors throttles a call and grows back gradually. Default is 0, which means no limit.")
+  @Nullable
+  @Macro
+  private Integer maxInFlightRequests;
+
+  @Name(NAME_PARALLEL_PAGE_REQUESTS)
+  @Description("Number of pages of a split fetched concurrently with Client-side Pagination. Default is 1, " +
+    "the pages are then fetched one after another.")
+  @Nullable
+  @Macro
+  private Integer parallelPageRequests;
+
+  @Name(NAME_METADATA_CACHE_DIRECTORY)
+  @Description("Local directory where the entity metadata documents are kept across pipeline deployments and runs. " +
+    "A cached document is revalidated with SuccessFactors before it is used. The documents are only cached in " +
+    "memory if not set.")
+  @Nullable
+  @Macro
+  private String metadataCacheDirectory;
+
   @VisibleForTesting
   public SuccessFactorsPluginConfig(String referenceName,
                                     String baseURL,
@@ -189,7 +368,26 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
                                     @Nullable Integer initialRetryDuration,
                                     @Nullable Integer maxRetryDuration,
                                     @Nullable Integer retryMultiplier,
-                                    @Nullable Integer maxRetryCount) {
+                                    @Nullable Integer maxRetryCount,
+                                    @Nullable Integer connectionPoolSize,
+                                    @Nullable Integer keepAliveDuration,
+                                    @Nullable String recordDecoder,
+                                    @Nullable Integer prefetchDepth,
+                                    @Nullable Integer numPartitions,
+                                    @Nullable String partitionColumn,
+                                    @Nullable Integer targetSplitCount,
+                                    @Nullable Long splitSize,
+                                    @Nullable Long batchSize,
+                                    @Nullable String clientPagination,
+                                    @Nullable String extractionMode,
+                                    @Nullable String incrementalColumn,
+                                    @Nullable String watermarkPath,
+                                    @Nullable Integer pagesPerBatchRequest,
+                                    @Nullable Boolean responseCompression,
+                                    @Nullable Integer maxRequestsPerSecond,
+                                    @Nullable Integer maxInFlightRequests,
+                                    @Nullable Integer parallelPageRequests,
+                                    @Nullable String metadataCacheDirectory) {
     this.connection = new SuccessFactorsConnectorConfig(username, password, tokenURL, clientId, privateKey,
             expireInMinutes, userId, companyId, baseURL, authType, assertionTokenType, samlUsername, assertionToken,
             proxyUrl, proxyUsername, proxyPassword);
@@ -205,6 +403,25 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
     this.maxRetryDuration = maxRetryDuration;
     this.retryMultiplier = retryMultiplier;
     this.maxRetryCount = maxRetryCount;
+    this.connectionPoolSize = connectionPoolSize;
+    this.keepAliveDuration = keepAliveDuration;
+    this.recordDecoder = recordDecoder;
+    this.prefetchDepth = prefetchDepth;
+    this.numPartitions = numPartitions;
+    this.partitionColumn = partitionColumn;
+    this.targetSplitCount = targetSplitCount;
+    this.splitSize = splitSize;
+    this.batchSize = batchSize;
+    this.clientPagination = clientPagination;
+    this.extractionMode = extractionMode;
+    this.incrementalColumn = incrementalColumn;
+    this.watermarkPath = watermarkPath;
+    this.pagesPerBatchRequest = pagesPerBatchRequest;
+    this.responseCompression = responseCompression;
+    this.maxRequestsPerSecond = maxRequestsPerSecond;
+    this.maxInFlightRequests = maxInFlightRequests;
+    this.parallelPageRequests = parallelPageRequests;
+    this.metadataCacheDirectory = metadataCacheDirectory;
   }
 
   @Nullable
@@ -279,6 +496,122 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
     return maxRetryCount == null ? DEFAULT_MAX_RETRY_COUNT : maxRetryCount;
   }
 
+  public int getConnectionPoolSize() {
+    return connectionPoolSize == null ? DEFAULT_CONNECTION_POOL_SIZE : connectionPoolSize;
+  }
+
+  public long getKeepAliveDuration() {
+    return keepAliveDuration == null ? DEFAULT_KEEP_ALIVE_DURATION_SECONDS : keepAliveDuration;
+  }
+
+  public String getRecordDecoder() {
+    return Strings.isNullOrEmpty(recordDecoder) ? RECORD_DECODER_OLINGO : recordDecoder;
+  }
+
+  /**
+   * @return true if the records are to be converted directly from the response stream instead of an OData feed.
+   */
+  public boolean isStreamingRecordDecoder() {
+    return RECORD_DECODER_STREAMING.equals(getRecordDecoder());
+  }
+
+  public int getPrefetchDepth() {
+    return prefetchDepth == null ? DEFAULT_PREFETCH_DEPTH : prefetchDepth;
+  }
+
+  public int getNumPartitions() {
+    return numPartitions == null ? DEFAULT_NUM_PARTITIONS : numPartitions;
+  }
+
+  @Nullable
+  public String getPartitionColumn() {
+    return Strings.isNullOrEmpty(partitionColumn) ? null : partitionColumn.trim();
+  }
+
+  @Nullable
+  public Integer getTargetSplitCount() {
+    return targetSplitCount;
+  }
+
+  @Nullable
+  public Long getSplitSize() {
+    return splitSize;
+  }
+
+  @Nullable
+  public Long getBatchSize() {
+    return batchSize;
+  }
+
+  public String getClientPagination() {
+    return Strings.isNullOrEmpty(clientPagination) ? CLIENT_PAGINATION_OFFSET : clientPagination;
+  }
+
+  /**
+   * @return true if the client side pages are advanced on the last seen value of the partition column.
+   */
+  public boolean isKeysetPagination() {
+    return CLIENT_PAGINATION_KEYSET.equals(getClientPagination());
+  }
+
+  public String getExtractionMode() {
+    return Strings.isNullOrEmpty(extractionMode) ? EXTRACTION_MODE_FULL : extractionMode;
+  }
+
+  /**
+   * @return true if only the records changed since the last successful run are read.
+   */
+  public boolean isIncrementalExtraction() {
+    return EXTRACTION_MODE_INCREMENTAL.equals(getExtractionMode());
+  }
+
+  public String getIncrementalColumn() {
+    return Strings.isNullOrEmpty(incrementalColumn) ? DEFAULT_INCREMENTAL_COLUMN : incrementalColumn.trim();
+  }
+
+  @Nullable
+  public String getWatermarkPath() {
+    return Strings.isNullOrEmpty(watermarkPath) ? null : watermarkPath.trim();
+  }
+
+  public int getPagesPerBatchRequest() {
+    return pagesPerBatchRequest == null ? DEFAULT_PAGES_PER_BATCH_REQUEST : pagesPerBatchRequest;
+  }
+
+  public boolean isResponseCompression() {
+    return Boolean.TRUE.equals(responseCompression);
+  }
+
+  public int getMaxRequestsPerSecond() {
+    return maxRequestsPerSecond == null ? 0 : maxRequestsPerSecond;
+  }
+
+  public int getMaxInFlightRequests() {
+    return maxInFlightRequests == null ? 0 : maxInFlightRequests;
+  }
+
+  public int getParallelPageRequests() {
+    return parallelPageRequests == null ? DEFAULT_PARALLEL_PAGE_REQUESTS : parallelPageRequests;
+  }
+
+  @Nullable
+  public String getMetadataCacheDirectory() {
+    return Strings.isNullOrEmpty(metadataCacheDirectory) ? null : metadataCacheDirectory.trim();
+  }
+
+  /**
+   * @return the HTTP client tuning parameters used to call the SuccessFactors services.
+   */
+  public SuccessFactorsTransportOptions getTransportOptions() {
+    return SuccessFactorsTransportOptions.builder()
+      .connectionPoolSize(getConnectionPoolSize())
+      .keepAliveDuration(getKeepAliveDuration())
+      .responseCompression(isResponseCompression())
+      .maxRequestsPerSecond(getMaxRequestsPerSecond())
+      .maxInFlightRequests(getMaxInFlightRequests())
+      .build();
+  }
+
   /**
    * Checks if the call to SuccessFactors service is required for metadata creation.
    * condition parameters: ['host' | 'serviceName' | 'entityName' | 'username' | 'password']
@@ -320,6 +653,16 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
     validateBasicCredentials(failureCollector);
     validateEntityParameter(failureCollector);
     validateRetryConfiguration(failureCollector);
+    validateConnectionPoolConfiguration(failureCollector);
+    validateRecordDecoder(failureCollector);
+    validatePrefetchDepth(failureCollector);
+    validatePartitioning(failureCollector);
+    validateSplitSizing(failureCollector);
+    validateClientPagination(failureCollector);
+    validateIncrementalExtraction(failureCollector);
+    validateBatchRequest(failureCollector);
+    validateRequestLimits(failureCollector);
+    validateParallelPageRequests(failureCollector);
     failureCollector.getOrThrowException();
   }
 
@@ -406,6 +749,190 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
     }
   }
 
+  /**
+   * Validates the connection pool configuration.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validateConnectionPoolConfiguration(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_CONNECTION_POOL_SIZE) && connectionPoolSize != null && connectionPoolSize <= 0) {
+      failureCollector.addFailure("Connection pool size must be greater than 0.",
+                                  "Please specify a valid connection pool size.")
+        .withConfigProperty(NAME_CONNECTION_POOL_SIZE);
+    }
+    if (!containsMacro(NAME_KEEP_ALIVE_DURATION) && keepAliveDuration != null && keepAliveDuration <= 0) {
+      failureCollector.addFailure("Keep-alive duration must be greater than 0.",
+                                  "Please specify a valid keep-alive duration.")
+        .withConfigProperty(NAME_KEEP_ALIVE_DURATION);
+    }
+  }
+
+  /**
+   * Validates the record decoder.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validateRecordDecoder(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_RECORD_DECODER) && !RECORD_DECODER_OLINGO.equals(getRecordDecoder())
+      && !RECORD_DECODER_STREAMING.equals(getRecordDecoder())) {
+      failureCollector.addFailure(String.format("Invalid record decoder '%s'.", recordDecoder),
+                                  String.format("Please specify either '%s' or '%s'.", RECORD_DECODER_OLINGO,
+                                                RECORD_DECODER_STREAMING))
+        .withConfigProperty(NAME_RECORD_DECODER);
+    }
+  }
+
+  /**
+   * Validates the prefetch depth.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validatePrefetchDepth(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_PREFETCH_DEPTH) && prefetchDepth != null && prefetchDepth < 0) {
+      failureCollector.addFailure("Prefetch depth must be 0 or greater.",
+                                  "Please specify a valid prefetch depth.")
+        .withConfigProperty(NAME_PREFETCH_DEPTH);
+    }
+  }
+
+  /**
+   * Validates the sharded server side pagination parameters.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validatePartitioning(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_NUM_PARTITIONS) && numPartitions != null && numPartitions <= 0) {
+      failureCollector.addFailure("Number of partitions must be greater than 0.",
+                                  "Please specify a valid number of partitions.")
+        .withConfigProperty(NAME_NUM_PARTITIONS);
+    }
+    if (!containsMacro(NAME_PARTITION_COLUMN) && getPartitionColumn() != null
+      && (getPartitionColumn().contains(SuccessFactorsUrlContainer.PROPERTY_SEPARATOR)
+      || getPartitionColumn().contains(SuccessFactorsUrlContainer.NAV_PROPERTY_SEPARATOR))) {
+      failureCollector.addFailure("Partition column must be a single property of the entity.",
+                                  "Please specify a single property name.")
+        .withConfigProperty(NAME_PARTITION_COLUMN);
+    }
+  }
+
+  /**
+   * Validates the client side split sizing parameters.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validateSplitSizing(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_TARGET_SPLIT_COUNT) && targetSplitCount != null && targetSplitCount <= 0) {
+      failureCollector.addFailure("Target split count must be greater than 0.",
+                                  "Please specify a valid target split count.")
+        .withConfigProperty(NAME_TARGET_SPLIT_COUNT);
+    }
+    if (!containsMacro(NAME_SPLIT_SIZE) && splitSize != null && splitSize <= 0) {
+      failureCollector.addFailure("Split size must be greater than 0.",
+                                  "Please specify a valid split size.")
+        .withConfigProperty(NAME_SPLIT_SIZE);
+    }
+    if (!containsMacro(NAME_BATCH_SIZE) && batchSize != null
+      && (batchSize <= 0 || batchSize > SuccessFactorsPartitionBuilder.MAX_ALLOWED_BATCH_SIZE)) {
+      failureCollector.addFailure(String.format("Batch size must be between 1 and %d.",
+                                                SuccessFactorsPartitionBuilder.MAX_ALLOWED_BATCH_SIZE),
+                                  "Please specify a valid batch size.")
+        .withConfigProperty(NAME_BATCH_SIZE);
+    }
+  }
+
+  /**
+   * Validates the client side pagination mode.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validateClientPagination(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_CLIENT_PAGINATION) && !CLIENT_PAGINATION_OFFSET.equals(getClientPagination())
+      && !CLIENT_PAGINATION_KEYSET.equals(getClientPagination())) {
+      failureCollector.addFailure(String.format("Invalid client pagination '%s'.", clientPagination),
+                                  String.format("Please specify either '%s' or '%s'.", CLIENT_PAGINATION_OFFSET,
+                                                CLIENT_PAGINATION_KEYSET))
+        .withConfigProperty(NAME_CLIENT_PAGINATION);
+    }
+  }
+
+  /**
+   * Validates the incremental extraction parameters.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validateIncrementalExtraction(FailureCollector failureCollector) {
+    if (containsMacro(NAME_EXTRACTION_MODE)) {
+      return;
+    }
+    if (!EXTRACTION_MODE_FULL.equals(getExtractionMode()) && !isIncrementalExtraction()) {
+      failureCollector.addFailure(String.format("Invalid extraction mode '%s'.", extractionMode),
+                                  String.format("Please specify either '%s' or '%s'.", EXTRACTION_MODE_FULL,
+                                                EXTRACTION_MODE_INCREMENTAL))
+        .withConfigProperty(NAME_EXTRACTION_MODE);
+      return;
+    }
+    if (!isIncrementalExtraction()) {
+      return;
+    }
+    if (!containsMacro(NAME_WATERMARK_PATH) && getWatermarkPath() == null) {
+      String errMsg = ResourceConstants.ERR_MISSING_PARAM_PREFIX.getMsgForKey(SAP_SUCCESSFACTORS_WATERMARK_PATH);
+      failureCollector.addFailure(errMsg, COMMON_ACTION).withConfigProperty(NAME_WATERMARK_PATH);
+    }
+    if (!containsMacro(NAME_INCREMENTAL_COLUMN)
+      && (getIncrementalColumn().contains(SuccessFactorsUrlContainer.PROPERTY_SEPARATOR)
+      || getIncrementalColumn().contains(SuccessFactorsUrlContainer.NAV_PROPERTY_SEPARATOR))) {
+      failureCollector.addFailure("Incremental column must be a single property of the entity.",
+                                  "Please specify a single property name.")
+        .withConfigProperty(NAME_INCREMENTAL_COLUMN);
+    }
+  }
+
+  /**
+   * Validates the number of pages fetched in a single '$batch' request.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validateBatchRequest(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_PAGES_PER_BATCH_REQUEST) && pagesPerBatchRequest != null
+      && (pagesPerBatchRequest < 1 || pagesPerBatchRequest > MAX_PAGES_PER_BATCH_REQUEST)) {
+      failureCollector.addFailure(String.format("Pages per batch request must be between 1 and %d.",
+                                                MAX_PAGES_PER_BATCH_REQUEST),
+                                  "Please specify a valid number of pages per batch request.")
+        .withConfigProperty(NAME_PAGES_PER_BATCH_REQUEST);
+    }
+  }
+
+  /**
+   * Validates the max requests per second and max requests in flight.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validateRequestLimits(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_MAX_REQUESTS_PER_SECOND) && maxRequestsPerSecond != null && maxRequestsPerSecond < 0) {
+      failureCollector.addFailure("Max requests per second must not be negative.",
+                                  "Please specify 0 for no limit or a positive number of requests per second.")
+        .withConfigProperty(NAME_MAX_REQUESTS_PER_SECOND);
+    }
+    if (!containsMacro(NAME_MAX_IN_FLIGHT_REQUESTS) && maxInFlightRequests != null && maxInFlightRequests < 0) {
+      failureCollector.addFailure("Max requests in flight must not be negative.",
+                                  "Please specify 0 for no limit or a positive number of requests in flight.")
+        .withConfigProperty(NAME_MAX_IN_FLIGHT_REQUESTS);
+    }
+  }
+
+  /**
+   * Validates the number of pages fetched concurrently.
+   *
+   * @param failureCollector {@code FailureCollector}
+   */
+  public void validateParallelPageRequests(FailureCollector failureCollector) {
+    if (!containsMacro(NAME_PARALLEL_PAGE_REQUESTS) && parallelPageRequests != null && parallelPageRequests < 1) {
+      failureCollector.addFailure("Parallel page requests must be greater than 0.",
+                                  "Please specify a valid number of parallel page requests.")
+        .withConfigProperty(NAME_PARALLEL_PAGE_REQUESTS);
+    }
+  }
+
   /**
    * Helper class to simplify {@link SuccessFactorsPluginConfig} class creation.
    */
@@ -438,6 +965,25 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
     private Integer maxRetryDuration;
     private Integer retryMultiplier;
     private Integer maxRetryCount;
+    private Integer connectionPoolSize;
+    private Integer keepAliveDuration;
+    private String recordDecoder;
+    private Integer prefetchDepth;
+    private Integer numPartitions;
+    private String partitionColumn;
+    private Integer targetSplitCount;
+    private Long splitSize;
+    private Long batchSize;
+    private String clientPagination;
+    private String extractionMode;
+    private String incrementalColumn;
+    private String watermarkPath;
+    private Integer pagesPerBatchRequest;
+    private Boolean responseCompression;
+    private Integer maxRequestsPerSecond;
+    private Integer maxInFlightRequests;
+    private Integer parallelPageRequests;
+    private String metadataCacheDirectory;
 
     public Builder referenceName(String referenceName) {
       this.referenceName = referenceName;
@@ -563,6 +1109,99 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
       this.maxRetryCount = maxRetryCount;
       return this;
     }
+    public Builder setConnectionPoolSize(Integer connectionPoolSize) {
+      this.connectionPoolSize = connectionPoolSize;
+      return this;
+    }
+    public Builder setKeepAliveDuration(Integer keepAliveDuration) {
+      this.keepAliveDuration = keepAliveDuration;
+      return this;
+    }
+
+    public Builder setRecordDecoder(String recordDecoder) {
+      this.recordDecoder = recordDecoder;
+      return this;
+    }
+
+    public Builder setPrefetchDepth(Integer prefetchDepth) {
+      this.prefetchDepth = prefetchDepth;
+      return this;
+    }
+
+    public Builder setNumPartitions(Integer numPartitions) {
+      this.numPartitions = numPartitions;
+      return this;
+    }
+
+    public Builder setPartitionColumn(String partitionColumn) {
+      this.partitionColumn = partitionColumn;
+      return this;
+    }
+
+    public Builder setTargetSplitCount(Integer targetSplitCount) {
+      this.targetSplitCount = targetSplitCount;
+      return this;
+    }
+
+    public Builder setSplitSize(Long splitSize) {
+      this.splitSize = splitSize;
+      return this;
+    }
+
+    public Builder setBatchSize(Long batchSize) {
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    public Builder setClientPagination(String clientPagination) {
+      this.clientPagination = clientPagination;
+      return this;
+    }
+
+    public Builder setExtractionMode(String extractionMode) {
+      this.extractionMode = extractionMode;
+      return this;
+    }
+
+    public Builder setIncrementalColumn(String incrementalColumn) {
+      this.incrementalColumn = incrementalColumn;
+      return this;
+    }
+
+    public Builder setWatermarkPath(String watermarkPath) {
+      this.watermarkPath = watermarkPath;
+      return this;
+    }
+
+    public Builder setPagesPerBatchRequest(Integer pagesPerBatchRequest) {
+      this.pagesPerBatchRequest = pagesPerBatchRequest;
+      return this;
+    }
+
+    public Builder setResponseCompression(Boolean responseCompression) {
+      this.responseCompression = responseCompression;
+      return this;
+    }
+
+    public Builder setMaxRequestsPerSecond(Integer maxRequestsPerSecond) {
+      this.maxRequestsPerSecond = maxRequestsPerSecond;
+      return this;
+    }
+
+    public Builder setMaxInFlightRequests(Integer maxInFlightRequests) {
+      this.maxInFlightRequests = maxInFlightRequests;
+      return this;
+    }
+
+    public Builder setParallelPageRequests(Integer parallelPageRequests) {
+      this.parallelPageRequests = parallelPageRequests;
+      return this;
+    }
+
+    public Builder setMetadataCacheDirectory(String metadataCacheDirectory) {
+      this.metadataCacheDirectory = metadataCacheDirectory;
+      return this;
+    }
 
     public SuccessFactorsPluginConfig build() {
       return new SuccessFactorsPluginConfig(referenceName, baseURL, entityName, associateEntityName, username, password,
@@ -570,7 +1209,12 @@ public class SuccessFactorsPluginConfig extends PluginConfig {
               tokenURL, clientId, privateKey, expireInMinutes, userId, samlUsername, assertionToken,
               companyId, authType, assertionTokenType, filterOption, selectOption,
               expandOption, additionalQueryParameters, paginationType,
-              initialRetryDuration, maxRetryDuration, retryMultiplier, maxRetryCount);
+              initialRetryDuration, maxRetryDuration, retryMultiplier, maxRetryCount,
+              connectionPoolSize, keepAliveDuration, recordDecoder, prefetchDepth,
+              numPartitions, partitionColumn, targetSplitCount, splitSize, batchSize,
+              clientPagination, extractionMode, incrementalColumn, watermarkPath,
+              pagesPerBatchRequest, responseCompression, maxRequestsPerSecond, maxInFlightRequests,
+              parallelPageRequests, metadataCacheDirectory);
     }
   }
 }
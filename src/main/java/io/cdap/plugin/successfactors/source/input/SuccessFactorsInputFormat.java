@@ -48,6 +48,7 @@ public class SuccessFactorsInputFormat extends InputFormat<LongWritable, Structu
   public static final String SUCCESSFACTORS_PLUGIN_PROPERTIES = "successFactorsPluginProperties";
   public static final String PARTITIONS_PROPERTY = "partitionProperty";
   public static final String ENCODED_ENTITY_METADATA_STRING = "encodedMetadataString";
+  public static final String INCREMENTAL_FILTER = "incrementalFilter";
   private static final String SERVER_SIDE = "serverSide";
   private static final Gson GSON = new Gson();
   private static final Type INPUT_SPLIT_TYPE = new TypeToken<List<SuccessFactorsInputSplit>>() {
@@ -85,15 +86,25 @@ public class SuccessFactorsInputFormat extends InputFormat<LongWritable, Structu
     String encodedMetadataString = taContext.getConfiguration().get(ENCODED_ENTITY_METADATA_STRING);
 
     SuccessFactorsService successFactorsService = SuccessFactorsUtil.getSuccessFactorsService(pluginConfig);
+    successFactorsService.setPartitionFilter(inputSplit.getPartitionFilter());
+    successFactorsService.setIncrementalFilter(taContext.getConfiguration().get(INCREMENTAL_FILTER));
 
     try {
       Edm edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+      if (inputSplit.getKeysetColumn() != null) {
+        successFactorsService.setKeysetColumn(edmData, inputSplit.getKeysetColumn());
+      }
+      boolean streamingDecoder = pluginConfig.isStreamingRecordDecoder();
+      int prefetchDepth = pluginConfig.getPrefetchDepth();
       if (!Objects.equals(pluginConfig.getPaginationType(), SERVER_SIDE)) {
         return new SuccessFactorsRecordReader(successFactorsService, edmData, outputSchema, inputSplit.getStart(),
-                                              inputSplit.getEnd(), inputSplit.getBatchSize());
+                                              inputSplit.getEnd(), inputSplit.getBatchSize(), streamingDecoder,
+                                              prefetchDepth, inputSplit.getKeysetColumn() != null,
+                                              pluginConfig.getPagesPerBatchRequest(),
+                                              pluginConfig.getParallelPageRequests());
       } else {
         return new SuccessFactorsRecordReader(successFactorsService, edmData, outputSchema, null, null,
-                                              null);
+                                              null, streamingDecoder, prefetchDepth);
       }
     } catch (SuccessFactorsServiceException e) {
       throw new IOException(e.getMessage(), e);
@@ -16,12 +16,14 @@
 
 package io.cdap.plugin.successfactors.source.input;
 
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.mapreduce.InputSplit;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import javax.annotation.Nullable;
 
 /**
  * This {@code SuccessFactorsInputSplit} holds a wrapper for partition details like start and end indices of
@@ -35,16 +37,37 @@ public class SuccessFactorsInputSplit extends InputSplit implements Writable {
   // Standard package size. A split may need multiple SAP network calls (batches),
   // and last batch may have lesser number of records than this packageSize
   private long batchSize;
+  // '$filter' expression of the key range read by this split with server side pagination, null to read all the records
+  @Nullable
+  private String partitionFilter;
+  // unique property the pages of this split are advanced on with keyset pagination, null to advance them with '$skip'
+  @Nullable
+  private String keysetColumn;
 
   public SuccessFactorsInputSplit() {
   }
 
+  public SuccessFactorsInputSplit(String partitionFilter) {
+    this.partitionFilter = partitionFilter;
+  }
+
   public SuccessFactorsInputSplit(long start, long end, long batchSize) {
     this.start = start;
     this.end = end;
     this.batchSize = batchSize;
   }
 
+  /**
+   * Key range split of the client side keyset pagination, start and end only estimate the position of the key range
+   * in the entity.
+   */
+  public SuccessFactorsInputSplit(long start, long end, long batchSize, @Nullable String partitionFilter,
+                                  String keysetColumn) {
+    this(start, end, batchSize);
+    this.partitionFilter = partitionFilter;
+    this.keysetColumn = keysetColumn;
+  }
+
   @Override
   public long getLength() throws IOException, InterruptedException {
     return end - start + 1;
@@ -60,6 +83,14 @@ public class SuccessFactorsInputSplit extends InputSplit implements Writable {
     out.writeLong(start);
     out.writeLong(end);
     out.writeLong(batchSize);
+    out.writeBoolean(partitionFilter != null);
+    if (partitionFilter != null) {
+      Text.writeString(out, partitionFilter);
+    }
+    out.writeBoolean(keysetColumn != null);
+    if (keysetColumn != null) {
+      Text.writeString(out, keysetColumn);
+    }
   }
 
   @Override
@@ -67,6 +98,8 @@ public class SuccessFactorsInputSplit extends InputSplit implements Writable {
     this.start = in.readLong();
     this.end = in.readLong();
     this.batchSize = in.readLong();
+    this.partitionFilter = in.readBoolean() ? Text.readString(in) : null;
+    this.keysetColumn = in.readBoolean() ? Text.readString(in) : null;
   }
 
   public long getStart() {
@@ -80,4 +113,14 @@ public class SuccessFactorsInputSplit extends InputSplit implements Writable {
   public long getBatchSize() {
     return batchSize;
   }
+
+  @Nullable
+  public String getPartitionFilter() {
+    return partitionFilter;
+  }
+
+  @Nullable
+  public String getKeysetColumn() {
+    return keysetColumn;
+  }
 }
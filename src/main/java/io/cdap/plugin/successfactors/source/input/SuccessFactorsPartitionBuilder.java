@@ -16,36 +16,86 @@
 
 package io.cdap.plugin.successfactors.source.input;
 
+import io.cdap.cdap.api.data.schema.Schema;
+
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * This {@code SuccessFactorsPartitionBuilder} will prepare the list of optimized splits containing start & end indices
  * for each split including the optimized batch size.
  * <p>
  * Max allowed Batch size is 1000
- * Max records in Split is 10000
+ * Max records in Split is 10000, unless a target split count or a split size is given
  * <p>
  * If the total available record count is less than equal to 10000 then only 1 split will be created.
  * <p>
+ * When built with an estimated row size, the page size is derived to keep each page around 4 MB and the split size to
+ * keep each split around 128 MB of response data, both within the above maximums, i.e. wide rows make smaller pages
+ * and splits while narrow rows keep the default ones. A target split count or user given split and batch sizes take
+ * precedence over the estimate.
  */
 public class SuccessFactorsPartitionBuilder {
   public static final long MAX_ALLOWED_BATCH_SIZE = 1000L;
   private static final long MAX_RECORDS_IN_SPLIT = 10000L;
+  static final long TARGET_PAGE_BYTES = 4L * 1024 * 1024;
+  static final long TARGET_SPLIT_BYTES = 128L * 1024 * 1024;
+
+  // nominal JSON widths of the property values, used when no sampled row size is available
+  private static final int PROPERTY_OVERHEAD_BYTES = 6;
+  private static final int DEFAULT_VALUE_BYTES = 32;
+  private static final int NUMERIC_VALUE_BYTES = 12;
+  private static final int BOOLEAN_VALUE_BYTES = 5;
+  private static final int DATE_VALUE_BYTES = 28;
+  // the schema estimate counts short strings and a single element of the arrays, the sampled rows can be this many
+  // times wider
+  private static final int SCHEMA_ESTIMATE_SLACK = 8;
+
+  @Nullable
+  private final Integer targetSplitCount;
+  @Nullable
+  private final Long splitSize;
+  @Nullable
+  private final Long batchSize;
+  private final long estimatedRowBytes;
+
+  public SuccessFactorsPartitionBuilder() {
+    this(null, null, null, 0L);
+  }
+
+  /**
+   * @param targetSplitCount  number of splits to plan for, e.g. the executor slots of the pipeline
+   * @param splitSize         user given number of records in each split
+   * @param batchSize         user given number of records in each page
+   * @param estimatedRowBytes estimated response bytes of a single record, 0 if unknown
+   */
+  public SuccessFactorsPartitionBuilder(@Nullable Integer targetSplitCount, @Nullable Long splitSize,
+                                        @Nullable Long batchSize, long estimatedRowBytes) {
+    this.targetSplitCount = targetSplitCount;
+    this.splitSize = splitSize;
+    this.batchSize = batchSize;
+    this.estimatedRowBytes = estimatedRowBytes;
+  }
 
   /**
    * Builds the list of {@code SuccessFactorsInputSplit}
    *
    * @param availableRecordCount available row count
-   * @return list of {@code SuccessFactorsInputSplit}
+   * @return list of {@code SuccessFactorsInputSplit}, empty if there are no records, e.g. an incremental run without
+   * changes
    */
   public List<SuccessFactorsInputSplit> buildSplits(long availableRecordCount) {
 
     List<SuccessFactorsInputSplit> list = new ArrayList<>();
+    if (availableRecordCount <= 0) {
+      return list;
+    }
     long start = 1;
     // setting up the optimal split size and count values
-    long batchSize = Math.min(availableRecordCount, MAX_ALLOWED_BATCH_SIZE);
-    long optimalLoadOnSplit = Math.min(availableRecordCount, MAX_RECORDS_IN_SPLIT);
+    long pageSize = getPageSize();
+    long optimalLoadOnSplit = Math.min(availableRecordCount, getRecordsInSplit(availableRecordCount, pageSize));
+    long batchSize = Math.min(optimalLoadOnSplit, pageSize);
     long optimalSplitCount = availableRecordCount / optimalLoadOnSplit +
       (availableRecordCount % optimalLoadOnSplit != 0 ? 1 : 0);
 
@@ -62,4 +112,192 @@ public class SuccessFactorsPartitionBuilder {
     }
     return list;
   }
+
+  /**
+   * Returns the number of splits {@link #buildSplits(long)} spreads the records over.
+   *
+   * @param availableRecordCount available row count
+   * @return split count
+   */
+  public int getSplitCount(long availableRecordCount) {
+    if (availableRecordCount <= 0) {
+      return 1;
+    }
+    long recordsInSplit = Math.min(availableRecordCount, getRecordsInSplit(availableRecordCount, getPageSize()));
+    return (int) (availableRecordCount / recordsInSplit + (availableRecordCount % recordsInSplit != 0 ? 1 : 0));
+  }
+
+  /**
+   * Returns the number of records fetched in a single page, the user given batch size or else the number of records
+   * of the estimated size fitting in {@code TARGET_PAGE_BYTES}, never more than {@code MAX_ALLOWED_BATCH_SIZE}.
+   *
+   * @return page size
+   */
+  long getPageSize() {
+    if (batchSize != null) {
+      return Math.max(1L, Math.min(batchSize, MAX_ALLOWED_BATCH_SIZE));
+    }
+    if (estimatedRowBytes <= 0) {
+      return MAX_ALLOWED_BATCH_SIZE;
+    }
+    return Math.max(1L, Math.min(TARGET_PAGE_BYTES / estimatedRowBytes, MAX_ALLOWED_BATCH_SIZE));
+  }
+
+  /**
+   * Returns the number of records in a single split, in the order of precedence the user given split size, the
+   * records evenly spread over the target split count or the whole pages of the estimated size fitting in
+   * {@code TARGET_SPLIT_BYTES}, never more than {@code MAX_RECORDS_IN_SPLIT}.
+   *
+   * @param availableRecordCount available row count
+   * @param pageSize             number of records fetched in a single page
+   * @return split size
+   */
+  long getRecordsInSplit(long availableRecordCount, long pageSize) {
+    if (splitSize != null) {
+      return Math.max(1L, splitSize);
+    }
+    if (targetSplitCount != null && targetSplitCount > 0) {
+      return Math.max(1L, availableRecordCount / targetSplitCount + (availableRecordCount % targetSplitCount != 0
+        ? 1 : 0));
+    }
+    long maxPagesInSplit = Math.max(1L, MAX_RECORDS_IN_SPLIT / pageSize);
+    if (estimatedRowBytes <= 0) {
+      return maxPagesInSplit * pageSize;
+    }
+    long pagesInSplit = Math.max(1L, TARGET_SPLIT_BYTES / (estimatedRowBytes * pageSize));
+    return Math.min(pagesInSplit, maxPagesInSplit) * pageSize;
+  }
+
+  /**
+   * Returns whether the rows of the given schema may be wide enough for a sampled row size to make the pages smaller
+   * than {@code MAX_ALLOWED_BATCH_SIZE}, and so the splits smaller than {@code MAX_RECORDS_IN_SPLIT}. Narrower rows
+   * are read with the default page and split sizes and the sample can be skipped.
+   *
+   * @param schema output schema
+   * @return true if the row size is worth sampling
+   */
+  public static boolean isRowSampleNeeded(Schema schema) {
+    return hasArray(schema)
+      || estimateRowBytes(schema) * SCHEMA_ESTIMATE_SLACK > TARGET_PAGE_BYTES / MAX_ALLOWED_BATCH_SIZE;
+  }
+
+  private static boolean hasArray(Schema schema) {
+    for (Schema.Field field : schema.getFields()) {
+      Schema fieldSchema = field.getSchema().isNullable() ? field.getSchema().getNonNullable() : field.getSchema();
+      if (fieldSchema.getType() == Schema.Type.ARRAY
+        || (fieldSchema.getType() == Schema.Type.RECORD && hasArray(fieldSchema))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Estimates the response bytes of a single record from the output schema, used when no page could be sampled.
+   *
+   * @param schema output schema
+   * @return estimated row size in bytes
+   */
+  public static long estimateRowBytes(Schema schema) {
+    long rowBytes = 0;
+    for (Schema.Field field : schema.getFields()) {
+      rowBytes += field.getName().length() + PROPERTY_OVERHEAD_BYTES + estimateValueBytes(field.getSchema());
+    }
+    return rowBytes;
+  }
+
+  private static long estimateValueBytes(Schema schema) {
+    Schema valueSchema = schema.isNullable() ? schema.getNonNullable() : schema;
+    if (valueSchema.getLogicalType() != null) {
+      switch (valueSchema.getLogicalType()) {
+        case DECIMAL:
+          return NUMERIC_VALUE_BYTES;
+        default:
+          return DATE_VALUE_BYTES;
+      }
+    }
+    switch (valueSchema.getType()) {
+      case RECORD:
+        return estimateRowBytes(valueSchema);
+      case ARRAY:
+        return estimateValueBytes(valueSchema.getComponentSchema());
+      case BOOLEAN:
+        return BOOLEAN_VALUE_BYTES;
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return NUMERIC_VALUE_BYTES;
+      default:
+        return DEFAULT_VALUE_BYTES;
+    }
+  }
+
+  /**
+   * Builds the list of {@code SuccessFactorsInputSplit} for the server side pagination, each split reads a key range
+   * of the entity with its own snapshot pagination.
+   * e.g. with 'userId' partition column and boundaries 'A' and 'M' the key ranges are:
+   * - userId lt 'A' or userId eq null
+   * - userId ge 'A' and userId lt 'M'
+   * - userId ge 'M'
+   *
+   * @param partitionColumn property the entity is partitioned on
+   * @param boundaries      ascending, distinct URI literals of the partition column starting a new key range
+   * @return list of {@code SuccessFactorsInputSplit}
+   */
+  public List<SuccessFactorsInputSplit> buildKeyRangeSplits(String partitionColumn, List<String> boundaries) {
+    List<SuccessFactorsInputSplit> list = new ArrayList<>();
+    if (boundaries.isEmpty()) {
+      list.add(new SuccessFactorsInputSplit());
+      return list;
+    }
+    for (String keyRangeFilter : buildKeyRangeFilters(partitionColumn, boundaries)) {
+      list.add(new SuccessFactorsInputSplit(keyRangeFilter));
+    }
+    return list;
+  }
+
+  /**
+   * Builds the list of {@code SuccessFactorsInputSplit} for the client side keyset pagination, each split reads a key
+   * range of the entity in pages ordered on the keyset column, every page starting after the last value seen on the
+   * previous one. The key ranges are the same as with {@link #buildKeyRangeSplits(String, List)}, start and end of
+   * the splits only estimate their position in the entity for the progress reporting.
+   *
+   * @param keysetColumn         unique property the entity is partitioned on and the pages are advanced on
+   * @param boundaries           ascending, distinct URI literals of the keyset column starting a new key range
+   * @param availableRecordCount available row count
+   * @return list of {@code SuccessFactorsInputSplit}
+   */
+  public List<SuccessFactorsInputSplit> buildKeysetSplits(String keysetColumn, List<String> boundaries,
+                                                          long availableRecordCount) {
+    List<String> keyRangeFilters = new ArrayList<>();
+    if (boundaries.isEmpty()) {
+      keyRangeFilters.add(null);
+    } else {
+      keyRangeFilters.addAll(buildKeyRangeFilters(keysetColumn, boundaries));
+    }
+
+    List<SuccessFactorsInputSplit> list = new ArrayList<>();
+    long pageSize = getPageSize();
+    long recordsInSplit = Math.max(1L, availableRecordCount / keyRangeFilters.size());
+    long start = 1;
+    for (int split = 0; split < keyRangeFilters.size(); split++) {
+      long end = split == keyRangeFilters.size() - 1 ? Math.max(start, availableRecordCount)
+        : start + recordsInSplit - 1;
+      list.add(new SuccessFactorsInputSplit(start, end, pageSize, keyRangeFilters.get(split), keysetColumn));
+      start = end + 1;
+    }
+    return list;
+  }
+
+  private static List<String> buildKeyRangeFilters(String partitionColumn, List<String> boundaries) {
+    List<String> filters = new ArrayList<>();
+    filters.add(String.format("%1$s lt %2$s or %1$s eq null", partitionColumn, boundaries.get(0)));
+    for (int i = 1; i < boundaries.size(); i++) {
+      filters.add(String.format("%1$s ge %2$s and %1$s lt %3$s", partitionColumn, boundaries.get(i - 1),
+                                boundaries.get(i)));
+    }
+    filters.add(String.format("%s ge %s", partitionColumn, boundaries.get(boundaries.size() - 1)));
+    return filters;
+  }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.input;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.cdap.plugin.successfactors.common.util.ResourceConstants;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsWatermarkStore} keeps the high watermark of the incremental extraction, the highest
+ * value of the incremental column read by the last successful run, in a file for each reference name and entity:
+ * '{watermarkPath}/{referenceName}/{entityName}.json'.
+ * <p>
+ * Any Hadoop file system can hold the files, e.g. a local directory, HDFS or GCS. A watermark of another incremental
+ * column than the current one is ignored, so that changing the column starts over with a full read.
+ */
+public class SuccessFactorsWatermarkStore {
+
+  private static final Gson GSON = new Gson();
+  private static final String WATERMARK_FILE_EXTENSION = ".json";
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+  private final Path watermarkPath;
+  private final Configuration configuration;
+
+  public SuccessFactorsWatermarkStore(String watermarkPath, Configuration configuration) {
+    this.watermarkPath = new Path(watermarkPath);
+    this.configuration = configuration;
+  }
+
+  /**
+   * Reads the watermark stored by the last successful run.
+   *
+   * @param referenceName     reference name of the source
+   * @param entityName        name of the entity
+   * @param incrementalColumn property holding the last change of the records
+   * @return URI literal of the watermark or null if there is none for the incremental column
+   * @throws IOException any error while reading the watermark file
+   */
+  @Nullable
+  public String read(String referenceName, String entityName, String incrementalColumn) throws IOException {
+    Path file = getWatermarkFile(referenceName, entityName);
+    try {
+      FileSystem fileSystem = file.getFileSystem(configuration);
+      if (!fileSystem.exists(file)) {
+        return null;
+      }
+      Watermark watermark;
+      try (FSDataInputStream inputStream = fileSystem.open(file);
+           Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+        watermark = GSON.fromJson(reader, Watermark.class);
+      }
+      return watermark != null && incrementalColumn.equals(watermark.column) ? watermark.value : null;
+    } catch (IOException | JsonParseException e) {
+      throw new IOException(ResourceConstants.ERR_WATERMARK_STORE.getMsgForKeyWithCode(entityName, file), e);
+    }
+  }
+
+  /**
+   * Replaces the stored watermark, the file is first written aside and then renamed so that a failure never leaves
+   * a partial watermark behind.
+   *
+   * @param referenceName     reference name of the source
+   * @param entityName        name of the entity
+   * @param incrementalColumn property holding the last change of the records
+   * @param value             URI literal of the watermark
+   * @throws IOException any error while writing the watermark file
+   */
+  public void write(String referenceName, String entityName, String incrementalColumn, String value)
+    throws IOException {
+    Path file = getWatermarkFile(referenceName, entityName);
+    Path tempFile = file.suffix(TEMP_FILE_EXTENSION);
+    try {
+      FileSystem fileSystem = file.getFileSystem(configuration);
+      try (FSDataOutputStream outputStream = fileSystem.create(tempFile, true);
+           Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+        GSON.toJson(new Watermark(incrementalColumn, value), writer);
+      }
+      fileSystem.delete(file, false);
+      if (!fileSystem.rename(tempFile, file)) {
+        throw new IOException(String.format("Unable to rename '%s' to '%s'.", tempFile, file));
+      }
+    } catch (IOException e) {
+      throw new IOException(ResourceConstants.ERR_WATERMARK_STORE.getMsgForKeyWithCode(entityName, file), e);
+    }
+  }
+
+  private Path getWatermarkFile(String referenceName, String entityName) {
+    return new Path(new Path(watermarkPath, referenceName), entityName + WATERMARK_FILE_EXTENSION);
+  }
+
+  /**
+   * Stored watermark.
+   */
+  private static final class Watermark {
+    private final String column;
+    private final String value;
+
+    private Watermark(String column, String value) {
+      this.column = column;
+      this.value = value;
+    }
+  }
+}
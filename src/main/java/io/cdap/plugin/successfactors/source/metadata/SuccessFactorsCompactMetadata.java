@@ -0,0 +1,333 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.metadata;
+
+import com.google.common.io.ByteStreams;
+import io.cdap.plugin.successfactors.common.util.SuccessFactorsUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+/**
+ * This {@code SuccessFactorsCompactMetadata} builds the compact form of a SAP SuccessFactors '$metadata' document that
+ * is handed over to the tasks reading the entity, in place of the whole document:
+ * - only the entity types reachable from the entity and its '$expand' paths are kept, along with their base types,
+ * complex types and associations, and the entity sets and association sets between the kept types
+ * - the pruned document is gzip compressed and Base64 encoded to be stored in the Hadoop job configuration
+ * <p>
+ * The other ends of the navigation properties which are not expanded are dropped, their links are only read as
+ * deferred links. The document is pruned as XML so that all the facets and SAP annotations of the kept elements are
+ * preserved, the tasks still build the {@code Edm} with Olingo, but from a document of a few entity types.
+ */
+public final class SuccessFactorsCompactMetadata {
+
+  private static final String ENTITY_TYPE = "EntityType";
+  private static final String COMPLEX_TYPE = "ComplexType";
+  private static final String ASSOCIATION = "Association";
+  private static final String ENTITY_CONTAINER = "EntityContainer";
+  private static final String ENTITY_SET = "EntitySet";
+  private static final String ASSOCIATION_SET = "AssociationSet";
+  private static final String NAVIGATION_PROPERTY = "NavigationProperty";
+  private static final String PROPERTY = "Property";
+  private static final String END = "End";
+  private static final String NAME = "Name";
+  private static final String TYPE = "Type";
+  private static final String BASE_TYPE = "BaseType";
+  private static final String ROLE = "Role";
+  private static final String EXPAND_SEPARATOR = ",";
+  private static final String PATH_SEPARATOR = "/";
+
+  private SuccessFactorsCompactMetadata() {
+  }
+
+  /**
+   * Builds the compact metadata of the given entity. The whole document is kept if the entity set is not found in
+   * it.
+   *
+   * @param metadata     '$metadata' document as received from SuccessFactors
+   * @param entityName   SuccessFactors entity name
+   * @param expandOption '$expand' option, navigation paths separated by ',' or null
+   * @return Base64 encoded compact metadata
+   * @throws IOException any error while parsing or writing the document
+   */
+  public static String encode(byte[] metadata, String entityName, @Nullable String expandOption) throws IOException {
+    Document document = parse(metadata);
+    new Pruner(document).prune(entityName, expandOption);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (OutputStream compressed = new GZIPOutputStream(output)) {
+      write(document, compressed);
+    }
+    return Base64.getEncoder().encodeToString(output.toByteArray());
+  }
+
+  /**
+   * Decodes the given compact metadata. The Base64 encoded '$metadata' document, as stored by the earlier versions,
+   * is accepted as well.
+   *
+   * @param encodedMetadata Base64 encoded compact metadata
+   * @return '$metadata' document
+   * @throws IOException any error while decompressing the document
+   */
+  public static byte[] decode(String encodedMetadata) throws IOException {
+    byte[] bytes = Base64.getDecoder().decode(encodedMetadata);
+    if (bytes.length < 2 || (bytes[0] & 0xff) != 0x1f || (bytes[1] & 0xff) != 0x8b) {
+      return bytes;
+    }
+    try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+      return ByteStreams.toByteArray(input);
+    }
+  }
+
+  private static Document parse(byte[] metadata) throws IOException {
+    try {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setNamespaceAware(true);
+      factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+      return factory.newDocumentBuilder().parse(new ByteArrayInputStream(metadata));
+    } catch (ParserConfigurationException | SAXException e) {
+      throw new IOException("Unable to parse the metadata document.", e);
+    }
+  }
+
+  private static void write(Document document, OutputStream output) throws IOException {
+    try {
+      TransformerFactory factory = TransformerFactory.newInstance();
+      factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      Transformer transformer = factory.newTransformer();
+      transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+      transformer.transform(new DOMSource(document), new StreamResult(output));
+    } catch (TransformerException e) {
+      throw new IOException("Unable to write the metadata document.", e);
+    }
+  }
+
+  private static List<Element> getChildren(Element parent, String localName) {
+    List<Element> children = new ArrayList<>();
+    for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child instanceof Element && localName.equals(child.getLocalName())) {
+        children.add((Element) child);
+      }
+    }
+    return children;
+  }
+
+  private static void remove(Element element) {
+    Node previous = element.getPreviousSibling();
+    // indentation of the removed element
+    if (previous != null && previous.getNodeType() == Node.TEXT_NODE && previous.getNodeValue().trim().isEmpty()) {
+      element.getParentNode().removeChild(previous);
+    }
+    element.getParentNode().removeChild(element);
+  }
+
+  /**
+   * Finds the elements reachable from the entity and removes the others from the document.
+   */
+  private static final class Pruner {
+    private final List<Element> schemas = new ArrayList<>();
+    // types and associations by qualified name, with the namespace and with the alias of their schema
+    private final Map<String, Element> entityTypes = new HashMap<>();
+    private final Map<String, Element> complexTypes = new HashMap<>();
+    private final Map<String, Element> associations = new HashMap<>();
+    private final Set<Element> kept = new HashSet<>();
+
+    private Pruner(Document document) {
+      Element root = document.getDocumentElement();
+      for (Element dataServices : getChildren(root, "DataServices")) {
+        for (Element schema : getChildren(dataServices, "Schema")) {
+          schemas.add(schema);
+          index(schema, ENTITY_TYPE, entityTypes);
+          index(schema, COMPLEX_TYPE, complexTypes);
+          index(schema, ASSOCIATION, associations);
+        }
+      }
+    }
+
+    private void index(Element schema, String localName, Map<String, Element> elements) {
+      for (Element element : getChildren(schema, localName)) {
+        String name = element.getAttribute(NAME);
+        elements.put(schema.getAttribute("Namespace") + "." + name, element);
+        if (!schema.getAttribute("Alias").isEmpty()) {
+          elements.put(schema.getAttribute("Alias") + "." + name, element);
+        }
+      }
+    }
+
+    private void prune(String entityName, @Nullable String expandOption) {
+      Element entitySet = findEntitySet(entityName);
+      Element entityType = entitySet == null ? null : entityTypes.get(entitySet.getAttribute(ENTITY_TYPE));
+      if (entityType == null) {
+        return;
+      }
+      keepType(entityType);
+      if (SuccessFactorsUtil.isNotNullOrEmpty(expandOption)) {
+        for (String path : expandOption.split(EXPAND_SEPARATOR)) {
+          Element type = entityType;
+          for (String navigationName : path.trim().split(PATH_SEPARATOR)) {
+            type = type == null ? null : getTargetType(type, navigationName.trim());
+            if (type != null) {
+              keepType(type);
+            }
+          }
+        }
+      }
+      // the navigation properties of the kept types need their association, even if they are not expanded
+      for (Element type : new ArrayList<>(kept)) {
+        for (Element navigationProperty : getChildren(type, NAVIGATION_PROPERTY)) {
+          Element association = associations.get(navigationProperty.getAttribute("Relationship"));
+          if (association != null) {
+            kept.add(association);
+          }
+        }
+      }
+
+      for (Element schema : schemas) {
+        removeNotKept(schema, ENTITY_TYPE);
+        removeNotKept(schema, COMPLEX_TYPE);
+        removeNotKept(schema, ASSOCIATION);
+        for (Element container : getChildren(schema, ENTITY_CONTAINER)) {
+          pruneContainer(container);
+        }
+      }
+    }
+
+    @Nullable
+    private Element findEntitySet(String entityName) {
+      for (Element schema : schemas) {
+        for (Element container : getChildren(schema, ENTITY_CONTAINER)) {
+          for (Element entitySet : getChildren(container, ENTITY_SET)) {
+            if (entitySet.getAttribute(NAME).equals(entityName)) {
+              return entitySet;
+            }
+          }
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Keeps the given entity or complex type along with its base types and the complex types of its properties.
+     */
+    private void keepType(Element type) {
+      if (!kept.add(type)) {
+        return;
+      }
+      Element baseType = type.hasAttribute(BASE_TYPE) ? entityTypes.get(type.getAttribute(BASE_TYPE)) : null;
+      if (baseType == null && type.hasAttribute(BASE_TYPE)) {
+        baseType = complexTypes.get(type.getAttribute(BASE_TYPE));
+      }
+      if (baseType != null) {
+        keepType(baseType);
+      }
+      for (Element property : getChildren(type, PROPERTY)) {
+        Element complexType = complexTypes.get(property.getAttribute(TYPE));
+        if (complexType != null) {
+          keepType(complexType);
+        }
+      }
+    }
+
+    /**
+     * @return the entity type at the other end of the given navigation property, declared by the given type or by
+     * one of its base types
+     */
+    @Nullable
+    private Element getTargetType(Element type, String navigationName) {
+      for (Element current = type; current != null; current = entityTypes.get(current.getAttribute(BASE_TYPE))) {
+        for (Element navigationProperty : getChildren(current, NAVIGATION_PROPERTY)) {
+          if (!navigationProperty.getAttribute(NAME).equals(navigationName)) {
+            continue;
+          }
+          Element association = associations.get(navigationProperty.getAttribute("Relationship"));
+          if (association == null) {
+            return null;
+          }
+          for (Element end : getChildren(association, END)) {
+            if (end.getAttribute(ROLE).equals(navigationProperty.getAttribute("ToRole"))) {
+              return entityTypes.get(end.getAttribute(TYPE));
+            }
+          }
+          return null;
+        }
+      }
+      return null;
+    }
+
+    private void removeNotKept(Element schema, String localName) {
+      for (Element element : getChildren(schema, localName)) {
+        if (!kept.contains(element)) {
+          remove(element);
+        }
+      }
+    }
+
+    /**
+     * Keeps the entity sets of the kept types and the association sets between them, the function imports are
+     * dropped.
+     */
+    private void pruneContainer(Element container) {
+      Set<String> entitySetNames = new HashSet<>();
+      for (Element entitySet : getChildren(container, ENTITY_SET)) {
+        if (kept.contains(entityTypes.get(entitySet.getAttribute(ENTITY_TYPE)))) {
+          entitySetNames.add(entitySet.getAttribute(NAME));
+        } else {
+          remove(entitySet);
+        }
+      }
+      for (Element associationSet : getChildren(container, ASSOCIATION_SET)) {
+        boolean keep = kept.contains(associations.get(associationSet.getAttribute(ASSOCIATION)));
+        for (Element end : getChildren(associationSet, END)) {
+          keep &= entitySetNames.contains(end.getAttribute(ENTITY_SET));
+        }
+        if (!keep) {
+          remove(associationSet);
+        }
+      }
+      for (Element functionImport : getChildren(container, "FunctionImport")) {
+        remove(functionImport);
+      }
+    }
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Removes the nested containers of the expanded entities that Olingo is not able to read, in a single streaming pass.
+ * The page is parsed token by token and the filtered tokens are written into a small buffer that is handed out
+ * through this {@code InputStream}, so neither the received nor the filtered page is ever held in memory.
+ *
+ * For every entry of the feed, the value of each expanded navigation property is filtered as below:
+ * - the 'results' of an expanded collection, e.g. '{"results": [...]}', are kept and each of its entities is filtered.
+ * - within such an entity, simple properties and nested expanded collections are kept while any other container
+ *   ('__metadata', '__deferred' navigation properties, single expanded entities) is dropped.
+ *
+ * As per the OData v2 JSON format, 'results' is expected to be the first member of an expanded collection.
+ */
+class SuccessFactorsExpandedEntityFilter extends InputStream {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String ODATA_ROOT_ELEMENT = "d";
+  private static final String ODATA_RESULT_ELEMENT = "results";
+  private static final int CHUNK_SIZE = 8192;
+
+  /**
+   * Kind of the JSON container the parser is currently in.
+   */
+  private enum Frame {
+    // root object of the page
+    ROOT,
+    // the 'd' object holding the feed
+    FEED,
+    // the 'results' array of the feed
+    ENTRIES,
+    // an entry of the feed, only the expanded navigation properties are filtered
+    ENTRY,
+    // a '{"results": [...]}' expanded collection, the other members are copied as is
+    COLLECTION,
+    // the 'results' array of an expanded collection
+    COLLECTION_ENTRIES,
+    // an expanded entity, its non collection containers are dropped
+    EXPANDED_ENTITY
+  }
+
+  private final JsonParser parser;
+  private final JsonGenerator generator;
+  private final ByteArrayOutputStream output;
+  private final Set<String> expandFields;
+  private final Deque<Frame> frames;
+  private byte[] chunk;
+  private int chunkPosition;
+  private boolean parsed;
+  @Nullable
+  private JsonToken pendingToken;
+
+  /**
+   * @param dataStream   OData v2 JSON response of a data page, closed along with this stream
+   * @param expandFields names of the expanded navigation properties of the entity
+   * @throws IOException any error while setting up the JSON parser
+   */
+  SuccessFactorsExpandedEntityFilter(InputStream dataStream, Set<String> expandFields) throws IOException {
+    this.parser = JSON_FACTORY.createParser(dataStream);
+    this.output = new ByteArrayOutputStream(CHUNK_SIZE);
+    this.generator = JSON_FACTORY.createGenerator(output);
+    this.expandFields = expandFields;
+    this.frames = new ArrayDeque<>();
+    this.chunk = new byte[0];
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!fillChunk()) {
+      return -1;
+    }
+    return chunk[chunkPosition++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!fillChunk()) {
+      return -1;
+    }
+    int count = Math.min(length, chunk.length - chunkPosition);
+    System.arraycopy(chunk, chunkPosition, buffer, offset, count);
+    chunkPosition += count;
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return chunk.length - chunkPosition;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      generator.close();
+    } finally {
+      parser.close();
+    }
+  }
+
+  /**
+   * Makes sure that there are unread filtered bytes, unless the page is fully read.
+   *
+   * @return false once all the filtered bytes are read
+   */
+  private boolean fillChunk() throws IOException {
+    while (chunkPosition >= chunk.length) {
+      if (parsed) {
+        return false;
+      }
+      while (!parsed && output.size() < CHUNK_SIZE) {
+        parsed = !filterNextToken();
+      }
+      generator.flush();
+      chunk = output.toByteArray();
+      chunkPosition = 0;
+      output.reset();
+    }
+    return true;
+  }
+
+  /**
+   * Reads the next token and writes it out unless it has to be dropped.
+   *
+   * @return false once the end of the page is reached
+   */
+  private boolean filterNextToken() throws IOException {
+    JsonToken token = nextToken();
+    if (token == null) {
+      return false;
+    }
+
+    if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+      generator.copyCurrentEvent(parser);
+      frames.pop();
+      return true;
+    }
+
+    Frame frame = frames.peek();
+    if (frame == null) {
+      // the root value
+      if (token == JsonToken.START_OBJECT) {
+        generator.writeStartObject();
+        frames.push(Frame.ROOT);
+      } else {
+        generator.copyCurrentStructure(parser);
+      }
+      return true;
+    }
+
+    switch (frame) {
+      case ROOT:
+        copyMember(ODATA_ROOT_ELEMENT, JsonToken.START_OBJECT, Frame.FEED);
+        break;
+      case FEED:
+        copyMember(ODATA_RESULT_ELEMENT, JsonToken.START_ARRAY, Frame.ENTRIES);
+        break;
+      case ENTRIES:
+        copyElement(Frame.ENTRY);
+        break;
+      case ENTRY:
+        filterEntryMember();
+        break;
+      case COLLECTION:
+        copyMember(ODATA_RESULT_ELEMENT, JsonToken.START_ARRAY, Frame.COLLECTION_ENTRIES);
+        break;
+      case COLLECTION_ENTRIES:
+        copyElement(Frame.EXPANDED_ENTITY);
+        break;
+      case EXPANDED_ENTITY:
+        filterExpandedEntityMember();
+        break;
+    }
+    return true;
+  }
+
+  /**
+   * Copies the current object member, entering into its value if it is the expected container.
+   */
+  private void copyMember(String fieldName, JsonToken containerToken, Frame containerFrame) throws IOException {
+    String name = parser.getCurrentName();
+    JsonToken valueToken = parser.nextToken();
+    generator.writeFieldName(name);
+    if (fieldName.equals(name) && valueToken == containerToken) {
+      generator.copyCurrentEvent(parser);
+      frames.push(containerFrame);
+    } else {
+      generator.copyCurrentStructure(parser);
+    }
+  }
+
+  /**
+   * Copies the current array element, entering into it if it is an object.
+   */
+  private void copyElement(Frame objectFrame) throws IOException {
+    if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+      generator.writeStartObject();
+      frames.push(objectFrame);
+    } else {
+      generator.copyCurrentStructure(parser);
+    }
+  }
+
+  private void filterEntryMember() throws IOException {
+    String name = parser.getCurrentName();
+    if (!expandFields.contains(name)) {
+      generator.copyCurrentStructure(parser);
+      return;
+    }
+
+    JsonToken valueToken = parser.nextToken();
+    generator.writeFieldName(name);
+    if (valueToken != JsonToken.START_OBJECT) {
+      generator.copyCurrentStructure(parser);
+      return;
+    }
+    generator.writeStartObject();
+    // an expanded collection or a single expanded entity
+    pendingToken = parser.nextToken();
+    frames.push(isCollectionStart(pendingToken) ? Frame.COLLECTION : Frame.EXPANDED_ENTITY);
+  }
+
+  private void filterExpandedEntityMember() throws IOException {
+    String name = parser.getCurrentName();
+    JsonToken valueToken = parser.nextToken();
+    if (valueToken == JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return;
+    }
+    if (valueToken != JsonToken.START_OBJECT) {
+      generator.writeFieldName(name);
+      generator.copyCurrentEvent(parser);
+      return;
+    }
+
+    JsonToken firstToken = parser.nextToken();
+    if (isCollectionStart(firstToken)) {
+      generator.writeFieldName(name);
+      generator.writeStartObject();
+      pendingToken = firstToken;
+      frames.push(Frame.COLLECTION);
+      return;
+    }
+    // drop the container, e.g. '__metadata' or a '__deferred' navigation property
+    while (firstToken == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      parser.skipChildren();
+      firstToken = parser.nextToken();
+    }
+  }
+
+  private boolean isCollectionStart(JsonToken token) throws IOException {
+    return token == JsonToken.FIELD_NAME && ODATA_RESULT_ELEMENT.equals(parser.getCurrentName());
+  }
+
+  @Nullable
+  private JsonToken nextToken() throws IOException {
+    if (pendingToken != null) {
+      JsonToken token = pendingToken;
+      pendingToken = null;
+      return token;
+    }
+    return parser.nextToken();
+  }
+}
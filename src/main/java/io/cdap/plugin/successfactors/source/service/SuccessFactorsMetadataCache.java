@@ -0,0 +1,322 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import io.cdap.plugin.successfactors.common.exception.TransportException;
+import io.cdap.plugin.successfactors.common.util.ResourceConstants;
+import io.cdap.plugin.successfactors.common.util.SuccessFactorsUtil;
+import io.cdap.plugin.successfactors.connector.SuccessFactorsConnectorConfig;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsResponseContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsMetadataCache} keeps the '$metadata' documents fetched from SuccessFactors, so that the
+ * many metadata calls made while a pipeline is deployed, previewed and started, or while a connection is browsed, do
+ * not download the multi-MB documents of the large entities again:
+ * - a JVM-wide in-memory tier of at most {@code DEFAULT_MAX_MEMORY_BYTES}, the least recently used documents are
+ * evicted first
+ * - an optional on-disk tier in a local directory, shared by the pipelines deployed and run on the same host
+ * <p>
+ * A document is looked up by its metadata URL, which holds the base URL, the entity and the associated entities, and
+ * by credential scope, as SuccessFactors only exposes the properties the calling user is permitted to read. A
+ * document validated less than {@code DEFAULT_FRESHNESS_MILLIS} ago is used as is. Any other document is revalidated
+ * with a conditional GET based on its 'ETag' or 'Last-Modified' validators and only downloaded again if it changed.
+ * Documents without any validator are kept in memory only.
+ */
+public final class SuccessFactorsMetadataCache {
+
+  static final long DEFAULT_MAX_MEMORY_BYTES = 64L * 1024 * 1024;
+  static final long DEFAULT_FRESHNESS_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  static final String IF_NONE_MATCH = "If-None-Match";
+  static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+  private static final String FILE_SUFFIX = ".metadata";
+  private static final int FILE_VERSION = 1;
+  private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsMetadataCache.class);
+  private static final SuccessFactorsMetadataCache INSTANCE =
+    new SuccessFactorsMetadataCache(DEFAULT_MAX_MEMORY_BYTES, DEFAULT_FRESHNESS_MILLIS, System::currentTimeMillis);
+
+  /**
+   * Calls the SuccessFactors metadata URL with the given request headers, the conditional headers of a cached
+   * document or none.
+   */
+  @FunctionalInterface
+  public interface Fetcher {
+    SuccessFactorsResponseContainer fetch(Map<String, String> requestHeaders) throws TransportException;
+  }
+
+  private final long maxMemoryBytes;
+  private final long freshnessMillis;
+  private final LongSupplier clock;
+  // access ordered, the eldest entry is the least recently used one
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long memoryBytes;
+
+  @VisibleForTesting
+  SuccessFactorsMetadataCache(long maxMemoryBytes, long freshnessMillis, LongSupplier clock) {
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.freshnessMillis = freshnessMillis;
+    this.clock = clock;
+  }
+
+  /**
+   * @return the metadata cache shared by all the services and connectors of the JVM
+   */
+  public static SuccessFactorsMetadataCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Identifies the credentials a metadata document is fetched with, the user for basic authentication and the OAuth
+   * 2.0 client, company and user otherwise. The secrets only enter the scope as a fingerprint, so that a document
+   * fetched with a rotated or mistyped secret is never served from the entry of the previous one.
+   *
+   * @param config SuccessFactors connection parameters
+   * @return credential scope of the metadata documents
+   */
+  public static String getCredentialScope(SuccessFactorsConnectorConfig config) {
+    String fingerprint = SuccessFactorsUtil.fingerprint(config.getPassword(), config.getPrivateKey(),
+                                                        config.getAssertionToken());
+    if (SuccessFactorsConnectorConfig.BASIC_AUTH.equals(config.getAuthType())) {
+      return String.join("\n", config.getAuthType(), String.valueOf(config.getUsername()), fingerprint);
+    }
+    return String.join("\n", String.valueOf(config.getAuthType()), String.valueOf(config.getTokenURL()),
+                       String.valueOf(config.getCompanyId()), String.valueOf(config.getClientId()),
+                       String.valueOf(config.getUserId()), fingerprint);
+  }
+
+  /**
+   * Returns the metadata document at the given URL, from the cache if it is still valid. A downloaded document is
+   * cached only if SuccessFactors answered with HTTP 200, any other response body is returned as is.
+   *
+   * @param metadataURL     '$metadata' URL of the entity
+   * @param credentialScope credentials the document is fetched with, see {@code getCredentialScope}
+   * @param cacheDirectory  local directory of the on-disk tier or null to cache the document in memory only
+   * @param fetcher         calls the metadata URL
+   * @return metadata document {@code InputStream}
+   * @throws TransportException any http client exceptions are wrapped under it.
+   */
+  public InputStream getMetadata(URL metadataURL, String credentialScope, @Nullable String cacheDirectory,
+                                 Fetcher fetcher) throws TransportException {
+    String key = metadataURL + "\n" + credentialScope;
+    Entry entry = getEntry(key);
+    if (entry != null && clock.getAsLong() - entry.validatedAt < freshnessMillis) {
+      return entry.getDocument();
+    }
+
+    Path file = cacheDirectory == null ? null : Paths.get(cacheDirectory, getFileName(key));
+    if (entry == null && file != null) {
+      entry = readFile(file, key);
+    }
+    Map<String, String> requestHeaders = entry == null ? Collections.emptyMap() : entry.getConditionalHeaders();
+    SuccessFactorsResponseContainer responseContainer = fetcher.fetch(requestHeaders);
+
+    int statusCode = responseContainer.getHttpStatusCode();
+    if (entry != null && !requestHeaders.isEmpty() && statusCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+      responseContainer.close();
+      LOG.debug("Metadata '{}' is not modified, the cached document is used.", metadataURL);
+      entry = new Entry(entry.document, entry.eTag, entry.lastModified, clock.getAsLong());
+      putEntry(key, entry);
+      return entry.getDocument();
+    }
+    if (statusCode != HttpURLConnection.HTTP_OK) {
+      return responseContainer.getResponseStream();
+    }
+
+    byte[] document;
+    try (InputStream stream = responseContainer.getResponseStream()) {
+      document = ByteStreams.toByteArray(stream);
+    } catch (IOException e) {
+      throw new TransportException(ResourceConstants.ERR_CALL_SERVICE_FAILURE.getMsgForKey(), e);
+    } finally {
+      responseContainer.close();
+    }
+    entry = new Entry(document, responseContainer.getETag(), responseContainer.getLastModified(),
+                      clock.getAsLong());
+    putEntry(key, entry);
+    if (file != null && !entry.getConditionalHeaders().isEmpty()) {
+      writeFile(file, key, entry);
+    }
+    return entry.getDocument();
+  }
+
+  /**
+   * Removes all the documents from the in-memory tier.
+   */
+  @VisibleForTesting
+  public static void clear() {
+    INSTANCE.clearEntries();
+  }
+
+  @VisibleForTesting
+  synchronized long getMemoryBytes() {
+    return memoryBytes;
+  }
+
+  private synchronized void clearEntries() {
+    entries.clear();
+    memoryBytes = 0;
+  }
+
+  @Nullable
+  private synchronized Entry getEntry(String key) {
+    return entries.get(key);
+  }
+
+  private synchronized void putEntry(String key, Entry entry) {
+    Entry previous = entries.put(key, entry);
+    memoryBytes += entry.document.length - (previous == null ? 0 : previous.document.length);
+    Iterator<Entry> eldest = entries.values().iterator();
+    while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+      memoryBytes -= eldest.next().document.length;
+      eldest.remove();
+    }
+  }
+
+  /**
+   * @return name of the cache file, the key holds the user name and is not exposed
+   */
+  private static String getFileName(String key) {
+    return Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + FILE_SUFFIX;
+  }
+
+  /**
+   * Reads a document of the on-disk tier. The cache is only an optimization, any error is logged and the document
+   * downloaded again.
+   *
+   * @return the cached document or null if there is none
+   */
+  @Nullable
+  private static Entry readFile(Path file, String key) {
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+      new GZIPInputStream(Files.newInputStream(file))))) {
+      if (input.readInt() != FILE_VERSION || !key.equals(input.readUTF())) {
+        return null;
+      }
+      String eTag = input.readUTF();
+      String lastModified = input.readUTF();
+      byte[] document = new byte[input.readInt()];
+      input.readFully(document);
+      return new Entry(document, eTag.isEmpty() ? null : eTag, lastModified.isEmpty() ? null : lastModified, 0L);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Unable to read the cached metadata file '{}'.", file, e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes a document to the on-disk tier, through a temporary file so that concurrent readers never see a partial
+   * document.
+   */
+  private static void writeFile(Path file, String key, Entry entry) {
+    Path temporaryFile = null;
+    try {
+      Files.createDirectories(file.getParent());
+      temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+        new GZIPOutputStream(Files.newOutputStream(temporaryFile))))) {
+        output.writeInt(FILE_VERSION);
+        output.writeUTF(key);
+        output.writeUTF(entry.eTag == null ? "" : entry.eTag);
+        output.writeUTF(entry.lastModified == null ? "" : entry.lastModified);
+        output.writeInt(entry.document.length);
+        output.write(entry.document);
+      }
+      try {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to write the cached metadata file '{}'.", file, e);
+      if (temporaryFile != null) {
+        try {
+          Files.deleteIfExists(temporaryFile);
+        } catch (IOException ignored) {
+          // already logged
+        }
+      }
+    }
+  }
+
+  /**
+   * Cached metadata document along with its validators.
+   */
+  private static final class Entry {
+    private final byte[] document;
+    @Nullable
+    private final String eTag;
+    @Nullable
+    private final String lastModified;
+    // time the document was last downloaded or revalidated, 0 if it was read from the disk
+    private final long validatedAt;
+
+    private Entry(byte[] document, @Nullable String eTag, @Nullable String lastModified, long validatedAt) {
+      this.document = document;
+      this.eTag = eTag;
+      this.lastModified = lastModified;
+      this.validatedAt = validatedAt;
+    }
+
+    private InputStream getDocument() {
+      return new ByteArrayInputStream(document);
+    }
+
+    private Map<String, String> getConditionalHeaders() {
+      Map<String, String> headers = new HashMap<>();
+      if (eTag != null) {
+        headers.put(IF_NONE_MATCH, eTag);
+      }
+      if (lastModified != null) {
+        headers.put(IF_MODIFIED_SINCE, lastModified);
+      }
+      return headers;
+    }
+  }
+}
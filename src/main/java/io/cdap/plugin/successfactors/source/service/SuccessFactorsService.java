@@ -16,8 +16,7 @@
 
 package io.cdap.plugin.successfactors.source.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.CountingInputStream;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.plugin.successfactors.common.exception.SuccessFactorsServiceException;
 import io.cdap.plugin.successfactors.common.exception.TransportException;
@@ -25,18 +24,27 @@ import io.cdap.plugin.successfactors.common.util.ExceptionParser;
 import io.cdap.plugin.successfactors.common.util.ResourceConstants;
 import io.cdap.plugin.successfactors.common.util.SuccessFactorsUtil;
 import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
+import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsCompactMetadata;
 import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsEntityProvider;
 import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsSchemaGenerator;
+import io.cdap.plugin.successfactors.source.transform.SuccessFactorsStreamingDecoder;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsReadMetrics;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsResponseContainer;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsTransporter;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsUrlContainer;
 import okhttp3.HttpUrl;
 import org.apache.olingo.odata2.api.edm.Edm;
 import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmEntityType;
 import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmSimpleType;
+import org.apache.olingo.odata2.api.edm.EdmTyped;
 import org.apache.olingo.odata2.api.ep.EntityProvider;
 import org.apache.olingo.odata2.api.ep.EntityProviderException;
 import org.apache.olingo.odata2.api.ep.EntityProviderReadProperties;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,12 +58,13 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Base64;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.MediaType;
@@ -73,13 +82,19 @@ public class SuccessFactorsService {
   public static final String METADATA = "METADATA";
   private static final String COUNT = "COUNT";
   private static final String SERVER_SIDE = "serverSide";
-  private static final String ODATA_ROOT_ELEMENT = "d";
-  private static final String ODATA_RESULT_ELEMENT = "results";
   private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsService.class);
   private final SuccessFactorsPluginConfig pluginConfig;
   private final SuccessFactorsTransporter successFactorsHttpClient;
   private final SuccessFactorsUrlContainer urlContainer;
   private String nextUrl;
+  private Set<String> expandFields;
+  @Nullable
+  private EdmProperty keysetProperty;
+  @Nullable
+  private Object lastKeyValue;
+  @Nullable
+  private String keysetStart;
+  private boolean keysetPageRead;
 
   public SuccessFactorsService(SuccessFactorsPluginConfig pluginConfig,
                                SuccessFactorsTransporter successFactorsHttpClient) {
@@ -88,6 +103,47 @@ public class SuccessFactorsService {
     urlContainer = new SuccessFactorsUrlContainer(pluginConfig);
   }
 
+  /**
+   * Restricts the records read by this service to the key range of a split.
+   *
+   * @param partitionFilter '$filter' expression of the key range or null to read the whole entity
+   */
+  public void setPartitionFilter(@Nullable String partitionFilter) {
+    urlContainer.setPartitionFilter(partitionFilter);
+  }
+
+  /**
+   * Restricts the records read and counted by this service to the ones changed since the last successful run.
+   *
+   * @param incrementalFilter '$filter' expression of the incremental bounds or null to read all the records
+   */
+  public void setIncrementalFilter(@Nullable String incrementalFilter) {
+    urlContainer.setIncrementalFilter(incrementalFilter);
+  }
+
+  /**
+   * Advances the pages read by this service on the last seen value of the given column instead of '$skip', the
+   * column must be unique and not null, see {@link #getKeysetColumn(Edm)}.
+   *
+   * @param edm          SuccessFactors service entity metadata
+   * @param keysetColumn property the pages are advanced on
+   * @throws SuccessFactorsServiceException if the property is not a simple type property of the entity
+   */
+  public void setKeysetColumn(Edm edm, String keysetColumn) throws SuccessFactorsServiceException {
+    try {
+      EdmEntityType entityType = new SuccessFactorsEntityProvider(edm).getEntityType(pluginConfig.getEntityName());
+      keysetProperty = entityType != null ? getSimpleProperty(entityType, keysetColumn) : null;
+    } catch (EdmException e) {
+      throw new SuccessFactorsServiceException(ResourceConstants.ERR_PARTITION_COLUMN.getMsgForKeyWithCode(
+        keysetColumn, pluginConfig.getEntityName()), e);
+    }
+    if (keysetProperty == null) {
+      throw new SuccessFactorsServiceException(ResourceConstants.ERR_PARTITION_COLUMN.getMsgForKeyWithCode(
+        keysetColumn, pluginConfig.getEntityName()));
+    }
+    urlContainer.setKeysetColumn(keysetColumn);
+  }
+
   /**
    * Calls to check the Successfactors URL correctness.
    *
@@ -96,11 +152,12 @@ public class SuccessFactorsService {
    */
   public void checkSuccessFactorsURL() throws TransportException, SuccessFactorsServiceException {
 
-    SuccessFactorsResponseContainer responseContainer =
-      successFactorsHttpClient.callSuccessFactorsEntity(urlContainer.getTesterURL(), MediaType.APPLICATION_JSON);
+    try (SuccessFactorsResponseContainer responseContainer =
+           successFactorsHttpClient.callSuccessFactorsEntity(urlContainer.getTesterURL(), MediaType.APPLICATION_JSON)) {
 
-    ExceptionParser.checkAndThrowException(ResourceConstants.ERR_FAILED_ENTITY_VALIDATION.getMsgForKey(),
-                                           responseContainer);
+      ExceptionParser.checkAndThrowException(ResourceConstants.ERR_FAILED_ENTITY_VALIDATION.getMsgForKey(),
+                                             responseContainer);
+    }
   }
 
   /**
@@ -156,17 +213,20 @@ public class SuccessFactorsService {
   }
 
   /**
-   * Calls the SAP SuccessFactors catalog entity to fetch Entity metadata
+   * Calls the SAP SuccessFactors catalog entity to fetch Entity metadata, the document is served from the
+   * {@code SuccessFactorsMetadataCache} if it has not changed since it was last fetched.
    *
    * @return {@code InputStream}
    * @throws TransportException any http client exceptions are wrapped under it.
    */
   private InputStream callEntityMetadata() throws TransportException {
-    SuccessFactorsResponseContainer responseContainer = successFactorsHttpClient
-      .callSuccessFactorsWithRetry(urlContainer.getMetadataURL(), MediaType.APPLICATION_XML, pluginConfig
-        .getInitialRetryDuration(), pluginConfig.getMaxRetryDuration(), pluginConfig.getRetryMultiplier(),
-                                   pluginConfig.getMaxRetryCount());
-    return responseContainer.getResponseStream();
+    URL metadataURL = urlContainer.getMetadataURL();
+    return SuccessFactorsMetadataCache.getInstance().getMetadata(
+      metadataURL, SuccessFactorsMetadataCache.getCredentialScope(pluginConfig.getConnection()),
+      pluginConfig.getMetadataCacheDirectory(),
+      requestHeaders -> successFactorsHttpClient.callSuccessFactorsWithRetry(
+        metadataURL, MediaType.APPLICATION_XML, requestHeaders, pluginConfig.getInitialRetryDuration(),
+        pluginConfig.getMaxRetryDuration(), pluginConfig.getRetryMultiplier(), pluginConfig.getMaxRetryCount()));
   }
 
   /**
@@ -202,6 +262,12 @@ public class SuccessFactorsService {
   }
 
   /**
+   * Builds the compact metadata of the entity, i.e. the '$metadata' document pruned to the entity types reachable
+   * from the entity and its '$expand' paths, gzip compressed and Base64 encoded.
+   * The whole document is Base64 encoded as it is if it could not be pruned.
+   * For more detail please refer {@code SuccessFactorsCompactMetadata}
+   *
+   * @return Base64 encoded compact metadata
    * @throws TransportException             any http client exceptions are wrapped under it.
    * @throws SuccessFactorsServiceException any OData service based exception is wrapped under it.
    */
@@ -213,17 +279,28 @@ public class SuccessFactorsService {
       while ((numRead = metaDataStream.read(buffer)) > -1) {
         output.write(buffer, 0, numRead);
       }
-
-      return Base64.getEncoder().encodeToString(output.toByteArray());
     } catch (IOException ioe) {
       throw new SuccessFactorsServiceException(ResourceConstants.ERR_METADATA_ENCODED_STRING
                                                  .getMsgForKeyWithCode(pluginConfig.getEntityName()), ioe);
 
     }
+
+    byte[] metadata = output.toByteArray();
+    try {
+      String encodedMetadata = SuccessFactorsCompactMetadata.encode(metadata, pluginConfig.getEntityName(),
+                                                                    pluginConfig.getExpandOption());
+      LOG.debug("Compact metadata of '{}' is {} characters, from a {} bytes document.", pluginConfig.getEntityName(),
+                encodedMetadata.length(), metadata.length);
+      return encodedMetadata;
+    } catch (IOException ioe) {
+      LOG.debug("Unable to build the compact metadata of '{}', the whole document is used.",
+                pluginConfig.getEntityName(), ioe);
+      return Base64.getEncoder().encodeToString(metadata);
+    }
   }
 
   /**
-   * Converts the base64 encoded SuccessFactors entity metadata string to actual 'Edm' type.
+   * Converts the base64 encoded SuccessFactors entity metadata string, compact or not, to actual 'Edm' type.
    * This method will be used in the runtime.
    *
    * @param encodedMetadata base64 encoded SuccessFactors entity metadata string
@@ -232,7 +309,7 @@ public class SuccessFactorsService {
    */
   public Edm getSuccessFactorsServiceEdm(String encodedMetadata) throws SuccessFactorsServiceException {
     try {
-      byte[] bytes = Base64.getDecoder().decode(encodedMetadata);
+      byte[] bytes = SuccessFactorsCompactMetadata.decode(encodedMetadata);
       try (ByteArrayInputStream metadataStream = new ByteArrayInputStream(bytes)) {
         return fetchServiceMetadata(metadataStream).getEdmMetadata();
       }
@@ -257,6 +334,8 @@ public class SuccessFactorsService {
     throws SuccessFactorsServiceException, TransportException {
 
     SuccessFactorsEntityProvider serviceHelper = new SuccessFactorsEntityProvider(edm);
+    initNonNavigationalProperties(serviceHelper);
+
     try (InputStream dataStream = callEntityData(skip, top)) {
 
       EdmEntitySet entity = serviceHelper.getEntitySet(pluginConfig.getEntityName());
@@ -273,6 +352,10 @@ public class SuccessFactorsService {
       }
 
       if (dataFeed != null) {
+        if (keysetProperty != null && !dataFeed.getEntries().isEmpty()) {
+          List<ODataEntry> entries = dataFeed.getEntries();
+          lastKeyValue = entries.get(entries.size() - 1).getProperties().get(keysetProperty.getName());
+        }
         if (pluginConfig.getPaginationType().equals(SERVER_SIDE)) {
           String nextLink = dataFeed.getFeedMetadata().getNextLink();
           if (nextLink != null) {
@@ -284,27 +367,201 @@ public class SuccessFactorsService {
       }
 
     } catch (EdmException | EntityProviderException | IOException ex) {
-      if (pluginConfig.getAssociatedEntityName() != null) {
-        String errMsg =
-          ResourceConstants.ERR_UNSUPPORTED_ASSOCIATED_ENTITY.
-            getMsgForKey(pluginConfig.getAssociatedEntityName(), pluginConfig.getEntityName());
-        throw new SuccessFactorsServiceException(errMsg, ex);
-      } else {
-        String errMsg = ResourceConstants.ERR_RECORD_PROCESSING.getMsgForKeyWithCode(pluginConfig.getEntityName());
-        throw new SuccessFactorsServiceException(errMsg, ex);
-      }
+      throw buildRecordProcessingException(ex);
     } catch (TransportException te) {
-      String errMsg = ResourceConstants.ERR_RECORD_PULL.getMsgForKeyWithCode(pluginConfig.getEntityName());
-      errMsg += ExceptionParser.buildTransportError(te);
-      throw new TransportException(errMsg, te);
+      throw buildRecordPullException(te);
     } catch (SuccessFactorsServiceException ose) {
-      String errMsg = ResourceConstants.ERR_RECORD_PULL.getMsgForKeyWithCode(pluginConfig.getEntityName());
-      errMsg += ExceptionParser.buildSuccessFactorsServiceError(ose);
-      throw new SuccessFactorsServiceException(errMsg, ose);
+      throw buildRecordPullException(ose);
     }
     return null;
   }
 
+  /**
+   * Calls the SAP SuccessFactors service to fetch records and returns a {@code SuccessFactorsStreamingDecoder} which
+   * converts them into {@code StructuredRecord} while reading the response, without building an {@code ODataFeed}.
+   * skip and top params are only used with client side pagination.
+   *
+   * @param edm    SuccessFactors service entity metadata
+   * @param schema output schema
+   * @param skip   number of rows to skip
+   * @param top    number of rows to fetch
+   * @return {@code SuccessFactorsStreamingDecoder}, to be closed by the caller
+   * @throws TransportException             any http client exceptions are wrapped under it.
+   * @throws SuccessFactorsServiceException any OData service based exception is wrapped under it.
+   */
+  public SuccessFactorsStreamingDecoder readServiceEntityRecords(Edm edm, Schema schema, @Nullable Long skip,
+                                                                @Nullable Long top)
+    throws SuccessFactorsServiceException, TransportException {
+
+    SuccessFactorsEntityProvider serviceHelper = new SuccessFactorsEntityProvider(edm);
+    initNonNavigationalProperties(serviceHelper);
+
+    InputStream dataStream = null;
+    try {
+      EdmEntitySet entity = serviceHelper.getEntitySet(pluginConfig.getEntityName());
+      EdmEntityType entityType = entity != null ? entity.getEntityType() : null;
+      dataStream = callEntityData(skip, top);
+      Consumer<String> nextLinkListener = null;
+      if (pluginConfig.getPaginationType().equals(SERVER_SIDE)) {
+        nextLinkListener = nextLink -> {
+          nextUrl = nextLink;
+          LOG.trace("Next page url: {}", nextLink);
+        };
+      }
+      SuccessFactorsStreamingDecoder decoder =
+        new SuccessFactorsStreamingDecoder(dataStream, schema, entityType, nextLinkListener);
+      if (keysetProperty != null) {
+        decoder.setKeyListener(keysetProperty.getName(), keyValue -> lastKeyValue = keyValue);
+      }
+      return decoder;
+    } catch (EdmException | IOException ex) {
+      closeQuietly(dataStream);
+      throw buildRecordProcessingException(ex);
+    } catch (TransportException te) {
+      throw buildRecordPullException(te);
+    } catch (SuccessFactorsServiceException ose) {
+      throw buildRecordPullException(ose);
+    }
+  }
+
+  /**
+   * Fetches the given range of records in pages of the given size, all requested in a single OData '$batch' call,
+   * and returns a {@code SuccessFactorsStreamingDecoder} for each page, in the order of the pages. Only used with
+   * client side pagination advanced with '$skip'.
+   *
+   * @param edm      SuccessFactors service entity metadata
+   * @param schema   output schema
+   * @param skip     number of rows to skip
+   * @param count    number of rows to fetch
+   * @param pageSize number of rows to fetch in each page
+   * @return {@code SuccessFactorsStreamingDecoder} of each page, to be closed by the caller
+   * @throws TransportException             any http client exceptions are wrapped under it.
+   * @throws SuccessFactorsServiceException any OData service based exception is wrapped under it.
+   */
+  public List<SuccessFactorsStreamingDecoder> readServiceEntityRecordPages(Edm edm, Schema schema, long skip,
+                                                                           long count, long pageSize)
+    throws SuccessFactorsServiceException, TransportException {
+
+    SuccessFactorsEntityProvider serviceHelper = new SuccessFactorsEntityProvider(edm);
+    initNonNavigationalProperties(serviceHelper);
+
+    List<String> requestPaths = new ArrayList<>();
+    for (long offset = 0; offset < count; offset += pageSize) {
+      URL pageURL = urlContainer.getDataFetchURL(skip + offset, Math.min(pageSize, count - offset));
+      requestPaths.add(urlContainer.getBatchRequestPath(pageURL));
+    }
+
+    try {
+      EdmEntitySet entity = serviceHelper.getEntitySet(pluginConfig.getEntityName());
+      EdmEntityType entityType = entity != null ? entity.getEntityType() : null;
+      List<SuccessFactorsResponseContainer> responses = successFactorsHttpClient.callSuccessFactorsBatchWithRetry(
+        urlContainer.getBatchURL(), requestPaths, MediaType.APPLICATION_JSON, pluginConfig.getInitialRetryDuration(),
+        pluginConfig.getMaxRetryDuration(), pluginConfig.getRetryMultiplier(), pluginConfig.getMaxRetryCount());
+
+      List<SuccessFactorsStreamingDecoder> decoders = new ArrayList<>();
+      for (SuccessFactorsResponseContainer response : responses) {
+        ExceptionParser.checkAndThrowException("", response);
+        decoders.add(new SuccessFactorsStreamingDecoder(response.getResponseStream(), schema, entityType, null));
+      }
+      return decoders;
+    } catch (EdmException | IOException ex) {
+      throw buildRecordProcessingException(ex);
+    } catch (TransportException te) {
+      throw buildRecordPullException(te);
+    } catch (SuccessFactorsServiceException ose) {
+      throw buildRecordPullException(ose);
+    }
+  }
+
+  /**
+   * Samples the first records of the entity and returns their average response size, used to size the client side
+   * splits and pages.
+   *
+   * @param edm        SuccessFactors service entity metadata
+   * @param schema     output schema
+   * @param sampleSize number of records to sample
+   * @return average response bytes of a record, 0 if the entity returned no records
+   * @throws TransportException             any http client exceptions are wrapped under it.
+   * @throws SuccessFactorsServiceException any OData service based exception is wrapped under it.
+   */
+  public long getSampledRowBytes(Edm edm, Schema schema, long sampleSize)
+    throws SuccessFactorsServiceException, TransportException {
+
+    SuccessFactorsEntityProvider serviceHelper = new SuccessFactorsEntityProvider(edm);
+    initNonNavigationalProperties(serviceHelper);
+
+    try {
+      EdmEntitySet entity = serviceHelper.getEntitySet(pluginConfig.getEntityName());
+      EdmEntityType entityType = entity != null ? entity.getEntityType() : null;
+      try (CountingInputStream dataStream = new CountingInputStream(callEntityData(0L, sampleSize));
+           SuccessFactorsStreamingDecoder decoder = new SuccessFactorsStreamingDecoder(dataStream, schema, entityType,
+                                                                                        null)) {
+        long rowCount = 0;
+        while (decoder.nextRecord() != null) {
+          rowCount++;
+        }
+        return rowCount == 0 ? 0 : dataStream.getCount() / rowCount;
+      }
+    } catch (EdmException | IOException ex) {
+      throw buildRecordProcessingException(ex);
+    } catch (TransportException te) {
+      throw buildRecordPullException(te);
+    } catch (SuccessFactorsServiceException ose) {
+      throw buildRecordPullException(ose);
+    }
+  }
+
+  private SuccessFactorsServiceException buildRecordProcessingException(Exception ex) {
+    if (pluginConfig.getAssociatedEntityName() != null) {
+      String errMsg =
+        ResourceConstants.ERR_UNSUPPORTED_ASSOCIATED_ENTITY.
+          getMsgForKey(pluginConfig.getAssociatedEntityName(), pluginConfig.getEntityName());
+      return new SuccessFactorsServiceException(errMsg, ex);
+    } else {
+      String errMsg = ResourceConstants.ERR_RECORD_PROCESSING.getMsgForKeyWithCode(pluginConfig.getEntityName());
+      return new SuccessFactorsServiceException(errMsg, ex);
+    }
+  }
+
+  private TransportException buildRecordPullException(TransportException te) {
+    String errMsg = ResourceConstants.ERR_RECORD_PULL.getMsgForKeyWithCode(pluginConfig.getEntityName());
+    errMsg += ExceptionParser.buildTransportError(te);
+    return new TransportException(errMsg, te);
+  }
+
+  private SuccessFactorsServiceException buildRecordPullException(SuccessFactorsServiceException ose) {
+    String errMsg = ResourceConstants.ERR_RECORD_PULL.getMsgForKeyWithCode(pluginConfig.getEntityName());
+    errMsg += ExceptionParser.buildSuccessFactorsServiceError(ose);
+    return new SuccessFactorsServiceException(errMsg, ose);
+  }
+
+  private void closeQuietly(@Nullable InputStream stream) {
+    if (stream == null) {
+      return;
+    }
+    try {
+      stream.close();
+    } catch (IOException e) {
+      LOG.debug("Unable to close the data stream.", e);
+    }
+  }
+
+  /**
+   * Derives the default '$select' once from the given metadata instead of fetching it again for every page.
+   *
+   * @param serviceHelper SuccessFactors service entity metadata
+   */
+  private synchronized void initNonNavigationalProperties(SuccessFactorsEntityProvider serviceHelper) {
+    if (urlContainer.hasNonNavigationalProperties()) {
+      return;
+    }
+    try {
+      urlContainer.setNonNavigationalProperties(getNonNavigationalProperties(serviceHelper));
+    } catch (EdmException ex) {
+      LOG.debug("Unable to read non-navigational properties from the given metadata.", ex);
+    }
+  }
+
   /**
    * Calls the SAP SuccessFactors service entity to fetch the data from the given range
    *
@@ -315,7 +572,10 @@ public class SuccessFactorsService {
    * @throws SuccessFactorsServiceException any OData service based exception is wrapped under it.
    */
   private InputStream callEntityData(@Nullable Long skip, @Nullable Long top)
-    throws SuccessFactorsServiceException, TransportException, IOException {
+    throws SuccessFactorsServiceException, TransportException, IOException, EdmException {
+    if (keysetProperty != null) {
+      advanceKeysetStart();
+    }
     URL dataURL;
     if (nextUrl != null) {
       dataURL = Objects.requireNonNull(HttpUrl.parse(nextUrl)).newBuilder().build().url();
@@ -331,13 +591,216 @@ public class SuccessFactorsService {
     return responseContainer.getResponseStream();
   }
 
+  /**
+   * Moves the keyset start onto the last value seen on the previous page, the next page must start after it.
+   *
+   * @throws SuccessFactorsServiceException if the previous page did not advance the last seen value
+   * @throws EdmException                   any error while formatting the last seen value
+   */
+  private void advanceKeysetStart() throws SuccessFactorsServiceException, EdmException {
+    if (!keysetPageRead) {
+      keysetPageRead = true;
+      return;
+    }
+    String nextKeysetStart = lastKeyValue == null ? null : ((EdmSimpleType) keysetProperty.getType())
+      .valueToString(lastKeyValue, EdmLiteralKind.URI, keysetProperty.getFacets());
+    if (nextKeysetStart == null || nextKeysetStart.equals(keysetStart)) {
+      throw new SuccessFactorsServiceException(ResourceConstants.ERR_KEYSET_VALUE.getMsgForKeyWithCode(
+        pluginConfig.getEntityName(), keysetProperty.getName()));
+    }
+    keysetStart = nextKeysetStart;
+    urlContainer.setKeysetStart(keysetStart);
+    LOG.trace("Next page after {} {}", keysetProperty.getName(), keysetStart);
+  }
+
+  /**
+   * Returns the property the client side pages are advanced on with the keyset pagination, the same as
+   * {@link #getPartitionColumn(Edm)}. Every page starts after the last value seen on the previous one, so the
+   * records sharing the last value of a page would be skipped: the property must be the single property key of the
+   * entity.
+   *
+   * @param edm SuccessFactors service entity metadata
+   * @return keyset column name
+   * @throws SuccessFactorsServiceException if the property is not the single property key of the entity
+   */
+  public String getKeysetColumn(Edm edm) throws SuccessFactorsServiceException {
+    String keysetColumn = getPartitionColumn(edm);
+    try {
+      EdmEntityType entityType = new SuccessFactorsEntityProvider(edm).getEntityType(pluginConfig.getEntityName());
+      if (entityType != null && entityType.getKeyPropertyNames().equals(Collections.singletonList(keysetColumn))) {
+        return keysetColumn;
+      }
+    } catch (EdmException e) {
+      throw new SuccessFactorsServiceException(ResourceConstants.ERR_KEYSET_UNIQUE.getMsgForKeyWithCode(
+        keysetColumn, pluginConfig.getEntityName()), e);
+    }
+    throw new SuccessFactorsServiceException(ResourceConstants.ERR_KEYSET_UNIQUE.getMsgForKeyWithCode(
+      keysetColumn, pluginConfig.getEntityName()));
+  }
+
+  /**
+   * Returns the property the entity is partitioned on with the sharded server side pagination, either the given
+   * 'Partition Column' or else the single property key of the entity.
+   *
+   * @param edm SuccessFactors service entity metadata
+   * @return partition column name
+   * @throws SuccessFactorsServiceException if the property is not a simple type property of the entity
+   */
+  public String getPartitionColumn(Edm edm) throws SuccessFactorsServiceException {
+    String partitionColumn = pluginConfig.getPartitionColumn();
+    try {
+      EdmEntityType entityType = new SuccessFactorsEntityProvider(edm).getEntityType(pluginConfig.getEntityName());
+      if (entityType != null) {
+        if (partitionColumn == null && entityType.getKeyPropertyNames().size() == 1) {
+          partitionColumn = entityType.getKeyPropertyNames().get(0);
+        }
+        if (partitionColumn != null && getSimpleProperty(entityType, partitionColumn) != null) {
+          return partitionColumn;
+        }
+      }
+    } catch (EdmException e) {
+      throw new SuccessFactorsServiceException(ResourceConstants.ERR_PARTITION_COLUMN.getMsgForKeyWithCode(
+        partitionColumn, pluginConfig.getEntityName()), e);
+    }
+    throw new SuccessFactorsServiceException(ResourceConstants.ERR_PARTITION_COLUMN.getMsgForKeyWithCode(
+      partitionColumn, pluginConfig.getEntityName()));
+  }
+
+  /**
+   * Finds the values of the partition column splitting the entity records into key ranges of about the same size.
+   * The value at every 'availableRowCount / partitionCount' position, in the order of the partition column, is
+   * fetched with a single record '$orderby' query.
+   *
+   * @param edm               SuccessFactors service entity metadata
+   * @param partitionColumn   property the entity is partitioned on
+   * @param partitionCount    number of key ranges
+   * @param availableRowCount total available record count
+   * @return ascending, distinct URI literals of the partition column starting a new key range
+   * @throws TransportException             any http client exceptions are wrapped under it.
+   * @throws SuccessFactorsServiceException any OData service based exception is wrapped under it.
+   */
+  public List<String> getPartitionBoundaries(Edm edm, String partitionColumn, int partitionCount,
+                                             long availableRowCount)
+    throws TransportException, SuccessFactorsServiceException {
+
+    List<String> boundaries = new ArrayList<>();
+    try {
+      SuccessFactorsEntityProvider serviceHelper = new SuccessFactorsEntityProvider(edm);
+      EdmEntitySet entitySet = serviceHelper.getEntitySet(pluginConfig.getEntityName());
+      EdmProperty property = getSimpleProperty(entitySet.getEntityType(), partitionColumn);
+      if (property == null) {
+        throw new SuccessFactorsServiceException(ResourceConstants.ERR_PARTITION_COLUMN.getMsgForKeyWithCode(
+          partitionColumn, pluginConfig.getEntityName()));
+      }
+      EdmSimpleType propertyType = (EdmSimpleType) property.getType();
+
+      for (int partition = 1; partition < partitionCount; partition++) {
+        long skip = availableRowCount * partition / partitionCount;
+        if (skip == 0) {
+          continue;
+        }
+        Object value = callSinglePropertyValue(entitySet, partitionColumn,
+                                               urlContainer.getPartitionBoundaryURL(partitionColumn, skip));
+        if (value == null) {
+          // records with a null partition column are read by the first key range
+          continue;
+        }
+        String boundary = propertyType.valueToString(value, EdmLiteralKind.URI, property.getFacets());
+        if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+          boundaries.add(boundary);
+        }
+      }
+    } catch (EdmException | EntityProviderException | IOException e) {
+      throw new SuccessFactorsServiceException(ResourceConstants.ERR_PARTITION_BOUNDARY.getMsgForKeyWithCode(
+        pluginConfig.getEntityName(), partitionColumn), e);
+    }
+    return boundaries;
+  }
+
+  /**
+   * Finds the highest value of the incremental column among the records matching the user given '$filter', the
+   * upper bound of the records read by an incremental run.
+   *
+   * @param edm               SuccessFactors service entity metadata
+   * @param incrementalColumn property holding the last change of the records
+   * @return URI literal of the highest value or null if no record has a value
+   * @throws TransportException             any http client exceptions are wrapped under it.
+   * @throws SuccessFactorsServiceException any OData service based exception is wrapped under it.
+   */
+  @Nullable
+  public String getHighWatermark(Edm edm, String incrementalColumn)
+    throws TransportException, SuccessFactorsServiceException {
+
+    try {
+      EdmEntitySet entitySet = new SuccessFactorsEntityProvider(edm).getEntitySet(pluginConfig.getEntityName());
+      EdmProperty property = entitySet == null ? null : getSimpleProperty(entitySet.getEntityType(),
+                                                                          incrementalColumn);
+      if (property == null) {
+        throw new SuccessFactorsServiceException(ResourceConstants.ERR_INCREMENTAL_COLUMN.getMsgForKeyWithCode(
+          incrementalColumn, pluginConfig.getEntityName()));
+      }
+      Object value = callSinglePropertyValue(entitySet, incrementalColumn,
+                                             urlContainer.getHighWatermarkURL(incrementalColumn));
+      return value == null ? null : ((EdmSimpleType) property.getType())
+        .valueToString(value, EdmLiteralKind.URI, property.getFacets());
+    } catch (EdmException | EntityProviderException | IOException e) {
+      throw new SuccessFactorsServiceException(ResourceConstants.ERR_INCREMENTAL_COLUMN.getMsgForKeyWithCode(
+        incrementalColumn, pluginConfig.getEntityName()), e);
+    }
+  }
+
+  /**
+   * Calls a single record URL and returns the value of the given property of that record.
+   */
+  @Nullable
+  private Object callSinglePropertyValue(EdmEntitySet entitySet, String propertyName, URL url)
+    throws TransportException, SuccessFactorsServiceException, EntityProviderException, IOException {
+
+    SuccessFactorsResponseContainer responseContainer = successFactorsHttpClient.callSuccessFactorsWithRetry(
+      url, MediaType.APPLICATION_JSON, pluginConfig.getInitialRetryDuration(), pluginConfig.getMaxRetryDuration(),
+      pluginConfig.getRetryMultiplier(), pluginConfig.getMaxRetryCount());
+    ExceptionParser.checkAndThrowException("", responseContainer);
+
+    try (InputStream valueStream = responseContainer.getResponseStream()) {
+      ODataFeed valueFeed = EntityProvider.readFeed(MediaType.APPLICATION_JSON, entitySet, valueStream,
+                                                    EntityProviderReadProperties.init().build());
+      List<ODataEntry> entries = valueFeed.getEntries();
+      return entries.isEmpty() ? null : entries.get(0).getProperties().get(propertyName);
+    }
+  }
+
+  @Nullable
+  private static EdmProperty getSimpleProperty(EdmEntityType entityType, String propertyName) throws EdmException {
+    EdmTyped property = entityType.getProperty(propertyName);
+    if (property instanceof EdmProperty && property.getType() instanceof EdmSimpleType) {
+      return (EdmProperty) property;
+    }
+    return null;
+  }
+
+  /**
+   * @return metrics of the calls made through this service and of the records read with it
+   */
+  public SuccessFactorsReadMetrics getReadMetrics() {
+    return successFactorsHttpClient.getReadMetrics();
+  }
+
   public List<String> getNonNavigationalProperties() throws TransportException, SuccessFactorsServiceException,
     EdmException {
-    SuccessFactorsEntityProvider edmData = fetchServiceMetadata(callEntityMetadata());
+    return getNonNavigationalProperties(fetchServiceMetadata(callEntityMetadata()));
+  }
+
+  /**
+   * Returns the non-navigational properties of the entity from the already available metadata, without calling the
+   * SAP SuccessFactors service.
+   *
+   * @param edmData SuccessFactors service entity metadata
+   * @return list of non-navigational property names
+   * @throws EdmException any error while reading the entity metadata
+   */
+  private List<String> getNonNavigationalProperties(SuccessFactorsEntityProvider edmData) throws EdmException {
     SuccessFactorsSchemaGenerator successFactorsSchemaGenerator = new SuccessFactorsSchemaGenerator(edmData);
-    List<String> columnDetailList = successFactorsSchemaGenerator.getNonNavigationalProperties
-      (pluginConfig.getEntityName());
-    return columnDetailList;
+    return successFactorsSchemaGenerator.getNonNavigationalProperties(pluginConfig.getEntityName());
   }
 
   /**
@@ -361,55 +824,27 @@ public class SuccessFactorsService {
    * @throws IOException
    */
   private InputStream filterExpandedEntityData(InputStream dataStream) throws IOException {
-    ObjectMapper objectMapper = new ObjectMapper();
-    List<String> expandFieldList = new ArrayList<>();
-    JsonNode root = objectMapper.readTree(dataStream);
-    JsonNode arrayNode = root.get(ODATA_ROOT_ELEMENT).get(ODATA_RESULT_ELEMENT);
-    for (JsonNode objectNode : arrayNode) {
-      String expandOption = pluginConfig.getExpandOption();
-      if (expandOption.contains(SuccessFactorsUrlContainer.PROPERTY_SEPARATOR)) {
-        expandFieldList = Arrays.asList(expandOption.split(SuccessFactorsUrlContainer.PROPERTY_SEPARATOR));
-      } else if (expandOption.contains(SuccessFactorsUrlContainer.NAV_PROPERTY_SEPARATOR)) {
-        expandFieldList.add(expandOption.split(SuccessFactorsUrlContainer.NAV_PROPERTY_SEPARATOR)[0]);
-      } else {
-        expandFieldList.add(pluginConfig.getExpandOption());
-      }
-      for (String expandField : expandFieldList) {
-        JsonNode expandedNode = objectNode.get(expandField);
-        JsonNode expandedArrayNode = expandedNode.get(ODATA_RESULT_ELEMENT);
-        if (expandedArrayNode != null) {
-          // Expanded Array Node Results can contain more than one element
-          for (JsonNode node : expandedArrayNode) {
-            removeNode(node);
-          }
-        } else {
-          removeNode(expandedNode);
-        }
-      }
+    if (expandFields == null) {
+      expandFields = getExpandFields(pluginConfig.getExpandOption());
     }
-    InputStream filteredDataStream = new ByteArrayInputStream(objectMapper.writeValueAsBytes(root));
-    return filteredDataStream;
+    return new SuccessFactorsExpandedEntityFilter(dataStream, expandFields);
   }
 
   /**
-   * Remove the unreadable nodes from the root node
-   * @param node JSON Node to be removed
+   * Extracts the top level navigation property names from the expand option.
+   * e.g. 'Products/Suppliers,Category' gives 'Products' and 'Category'.
+   *
+   * @param expandOption expand option of the plugin
+   * @return set of navigation property names
    */
-  private void removeNode(JsonNode node) {
-    Iterator<Map.Entry<String, JsonNode>> iterator = node.fields();
-    while (iterator.hasNext()) {
-      JsonNode nested = iterator.next().getValue();
-      if (nested.isContainerNode()) {
-        JsonNode nestedArrayNode = nested.get(ODATA_RESULT_ELEMENT);
-        if (nestedArrayNode != null) {
-          // Nested Array Node Results can contain more than one element
-          for (JsonNode n : nestedArrayNode) {
-            removeNode(n);
-          }
-        } else {
-          iterator.remove();
-        }
+  static Set<String> getExpandFields(String expandOption) {
+    Set<String> expandFields = new HashSet<>();
+    for (String expandPath : expandOption.split(SuccessFactorsUrlContainer.PROPERTY_SEPARATOR)) {
+      String expandField = expandPath.split(SuccessFactorsUrlContainer.NAV_PROPERTY_SEPARATOR)[0].trim();
+      if (!expandField.isEmpty()) {
+        expandFields.add(expandField);
       }
     }
+    return expandFields;
   }
 }
@@ -0,0 +1,334 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsDateTimeConverter} sets the SuccessFactors date and time values into a
+ * {@code StructuredRecord} from epoch milliseconds, without going through {@code ZonedDateTime}.
+ * <p>
+ * The OData v2 JSON literals of the common forms are parsed straight to epoch milliseconds, with the same semantics as
+ * the Olingo types:
+ * - Edm.DateTime: '/Date(ms)/' or 'yyyy-MM-ddTHH:mm[:ss]', read as UTC
+ * - Edm.DateTimeOffset: '/Date(ms)/' or '/Date(ms+offset)/', the milliseconds being local to the offset in minutes
+ * - Edm.Time: 'PT[hH][mM][sS]'
+ * <p>
+ * Any other literal, e.g. one with fractional seconds, is not parsed here and is left to the Olingo type, which either
+ * reads it or rejects it as before.
+ */
+final class SuccessFactorsDateTimeConverter {
+
+  /**
+   * Returned by the parse methods for a literal which is not of the supported forms.
+   */
+  static final long NOT_PARSED = Long.MIN_VALUE;
+
+  private static final String JSON_DATE_PREFIX = "/Date(";
+  private static final String JSON_DATE_SUFFIX = ")/";
+  private static final String TIME_PREFIX = "PT";
+  private static final String GMT = "GMT";
+  private static final String UTC = "UTC";
+  private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+  private static final long MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
+  private static final long MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+  private static final long MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
+  // offsets of a day or more are rejected by Olingo
+  private static final int MAX_OFFSET_MINUTES = 24 * 60;
+  // longer millisecond values are left to Olingo, 15 digits already cover more than 30000 years
+  private static final int MAX_MILLIS_DIGITS = 15;
+  // Olingo reads ISO dates with a GregorianCalendar, i.e. in the Julian calendar before the Gregorian cutover
+  private static final int MIN_GREGORIAN_YEAR = 1583;
+
+  private SuccessFactorsDateTimeConverter() {
+  }
+
+  /**
+   * Sets a value read from the JSON literal of a SuccessFactors property.
+   */
+  interface LiteralConverter {
+
+    /**
+     * @param recordBuilder structured record builder
+     * @param fieldName     field name
+     * @param literal       JSON string literal of the property
+     * @return false if the literal is not of the supported forms, the value is not set then
+     */
+    boolean set(StructuredRecord.Builder recordBuilder, String fieldName, String literal);
+  }
+
+  /**
+   * Returns the converter setting the JSON literals of the given SuccessFactors type straight into a field of the given
+   * schema, for the type mappings of {@code SuccessFactorsSchemaGenerator} only.
+   *
+   * @param kind        SuccessFactors type of the property
+   * @param fieldSchema non nullable field schema
+   * @return {@code LiteralConverter} or null if the literals must be read with the Olingo type
+   */
+  @Nullable
+  static LiteralConverter forLiteral(EdmSimpleTypeKind kind, Schema fieldSchema) {
+    Schema.LogicalType logicalType = fieldSchema.getLogicalType();
+    if (kind == EdmSimpleTypeKind.DateTime && logicalType == Schema.LogicalType.DATETIME) {
+      return (recordBuilder, fieldName, literal) -> {
+        long millis = parseDateTime(literal);
+        if (millis == NOT_PARSED) {
+          return false;
+        }
+        setDateTime(recordBuilder, fieldName, millis);
+        return true;
+      };
+    }
+    if (kind == EdmSimpleTypeKind.DateTimeOffset && logicalType == Schema.LogicalType.TIMESTAMP_MICROS) {
+      return (recordBuilder, fieldName, literal) -> {
+        long millis = parseJsonDate(literal, true);
+        if (millis == NOT_PARSED) {
+          return false;
+        }
+        setTimestamp(recordBuilder, fieldName, millis);
+        return true;
+      };
+    }
+    if (kind == EdmSimpleTypeKind.Time && logicalType == Schema.LogicalType.TIME_MICROS) {
+      return (recordBuilder, fieldName, literal) -> {
+        long millis = parseTime(literal);
+        if (millis == NOT_PARSED) {
+          return false;
+        }
+        setTime(recordBuilder, fieldName, millis);
+        return true;
+      };
+    }
+    return null;
+  }
+
+  /**
+   * The time zones of the Olingo calendars are fixed offsets from GMT.
+   *
+   * @param calendar date and time value read by Olingo
+   * @return milliseconds of the local date and time of the calendar, counted from the epoch as if it were UTC
+   */
+  static long getLocalMillis(Calendar calendar) {
+    TimeZone timeZone = calendar.getTimeZone();
+    if (timeZone.getID().startsWith(GMT) || timeZone.getID().equals(UTC)) {
+      long millis = calendar.getTimeInMillis();
+      return millis + timeZone.getOffset(millis);
+    }
+    // the historical offsets of the region time zones differ between java.util and java.time
+    LocalDateTime localDateTime = ((GregorianCalendar) calendar).toZonedDateTime().toLocalDateTime();
+    return localDateTime.toEpochSecond(ZoneOffset.UTC) * MILLIS_PER_SECOND
+      + TimeUnit.NANOSECONDS.toMillis(localDateTime.getNano());
+  }
+
+  /**
+   * @param recordBuilder structured record builder
+   * @param fieldName     DATETIME field name
+   * @param localMillis   milliseconds of the local date and time, counted from the epoch as if it were UTC
+   */
+  static void setDateTime(StructuredRecord.Builder recordBuilder, String fieldName, long localMillis) {
+    recordBuilder.setDateTime(fieldName, LocalDateTime.ofEpochSecond(
+      Math.floorDiv(localMillis, MILLIS_PER_SECOND),
+      (int) TimeUnit.MILLISECONDS.toNanos(Math.floorMod(localMillis, MILLIS_PER_SECOND)), ZoneOffset.UTC));
+  }
+
+  /**
+   * @param recordBuilder structured record builder
+   * @param fieldName     TIME_MICROS field name
+   * @param localMillis   milliseconds of the local time, only the time of day is kept
+   */
+  static void setTime(StructuredRecord.Builder recordBuilder, String fieldName, long localMillis) {
+    recordBuilder.set(fieldName, TimeUnit.MILLISECONDS.toMicros(Math.floorMod(localMillis, MILLIS_PER_DAY)));
+  }
+
+  /**
+   * @param recordBuilder structured record builder
+   * @param fieldName     TIMESTAMP_MICROS field name
+   * @param epochMillis   milliseconds from the epoch
+   */
+  static void setTimestamp(StructuredRecord.Builder recordBuilder, String fieldName, long epochMillis) {
+    recordBuilder.set(fieldName, Math.multiplyExact(epochMillis, 1000L));
+  }
+
+  /**
+   * Parses an Edm.DateTime literal, either '/Date(ms)/' or 'yyyy-MM-ddTHH:mm[:ss]'.
+   *
+   * @param literal JSON literal
+   * @return milliseconds from the epoch, read as UTC, or {@code NOT_PARSED}
+   */
+  static long parseDateTime(String literal) {
+    if (literal.startsWith(JSON_DATE_PREFIX)) {
+      return parseJsonDate(literal, false);
+    }
+    return parseIsoDateTime(literal);
+  }
+
+  /**
+   * Parses a '/Date(ms)/' or '/Date(ms+offset)/' literal, the milliseconds of the latter being local to the offset.
+   *
+   * @param literal       JSON literal
+   * @param offsetAllowed true for an Edm.DateTimeOffset literal
+   * @return milliseconds from the epoch or {@code NOT_PARSED}
+   */
+  static long parseJsonDate(String literal, boolean offsetAllowed) {
+    int end = literal.length() - JSON_DATE_SUFFIX.length();
+    if (!literal.startsWith(JSON_DATE_PREFIX) || !literal.endsWith(JSON_DATE_SUFFIX)) {
+      return NOT_PARSED;
+    }
+
+    int index = JSON_DATE_PREFIX.length();
+    boolean negative = index < end && literal.charAt(index) == '-';
+    if (negative) {
+      index++;
+    }
+    int digitsEnd = skipDigits(literal, index, end);
+    if (digitsEnd == index || digitsEnd - index > MAX_MILLIS_DIGITS) {
+      return NOT_PARSED;
+    }
+    long millis = parseDigits(literal, index, digitsEnd);
+    millis = negative ? -millis : millis;
+    if (digitsEnd == end) {
+      return millis;
+    }
+
+    char sign = literal.charAt(digitsEnd);
+    if (!offsetAllowed || (sign != '+' && sign != '-')) {
+      return NOT_PARSED;
+    }
+    int offsetEnd = skipDigits(literal, digitsEnd + 1, end);
+    int offsetDigits = offsetEnd - digitsEnd - 1;
+    if (offsetEnd != end || offsetDigits < 1 || offsetDigits > 4) {
+      return NOT_PARSED;
+    }
+    long offsetMinutes = parseDigits(literal, digitsEnd + 1, end);
+    if (offsetMinutes >= MAX_OFFSET_MINUTES) {
+      return NOT_PARSED;
+    }
+    // the milliseconds are local to the offset
+    return millis - (sign == '+' ? 1 : -1) * offsetMinutes * MILLIS_PER_MINUTE;
+  }
+
+  /**
+   * Parses a 'yyyy-MM-ddTHH:mm[:ss]' literal of a date in the Gregorian calendar.
+   *
+   * @param literal JSON literal
+   * @return milliseconds from the epoch, read as UTC, or {@code NOT_PARSED}
+   */
+  static long parseIsoDateTime(String literal) {
+    int length = literal.length();
+    if ((length != 16 && length != 19) || literal.charAt(4) != '-' || literal.charAt(7) != '-'
+      || literal.charAt(10) != 'T' || literal.charAt(13) != ':' || (length == 19 && literal.charAt(16) != ':')) {
+      return NOT_PARSED;
+    }
+    int year = parseField(literal, 0, 4);
+    int month = parseField(literal, 5, 7);
+    int day = parseField(literal, 8, 10);
+    int hour = parseField(literal, 11, 13);
+    int minute = parseField(literal, 14, 16);
+    int second = length == 19 ? parseField(literal, 17, 19) : 0;
+    if (year < MIN_GREGORIAN_YEAR || month < 0 || day < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+      || second < 0 || second > 59) {
+      return NOT_PARSED;
+    }
+    long epochDay;
+    try {
+      epochDay = LocalDate.of(year, month, day).toEpochDay();
+    } catch (DateTimeException e) {
+      return NOT_PARSED;
+    }
+    return epochDay * MILLIS_PER_DAY + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE
+      + second * MILLIS_PER_SECOND;
+  }
+
+  /**
+   * Parses a 'PT[hH][mM][sS]' literal of a time of day, each component having one or two digits.
+   *
+   * @param literal JSON literal
+   * @return milliseconds of the day or {@code NOT_PARSED}
+   */
+  static long parseTime(String literal) {
+    if (!literal.startsWith(TIME_PREFIX) || literal.length() == TIME_PREFIX.length()) {
+      return NOT_PARSED;
+    }
+    String units = "HMS";
+    long[] limits = {24, 60, 60};
+    long[] unitMillis = {MILLIS_PER_HOUR, MILLIS_PER_MINUTE, MILLIS_PER_SECOND};
+    long millis = 0;
+    int unit = 0;
+    int index = TIME_PREFIX.length();
+    while (index < literal.length()) {
+      int digitsEnd = skipDigits(literal, index, literal.length());
+      if (digitsEnd == index || digitsEnd - index > 2 || digitsEnd == literal.length()) {
+        return NOT_PARSED;
+      }
+      // the components come in order, each at most once
+      while (unit < units.length() && units.charAt(unit) != literal.charAt(digitsEnd)) {
+        unit++;
+      }
+      if (unit == units.length()) {
+        return NOT_PARSED;
+      }
+      long value = parseDigits(literal, index, digitsEnd);
+      if (value >= limits[unit]) {
+        return NOT_PARSED;
+      }
+      millis += value * unitMillis[unit];
+      unit++;
+      index = digitsEnd + 1;
+    }
+    return millis;
+  }
+
+  private static int skipDigits(String literal, int index, int end) {
+    while (index < end && isDigit(literal.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  private static long parseDigits(String literal, int start, int end) {
+    long value = 0;
+    for (int i = start; i < end; i++) {
+      value = value * 10 + (literal.charAt(i) - '0');
+    }
+    return value;
+  }
+
+  /**
+   * @return the value of the fixed width digits field, -1 if the field holds anything else
+   */
+  private static int parseField(String literal, int start, int end) {
+    if (skipDigits(literal, start, end) != end) {
+      return -1;
+    }
+    return (int) parseDigits(literal, start, end);
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsPagePrefetcher} fetches the pages of a split on a background thread, ahead of the records
+ * being read, so that the SuccessFactors response time overlaps with the processing of the previous pages.
+ *
+ * Fetched pages are handed over through a bounded queue: once 'prefetchDepth' pages are waiting to be read, the
+ * background fetch is blocked until the reader takes the next page. Any fetch failure, including errors, is rethrown
+ * to the reader when it reaches the failed page.
+ */
+class SuccessFactorsPagePrefetcher implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsPagePrefetcher.class);
+  private static final Page END_OF_PAGES = new Page(Collections.emptyList(), null);
+
+  /**
+   * Fetches the pages of a split, one after another.
+   */
+  interface PageSource {
+
+    /**
+     * @return records of the next page or null if there are no more pages to fetch
+     * @throws IOException any error while fetching the page
+     */
+    @Nullable
+    List<StructuredRecord> fetchNextPage() throws IOException;
+  }
+
+  private final PageSource pageSource;
+  private final BlockingQueue<Page> pages;
+  private final ExecutorService executor;
+  private Future<?> fetchTask;
+  private boolean finished;
+
+  /**
+   * @param pageSource    source of the pages of the split
+   * @param prefetchDepth maximum number of fetched pages waiting to be read
+   */
+  SuccessFactorsPagePrefetcher(PageSource pageSource, int prefetchDepth) {
+    this.pageSource = pageSource;
+    this.pages = new ArrayBlockingQueue<>(prefetchDepth);
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "successfactors-page-prefetcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts fetching the pages in the background.
+   */
+  void start() {
+    fetchTask = executor.submit(this::fetchPages);
+  }
+
+  /**
+   * Takes the next fetched page, waiting for it if it is not fetched yet.
+   *
+   * @return records of the next page or null if all the pages are read
+   * @throws IOException          the error the page fetch failed with
+   * @throws InterruptedException if interrupted while waiting for the page
+   */
+  @Nullable
+  List<StructuredRecord> nextPage() throws IOException, InterruptedException {
+    if (finished) {
+      return null;
+    }
+    Page page = pages.take();
+    if (page.error != null) {
+      finished = true;
+      throw page.error;
+    }
+    if (page == END_OF_PAGES) {
+      finished = true;
+      return null;
+    }
+    return page.records;
+  }
+
+  @Override
+  public void close() {
+    if (fetchTask != null) {
+      fetchTask.cancel(true);
+    }
+    executor.shutdownNow();
+    pages.clear();
+  }
+
+  private void fetchPages() {
+    try {
+      List<StructuredRecord> records;
+      while ((records = pageSource.fetchNextPage()) != null) {
+        pages.put(new Page(records, null));
+      }
+      pages.put(END_OF_PAGES);
+    } catch (InterruptedException e) {
+      // the reader is closed
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      putError(e);
+    } catch (Throwable e) {
+      // errors as well, e.g. OutOfMemoryError, the reader would otherwise wait for a page that never comes
+      putError(new IOException(e.getMessage(), e));
+    }
+  }
+
+  private void putError(IOException error) {
+    try {
+      pages.put(new Page(Collections.emptyList(), error));
+    } catch (InterruptedException e) {
+      LOG.debug("Page prefetch failed after the reader was closed.", error);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Fetched page, or the error the page fetch failed with.
+   */
+  private static final class Page {
+    private final List<StructuredRecord> records;
+    @Nullable
+    private final IOException error;
+
+    private Page(List<StructuredRecord> records, @Nullable IOException error) {
+      this.records = records;
+      this.error = error;
+    }
+  }
+}
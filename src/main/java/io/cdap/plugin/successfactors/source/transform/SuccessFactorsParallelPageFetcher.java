@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsParallelPageFetcher} fetches the pages of a split concurrently, as the page windows of a
+ * split read with '$skip' are known upfront from its start, end and page size.
+ * <p>
+ * At most 'parallelism' pages are fetched or waiting to be read at any time, so the memory held stays bounded. The
+ * pages are handed over in their order within the split: the reader waits for the next page in order even if a later
+ * one is already fetched, and a new page fetch is started once the page the reader takes is fetched. Any fetch
+ * failure is rethrown to the reader when it reaches the failed page.
+ * <p>
+ * The pages are fetched on virtual threads if the JVM supports them, on a pool of 'parallelism' threads otherwise.
+ */
+class SuccessFactorsParallelPageFetcher implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsParallelPageFetcher.class);
+
+  /**
+   * Fetches a given page of a split.
+   */
+  interface PageSource {
+
+    /**
+     * Called concurrently for different pages.
+     *
+     * @param offset number of records of the split before the page
+     * @param count  number of records of the page
+     * @return records of the page
+     * @throws IOException any error while fetching the page
+     */
+    List<StructuredRecord> fetchPage(long offset, long count) throws IOException;
+  }
+
+  private final PageSource pageSource;
+  private final long length;
+  private final long pageSize;
+  private final int parallelism;
+  private final ExecutorService executor;
+  private final Deque<Future<List<StructuredRecord>>> pages = new ArrayDeque<>();
+  private long nextOffset;
+
+  /**
+   * @param pageSource  source of the pages of the split
+   * @param length      number of records of the split
+   * @param pageSize    number of records of each page
+   * @param parallelism maximum number of pages fetched or waiting to be read
+   */
+  SuccessFactorsParallelPageFetcher(PageSource pageSource, long length, long pageSize, int parallelism) {
+    this.pageSource = pageSource;
+    this.length = length;
+    this.pageSize = pageSize;
+    this.parallelism = parallelism;
+    this.executor = newExecutor(parallelism);
+  }
+
+  /**
+   * Starts fetching the first pages of the split.
+   */
+  void start() {
+    fetchPages();
+  }
+
+  /**
+   * Takes the next page in order, waiting for it if it is not fetched yet.
+   *
+   * @return records of the next page or null if all the pages are read
+   * @throws IOException          the error the page fetch failed with
+   * @throws InterruptedException if interrupted while waiting for the page
+   */
+  @Nullable
+  List<StructuredRecord> nextPage() throws IOException, InterruptedException {
+    Future<List<StructuredRecord>> page = pages.poll();
+    if (page == null) {
+      return null;
+    }
+    List<StructuredRecord> records;
+    try {
+      records = page.get();
+    } catch (ExecutionException e) {
+      close();
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause().getMessage(), e.getCause());
+    }
+    // the taken page is fetched, its slot is free for the next page fetch
+    fetchPages();
+    return records;
+  }
+
+  @Override
+  public void close() {
+    for (Future<List<StructuredRecord>> page : pages) {
+      page.cancel(true);
+    }
+    pages.clear();
+    nextOffset = length;
+    executor.shutdownNow();
+  }
+
+  private void fetchPages() {
+    while (pages.size() < parallelism && nextOffset < length) {
+      long offset = nextOffset;
+      long count = Math.min(pageSize, length - offset);
+      pages.add(executor.submit(() -> pageSource.fetchPage(offset, count)));
+      nextOffset += count;
+    }
+  }
+
+  /**
+   * Returns a virtual thread per task executor on a JVM supporting them, the number of concurrent tasks is bounded
+   * by the number of pages in flight anyway. Falls back to a fixed pool of daemon threads otherwise.
+   */
+  private static ExecutorService newExecutor(int parallelism) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      LOG.debug("Virtual threads are not supported, fetching the pages on a pool of {} threads.", parallelism);
+    }
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "successfactors-page-fetcher-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+}
@@ -21,6 +21,8 @@ import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.plugin.successfactors.common.exception.SuccessFactorsServiceException;
 import io.cdap.plugin.successfactors.common.exception.TransportException;
 import io.cdap.plugin.successfactors.source.service.SuccessFactorsService;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsReadMetrics;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsReadMetrics.Metric;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.RecordReader;
@@ -28,12 +30,17 @@ import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.olingo.odata2.api.edm.Edm;
 import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
 import org.apache.olingo.odata2.api.ep.feed.ODataFeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 /**
@@ -41,9 +48,17 @@ import javax.annotation.Nullable;
  */
 public class SuccessFactorsRecordReader extends RecordReader<LongWritable, StructuredRecord> {
 
+  private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsRecordReader.class);
   private final SuccessFactorsService successFactorsService;
+  private final SuccessFactorsReadMetrics readMetrics;
   private final Edm edmData;
+  private final Schema pluginSchema;
   private final SuccessFactorsTransformer valueConverter;
+  private final boolean streamingDecoder;
+  private final int prefetchDepth;
+  private final boolean keysetPagination;
+  private final int pagesPerBatchRequest;
+  private final int parallelPageRequests;
 
   @Nullable
   private final Long start;
@@ -56,33 +71,125 @@ public class SuccessFactorsRecordReader extends RecordReader<LongWritable, Struc
   private Long skipCount;
   private Long fetchCount;
   private long numRowsProcessed;
+  // records read from the current page of the streaming decoder
+  private long pageRowsProcessed;
   private LongWritable key;
   private List<ODataEntry> oDataEntryList;
   private ODataFeed oDataFeed;
   private Iterator<ODataEntry> dataEntryIterator;
   private StructuredRecord dataRecord;
+  @Nullable
+  private SuccessFactorsStreamingDecoder decoder;
+  // pages fetched by the last '$batch' request and not read yet
+  private final Deque<SuccessFactorsStreamingDecoder> pendingDecoders = new ArrayDeque<>();
+  @Nullable
+  private SuccessFactorsPagePrefetcher prefetcher;
+  @Nullable
+  private SuccessFactorsParallelPageFetcher parallelFetcher;
+  private Iterator<StructuredRecord> prefetchedRecords;
+  // used by the prefetcher thread only
+  private long numRowsFetched;
+  private boolean hasNextPage = true;
+  @Nullable
+  private TaskAttemptContext taskContext;
 
   public SuccessFactorsRecordReader(SuccessFactorsService successFactorsService, Edm edmData, Schema pluginSchema,
                                     @Nullable Long start, @Nullable Long end, @Nullable Long packageSize) {
+    this(successFactorsService, edmData, pluginSchema, start, end, packageSize, false, 0);
+  }
+
+  /**
+   * @param streamingDecoder true to convert the records directly from the response stream with
+   *                         {@code SuccessFactorsStreamingDecoder}, false to convert them from the Olingo
+   *                         {@code ODataFeed}
+   * @param prefetchDepth    number of pages fetched in the background ahead of the records being read,
+   *                         0 to fetch each page only once the previous one is read
+   */
+  public SuccessFactorsRecordReader(SuccessFactorsService successFactorsService, Edm edmData, Schema pluginSchema,
+                                    @Nullable Long start, @Nullable Long end, @Nullable Long packageSize,
+                                    boolean streamingDecoder, int prefetchDepth) {
+    this(successFactorsService, edmData, pluginSchema, start, end, packageSize, streamingDecoder, prefetchDepth,
+         false);
+  }
+
+  /**
+   * @param keysetPagination true if the service advances the pages on the last seen key, the split is then read
+   *                         until a page returns less than 'packageSize' records and start and end are only used
+   *                         to estimate the progress
+   */
+  public SuccessFactorsRecordReader(SuccessFactorsService successFactorsService, Edm edmData, Schema pluginSchema,
+                                    @Nullable Long start, @Nullable Long end, @Nullable Long packageSize,
+                                    boolean streamingDecoder, int prefetchDepth, boolean keysetPagination) {
+    this(successFactorsService, edmData, pluginSchema, start, end, packageSize, streamingDecoder, prefetchDepth,
+         keysetPagination, 1);
+  }
+
+  /**
+   * @param pagesPerBatchRequest number of pages fetched in a single '$batch' request, only used with the streaming
+   *                             decoder and client side pagination advanced with '$skip', 1 to fetch each page in a
+   *                             separate request
+   */
+  public SuccessFactorsRecordReader(SuccessFactorsService successFactorsService, Edm edmData, Schema pluginSchema,
+                                    @Nullable Long start, @Nullable Long end, @Nullable Long packageSize,
+                                    boolean streamingDecoder, int prefetchDepth, boolean keysetPagination,
+                                    int pagesPerBatchRequest) {
+    this(successFactorsService, edmData, pluginSchema, start, end, packageSize, streamingDecoder, prefetchDepth,
+         keysetPagination, pagesPerBatchRequest, 1);
+  }
+
+  /**
+   * @param parallelPageRequests number of pages fetched concurrently, only used with client side pagination advanced
+   *                             with '$skip', takes precedence over 'prefetchDepth'. 1 to fetch the pages one after
+   *                             another
+   */
+  public SuccessFactorsRecordReader(SuccessFactorsService successFactorsService, Edm edmData, Schema pluginSchema,
+                                    @Nullable Long start, @Nullable Long end, @Nullable Long packageSize,
+                                    boolean streamingDecoder, int prefetchDepth, boolean keysetPagination,
+                                    int pagesPerBatchRequest, int parallelPageRequests) {
 
     this.successFactorsService = successFactorsService;
     this.edmData = edmData;
+    this.pluginSchema = pluginSchema;
     this.start = start;
     this.end = end;
     this.packageSize = packageSize;
+    this.streamingDecoder = streamingDecoder;
+    this.prefetchDepth = prefetchDepth;
+    this.keysetPagination = keysetPagination;
+    this.pagesPerBatchRequest = pagesPerBatchRequest;
+    this.parallelPageRequests = parallelPageRequests;
+    this.readMetrics = successFactorsService.getReadMetrics();
 
     valueConverter = new SuccessFactorsTransformer(pluginSchema);
   }
 
   @Override
   public void initialize(InputSplit split, TaskAttemptContext taContext) throws IOException {
+    taskContext = taContext;
     key = new LongWritable();
     oDataEntryList = new ArrayList<>();
     dataEntryIterator = oDataEntryList.listIterator();
+    prefetchedRecords = Collections.emptyIterator();
+    if (isParallelFetch()) {
+      // with '$batch' requests, each concurrent fetch is a whole '$batch' request of several pages
+      long fetchSize = isBatchRequest() ? packageSize * pagesPerBatchRequest : packageSize;
+      parallelFetcher = new SuccessFactorsParallelPageFetcher(this::fetchPage, getLength(), fetchSize,
+                                                              parallelPageRequests);
+      parallelFetcher.start();
+    } else if (prefetchDepth > 0) {
+      prefetcher = new SuccessFactorsPagePrefetcher(this::fetchNextPage, prefetchDepth);
+      prefetcher.start();
+    }
   }
 
   @Override
   public boolean nextKeyValue() throws IOException, InterruptedException {
+    if (prefetcher != null || parallelFetcher != null) {
+      return nextPrefetchedKeyValue();
+    }
+    if (streamingDecoder) {
+      return nextStreamedKeyValue();
+    }
     if (!dataEntryIterator.hasNext()) {
       if (!isCallRequired()) {
         return false;
@@ -92,9 +199,11 @@ public class SuccessFactorsRecordReader extends RecordReader<LongWritable, Struc
         calculateSkipAndFetchCount();
       }
 
+      long readStartNanos = System.nanoTime();
       try {
         // Pulls the data from the SuccessFactors entity for the given range via 'rows to skip' and 'rows to fetch'.
         oDataFeed = successFactorsService.readServiceEntityData(edmData, skipCount, fetchCount);
+        readMetrics.increment(Metric.PAGES);
         oDataEntryList = oDataFeed != null ? oDataFeed.getEntries() : Collections.emptyList();
 
         if (oDataEntryList.isEmpty()) {
@@ -104,15 +213,236 @@ public class SuccessFactorsRecordReader extends RecordReader<LongWritable, Struc
 
       } catch (SuccessFactorsServiceException | TransportException e) {
         throw new IOException(e.getMessage(), e);
+      } finally {
+        readMetrics.addTimeSince(Metric.PAGE_READ_TIME, readStartNanos);
       }
     }
 
+    long transformStartNanos = System.nanoTime();
     dataRecord = valueConverter.buildCurrentRecord(dataEntryIterator.next());
+    readMetrics.addTimeSince(Metric.TRANSFORM_TIME, transformStartNanos);
+    numRowsProcessed++;
+    key.set(numRowsProcessed);
+    return true;
+  }
+
+  /**
+   * Pulls the next record from the current page decoder, fetching the next page once the current one is fully read.
+   */
+  private boolean nextStreamedKeyValue() throws IOException {
+    long readStartNanos = System.nanoTime();
+    try {
+      return readStreamedKeyValue();
+    } finally {
+      readMetrics.addTimeSince(Metric.PAGE_READ_TIME, readStartNanos);
+    }
+  }
+
+  private boolean readStreamedKeyValue() throws IOException {
+    StructuredRecord streamedRecord = decoder != null ? decoder.nextRecord() : null;
+    if (streamedRecord == null) {
+      closeDecoder();
+      if (!isStreamCallRequired()) {
+        return false;
+      }
+
+      try {
+        decoder = nextPageDecoder();
+        readMetrics.increment(Metric.PAGES);
+        pageRowsProcessed = 0;
+        streamedRecord = decoder.nextRecord();
+      } catch (SuccessFactorsServiceException | TransportException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+      if (streamedRecord == null) {
+        return false;
+      }
+    }
+
+    dataRecord = streamedRecord;
+    pageRowsProcessed++;
+    numRowsProcessed++;
+    key.set(numRowsProcessed);
+    return true;
+  }
+
+  /**
+   * Returns the decoder of the next page, taken from the pages of the last '$batch' request if there are any left.
+   */
+  private SuccessFactorsStreamingDecoder nextPageDecoder() throws SuccessFactorsServiceException, TransportException {
+    if (pendingDecoders.isEmpty() && isBatchRequest()) {
+      pendingDecoders.addAll(readPageBatch(numRowsProcessed));
+    }
+    if (!pendingDecoders.isEmpty()) {
+      return pendingDecoders.poll();
+    }
+    // This condition will be true in case of client side pagination
+    if (start != null && end != null && packageSize != null) {
+      calculateSkipAndFetchCount();
+    }
+    return successFactorsService.readServiceEntityRecords(edmData, pluginSchema, skipCount, fetchCount);
+  }
+
+  /**
+   * Fetches the next pages of the split, after the given number of records, in a single '$batch' request.
+   */
+  private List<SuccessFactorsStreamingDecoder> readPageBatch(long rowsRead)
+    throws SuccessFactorsServiceException, TransportException {
+    long count = Math.min(getLength() - rowsRead, packageSize * pagesPerBatchRequest);
+    return successFactorsService.readServiceEntityRecordPages(edmData, pluginSchema, start + rowsRead - 1, count,
+                                                              packageSize);
+  }
+
+  private boolean isParallelFetch() {
+    return parallelPageRequests > 1 && !keysetPagination && start != null && end != null && packageSize != null;
+  }
+
+  private boolean isBatchRequest() {
+    return pagesPerBatchRequest > 1 && streamingDecoder && !keysetPagination
+      && start != null && end != null && packageSize != null;
+  }
+
+  /**
+   * Pulls the next record from the current prefetched page, waiting for the next page once the current one is read.
+   */
+  private boolean nextPrefetchedKeyValue() throws IOException, InterruptedException {
+    while (!prefetchedRecords.hasNext()) {
+      long waitStartNanos = System.nanoTime();
+      List<StructuredRecord> page = parallelFetcher != null ? parallelFetcher.nextPage() : prefetcher.nextPage();
+      readMetrics.addTimeSince(Metric.FETCH_WAIT_TIME, waitStartNanos);
+      if (page == null) {
+        return false;
+      }
+      prefetchedRecords = page.iterator();
+    }
+
+    dataRecord = prefetchedRecords.next();
     numRowsProcessed++;
     key.set(numRowsProcessed);
     return true;
   }
 
+  /**
+   * Fetches and converts the next page of the split, called by the prefetcher thread.
+   *
+   * @return records of the page or null if there are no more records to fetch
+   */
+  @Nullable
+  private List<StructuredRecord> fetchNextPage() throws IOException {
+    boolean serverSidePagination = start == null && end == null && packageSize == null;
+    if (serverSidePagination || keysetPagination ? !hasNextPage : getLength() - numRowsFetched <= 0) {
+      return null;
+    }
+    Long skip = null;
+    Long top = null;
+    if (keysetPagination) {
+      top = packageSize;
+    } else if (!serverSidePagination) {
+      skip = start + numRowsFetched - 1;
+      top = Math.min(getLength() - numRowsFetched, packageSize);
+    }
+
+    List<StructuredRecord> records;
+    long readStartNanos = System.nanoTime();
+    try {
+      if (isBatchRequest()) {
+        records = readRecords(readPageBatch(numRowsFetched));
+        readMetrics.addTimeSince(Metric.PAGE_READ_TIME, readStartNanos);
+      } else if (streamingDecoder) {
+        try (SuccessFactorsStreamingDecoder pageDecoder =
+               successFactorsService.readServiceEntityRecords(edmData, pluginSchema, skip, top)) {
+          records = new ArrayList<>();
+          StructuredRecord streamedRecord;
+          while ((streamedRecord = pageDecoder.nextRecord()) != null) {
+            records.add(streamedRecord);
+          }
+          hasNextPage = pageDecoder.getNextLink() != null;
+        }
+        readMetrics.increment(Metric.PAGES);
+        readMetrics.addTimeSince(Metric.PAGE_READ_TIME, readStartNanos);
+      } else {
+        ODataFeed feed = successFactorsService.readServiceEntityData(edmData, skip, top);
+        readMetrics.increment(Metric.PAGES);
+        readMetrics.addTimeSince(Metric.PAGE_READ_TIME, readStartNanos);
+        records = transform(feed);
+        hasNextPage = feed != null && feed.getFeedMetadata().getNextLink() != null;
+      }
+    } catch (SuccessFactorsServiceException | TransportException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+
+    if (keysetPagination) {
+      hasNextPage = records.size() >= top;
+    }
+    if (records.isEmpty()) {
+      return null;
+    }
+    numRowsFetched += records.size();
+    return records;
+  }
+
+  /**
+   * Fetches and converts the given records of the split, called concurrently by the parallel page fetcher.
+   *
+   * @param offset number of records of the split before the first record to fetch
+   * @param count  number of records to fetch
+   * @return records fetched
+   */
+  private List<StructuredRecord> fetchPage(long offset, long count) throws IOException {
+    long skip = start + offset - 1;
+    long readStartNanos = System.nanoTime();
+    try {
+      if (isBatchRequest()) {
+        List<StructuredRecord> records = readRecords(
+          successFactorsService.readServiceEntityRecordPages(edmData, pluginSchema, skip, count, packageSize));
+        readMetrics.addTimeSince(Metric.PAGE_READ_TIME, readStartNanos);
+        return records;
+      }
+      if (streamingDecoder) {
+        List<StructuredRecord> records = readRecords(Collections.singletonList(
+          successFactorsService.readServiceEntityRecords(edmData, pluginSchema, skip, count)));
+        readMetrics.addTimeSince(Metric.PAGE_READ_TIME, readStartNanos);
+        return records;
+      }
+      ODataFeed feed = successFactorsService.readServiceEntityData(edmData, skip, count);
+      readMetrics.increment(Metric.PAGES);
+      readMetrics.addTimeSince(Metric.PAGE_READ_TIME, readStartNanos);
+      return transform(feed);
+    } catch (SuccessFactorsServiceException | TransportException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Reads all the records of the given page decoders, closing each of them once read.
+   */
+  private List<StructuredRecord> readRecords(List<SuccessFactorsStreamingDecoder> pageDecoders)
+    throws IOException {
+    List<StructuredRecord> records = new ArrayList<>();
+    for (SuccessFactorsStreamingDecoder pageDecoder : pageDecoders) {
+      try (SuccessFactorsStreamingDecoder closeable = pageDecoder) {
+        StructuredRecord streamedRecord;
+        while ((streamedRecord = closeable.nextRecord()) != null) {
+          records.add(streamedRecord);
+        }
+      }
+      readMetrics.increment(Metric.PAGES);
+    }
+    return records;
+  }
+
+  /**
+   * Converts the entries of the given feed to records.
+   */
+  private List<StructuredRecord> transform(@Nullable ODataFeed feed) {
+    long transformStartNanos = System.nanoTime();
+    List<ODataEntry> entries = feed != null ? feed.getEntries() : Collections.emptyList();
+    List<StructuredRecord> records = entries.stream().map(valueConverter::buildCurrentRecord)
+      .collect(Collectors.toList());
+    readMetrics.addTimeSince(Metric.TRANSFORM_TIME, transformStartNanos);
+    return records;
+  }
+
   @Override
   public LongWritable getCurrentKey() throws IOException, InterruptedException {
     return key;
@@ -125,15 +455,68 @@ public class SuccessFactorsRecordReader extends RecordReader<LongWritable, Struc
 
   @Override
   public float getProgress() throws IOException, InterruptedException {
-    return numRowsProcessed / (float) getLength();
+    return Math.min(1f, numRowsProcessed / (float) getLength());
   }
 
   @Override
   public void close() throws IOException {
-    // No-op
+    if (prefetcher != null) {
+      prefetcher.close();
+    }
+    if (parallelFetcher != null) {
+      parallelFetcher.close();
+    }
+    closeDecoder();
+    closePendingDecoders();
+    publishMetrics();
+  }
+
+  /**
+   * Logs the metrics of the split and publishes them as Hadoop counters.
+   */
+  private void publishMetrics() {
+    readMetrics.add(Metric.RECORDS, numRowsProcessed);
+    readMetrics.increment(Metric.SPLITS);
+    LOG.info("Read {} records in {} pages of {} bytes ({} bytes received) with {} requests ({} retries, {} throttled, "
+               + "{} server errors), HTTP latency {} ms, page read {} ms, transform {} ms, fetch wait {} ms.",
+             numRowsProcessed, readMetrics.get(Metric.PAGES), readMetrics.get(Metric.DECODED_BYTES),
+             readMetrics.get(Metric.WIRE_BYTES), readMetrics.get(Metric.REQUESTS), readMetrics.get(Metric.RETRIES),
+             readMetrics.get(Metric.THROTTLED_RESPONSES), readMetrics.get(Metric.SERVER_ERRORS),
+             readMetrics.get(Metric.HTTP_LATENCY), readMetrics.get(Metric.PAGE_READ_TIME),
+             readMetrics.get(Metric.TRANSFORM_TIME), readMetrics.get(Metric.FETCH_WAIT_TIME));
+    if (taskContext != null) {
+      readMetrics.publish((name, value) -> taskContext.getCounter(SuccessFactorsReadMetrics.COUNTER_GROUP, name)
+        .increment(value));
+    }
+  }
+
+  private void closeDecoder() throws IOException {
+    if (decoder != null) {
+      decoder.close();
+    }
+  }
+
+  private void closePendingDecoders() throws IOException {
+    while (!pendingDecoders.isEmpty()) {
+      pendingDecoders.poll().close();
+    }
+  }
+
+  private boolean isStreamCallRequired() {
+    if (keysetPagination) {
+      return decoder == null || pageRowsProcessed >= packageSize;
+    }
+    if (start == null && end == null && packageSize == null) {
+      return decoder == null || decoder.getNextLink() != null;
+    } else {
+      return getLength() - numRowsProcessed > 0;
+    }
   }
 
   private boolean isCallRequired() {
+    if (keysetPagination) {
+      return oDataFeed == null || oDataEntryList.size() >= packageSize;
+    }
     if (start == null && end == null && packageSize == null) {
       return oDataFeed == null || oDataFeed.getFeedMetadata().getNextLink() != null;
     } else {
@@ -142,6 +525,12 @@ public class SuccessFactorsRecordReader extends RecordReader<LongWritable, Struc
   }
 
   private void calculateSkipAndFetchCount() {
+    if (keysetPagination) {
+      // the service starts the page after the last seen key
+      skipCount = null;
+      fetchCount = packageSize;
+      return;
+    }
     skipCount = start + numRowsProcessed - 1;
     long remain = getLength() - numRowsProcessed;
     fetchCount = Math.min(remain, packageSize);
@@ -0,0 +1,567 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.apache.olingo.odata2.api.edm.EdmException;
+import org.apache.olingo.odata2.api.edm.EdmFacets;
+import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.edm.EdmProperty;
+import org.apache.olingo.odata2.api.edm.EdmSimpleType;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.apache.olingo.odata2.api.edm.EdmStructuralType;
+import org.apache.olingo.odata2.api.edm.EdmType;
+import org.apache.olingo.odata2.api.edm.EdmTyped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsStreamingDecoder} converts one OData v2 JSON page of SuccessFactors entity records
+ * directly into {@code StructuredRecord}, without building the intermediate Olingo {@code ODataFeed}.
+ * <p>
+ * The response is read with a streaming {@code JsonParser} and records are decoded one at a time on every
+ * {@link #nextRecord()} call, so at most one record of the page is held in memory. The output {@code Schema} drives
+ * the decoding, the {@code Edm} entity type is only used to coerce the JSON literals into the same Java values as the
+ * Olingo {@code EntityProvider} would, which are then converted by {@code SuccessFactorsTransformer}.
+ * <p>
+ * Expected response format:
+ * {
+ *   "d": {
+ *     "results": [
+ *       { "__metadata": {...}, "userId": "107030", ... },
+ *       ...
+ *     ],
+ *     "__next": "https://.../odata/v2/Entity?$skiptoken=..."
+ *   }
+ * }
+ */
+public class SuccessFactorsStreamingDecoder implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsStreamingDecoder.class);
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String ODATA_ROOT_ELEMENT = "d";
+  private static final String ODATA_RESULT_ELEMENT = "results";
+  private static final String ODATA_NEXT_LINK = "__next";
+  private static final String ODATA_DEFERRED = "__deferred";
+
+  private final JsonParser parser;
+  private final RecordPlan recordPlan;
+  @Nullable
+  private final Consumer<String> nextLinkListener;
+  @Nullable
+  private FieldPlan keyField;
+  @Nullable
+  private Consumer<Object> keyListener;
+  private boolean started;
+  private boolean finished;
+  private boolean resultsInRootObject;
+  @Nullable
+  private String nextLink;
+
+  /**
+   * @param dataStream       OData v2 JSON response of a data page, closed along with this decoder
+   * @param schema           output schema of the records
+   * @param entityType       SuccessFactors entity type used for type coercion, schema based coercion is used if null
+   * @param nextLinkListener notified with the '__next' link of the page, if any, once the page is fully read
+   * @throws IOException any error while setting up the JSON parser
+   */
+  public SuccessFactorsStreamingDecoder(InputStream dataStream, Schema schema, @Nullable EdmStructuralType entityType,
+                                        @Nullable Consumer<String> nextLinkListener) throws IOException {
+    this.parser = JSON_FACTORY.createParser(dataStream);
+    this.recordPlan = new RecordPlan(schema, entityType);
+    this.nextLinkListener = nextLinkListener;
+  }
+
+  /**
+   * Notifies the given listener with the value of a top level property of every decoded record, before its
+   * conversion by {@code SuccessFactorsTransformer}. Records without a value for the property are not notified.
+   *
+   * @param propertyName name of the property, must be part of the output schema
+   * @param keyListener  notified with the Olingo value of the property
+   */
+  public void setKeyListener(String propertyName, Consumer<Object> keyListener) {
+    this.keyField = recordPlan.fieldsByName.get(propertyName);
+    this.keyListener = keyListener;
+  }
+
+  /**
+   * Decodes the next record of the page.
+   *
+   * @return {@code StructuredRecord} or null once all the records of the page are read
+   * @throws IOException any error while reading or decoding the response
+   */
+  @Nullable
+  public StructuredRecord nextRecord() throws IOException {
+    if (finished) {
+      return null;
+    }
+    if (!started) {
+      started = true;
+      if (!moveToResults()) {
+        finish();
+        return null;
+      }
+    }
+
+    JsonToken token = parser.nextToken();
+    if (token == JsonToken.START_OBJECT) {
+      return readRecord(recordPlan, false);
+    }
+    if (resultsInRootObject) {
+      // '__next' follows the 'results' array
+      readRootObjectFields();
+    }
+    finish();
+    return null;
+  }
+
+  /**
+   * @return the '__next' link of the page, available once {@link #nextRecord()} returned null.
+   */
+  @Nullable
+  public String getNextLink() {
+    return nextLink;
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+  /**
+   * Moves the parser onto the start of the 'results' array.
+   *
+   * @return false if the page does not contain any 'results' array
+   */
+  private boolean moveToResults() throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Invalid SuccessFactors response, expected a JSON object.");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if (!ODATA_ROOT_ELEMENT.equals(fieldName)) {
+        parser.skipChildren();
+        continue;
+      }
+      if (token == JsonToken.START_ARRAY) {
+        // records directly under the root element
+        return true;
+      }
+      if (token == JsonToken.START_OBJECT) {
+        resultsInRootObject = true;
+        return readRootObjectFields();
+      }
+      parser.skipChildren();
+    }
+    return false;
+  }
+
+  /**
+   * Reads the fields of the root element until the 'results' array starts or the root element ends.
+   *
+   * @return true if the parser is positioned on the start of the 'results' array
+   */
+  private boolean readRootObjectFields() throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if (ODATA_RESULT_ELEMENT.equals(fieldName) && token == JsonToken.START_ARRAY) {
+        return true;
+      }
+      if (ODATA_NEXT_LINK.equals(fieldName) && token == JsonToken.VALUE_STRING) {
+        nextLink = parser.getText();
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return false;
+  }
+
+  private void finish() {
+    finished = true;
+    if (nextLink != null && nextLinkListener != null) {
+      nextLinkListener.accept(nextLink);
+    }
+  }
+
+  /**
+   * Reads a single entity object into a {@code StructuredRecord}.
+   *
+   * @param plan          decoding plan of the record schema
+   * @param onFirstField  true if the parser has already consumed the first field name of the object
+   * @return {@code StructuredRecord}
+   */
+  private StructuredRecord readRecord(RecordPlan plan, boolean onFirstField) throws IOException {
+    StructuredRecord.Builder recordBuilder = StructuredRecord.builder(plan.schema);
+    boolean[] arraySet = new boolean[plan.fields.size()];
+
+    JsonToken token = onFirstField ? parser.getCurrentToken() : parser.nextToken();
+    while (token == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      JsonToken valueToken = parser.nextToken();
+      FieldPlan field = plan.fieldsByName.get(fieldName);
+      if (field == null) {
+        // '__metadata' and any property not part of the output schema
+        parser.skipChildren();
+      } else if (field.literalConverter != null && field != keyField && valueToken == JsonToken.VALUE_STRING
+        && field.literalConverter.set(recordBuilder, fieldName, parser.getText())) {
+        // date and time literal set straight from the text, without the calendar of the Olingo type
+      } else {
+        Object value = readValue(field, valueToken);
+        if (field.isArray) {
+          arraySet[field.index] = true;
+          if (value == null) {
+            value = Collections.emptyList();
+          }
+        }
+        if (value != null && field == keyField) {
+          keyListener.accept(value);
+        }
+        if (value != null) {
+          field.converter.set(recordBuilder, fieldName, value);
+        }
+      }
+      token = parser.nextToken();
+    }
+
+    // same as the Olingo based transformation, navigation entity of 1 to * multiplicity is never null
+    for (FieldPlan field : plan.fields) {
+      if (field.isArray && !arraySet[field.index]) {
+        recordBuilder.set(field.name, Collections.emptyList());
+      }
+    }
+    return recordBuilder.build();
+  }
+
+  @Nullable
+  private Object readValue(FieldPlan field, JsonToken token) throws IOException {
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (field.isArray) {
+      return readNavigationFeed(field, token);
+    }
+    if (field.childPlan != null) {
+      if (token != JsonToken.START_OBJECT) {
+        throw invalidValue(field);
+      }
+      if (parser.nextToken() == JsonToken.FIELD_NAME && ODATA_DEFERRED.equals(parser.getCurrentName())) {
+        // navigation entity is not expanded
+        skipRemainingFields();
+        return null;
+      }
+      return readRecord(field.childPlan, true);
+    }
+    return readSimpleValue(field, token);
+  }
+
+  /**
+   * Reads the navigation entity of 1 to * multiplicity, either as '{"results": [...]}', a plain array or a single
+   * entity object.
+   */
+  @Nullable
+  private List<StructuredRecord> readNavigationFeed(FieldPlan field, JsonToken token) throws IOException {
+    if (field.childPlan == null) {
+      // only arrays of navigation entities are supported
+      parser.skipChildren();
+      return null;
+    }
+    if (token == JsonToken.START_ARRAY) {
+      return readRecordArray(field.childPlan);
+    }
+    if (token != JsonToken.START_OBJECT) {
+      throw invalidValue(field);
+    }
+
+    JsonToken next = parser.nextToken();
+    if (next != JsonToken.FIELD_NAME) {
+      return null;
+    }
+    String firstFieldName = parser.getCurrentName();
+    if (ODATA_DEFERRED.equals(firstFieldName)) {
+      skipRemainingFields();
+      return null;
+    }
+    if (ODATA_RESULT_ELEMENT.equals(firstFieldName)) {
+      List<StructuredRecord> records = Collections.emptyList();
+      if (parser.nextToken() == JsonToken.START_ARRAY) {
+        records = readRecordArray(field.childPlan);
+      } else {
+        parser.skipChildren();
+      }
+      parser.nextToken();
+      skipRemainingFields();
+      return records;
+    }
+    return Collections.singletonList(readRecord(field.childPlan, true));
+  }
+
+  private List<StructuredRecord> readRecordArray(RecordPlan plan) throws IOException {
+    List<StructuredRecord> records = new ArrayList<>();
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (token == JsonToken.START_OBJECT) {
+        records.add(readRecord(plan, false));
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Skips the remaining fields of the current object, the parser must be positioned on a field name or on the end of
+   * the object.
+   */
+  private void skipRemainingFields() throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    while (token == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      parser.skipChildren();
+      token = parser.nextToken();
+    }
+  }
+
+  /**
+   * Coerces a JSON literal the same way as the Olingo JSON entity consumer does.
+   */
+  private Object readSimpleValue(FieldPlan field, JsonToken token) throws IOException {
+    String literal;
+    switch (field.kind) {
+      case Boolean:
+        if (token != JsonToken.VALUE_TRUE && token != JsonToken.VALUE_FALSE && token != JsonToken.VALUE_STRING) {
+          throw invalidValue(field);
+        }
+        literal = parser.getText();
+        break;
+      case Byte:
+      case SByte:
+      case Int16:
+      case Int32:
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+          literal = Integer.toString(parser.getIntValue());
+        } else if (token == JsonToken.VALUE_STRING) {
+          literal = parser.getText();
+        } else {
+          throw invalidValue(field);
+        }
+        break;
+      case Single:
+      case Double:
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+          literal = Double.toString(parser.getDoubleValue());
+        } else if (token == JsonToken.VALUE_STRING) {
+          literal = parser.getText();
+        } else {
+          throw invalidValue(field);
+        }
+        break;
+      default:
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+          throw invalidValue(field);
+        }
+        literal = parser.getText();
+    }
+
+    try {
+      return field.edmType.valueOfString(literal, EdmLiteralKind.JSON, field.facets, field.edmType.getDefaultType());
+    } catch (EdmException e) {
+      throw new IOException(String.format("Invalid value '%s' for property '%s'.", literal, field.name), e);
+    }
+  }
+
+  private IOException invalidValue(FieldPlan field) {
+    return new IOException(String.format("Invalid value for property '%s' at %s.", field.name,
+                                         parser.getCurrentLocation()));
+  }
+
+  /**
+   * Decoding plan of a record schema, prepared once per decoder and reused for every record of the page.
+   */
+  private static final class RecordPlan {
+    private final Schema schema;
+    private final List<FieldPlan> fields;
+    private final Map<String, FieldPlan> fieldsByName;
+
+    private RecordPlan(Schema schema, @Nullable EdmStructuralType structuralType) {
+      this.schema = schema;
+      this.fields = new ArrayList<>();
+      this.fieldsByName = new HashMap<>();
+      for (Schema.Field field : schema.getFields()) {
+        FieldPlan fieldPlan = new FieldPlan(fields.size(), field, getTyped(structuralType, field.getName()));
+        fields.add(fieldPlan);
+        fieldsByName.put(field.getName(), fieldPlan);
+      }
+    }
+
+    @Nullable
+    private static EdmTyped getTyped(@Nullable EdmStructuralType structuralType, String name) {
+      if (structuralType == null) {
+        return null;
+      }
+      try {
+        return structuralType.getProperty(name);
+      } catch (EdmException e) {
+        LOG.debug("Unable to read the metadata of property '{}', using the schema type instead.", name, e);
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Decoding plan of a single field.
+   */
+  private static final class FieldPlan {
+    private final int index;
+    private final String name;
+    private final SuccessFactorsTransformer.FieldConverter converter;
+    @Nullable
+    private final SuccessFactorsDateTimeConverter.LiteralConverter literalConverter;
+    private final boolean isArray;
+    @Nullable
+    private final RecordPlan childPlan;
+    private final EdmSimpleType edmType;
+    private final EdmSimpleTypeKind kind;
+    @Nullable
+    private final EdmFacets facets;
+
+    private FieldPlan(int index, Schema.Field field, @Nullable EdmTyped typed) {
+      this.index = index;
+      this.name = field.getName();
+      Schema schema = field.getSchema();
+      this.converter = SuccessFactorsTransformer.compileValueConverter(schema);
+
+      Schema nonNullable = schema.isNullable() ? schema.getNonNullable() : schema;
+      this.isArray = nonNullable.getType() == Schema.Type.ARRAY;
+      Schema recordSchema = isArray ? nonNullable.getComponentSchema() : nonNullable;
+      if (isArray) {
+        recordSchema = recordSchema.isNullable() ? recordSchema.getNonNullable() : recordSchema;
+      }
+      this.childPlan = recordSchema.getType() == Schema.Type.RECORD
+        ? new RecordPlan(recordSchema, getStructuralType(typed)) : null;
+
+      EdmSimpleType simpleType = getSimpleType(typed);
+      EdmSimpleTypeKind simpleKind = simpleType == null ? null : getKind(simpleType);
+      if (simpleKind != null) {
+        this.edmType = simpleType;
+        this.kind = simpleKind;
+        this.facets = getFacets(typed);
+      } else {
+        this.kind = getKind(nonNullable);
+        this.edmType = kind.getEdmSimpleTypeInstance();
+        this.facets = null;
+      }
+      this.literalConverter = isArray || childPlan != null
+        ? null : SuccessFactorsDateTimeConverter.forLiteral(kind, nonNullable);
+    }
+
+    @Nullable
+    private static EdmStructuralType getStructuralType(@Nullable EdmTyped typed) {
+      try {
+        if (typed instanceof EdmNavigationProperty || typed instanceof EdmProperty) {
+          EdmType type = typed.getType();
+          return type instanceof EdmStructuralType ? (EdmStructuralType) type : null;
+        }
+      } catch (EdmException e) {
+        LOG.debug("Unable to read the metadata of navigation property.", e);
+      }
+      return null;
+    }
+
+    @Nullable
+    private static EdmSimpleType getSimpleType(@Nullable EdmTyped typed) {
+      try {
+        if (typed instanceof EdmProperty && typed.getType() instanceof EdmSimpleType) {
+          return (EdmSimpleType) typed.getType();
+        }
+      } catch (EdmException e) {
+        LOG.debug("Unable to read the metadata of property.", e);
+      }
+      return null;
+    }
+
+    @Nullable
+    private static EdmSimpleTypeKind getKind(EdmSimpleType simpleType) {
+      try {
+        return EdmSimpleTypeKind.valueOf(simpleType.getName());
+      } catch (EdmException | IllegalArgumentException e) {
+        LOG.debug("Unable to resolve the simple type of property.", e);
+        return null;
+      }
+    }
+
+    @Nullable
+    private static EdmFacets getFacets(EdmTyped typed) {
+      try {
+        return ((EdmProperty) typed).getFacets();
+      } catch (EdmException e) {
+        return null;
+      }
+    }
+
+    /**
+     * Infers the SuccessFactors type from the schema type, used if the property is missing from the metadata.
+     * This is the inverse of the type mapping of {@code SuccessFactorsSchemaGenerator}.
+     */
+    private static EdmSimpleTypeKind getKind(Schema schema) {
+      Schema.LogicalType logicalType = schema.getLogicalType();
+      if (logicalType == Schema.LogicalType.DECIMAL) {
+        return EdmSimpleTypeKind.Decimal;
+      } else if (logicalType == Schema.LogicalType.DATETIME) {
+        return EdmSimpleTypeKind.DateTime;
+      } else if (logicalType == Schema.LogicalType.TIME_MICROS) {
+        return EdmSimpleTypeKind.Time;
+      } else if (logicalType == Schema.LogicalType.TIMESTAMP_MICROS) {
+        return EdmSimpleTypeKind.DateTimeOffset;
+      }
+
+      switch (schema.getType()) {
+        case INT:
+          return EdmSimpleTypeKind.Int32;
+        case LONG:
+          return EdmSimpleTypeKind.Int64;
+        case DOUBLE:
+          return EdmSimpleTypeKind.Double;
+        case FLOAT:
+          return EdmSimpleTypeKind.Single;
+        case BOOLEAN:
+          return EdmSimpleTypeKind.Boolean;
+        case BYTES:
+          return EdmSimpleTypeKind.Binary;
+        default:
+          return EdmSimpleTypeKind.String;
+      }
+    }
+  }
+}
@@ -25,26 +25,33 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZonedDateTime;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collections;
-import java.util.GregorianCalendar;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * This {@code SuccessFactorsTransformer} contains the logic to convert SuccessFactors entity record to
  * {@code StructuredRecord}
+ * <p>
+ * The output schema is compiled once into a {@code RecordPlan}, an array of field converters each specialized for the
+ * type of its field, so that converting a record is a plain walk over the fields of the plan.
  */
 public class SuccessFactorsTransformer {
 
   private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsTransformer.class);
-  private final Schema recordSchema;
+  private static final FieldConverter PLAIN_CONVERTER = StructuredRecord.Builder::set;
+  // logical types not produced from the SuccessFactors metadata, their values are left unset as before
+  private static final FieldConverter SKIP_CONVERTER = (recordBuilder, fieldName, fieldValue) -> { };
+
+  private final RecordPlan recordPlan;
 
   public SuccessFactorsTransformer(Schema recordSchema) {
-    this.recordSchema = recordSchema;
+    this.recordPlan = new RecordPlan(recordSchema);
   }
 
   /**
@@ -54,95 +61,131 @@ public class SuccessFactorsTransformer {
    * @return {@code StructuredRecord}
    */
   public StructuredRecord buildCurrentRecord(ODataEntry oDataEntry) {
-    return buildStructureRecord(recordSchema, oDataEntry);
+    return recordPlan.build(oDataEntry);
   }
 
   /**
-   * Builds a single record which may contain nested records if the provided 'SuccessFactorsEntry` instance hold any
-   * navigation entity as an child.
+   * Sets a non null field value into the {@code StructuredRecord.Builder}.
+   */
+  interface FieldConverter {
+
+    /**
+     * @param recordBuilder structured record builder
+     * @param fieldName     field name
+     * @param fieldValue    non null field value
+     */
+    void set(StructuredRecord.Builder recordBuilder, String fieldName, Object fieldValue);
+  }
+
+  /**
+   * Compiles the converter of a field holding the actual data, i.e. a field which is mapped to a
+   * {@code Schema.LogicalType} or a plain field.
+   * Also used by {@code SuccessFactorsStreamingDecoder} so that both decoders produce the same values.
    *
-   * @param recordSchema plugin schema
-   * @param oDataEntry   SAP SuccessFactors entity data
-   * @return {@code StructuredRecord}
+   * @param fieldSchema field schema
+   * @return {@code FieldConverter} of the field
    */
-  private StructuredRecord buildStructureRecord(Schema recordSchema, ODataEntry oDataEntry) {
-
-    StructuredRecord.Builder recordBuilder = StructuredRecord.builder(recordSchema);
-    List<Schema.Field> cdfFields = recordSchema.getFields();
-
-    cdfFields.forEach(field -> {
-      String fieldName = field.getName();
-      Object value = oDataEntry.getProperties().get(fieldName);
-      Schema childSchema = field.getSchema();
-
-      /* any schema of type 'ARRAY' means the value is holding a navigation entity of 1 to * multiplicity.
-       e.g.
-       {
-         "Suppliers":[{
-           "ID":0,
-           "Name":"Z Suppliers"
-           },{
-           "ID":0,
-           "Name":"PAN Suppliers"
-           }]
-       }*/
-      if (childSchema.getType().equals(Schema.Type.ARRAY)) {
-        if (value == null) {
-          value = Collections.emptyList();
-        } else if (value instanceof ODataEntryImpl) {
-          value = readInternalODataEntry(childSchema, (ODataEntryImpl) value);
-        } else if (value instanceof ODataDeltaFeed) {
-          value = readInternalDeltaFeed(childSchema, (ODataDeltaFeed) value);
-        }
-      /* any schema type which is not simple means the value is holding a navigation entity of 0 to 1 multiplicity.
-       eg.
-        {
-          "Category":{
-            "ID":0,
-            "Name":"Food"
-          }
-        }*/
-      } else if (!childSchema.getType().isSimpleType()) {
-        if (childSchema.getUnionSchema(0).getType().equals(Schema.Type.RECORD)) {
-          if (value != null) {
-            value = buildStructureRecord(childSchema.getUnionSchema(0), (ODataEntry) value);
-          }
-        }
-      }
+  static FieldConverter compileValueConverter(Schema fieldSchema) {
+    Schema nonNullable = fieldSchema.isNullable() ? fieldSchema.getNonNullable() : fieldSchema;
+    Schema.LogicalType logicalType = nonNullable.getLogicalType();
+    if (logicalType == null) {
+      return PLAIN_CONVERTER;
+    }
 
-      // any thing non-null other then the above two class type means the value holds the actual data
-      // e.g.
-      //   "Name":"Z Suppliers"
-      if (value != null) {
-        processSchemaTypeValue(childSchema, recordBuilder, fieldName, value);
-      }
-    });
+    switch (logicalType) {
+      case DECIMAL:
+        int scale = nonNullable.getScale();
+        return (recordBuilder, fieldName, fieldValue) ->
+          recordBuilder.setDecimal(fieldName, toDecimal(fieldValue, scale));
 
-    return recordBuilder.build();
+      // the calendar is read as epoch milliseconds and its offset, without a ZonedDateTime in between
+      case DATETIME:
+        return (recordBuilder, fieldName, fieldValue) -> SuccessFactorsDateTimeConverter
+          .setDateTime(recordBuilder, fieldName, SuccessFactorsDateTimeConverter.getLocalMillis((Calendar) fieldValue));
+
+      case TIME_MICROS:
+        return (recordBuilder, fieldName, fieldValue) -> SuccessFactorsDateTimeConverter
+          .setTime(recordBuilder, fieldName, SuccessFactorsDateTimeConverter.getLocalMillis((Calendar) fieldValue));
+
+      case TIMESTAMP_MICROS:
+        return (recordBuilder, fieldName, fieldValue) -> SuccessFactorsDateTimeConverter
+          .setTimestamp(recordBuilder, fieldName, ((Calendar) fieldValue).getTimeInMillis());
+
+      default:
+        LOG.debug("Logical type '{}' is not supported, its values are skipped.", logicalType);
+        return SKIP_CONVERTER;
+    }
   }
 
   /**
-   * Builds the navigation entity of 1 to * multiplicity.
-   * Sample ODataDeltaFeed data:
-   * {
-   * "Suppliers":[{
-   * "ID":0,
-   * "Name":"Z Suppliers"
-   * },{
-   * "ID":0,
-   * "Name":"PAN Suppliers"
-   * }]
-   * }
+   * Converts a decimal value to the scale of its field. The {@code BigDecimal} read by Olingo is used as it is, and
+   * the other numbers are converted without formatting them, giving the same value as parsing their string form.
+   *
+   * @param fieldValue non null field value
+   * @param scale      scale of the field
+   * @return {@code BigDecimal} of the given scale, rounded half up if needed
+   */
+  static BigDecimal toDecimal(Object fieldValue, int scale) {
+    BigDecimal decimal;
+    if (fieldValue instanceof BigDecimal) {
+      decimal = (BigDecimal) fieldValue;
+    } else if (fieldValue instanceof Long || fieldValue instanceof Integer || fieldValue instanceof Short
+      || fieldValue instanceof Byte) {
+      decimal = BigDecimal.valueOf(((Number) fieldValue).longValue());
+    } else if (fieldValue instanceof Double) {
+      // same as parsing Double.toString()
+      decimal = BigDecimal.valueOf((Double) fieldValue);
+    } else {
+      decimal = new BigDecimal(String.valueOf(fieldValue));
+    }
+    return decimal.scale() == scale ? decimal : decimal.setScale(scale, RoundingMode.HALF_UP);
+  }
+
+  /**
+   * Compiles the converter of a field of a record built from an Olingo {@code ODataEntry}.
    *
-   * @param recordSchema   plugin schema
-   * @param oDataEntryList SAP SuccessFactors navigation entity data
-   * @return list of {@code StructuredRecord}
+   * @param fieldSchema field schema
+   * @return {@code FieldConverter} of the field
    */
-  private List<StructuredRecord> readInternalDeltaFeed(Schema recordSchema, ODataDeltaFeed oDataEntryList) {
-    List<ODataEntry> entryList = oDataEntryList.getEntries();
+  private static FieldConverter compileFieldConverter(Schema fieldSchema) {
+    /* any schema of type 'ARRAY' means the value is holding a navigation entity of 1 to * multiplicity.
+     e.g.
+     {
+       "Suppliers":[{
+         "ID":0,
+         "Name":"Z Suppliers"
+         },{
+         "ID":0,
+         "Name":"PAN Suppliers"
+         }]
+     }*/
+    if (fieldSchema.getType() == Schema.Type.ARRAY) {
+      Schema componentSchema = fieldSchema.getComponentSchema();
+      RecordPlan componentPlan = componentSchema.getType() == Schema.Type.RECORD
+        ? new RecordPlan(componentSchema) : null;
+      return (recordBuilder, fieldName, fieldValue) ->
+        recordBuilder.set(fieldName, readNavigationEntities(componentPlan, fieldValue));
+    }
 
-    return entryList.stream().map(oDataEntry -> buildStructureRecord(recordSchema.getComponentSchema(), oDataEntry))
-      .collect(Collectors.toList());
+    /* any schema type which is not simple means the value is holding a navigation entity of 0 to 1 multiplicity.
+     eg.
+      {
+        "Category":{
+          "ID":0,
+          "Name":"Food"
+        }
+      }*/
+    Schema childSchema = fieldSchema.getType() == Schema.Type.UNION ? fieldSchema.getUnionSchema(0) : fieldSchema;
+    if (childSchema.getType() == Schema.Type.RECORD) {
+      RecordPlan childPlan = new RecordPlan(childSchema);
+      return (recordBuilder, fieldName, fieldValue) ->
+        recordBuilder.set(fieldName, childPlan.build((ODataEntry) fieldValue));
+    }
+
+    // any thing other then the above two schema types means the value holds the actual data
+    // e.g.
+    //   "Name":"Z Suppliers"
+    return compileValueConverter(fieldSchema);
   }
 
   /**
@@ -158,47 +201,72 @@ public class SuccessFactorsTransformer {
    * }]
    * }
    *
-   * @param recordSchema   plugin schema
-   * @param oDataEntryImpl SAP SuccessFactors navigation entity data
-   * @return list of {@code StructuredRecord}
+   * @param componentPlan plan of the navigation entity, null if the array does not hold records
+   * @param value         SAP SuccessFactors navigation entity data
+   * @return list of {@code StructuredRecord}, or the value itself if it does not hold any navigation entity
    */
-  private List<StructuredRecord> readInternalODataEntry(Schema recordSchema, ODataEntryImpl oDataEntryImpl) {
-    return Arrays.asList(buildStructureRecord(recordSchema.getComponentSchema(), oDataEntryImpl));
+  private static Object readNavigationEntities(@Nullable RecordPlan componentPlan, Object value) {
+    if (componentPlan == null) {
+      return value;
+    }
+    if (value instanceof ODataEntryImpl) {
+      return Arrays.asList(componentPlan.build((ODataEntryImpl) value));
+    }
+    if (value instanceof ODataDeltaFeed) {
+      List<ODataEntry> entryList = ((ODataDeltaFeed) value).getEntries();
+      List<StructuredRecord> records = new ArrayList<>(entryList.size());
+      for (ODataEntry oDataEntry : entryList) {
+        records.add(componentPlan.build(oDataEntry));
+      }
+      return records;
+    }
+    return value;
   }
 
   /**
-   * Process the value for field which is mapped to a {@code Schema.LogicalType}
-   * and set into the {@code StructuredRecord.Builder}.
-   *
-   * @param fieldSchema   non nullable field schema
-   * @param recordBuilder structured record builder
-   * @param fieldName     field name
-   * @param fieldValue    field value
+   * Conversion plan of a record schema, compiled once per schema and reused for every record.
    */
-  private void processSchemaTypeValue(Schema fieldSchema, StructuredRecord.Builder recordBuilder,
-                                      String fieldName, Object fieldValue) {
-
-    fieldSchema = fieldSchema.isNullable() ? fieldSchema.getNonNullable() : fieldSchema;
-    Schema.LogicalType logicalType = fieldSchema.getLogicalType();
-    if (logicalType == null) {
-      recordBuilder.set(fieldName, fieldValue);
-
-    } else if (logicalType == Schema.LogicalType.DECIMAL) {
-      recordBuilder
-        .setDecimal(fieldName, new BigDecimal(String.valueOf(fieldValue)).setScale(fieldSchema.getScale(),
-                                                                                   BigDecimal.ROUND_HALF_UP));
-
-    } else if (logicalType == Schema.LogicalType.DATETIME) {
-      LocalDateTime localDateTime = ((GregorianCalendar) fieldValue).toZonedDateTime().toLocalDateTime();
-      recordBuilder.setDateTime(fieldName, localDateTime);
+  private static final class RecordPlan {
+    private final Schema schema;
+    private final String[] names;
+    private final FieldConverter[] converters;
+    // value set for a missing field, navigation entity of 1 to * multiplicity is never null
+    private final Object[] nullValues;
 
-    } else if (logicalType == Schema.LogicalType.TIME_MICROS) {
-      LocalTime localTime = ((GregorianCalendar) fieldValue).toZonedDateTime().toLocalTime();
-      recordBuilder.setTime(fieldName, localTime);
+    private RecordPlan(Schema schema) {
+      List<Schema.Field> fields = schema.getFields();
+      this.schema = schema;
+      this.names = new String[fields.size()];
+      this.converters = new FieldConverter[fields.size()];
+      this.nullValues = new Object[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        Schema fieldSchema = fields.get(i).getSchema();
+        names[i] = fields.get(i).getName();
+        converters[i] = compileFieldConverter(fieldSchema);
+        nullValues[i] = fieldSchema.getType() == Schema.Type.ARRAY ? Collections.emptyList() : null;
+      }
+    }
 
-    } else if (logicalType == Schema.LogicalType.TIMESTAMP_MICROS) {
-      ZonedDateTime zonedDateTime = ((GregorianCalendar) fieldValue).toZonedDateTime();
-      recordBuilder.setTimestamp(fieldName, zonedDateTime);
+    /**
+     * Builds a single record which may contain nested records if the provided 'SuccessFactorsEntry` instance hold
+     * any navigation entity as an child.
+     *
+     * @param oDataEntry SAP SuccessFactors entity data
+     * @return {@code StructuredRecord}
+     */
+    private StructuredRecord build(ODataEntry oDataEntry) {
+      StructuredRecord.Builder recordBuilder = StructuredRecord.builder(schema);
+      Map<String, Object> properties = oDataEntry.getProperties();
+      for (int i = 0; i < names.length; i++) {
+        Object value = properties.get(names[i]);
+        if (value == null) {
+          value = nullValues[i];
+        }
+        if (value != null) {
+          converters[i].set(recordBuilder, names[i], value);
+        }
+      }
+      return recordBuilder.build();
     }
   }
 }
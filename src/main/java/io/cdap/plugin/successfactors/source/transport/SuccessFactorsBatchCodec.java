@@ -0,0 +1,340 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsBatchCodec} encodes several GET requests into the body of a single OData v2 '$batch'
+ * request and decodes the multipart '$batch' response into one {@code SuccessFactorsResponseContainer} per request,
+ * in the order of the requests.
+ * <p>
+ * Only retrieve requests are sent, so neither the request nor the response contains change sets. The response is
+ * split into its parts while it is read, only the body of each part is kept in memory.
+ */
+final class SuccessFactorsBatchCodec {
+
+  static final String MULTIPART_MIXED = "multipart/mixed";
+  private static final String CRLF = "\r\n";
+  private static final String BOUNDARY_PREFIX = "batch_";
+  private static final String BOUNDARY_PARAMETER = "boundary=";
+  private static final String DELIMITER_PREFIX = "--";
+  private static final String HEADER_SEPARATOR = CRLF + CRLF;
+
+  private SuccessFactorsBatchCodec() {
+  }
+
+  /**
+   * @return a new unique boundary separating the parts of a '$batch' request
+   */
+  static String newBoundary() {
+    return BOUNDARY_PREFIX + UUID.randomUUID();
+  }
+
+  /**
+   * @param boundary boundary separating the parts of the request
+   * @return Content-Type of the '$batch' request
+   */
+  static String getContentType(String boundary) {
+    return MULTIPART_MIXED + "; " + BOUNDARY_PARAMETER + boundary;
+  }
+
+  /**
+   * Encodes the given requests into the body of a '$batch' request.
+   *
+   * @param boundary     boundary separating the parts of the request
+   * @param requestPaths path and query of each request, relative to the service root e.g. 'Entity?$top=10'
+   * @param mediaType    mediaType for Accept header property of each request
+   * @return '$batch' request body
+   */
+  static byte[] encode(String boundary, List<String> requestPaths, String mediaType) {
+    StringBuilder body = new StringBuilder();
+    for (String requestPath : requestPaths) {
+      body.append(DELIMITER_PREFIX).append(boundary).append(CRLF)
+        .append("Content-Type: application/http").append(CRLF)
+        .append("Content-Transfer-Encoding: binary").append(CRLF)
+        .append(CRLF)
+        .append("GET ").append(requestPath).append(" HTTP/1.1").append(CRLF)
+        .append("Accept: ").append(mediaType).append(CRLF)
+        .append(CRLF);
+    }
+    body.append(DELIMITER_PREFIX).append(boundary).append(DELIMITER_PREFIX).append(CRLF);
+    return body.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Decodes the body of a '$batch' response.
+   *
+   * @param contentType   Content-Type of the '$batch' response, holding the boundary of its parts
+   * @param responseBody  '$batch' response body
+   * @param expectedParts number of requests sent in the '$batch' request
+   * @return response of each request, in the order of the requests
+   * @throws IOException if the response is not a valid '$batch' response of the expected number of parts
+   */
+  static List<SuccessFactorsResponseContainer> decode(@Nullable String contentType, InputStream responseBody,
+                                                      int expectedParts) throws IOException {
+    byte[] delimiter = (DELIMITER_PREFIX + getBoundary(contentType)).getBytes(StandardCharsets.ISO_8859_1);
+    PartReader reader = new PartReader(responseBody, delimiter);
+
+    List<SuccessFactorsResponseContainer> responses = new ArrayList<>();
+    // the preamble is skipped, each part is decoded up to the next delimiter until the closing one
+    if (reader.skipToDelimiter()) {
+      while (!reader.skipDelimiter()) {
+        responses.add(decodePart(reader));
+      }
+    }
+
+    if (responses.size() != expectedParts) {
+      throw new IOException(String.format("Expected %d parts in the $batch response but found %d.", expectedParts,
+                                          responses.size()));
+    }
+    return responses;
+  }
+
+  /**
+   * Decodes a single part: its MIME headers, followed by the status line, headers and body of the HTTP response.
+   * Only the body is kept, it is copied once from the response into the part.
+   */
+  private static SuccessFactorsResponseContainer decodePart(PartReader reader) throws IOException {
+    String line;
+    do {
+      if (reader.atDelimiter()) {
+        throw new IOException("Missing HTTP response in a part of the $batch response.");
+      }
+      line = reader.readLine();
+    } while (!line.isEmpty());
+
+    // e.g. 'HTTP/1.1 200 OK'
+    String status = reader.atDelimiter() ? "" : reader.readLine();
+    String[] statusLine = status.trim().split(" ", 3);
+    if (statusLine.length < 2) {
+      throw new IOException(String.format("Invalid status line '%s' in the $batch response.", status));
+    }
+    int statusCode;
+    try {
+      statusCode = Integer.parseInt(statusLine[1]);
+    } catch (NumberFormatException e) {
+      throw new IOException(String.format("Invalid status line '%s' in the $batch response.", status), e);
+    }
+    String dataServiceVersion = null;
+    while (!reader.atDelimiter() && !(line = reader.readLine()).isEmpty()) {
+      int colon = line.indexOf(':');
+      if (colon > 0 && SuccessFactorsTransporter.SERVICE_VERSION
+        .equals(line.substring(0, colon).trim().toLowerCase(Locale.ROOT))) {
+        dataServiceVersion = line.substring(colon + 1).trim();
+      }
+    }
+
+    PartBody content = new PartBody();
+    while (!reader.atDelimiter()) {
+      reader.copyLine(content);
+    }
+    // the line break preceding a delimiter belongs to the delimiter, it is left out of the part
+    content.trimLineBreak();
+
+    return SuccessFactorsResponseContainer.builder()
+      .httpStatusCode(statusCode)
+      .httpStatusMsg(statusLine.length > 2 ? statusLine[2] : "")
+      .dataServiceVersion(dataServiceVersion)
+      .responseStream(content.toByteArray())
+      .build();
+  }
+
+  private static String getBoundary(@Nullable String contentType) throws IOException {
+    if (contentType != null) {
+      for (String parameter : contentType.split(";")) {
+        String trimmed = parameter.trim();
+        if (trimmed.toLowerCase(Locale.ROOT).startsWith(BOUNDARY_PARAMETER)) {
+          return trimmed.substring(BOUNDARY_PARAMETER.length()).replace("\"", "");
+        }
+      }
+    }
+    throw new IOException(String.format("Missing boundary in the $batch response Content-Type '%s'.", contentType));
+  }
+
+  /**
+   * Reads the '$batch' response line by line, telling the delimiters at the start of a line apart from the content.
+   */
+  private static final class PartReader {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream stream;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+
+    private PartReader(InputStream stream, byte[] delimiter) {
+      this.stream = stream;
+      this.delimiter = delimiter;
+      // a delimiter and the two characters following it always fit in the buffer
+      this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length + DELIMITER_PREFIX.length())];
+    }
+
+    /**
+     * Skips the lines up to the first delimiter.
+     *
+     * @return {@code false} if the response has no delimiter
+     */
+    private boolean skipToDelimiter() throws IOException {
+      while (!atDelimiter()) {
+        if (!skipLine()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Skips the delimiter line the reader is at.
+     *
+     * @return {@code true} if it is the closing delimiter
+     */
+    private boolean skipDelimiter() throws IOException {
+      position += delimiter.length;
+      boolean closing = startsWith(DELIMITER_PREFIX.getBytes(StandardCharsets.ISO_8859_1));
+      if (!skipLine() && !closing) {
+        throw new IOException("Unterminated part in the $batch response.");
+      }
+      return closing;
+    }
+
+    /**
+     * @return {@code true} if the line the reader is at starts with the delimiter
+     * @throws IOException if the response ended
+     */
+    private boolean atDelimiter() throws IOException {
+      if (!fill(1)) {
+        throw new IOException("Unterminated part in the $batch response.");
+      }
+      return startsWith(delimiter);
+    }
+
+    /**
+     * @return the next line without its line break, decoded as ISO-8859-1
+     */
+    private String readLine() throws IOException {
+      StringBuilder line = new StringBuilder();
+      while (fill(1)) {
+        byte b = buffer[position++];
+        if (b == '\n') {
+          break;
+        }
+        line.append((char) (b & 0xFF));
+      }
+      int length = line.length();
+      if (length > 0 && line.charAt(length - 1) == '\r') {
+        line.setLength(length - 1);
+      }
+      return line.toString();
+    }
+
+    /**
+     * Copies the next line, including its line break, to the given part body.
+     */
+    private void copyLine(PartBody body) throws IOException {
+      while (fill(1)) {
+        int end = indexOfLineEnd();
+        if (end >= 0) {
+          body.write(buffer, position, end + 1 - position);
+          position = end + 1;
+          return;
+        }
+        body.write(buffer, position, limit - position);
+        position = limit;
+      }
+    }
+
+    private boolean skipLine() throws IOException {
+      while (fill(1)) {
+        int end = indexOfLineEnd();
+        if (end >= 0) {
+          position = end + 1;
+          return true;
+        }
+        position = limit;
+      }
+      return false;
+    }
+
+    private int indexOfLineEnd() {
+      for (int i = position; i < limit; i++) {
+        if (buffer[i] == '\n') {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private boolean startsWith(byte[] prefix) throws IOException {
+      if (!fill(prefix.length)) {
+        return false;
+      }
+      for (int i = 0; i < prefix.length; i++) {
+        if (buffer[position + i] != prefix[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Reads from the response until at least the given number of bytes is buffered or the response ended.
+     *
+     * @return {@code true} if the given number of bytes is buffered
+     */
+    private boolean fill(int length) throws IOException {
+      if (limit - position >= length) {
+        return true;
+      }
+      System.arraycopy(buffer, position, buffer, 0, limit - position);
+      limit -= position;
+      position = 0;
+      while (limit < length) {
+        int read = stream.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+          return false;
+        }
+        limit += read;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Body of a part, which drops the line break preceding the next delimiter without copying the body.
+   */
+  private static final class PartBody extends ByteArrayOutputStream {
+
+    private void trimLineBreak() {
+      if (count > 0 && buf[count - 1] == '\n') {
+        count--;
+        if (count > 0 && buf[count - 1] == '\r') {
+          count--;
+        }
+      }
+    }
+  }
+}
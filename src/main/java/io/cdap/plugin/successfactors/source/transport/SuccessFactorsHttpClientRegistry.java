@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import com.google.common.annotations.VisibleForTesting;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsHttpClientRegistry} holds the {@code OkHttpClient} instances shared by all the
+ * {@code SuccessFactorsTransporter} instances of the same JVM, i.e. all the record readers and splits running in one
+ * executor.
+ * <p>
+ * One client (and thus one connection pool) is kept per distinct proxy and {@code SuccessFactorsTransportOptions}
+ * configuration, so consecutive calls to the same SuccessFactors data center reuse the already established keep-alive
+ * connections instead of paying a new TCP and TLS handshake on every call.
+ */
+public final class SuccessFactorsHttpClientRegistry {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsHttpClientRegistry.class);
+  private static final ConcurrentMap<ClientKey, OkHttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+  private SuccessFactorsHttpClientRegistry() {
+  }
+
+  /**
+   * Returns the shared client for the given configuration, creating it with the given factory on first use.
+   *
+   * @param proxyUrl      proxy URL, may be null
+   * @param proxyUsername proxy username, may be null
+   * @param proxyPassword proxy password, may be null
+   * @param options       HTTP client tuning parameters
+   * @param factory       creates a new client if none exists yet for the given configuration
+   * @return shared {@code OkHttpClient}
+   * @throws IOException any error thrown by the factory while creating the client
+   */
+  static OkHttpClient getOrCreate(@Nullable String proxyUrl, @Nullable String proxyUsername,
+                                  @Nullable String proxyPassword, SuccessFactorsTransportOptions options,
+                                  ClientFactory factory) throws IOException {
+
+    ClientKey key = new ClientKey(proxyUrl, proxyUsername, proxyPassword, options);
+    OkHttpClient client = CLIENTS.get(key);
+    if (client != null) {
+      return client;
+    }
+
+    OkHttpClient newClient = factory.create();
+    client = CLIENTS.putIfAbsent(key, newClient);
+    if (client == null) {
+      LOG.debug("Created a new shared HTTP client with connection pool size: {}, keep-alive duration: {} seconds.",
+                options.getConnectionPoolSize(), options.getKeepAliveDuration());
+      return newClient;
+    }
+    // another thread registered a client for the same key in the meantime, the new one is never used
+    return client;
+  }
+
+  @VisibleForTesting
+  static int size() {
+    return CLIENTS.size();
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    CLIENTS.clear();
+  }
+
+  /**
+   * Creates a new {@code OkHttpClient}.
+   */
+  interface ClientFactory {
+    OkHttpClient create() throws IOException;
+  }
+
+  /**
+   * Identifies a distinct client configuration.
+   */
+  private static final class ClientKey {
+    private final String proxyUrl;
+    private final String proxyUsername;
+    private final String proxyPassword;
+    private final SuccessFactorsTransportOptions options;
+
+    private ClientKey(@Nullable String proxyUrl, @Nullable String proxyUsername, @Nullable String proxyPassword,
+                      SuccessFactorsTransportOptions options) {
+      this.proxyUrl = proxyUrl;
+      this.proxyUsername = proxyUsername;
+      this.proxyPassword = proxyPassword;
+      this.options = options;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ClientKey that = (ClientKey) o;
+      return Objects.equals(proxyUrl, that.proxyUrl)
+        && Objects.equals(proxyUsername, that.proxyUsername)
+        && Objects.equals(proxyPassword, that.proxyPassword)
+        && Objects.equals(options, that.options);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(proxyUrl, proxyUsername, proxyPassword, options);
+    }
+  }
+}
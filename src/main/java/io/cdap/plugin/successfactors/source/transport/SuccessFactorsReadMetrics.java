@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import java.net.HttpURLConnection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * This {@code SuccessFactorsReadMetrics} collects the metrics of the calls made by a {@code SuccessFactorsTransporter}
+ * and of the records read through it:
+ * - HTTP requests by outcome, their latency up to the response headers as a total and as a histogram, the retries
+ * and the access tokens fetched
+ * - response body bytes, pages and records read
+ * - time spent reading the pages, waiting for the prefetched pages and converting the Olingo entries to records
+ * <p>
+ * The metrics of a split are published as Hadoop counters of the {@code COUNTER_GROUP} group once the split is read,
+ * so that every task reports its own reads.
+ */
+public class SuccessFactorsReadMetrics {
+
+  public static final String COUNTER_GROUP = "SuccessFactors";
+  // upper bounds of the HTTP latency histogram buckets, the last bucket holds the longer calls
+  static final long[] LATENCY_BUCKET_MILLIS = {100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+  private static final String LATENCY_BUCKET_PREFIX = "http.latency.";
+
+  /**
+   * Metrics of the read, time metrics are collected in nanoseconds and published in milliseconds.
+   */
+  public enum Metric {
+    REQUESTS("http.requests", false),
+    THROTTLED_RESPONSES("http.throttled", false),
+    SERVER_ERRORS("http.server.errors", false),
+    IO_ERRORS("http.io.errors", false),
+    RETRIES("http.retries", false),
+    HTTP_LATENCY("http.latency.millis", true),
+    // new access tokens used, including the first one
+    TOKEN_REFRESHES("auth.token.refreshes", false),
+    // response body bytes as received, only known if the transporter decompresses the responses itself
+    WIRE_BYTES("bytes.wire", false),
+    DECODED_BYTES("bytes.decoded", false),
+    PAGES("pages", false),
+    RECORDS("records", false),
+    SPLITS("splits", false),
+    // HTTP calls, retry delays included, and parsing of the pages
+    PAGE_READ_TIME("page.read.millis", true),
+    // conversion of the Olingo entries, the streaming decoder converts the records while parsing the page
+    TRANSFORM_TIME("transform.millis", true),
+    // reader waiting for the pages fetched in the background
+    FETCH_WAIT_TIME("fetch.wait.millis", true);
+
+    private final String name;
+    private final boolean time;
+
+    Metric(String name, boolean time) {
+      this.name = name;
+      this.time = time;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  private final LongAdder[] values = newAdders(Metric.values().length);
+  private final LongAdder[] latencyBuckets = newAdders(LATENCY_BUCKET_MILLIS.length + 1);
+
+  public void increment(Metric metric) {
+    add(metric, 1L);
+  }
+
+  public void add(Metric metric, long value) {
+    values[metric.ordinal()].add(value);
+  }
+
+  /**
+   * Adds the time elapsed since the given {@code System.nanoTime()} to the given time metric.
+   */
+  public void addTimeSince(Metric metric, long startNanos) {
+    add(metric, System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Records a response received after the given latency.
+   *
+   * @param statusCode   HTTP status code
+   * @param latencyNanos time from sending the request to receiving the response headers
+   */
+  void recordResponse(int statusCode, long latencyNanos) {
+    increment(Metric.REQUESTS);
+    add(Metric.HTTP_LATENCY, latencyNanos);
+    if (statusCode == SuccessFactorsRequestLimiter.HTTP_TOO_MANY_REQUESTS) {
+      increment(Metric.THROTTLED_RESPONSES);
+    } else if (statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+      increment(Metric.SERVER_ERRORS);
+    }
+    addLatency(TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+  }
+
+  /**
+   * Records a request that failed without a response, e.g. on a connection error.
+   */
+  void recordFailure() {
+    increment(Metric.REQUESTS);
+    increment(Metric.IO_ERRORS);
+  }
+
+  private void addLatency(long latencyMillis) {
+    int bucket = 0;
+    while (bucket < LATENCY_BUCKET_MILLIS.length && latencyMillis > LATENCY_BUCKET_MILLIS[bucket]) {
+      bucket++;
+    }
+    latencyBuckets[bucket].increment();
+  }
+
+  /**
+   * @return value of the given metric, in milliseconds for the time metrics
+   */
+  public long get(Metric metric) {
+    long value = values[metric.ordinal()].sum();
+    return metric.time ? TimeUnit.NANOSECONDS.toMillis(value) : value;
+  }
+
+  /**
+   * @return the value of every metric and of every HTTP latency histogram bucket, by name
+   */
+  public Map<String, Long> getValues() {
+    Map<String, Long> snapshot = new LinkedHashMap<>();
+    for (Metric metric : Metric.values()) {
+      snapshot.put(metric.name, get(metric));
+    }
+    for (int bucket = 0; bucket < latencyBuckets.length; bucket++) {
+      String name = bucket < LATENCY_BUCKET_MILLIS.length ? "le." + LATENCY_BUCKET_MILLIS[bucket]
+        : "gt." + LATENCY_BUCKET_MILLIS[LATENCY_BUCKET_MILLIS.length - 1];
+      snapshot.put(LATENCY_BUCKET_PREFIX + name + "ms", latencyBuckets[bucket].sum());
+    }
+    return snapshot;
+  }
+
+  /**
+   * Hands the non zero metrics over to the given publisher, by name.
+   */
+  public void publish(BiConsumer<String, Long> publisher) {
+    getValues().forEach((name, value) -> {
+      if (value != 0) {
+        publisher.accept(name, value);
+      }
+    });
+  }
+
+  private static LongAdder[] newAdders(int count) {
+    LongAdder[] adders = new LongAdder[count];
+    for (int i = 0; i < count; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+}
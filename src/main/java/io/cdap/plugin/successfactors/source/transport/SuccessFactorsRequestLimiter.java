@@ -0,0 +1,386 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsRequestLimiter} paces the calls of all the {@code SuccessFactorsTransporter} instances of
+ * the same JVM calling the same SuccessFactors service with the same limits:
+ * - a token bucket lets at most the given number of requests per second start, with bursts of up to one second
+ * - an AIMD (additive increase, multiplicative decrease) limiter caps the number of requests in flight: the limit
+ * halves whenever SuccessFactors throttles a request with HTTP 429 or 503, and grows back by one request per
+ * limit-worth of successful responses, up to the given maximum
+ * - a throttled response carrying a 'Retry-After' header holds back every new request until the stated time
+ * <p>
+ * A limit of 0 turns off the respective limiter. The limits apply per JVM, i.e. per executor. The asynchronous calls
+ * take their permits without blocking a thread, they are handed over by the released permits and a timer.
+ */
+public class SuccessFactorsRequestLimiter {
+
+  static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsRequestLimiter.class);
+  private static final ConcurrentMap<LimiterKey, SuccessFactorsRequestLimiter> LIMITERS = new ConcurrentHashMap<>();
+  // a 'Retry-After' beyond this is deemed bogus, the retry policy of the caller still applies on top of it
+  private static final long MAX_PAUSE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+  private static final double DECREASE_FACTOR = 0.5;
+  // completes the asynchronous acquisitions held back by a 'Retry-After' or the requests per second
+  private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "successfactors-request-limiter");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final int maxRequestsPerSecond;
+  private final int maxInFlightRequests;
+  private final LongSupplier clock;
+  private final Sleeper sleeper;
+
+  private final Object bucketLock = new Object();
+  private double tokens;
+  private long refilledAt;
+
+  private final Object concurrencyLock = new Object();
+  private double concurrencyLimit;
+  private int inFlight;
+  // incremented on every decrease, so that the responses of the requests sent before it do not decrease it again
+  private long generation;
+  // asynchronous callers waiting for a request slot, in order
+  private final Queue<CompletableFuture<Long>> slotWaiters = new ArrayDeque<>();
+
+  private volatile long pausedUntil;
+
+  @VisibleForTesting
+  SuccessFactorsRequestLimiter(int maxRequestsPerSecond, int maxInFlightRequests, LongSupplier clock,
+                               Sleeper sleeper) {
+    this.maxRequestsPerSecond = maxRequestsPerSecond;
+    this.maxInFlightRequests = maxInFlightRequests;
+    this.clock = clock;
+    this.sleeper = sleeper;
+    this.tokens = maxRequestsPerSecond;
+    this.refilledAt = clock.getAsLong();
+    this.concurrencyLimit = maxInFlightRequests;
+  }
+
+  /**
+   * Returns the limiter shared by all the callers of the given service with the given limits.
+   *
+   * @param baseURL SuccessFactors service base URL
+   * @param options HTTP client tuning parameters holding the limits
+   * @return shared {@code SuccessFactorsRequestLimiter}
+   */
+  static SuccessFactorsRequestLimiter getInstance(String baseURL, SuccessFactorsTransportOptions options) {
+    LimiterKey key = new LimiterKey(baseURL, options.getMaxRequestsPerSecond(), options.getMaxInFlightRequests());
+    return LIMITERS.computeIfAbsent(key, k -> new SuccessFactorsRequestLimiter(
+      options.getMaxRequestsPerSecond(), options.getMaxInFlightRequests(), System::currentTimeMillis, Thread::sleep));
+  }
+
+  /**
+   * Waits until a new request may be sent. The returned permit must be released once the response is read.
+   *
+   * @return {@code Permit} of the request
+   * @throws InterruptedIOException if the thread is interrupted while waiting
+   */
+  public Permit acquire() throws InterruptedIOException {
+    Permit permit = new Permit(acquireSlot());
+    try {
+      long pause = pausedUntil - clock.getAsLong();
+      if (pause > 0) {
+        sleep(pause);
+      }
+      acquireToken();
+      return permit;
+    } catch (InterruptedIOException e) {
+      permit.release(-1, null);
+      throw e;
+    }
+  }
+
+  /**
+   * Asynchronous counterpart of {@code acquire}: no thread waits for the request slot or the pacing, the returned
+   * future is completed by the release of another permit or by a timer once the new request may be sent.
+   *
+   * @return {@code CompletableFuture} completed with the {@code Permit} of the request
+   */
+  public CompletableFuture<Permit> acquireAsync() {
+    return acquireSlotAsync().thenCompose(permitGeneration -> {
+      Permit permit = new Permit(permitGeneration);
+      return delay(pausedUntil - clock.getAsLong())
+        .thenCompose(ignored -> delay(reserveToken()))
+        .thenApply(ignored -> permit);
+    });
+  }
+
+  private long acquireSlot() throws InterruptedIOException {
+    synchronized (concurrencyLock) {
+      if (maxInFlightRequests > 0) {
+        try {
+          while (inFlight >= (int) concurrencyLimit) {
+            concurrencyLock.wait();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for a request slot.");
+        }
+      }
+      inFlight++;
+      return generation;
+    }
+  }
+
+  private CompletableFuture<Long> acquireSlotAsync() {
+    synchronized (concurrencyLock) {
+      if (maxInFlightRequests <= 0 || (slotWaiters.isEmpty() && inFlight < (int) concurrencyLimit)) {
+        inFlight++;
+        return CompletableFuture.completedFuture(generation);
+      }
+      CompletableFuture<Long> waiter = new CompletableFuture<>();
+      slotWaiters.add(waiter);
+      return waiter;
+    }
+  }
+
+  private void acquireToken() throws InterruptedIOException {
+    long waitMillis = reserveToken();
+    if (waitMillis > 0) {
+      sleep(waitMillis);
+    }
+  }
+
+  /**
+   * Takes a token from the bucket.
+   *
+   * @return milliseconds to wait for the token, 0 if it is available right away
+   */
+  private long reserveToken() {
+    if (maxRequestsPerSecond <= 0) {
+      return 0;
+    }
+    synchronized (bucketLock) {
+      long now = clock.getAsLong();
+      tokens = Math.min(maxRequestsPerSecond, tokens + (now - refilledAt) * maxRequestsPerSecond / 1000d);
+      refilledAt = now;
+      // a negative balance reserves a token of the future, each waiting caller gets its own
+      tokens--;
+      return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 1000 / maxRequestsPerSecond);
+    }
+  }
+
+  private static CompletableFuture<Void> delay(long millis) {
+    if (millis <= 0) {
+      return CompletableFuture.completedFuture(null);
+    }
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    TIMER.schedule(() -> future.complete(null), millis, TimeUnit.MILLISECONDS);
+    return future;
+  }
+
+  private void sleep(long millis) throws InterruptedIOException {
+    try {
+      sleeper.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while pacing the calls to SuccessFactors.");
+    }
+  }
+
+  private void release(long permitGeneration, int statusCode, @Nullable String retryAfter) {
+    boolean throttled = isThrottled(statusCode);
+    if (throttled) {
+      pause(retryAfter);
+    }
+    List<CompletableFuture<Long>> granted = new ArrayList<>();
+    long grantedGeneration;
+    synchronized (concurrencyLock) {
+      inFlight--;
+      if (maxInFlightRequests > 0) {
+        if (throttled) {
+          if (permitGeneration == generation) {
+            concurrencyLimit = Math.max(1, concurrencyLimit * DECREASE_FACTOR);
+            generation++;
+            LOG.debug("SuccessFactors throttled a request with HTTP {}, max requests in flight lowered to {}.",
+                      statusCode, (int) concurrencyLimit);
+          }
+        } else if (statusCode > 0) {
+          concurrencyLimit = Math.min(maxInFlightRequests, concurrencyLimit + 1 / concurrencyLimit);
+        }
+      }
+      // the asynchronous callers waiting for a slot take the freed slots in turn
+      while (!slotWaiters.isEmpty() && inFlight < (int) concurrencyLimit) {
+        inFlight++;
+        granted.add(slotWaiters.poll());
+      }
+      grantedGeneration = generation;
+      concurrencyLock.notifyAll();
+    }
+    for (CompletableFuture<Long> waiter : granted) {
+      waiter.complete(grantedGeneration);
+    }
+  }
+
+  private void pause(@Nullable String retryAfter) {
+    long now = clock.getAsLong();
+    long pause = Math.min(getRetryAfterMillis(retryAfter, now), MAX_PAUSE_MILLIS);
+    if (pause <= 0) {
+      return;
+    }
+    synchronized (this) {
+      if (now + pause > pausedUntil) {
+        pausedUntil = now + pause;
+        LOG.warn("SuccessFactors asked to retry after {} ms, holding back the requests until then.", pause);
+      }
+    }
+  }
+
+  /**
+   * @param statusCode HTTP status code
+   * @return true if SuccessFactors rejected the request to protect itself, i.e. HTTP 429 or 503
+   */
+  static boolean isThrottled(int statusCode) {
+    return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode == HttpURLConnection.HTTP_UNAVAILABLE;
+  }
+
+  /**
+   * Reads the 'Retry-After' header, either a number of seconds or an HTTP date.
+   *
+   * @param retryAfter 'Retry-After' header value, may be null
+   * @param now        current time in milliseconds
+   * @return milliseconds to wait, 0 if the header is missing or invalid
+   */
+  @VisibleForTesting
+  static long getRetryAfterMillis(@Nullable String retryAfter, long now) {
+    if (retryAfter == null || retryAfter.trim().isEmpty()) {
+      return 0;
+    }
+    String value = retryAfter.trim();
+    try {
+      return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+    } catch (NumberFormatException e) {
+      // not a number of seconds, an HTTP date is expected then
+    }
+    try {
+      return Math.max(0, ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli()
+        - now);
+    } catch (DateTimeParseException e) {
+      LOG.debug("Ignoring the invalid Retry-After header '{}'.", value);
+      return 0;
+    }
+  }
+
+  @VisibleForTesting
+  int getConcurrencyLimit() {
+    synchronized (concurrencyLock) {
+      return (int) concurrencyLimit;
+    }
+  }
+
+  @VisibleForTesting
+  int getInFlight() {
+    synchronized (concurrencyLock) {
+      return inFlight;
+    }
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    LIMITERS.clear();
+  }
+
+  /**
+   * Allows a single request, to be released exactly once with the outcome of the request, from any thread.
+   */
+  public final class Permit {
+    private final long generation;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(long generation) {
+      this.generation = generation;
+    }
+
+    /**
+     * @param statusCode HTTP status code of the response, -1 if no response was received
+     * @param retryAfter 'Retry-After' header of the response, may be null
+     */
+    public void release(int statusCode, @Nullable String retryAfter) {
+      if (released.compareAndSet(false, true)) {
+        SuccessFactorsRequestLimiter.this.release(generation, statusCode, retryAfter);
+      }
+    }
+  }
+
+  /**
+   * Waits for the given time.
+   */
+  interface Sleeper {
+    void sleep(long millis) throws InterruptedException;
+  }
+
+  /**
+   * Identifies the service called and the limits.
+   */
+  private static final class LimiterKey {
+    private final String baseURL;
+    private final int maxRequestsPerSecond;
+    private final int maxInFlightRequests;
+
+    private LimiterKey(String baseURL, int maxRequestsPerSecond, int maxInFlightRequests) {
+      this.baseURL = baseURL;
+      this.maxRequestsPerSecond = maxRequestsPerSecond;
+      this.maxInFlightRequests = maxInFlightRequests;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      LimiterKey that = (LimiterKey) o;
+      return maxRequestsPerSecond == that.maxRequestsPerSecond && maxInFlightRequests == that.maxInFlightRequests
+        && Objects.equals(baseURL, that.baseURL);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(baseURL, maxRequestsPerSecond, maxInFlightRequests);
+    }
+  }
+}
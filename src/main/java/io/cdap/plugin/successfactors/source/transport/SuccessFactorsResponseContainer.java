@@ -16,7 +16,10 @@
 
 package io.cdap.plugin.successfactors.source.transport;
 
+import okhttp3.ResponseBody;
+
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.InputStream;
 import javax.annotation.Nullable;
 
@@ -27,9 +30,15 @@ import javax.annotation.Nullable;
  * - HTTP STATUS CODE,
  * - HTTP STATUS MESSAGE &
  * - SAP SuccessFactors service version number
+ * - 'ETag' and 'Last-Modified' validators of the response, if any
+ * <p>
+ * The body is either held as buffered bytes (error responses, whose text is needed to build the error message) or as
+ * the live {@code ResponseBody} of a successful call, which is streamed straight from the socket to the parser. A
+ * streamed body can be read only once and must be released by closing either the returned {@code InputStream} or
+ * this container.
  */
 
-public class SuccessFactorsResponseContainer {
+public class SuccessFactorsResponseContainer implements Closeable {
 
   private final int httpStatusCode;
   private final String httpStatusMsg;
@@ -37,14 +46,36 @@ public class SuccessFactorsResponseContainer {
   @Nullable
   private final String dataServiceVersion;
   private final byte[] responseStream;
+  @Nullable
+  private final ResponseBody responseBody;
+  @Nullable
+  private final String eTag;
+  @Nullable
+  private final String lastModified;
 
   public SuccessFactorsResponseContainer(int httpStatusCode, String httpStatusMsg, @Nullable String dataServiceVersion,
                                          byte[] responseStream) {
 
+    this(httpStatusCode, httpStatusMsg, dataServiceVersion, responseStream, null);
+  }
+
+  public SuccessFactorsResponseContainer(int httpStatusCode, String httpStatusMsg, @Nullable String dataServiceVersion,
+                                         @Nullable byte[] responseStream, @Nullable ResponseBody responseBody) {
+
+    this(httpStatusCode, httpStatusMsg, dataServiceVersion, responseStream, responseBody, null, null);
+  }
+
+  public SuccessFactorsResponseContainer(int httpStatusCode, String httpStatusMsg, @Nullable String dataServiceVersion,
+                                         @Nullable byte[] responseStream, @Nullable ResponseBody responseBody,
+                                         @Nullable String eTag, @Nullable String lastModified) {
+
     this.httpStatusCode = httpStatusCode;
     this.httpStatusMsg = httpStatusMsg;
     this.dataServiceVersion = dataServiceVersion;
     this.responseStream = responseStream;
+    this.responseBody = responseBody;
+    this.eTag = eTag;
+    this.lastModified = lastModified;
   }
 
   public static Builder builder() {
@@ -64,11 +95,47 @@ public class SuccessFactorsResponseContainer {
     return this.dataServiceVersion;
   }
 
+  @Nullable
+  public String getETag() {
+    return this.eTag;
+  }
+
+  @Nullable
+  public String getLastModified() {
+    return this.lastModified;
+  }
+
+  /**
+   * Returns the response body. For a streamed body this is the live socket stream, which is consumed as it is read,
+   * closing it releases the underlying connection back to the pool.
+   *
+   * @return response body {@code InputStream}
+   */
   @Nullable
   public InputStream getResponseStream() {
+    if (responseBody != null) {
+      return responseBody.source().inputStream();
+    }
     return new ByteArrayInputStream(responseStream);
   }
 
+  /**
+   * @return true if the body is read directly from the connection instead of a buffered copy.
+   */
+  public boolean isStreaming() {
+    return responseBody != null;
+  }
+
+  /**
+   * Releases the streamed response body, if any, without reading it. Has no effect on a buffered body.
+   */
+  @Override
+  public void close() {
+    if (responseBody != null) {
+      responseBody.close();
+    }
+  }
+
   /**
    * Helper class to simplify {@link SuccessFactorsResponseContainer} class creation.
    */
@@ -78,6 +145,12 @@ public class SuccessFactorsResponseContainer {
     @Nullable
     private String dataServiceVersion;
     private byte[] responseStream;
+    @Nullable
+    private ResponseBody responseBody;
+    @Nullable
+    private String eTag;
+    @Nullable
+    private String lastModified;
 
     public Builder httpStatusCode(int httpStatusCode) {
       this.httpStatusCode = httpStatusCode;
@@ -99,9 +172,25 @@ public class SuccessFactorsResponseContainer {
       return this;
     }
 
+    public Builder responseBody(@Nullable ResponseBody responseBody) {
+      this.responseBody = responseBody;
+      return this;
+    }
+
+    public Builder eTag(@Nullable String eTag) {
+      this.eTag = eTag;
+      return this;
+    }
+
+    public Builder lastModified(@Nullable String lastModified) {
+      this.lastModified = lastModified;
+      return this;
+    }
+
     public SuccessFactorsResponseContainer build() {
       return new SuccessFactorsResponseContainer(this.httpStatusCode, this.httpStatusMsg, this.dataServiceVersion,
-                                                 this.responseStream);
+                                                 this.responseStream, this.responseBody, this.eTag,
+                                                 this.lastModified);
     }
   }
 }
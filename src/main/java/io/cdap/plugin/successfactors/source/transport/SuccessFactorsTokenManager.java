@@ -0,0 +1,287 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.cdap.plugin.successfactors.common.util.SuccessFactorsAccessToken;
+import io.cdap.plugin.successfactors.common.util.SuccessFactorsUtil;
+import io.cdap.plugin.successfactors.connector.SuccessFactorsConnectorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * This {@code SuccessFactorsTokenManager} holds the OAuth 2.0 access token shared by all the
+ * {@code SuccessFactorsTransporter} instances of the same JVM calling SuccessFactors with the same credentials, i.e.
+ * the same token URL, company, client, user, private key and assertion token. There is a single manager for a token
+ * URL, company, client and user: a rotated private key or assertion token replaces it, so that neither the token
+ * fetched with the previous credentials nor the previous credentials are kept.
+ * <p>
+ * The token is reused until it is about to expire, as stated by the 'expires_in' of the token response. Within the
+ * last part of its lifetime a single caller fetches the next token while the other callers keep using the still valid
+ * one. Fetching the token after SuccessFactors rejected it is single flight: a burst of rejected calls results in one
+ * call to the token URL, the other callers wait for and use its token.
+ */
+public class SuccessFactorsTokenManager {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsTokenManager.class);
+  private static final ConcurrentMap<TokenKey, SuccessFactorsTokenManager> MANAGERS = new ConcurrentHashMap<>();
+  // token is deemed expired this long before its stated expiry to cover the clock skew and the call duration
+  private static final long EXPIRY_MARGIN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  // the next token is fetched this long before the expiry, at most half of the token lifetime
+  private static final long REFRESH_AHEAD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  private final TokenSource tokenSource;
+  private final LongSupplier clock;
+  // fingerprint of the private key and assertion token the tokens are fetched with
+  private final String credentialsFingerprint;
+  private final Object refreshLock = new Object();
+  private final AtomicBoolean refreshingAhead = new AtomicBoolean();
+  private volatile CachedToken token;
+
+  @VisibleForTesting
+  SuccessFactorsTokenManager(TokenSource tokenSource, LongSupplier clock) {
+    this(tokenSource, clock, "");
+  }
+
+  private SuccessFactorsTokenManager(TokenSource tokenSource, LongSupplier clock, String credentialsFingerprint) {
+    this.tokenSource = tokenSource;
+    this.clock = clock;
+    this.credentialsFingerprint = credentialsFingerprint;
+  }
+
+  /**
+   * Returns the token manager shared by all the callers with the credentials of the given connection.
+   *
+   * @param config connection holding the OAuth 2.0 credentials
+   * @return shared {@code SuccessFactorsTokenManager}
+   */
+  static SuccessFactorsTokenManager getInstance(SuccessFactorsConnectorConfig config) {
+    TokenKey key = new TokenKey(config.getTokenURL(), config.getCompanyId(), config.getClientId(),
+                                config.getUserId());
+    String fingerprint = SuccessFactorsUtil.fingerprint(config.getPrivateKey(), config.getAssertionToken());
+    SuccessFactorsTokenManager manager = MANAGERS.get(key);
+    if (manager != null && manager.credentialsFingerprint.equals(fingerprint)) {
+      return manager;
+    }
+    // rotated credentials replace the manager of the previous ones
+    return MANAGERS.compute(key, (k, current) ->
+      current != null && current.credentialsFingerprint.equals(fingerprint) ? current
+        : new SuccessFactorsTokenManager(() -> fetchToken(config), System::currentTimeMillis, fingerprint));
+  }
+
+  /**
+   * Returns a valid access token, fetching a new one only if there is none yet or it expired.
+   *
+   * @return access token
+   * @throws IOException any error while fetching the access token
+   */
+  public String getToken() throws IOException {
+    CachedToken current = token;
+    long now = clock.getAsLong();
+    if (current == null || now >= current.expiresAt) {
+      return refresh(current);
+    }
+    if (now >= current.refreshAt && refreshingAhead.compareAndSet(false, true)) {
+      try {
+        return refresh(current);
+      } catch (IOException e) {
+        // the current token is still valid, the next caller past the refresh time tries again
+        LOG.warn("Unable to fetch the access token ahead of expiry, the current one is used.", e);
+      } finally {
+        refreshingAhead.set(false);
+      }
+    }
+    return current.value;
+  }
+
+  /**
+   * Returns a new access token after SuccessFactors rejected the given one. The token is fetched once for all the
+   * callers rejected with the same token.
+   *
+   * @param rejectedToken access token rejected by SuccessFactors
+   * @return access token
+   * @throws IOException any error while fetching the access token
+   */
+  public String refreshRejected(String rejectedToken) throws IOException {
+    CachedToken current = token;
+    if (current != null && !current.value.equals(rejectedToken)) {
+      return current.value;
+    }
+    return refresh(current);
+  }
+
+  /**
+   * Asynchronous counterpart of {@code getToken}: a valid token not due for a refresh is returned right away, any
+   * call to the token URL is made on the given executor.
+   *
+   * @param executor runs the calls to the token URL
+   * @return {@code CompletableFuture} completed with the access token
+   */
+  CompletableFuture<String> getTokenAsync(Executor executor) {
+    CachedToken current = token;
+    if (current != null && clock.getAsLong() < current.refreshAt) {
+      return CompletableFuture.completedFuture(current.value);
+    }
+    return supplyAsync(this::getToken, executor);
+  }
+
+  /**
+   * Asynchronous counterpart of {@code refreshRejected}, the call to the token URL is made on the given executor.
+   *
+   * @param rejectedToken access token rejected by SuccessFactors
+   * @param executor      runs the call to the token URL
+   * @return {@code CompletableFuture} completed with the access token
+   */
+  CompletableFuture<String> refreshRejectedAsync(String rejectedToken, Executor executor) {
+    CachedToken current = token;
+    if (current != null && !current.value.equals(rejectedToken)) {
+      return CompletableFuture.completedFuture(current.value);
+    }
+    return supplyAsync(() -> refreshRejected(rejectedToken), executor);
+  }
+
+  private static CompletableFuture<String> supplyAsync(TokenCall call, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return call.get();
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+  private String refresh(@Nullable CachedToken stale) throws IOException {
+    synchronized (refreshLock) {
+      CachedToken current = token;
+      if (current != stale && current != null) {
+        // another caller fetched a new token in the meantime
+        return current.value;
+      }
+      long now = clock.getAsLong();
+      SuccessFactorsAccessToken.Token fetched = tokenSource.fetch();
+      if (fetched == null || fetched.getValue() == null) {
+        throw new IOException("Unable to fetch access token");
+      }
+      token = new CachedToken(fetched.getValue(), now, fetched.getExpiresIn());
+      LOG.debug("Fetched a new access token valid for {} seconds.", fetched.getExpiresIn());
+      return fetched.getValue();
+    }
+  }
+
+  private static SuccessFactorsAccessToken.Token fetchToken(SuccessFactorsConnectorConfig config) throws IOException {
+    SuccessFactorsAccessToken accessToken = new SuccessFactorsAccessToken(config);
+    String assertionToken = config.getAssertionToken() == null ? accessToken.getAssertionToken()
+      : config.getAssertionToken();
+    try {
+      return accessToken.requestAccessToken(assertionToken);
+    } catch (IOException e) {
+      throw new IOException("Unable to fetch access token", e);
+    }
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    MANAGERS.clear();
+  }
+
+  /**
+   * Fetches a new access token.
+   */
+  interface TokenSource {
+    @Nullable
+    SuccessFactorsAccessToken.Token fetch() throws IOException;
+  }
+
+  /**
+   * Returns an access token, possibly calling the token URL.
+   */
+  private interface TokenCall {
+    String get() throws IOException;
+  }
+
+  /**
+   * Access token along with the times it is refreshed and deemed expired.
+   */
+  private static final class CachedToken {
+    private final String value;
+    private final long refreshAt;
+    private final long expiresAt;
+
+    private CachedToken(String value, long fetchedAt, @Nullable Long expiresIn) {
+      this.value = value;
+      if (expiresIn == null || expiresIn <= 0) {
+        // lifetime is unknown, the token is used until SuccessFactors rejects it
+        this.refreshAt = Long.MAX_VALUE;
+        this.expiresAt = Long.MAX_VALUE;
+        return;
+      }
+      long lifetime = TimeUnit.SECONDS.toMillis(expiresIn);
+      this.expiresAt = fetchedAt + lifetime - Math.min(EXPIRY_MARGIN_MILLIS, lifetime / 10);
+      this.refreshAt = expiresAt - Math.min(REFRESH_AHEAD_MILLIS, (expiresAt - fetchedAt) / 2);
+    }
+  }
+
+  /**
+   * Identifies the account a token is issued for, its secrets are told apart by the fingerprint of the manager.
+   */
+  private static final class TokenKey {
+    private final String tokenURL;
+    private final String companyId;
+    private final String clientId;
+    private final String userId;
+
+    private TokenKey(String tokenURL, @Nullable String companyId, @Nullable String clientId,
+                     @Nullable String userId) {
+      this.tokenURL = tokenURL;
+      this.companyId = companyId;
+      this.clientId = clientId;
+      this.userId = userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      TokenKey that = (TokenKey) o;
+      return Objects.equals(tokenURL, that.tokenURL)
+        && Objects.equals(companyId, that.companyId)
+        && Objects.equals(clientId, that.clientId)
+        && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tokenURL, companyId, clientId, userId);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import java.util.Objects;
+
+/**
+ * This {@code SuccessFactorsTransportOptions} holds the HTTP client tuning parameters used by
+ * {@code SuccessFactorsTransporter}:
+ * - max number of idle connections kept in the connection pool
+ * - keep-alive duration (in seconds) of an idle pooled connection
+ * - whether compressed responses are negotiated and decompressed by the transporter itself
+ * - max number of requests started per second and max number of requests in flight, 0 for no limit, see
+ * {@code SuccessFactorsRequestLimiter}
+ */
+public class SuccessFactorsTransportOptions {
+
+  public static final int DEFAULT_CONNECTION_POOL_SIZE = 5;
+  public static final long DEFAULT_KEEP_ALIVE_DURATION_SECONDS = 300;
+
+  private final int connectionPoolSize;
+  private final long keepAliveDuration;
+  private final boolean responseCompression;
+  private final int maxRequestsPerSecond;
+  private final int maxInFlightRequests;
+
+  public SuccessFactorsTransportOptions(int connectionPoolSize, long keepAliveDuration) {
+    this(connectionPoolSize, keepAliveDuration, false, 0, 0);
+  }
+
+  public SuccessFactorsTransportOptions(int connectionPoolSize, long keepAliveDuration, boolean responseCompression,
+                                        int maxRequestsPerSecond, int maxInFlightRequests) {
+    this.connectionPoolSize = connectionPoolSize;
+    this.keepAliveDuration = keepAliveDuration;
+    this.responseCompression = responseCompression;
+    this.maxRequestsPerSecond = maxRequestsPerSecond;
+    this.maxInFlightRequests = maxInFlightRequests;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return options with all the default values, used wherever no plugin properties are available e.g. connector.
+   */
+  public static SuccessFactorsTransportOptions defaults() {
+    return builder().build();
+  }
+
+  public int getConnectionPoolSize() {
+    return connectionPoolSize;
+  }
+
+  public long getKeepAliveDuration() {
+    return keepAliveDuration;
+  }
+
+  /**
+   * @return true if gzip and deflate responses are requested explicitly and decompressed while they are read, so
+   * that both the compressed and the decompressed sizes are known.
+   */
+  public boolean isResponseCompression() {
+    return responseCompression;
+  }
+
+  public int getMaxRequestsPerSecond() {
+    return maxRequestsPerSecond;
+  }
+
+  public int getMaxInFlightRequests() {
+    return maxInFlightRequests;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SuccessFactorsTransportOptions that = (SuccessFactorsTransportOptions) o;
+    return connectionPoolSize == that.connectionPoolSize && keepAliveDuration == that.keepAliveDuration
+      && responseCompression == that.responseCompression && maxRequestsPerSecond == that.maxRequestsPerSecond
+      && maxInFlightRequests == that.maxInFlightRequests;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(connectionPoolSize, keepAliveDuration, responseCompression, maxRequestsPerSecond,
+                        maxInFlightRequests);
+  }
+
+  /**
+   * Helper class to simplify {@link SuccessFactorsTransportOptions} class creation.
+   */
+  public static class Builder {
+    private int connectionPoolSize = DEFAULT_CONNECTION_POOL_SIZE;
+    private long keepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION_SECONDS;
+    private boolean responseCompression;
+    private int maxRequestsPerSecond;
+    private int maxInFlightRequests;
+
+    public Builder connectionPoolSize(int connectionPoolSize) {
+      this.connectionPoolSize = connectionPoolSize;
+      return this;
+    }
+
+    public Builder keepAliveDuration(long keepAliveDuration) {
+      this.keepAliveDuration = keepAliveDuration;
+      return this;
+    }
+
+    public Builder responseCompression(boolean responseCompression) {
+      this.responseCompression = responseCompression;
+      return this;
+    }
+
+    public Builder maxRequestsPerSecond(int maxRequestsPerSecond) {
+      this.maxRequestsPerSecond = maxRequestsPerSecond;
+      return this;
+    }
+
+    public Builder maxInFlightRequests(int maxInFlightRequests) {
+      this.maxInFlightRequests = maxInFlightRequests;
+      return this;
+    }
+
+    public SuccessFactorsTransportOptions build() {
+      return new SuccessFactorsTransportOptions(this.connectionPoolSize, this.keepAliveDuration,
+                                                this.responseCompression, this.maxRequestsPerSecond,
+                                                this.maxInFlightRequests);
+    }
+  }
+}
@@ -16,23 +16,32 @@
 
 package io.cdap.plugin.successfactors.source.transport;
 
-import com.google.common.base.Strings;
 import dev.failsafe.Failsafe;
 import dev.failsafe.FailsafeException;
 import dev.failsafe.RetryPolicy;
 import io.cdap.cdap.api.retry.RetryableException;
 import io.cdap.plugin.successfactors.common.exception.TransportException;
 import io.cdap.plugin.successfactors.common.util.ResourceConstants;
-import io.cdap.plugin.successfactors.common.util.SuccessFactorsAccessToken;
 import io.cdap.plugin.successfactors.common.util.SuccessFactorsUtil;
 import io.cdap.plugin.successfactors.connector.SuccessFactorsConnectorConfig;
 import okhttp3.Authenticator;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
 import okhttp3.Credentials;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import okhttp3.Route;
-
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
+import okio.Source;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,7 +54,17 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.zip.Inflater;
+import javax.annotation.Nullable;
 
 /**
  * This {@code SuccessFactorsTransporter} class is used to
@@ -53,16 +72,40 @@ import java.util.concurrent.TimeUnit;
  */
 public class SuccessFactorsTransporter {
   static final String SERVICE_VERSION = "dataserviceversion";
+  private static final String CONTENT_TYPE = "Content-Type";
+  private static final String ACCEPT_ENCODING = "Accept-Encoding";
+  private static final String CONTENT_ENCODING = "Content-Encoding";
+  private static final String GZIP = "gzip";
+  private static final String DEFLATE = "deflate";
+  private static final String RETRY_AFTER = "Retry-After";
+  private static final String ETAG = "ETag";
+  private static final String LAST_MODIFIED = "Last-Modified";
+  private static final String GET = "GET";
+  private static final String POST = "POST";
   private static final Logger LOG = LoggerFactory.getLogger(SuccessFactorsTransporter.class);
   private static final long CONNECTION_TIMEOUT = 300;
   private static final long WAIT_TIME = 5;
   private static final long MAX_NUMBER_OF_RETRY_ATTEMPTS = 5;
-  private static String accessToken;
-  private Response response;
   private final SuccessFactorsConnectorConfig config;
+  private final SuccessFactorsTransportOptions options;
+  private final SuccessFactorsReadMetrics readMetrics = new SuccessFactorsReadMetrics();
+  // last access token used, to count the new tokens
+  private volatile String lastAccessToken;
 
   public SuccessFactorsTransporter(SuccessFactorsConnectorConfig config) {
+    this(config, SuccessFactorsTransportOptions.defaults());
+  }
+
+  public SuccessFactorsTransporter(SuccessFactorsConnectorConfig config, SuccessFactorsTransportOptions options) {
     this.config = config;
+    this.options = options;
+  }
+
+  /**
+   * @return metrics of the calls made through this transporter
+   */
+  public SuccessFactorsReadMetrics getReadMetrics() {
+    return readMetrics;
   }
 
   /**
@@ -79,9 +122,25 @@ public class SuccessFactorsTransporter {
    */
   public SuccessFactorsResponseContainer callSuccessFactorsEntity(URL endpoint, String mediaType)
     throws TransportException {
+    return callSuccessFactorsEntity(endpoint, mediaType, Collections.emptyMap());
+  }
+
+  /**
+   * Calls the Successfactors entity for the given URL with additional request headers, e.g. the conditional headers
+   * revalidating a cached metadata document, and returns the respective response.
+   *
+   * @param endpoint       type of URL
+   * @param mediaType      mediaType for Accept header property
+   * @param requestHeaders additional request headers by name
+   * @return {@code SuccessFactorsResponseContainer}
+   * @throws TransportException any http client exceptions are wrapped under it
+   */
+  public SuccessFactorsResponseContainer callSuccessFactorsEntity(URL endpoint, String mediaType,
+                                                                  Map<String, String> requestHeaders)
+    throws TransportException {
 
     try {
-      Response res = transport(endpoint, mediaType);
+      Response res = transport(endpoint, mediaType, null, requestHeaders);
       return prepareResponseContainer(res);
     } catch (IOException ioe) {
       throw new TransportException(ResourceConstants.ERR_CALL_SERVICE_FAILURE.getMsgForKey(), ioe);
@@ -91,7 +150,7 @@ public class SuccessFactorsTransporter {
   /**
    * Calls the Successfactors entity to fetch the records with subsequent retries in case of failure.
    * Retry modes are:
-   * - any HTTP code equal or above 500
+   * - any HTTP code equal or above 500, or 429 (Too Many Requests)
    * - max retry is 5 times
    *
    * @param endpoint record fetch URL
@@ -102,6 +161,24 @@ public class SuccessFactorsTransporter {
                                                                      int initialRetryDuration, int maxRetryDuration,
                                                                      int retryMultiplier, int maxRetryCount)
     throws TransportException {
+    return callSuccessFactorsWithRetry(endpoint, mediaType, Collections.emptyMap(), initialRetryDuration,
+                                       maxRetryDuration, retryMultiplier, maxRetryCount);
+  }
+
+  /**
+   * Calls the Successfactors entity with additional request headers, e.g. the conditional headers revalidating a
+   * cached metadata document, with subsequent retries in case of failure as in the call without request headers.
+   *
+   * @param endpoint       record fetch URL
+   * @param requestHeaders additional request headers by name
+   * @return {@code SuccessFactorsResponseContainer}
+   * @throws TransportException any error while preparing the {@code OkHttpClient}
+   */
+  public SuccessFactorsResponseContainer callSuccessFactorsWithRetry(URL endpoint, String mediaType,
+                                                                     Map<String, String> requestHeaders,
+                                                                     int initialRetryDuration, int maxRetryDuration,
+                                                                     int retryMultiplier, int maxRetryCount)
+    throws TransportException {
     LOG.debug(
       "Retrying the call to SuccessFactors with initialRetryDuration: {}, maxRetryDuration: {}, retryMultiplier: {}, "
         + "maxRetryCount: {}",
@@ -110,7 +187,7 @@ public class SuccessFactorsTransporter {
     Response res;
     try {
       res = Failsafe.with(getRetryPolicy(initialRetryDuration, maxRetryDuration, retryMultiplier, maxRetryCount))
-        .get(() -> retrySapTransportCall(endpoint, mediaType));
+        .get(() -> retrySapTransportCall(endpoint, mediaType, requestHeaders));
     } catch (FailsafeException e) {
       if (e.getCause() != null) {
         throw new RuntimeException(e.getCause());
@@ -126,6 +203,126 @@ public class SuccessFactorsTransporter {
     }
   }
 
+  /**
+   * Calls the Successfactors entity to fetch the records without blocking the calling thread, with subsequent retries
+   * in case of failure as in {@code callSuccessFactorsWithRetry}. The response is received on an OkHttp dispatcher
+   * thread and the retries are scheduled by Failsafe, so that a single thread can keep many calls in flight.
+   * <p>
+   * No thread waits for the {@code SuccessFactorsRequestLimiter} either, and any call to the OAuth 2.0 token URL is
+   * made on the OkHttp dispatcher threads. The body of a successful response is streamed as with the synchronous
+   * calls, the caller is responsible for closing the returned container.
+   *
+   * @param endpoint  record fetch URL
+   * @param mediaType mediaType for Accept header property
+   * @return {@code CompletableFuture} completed with the {@code SuccessFactorsResponseContainer}, or exceptionally
+   * with the {@code RetryableException} of the last attempt once the retries are exhausted
+   */
+  public CompletableFuture<SuccessFactorsResponseContainer> callAsync(URL endpoint, String mediaType,
+                                                                      int initialRetryDuration, int maxRetryDuration,
+                                                                      int retryMultiplier, int maxRetryCount) {
+    LOG.debug("Endpoint: {}, MediaType: {}", endpoint, mediaType);
+    return Failsafe.with(getRetryPolicy(initialRetryDuration, maxRetryDuration, retryMultiplier, maxRetryCount))
+      .getStageAsync(() -> retryAsyncCall(endpoint, mediaType))
+      .thenApply(res -> {
+        try {
+          return prepareResponseContainer(res);
+        } catch (IOException ioe) {
+          res.close();
+          throw new CompletionException(
+            new TransportException(ResourceConstants.ERR_CALL_SERVICE_FAILURE.getMsgForKey(), ioe));
+        }
+      });
+  }
+
+  /**
+   * Asynchronous counterpart of {@code retrySapTransportCall}: the returned future fails with a
+   * {@code RetryableException} for the responses and errors to be retried.
+   */
+  private CompletableFuture<Response> retryAsyncCall(URL endpoint, String mediaType) {
+    CompletableFuture<Response> future = new CompletableFuture<>();
+    transportAsync(endpoint, mediaType).whenComplete((res, e) -> {
+      Throwable error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      if (error instanceof IOException) {
+        LOG.error("Data Recovery failed for URL {}.", endpoint);
+        future.completeExceptionally(new RetryableException("IOException occurred while calling SuccessFactors."));
+      } else if (error != null) {
+        future.completeExceptionally(error);
+      } else if (isRetryable(res.code())) {
+        LOG.error("Data Recovery failed for URL {}.", endpoint);
+        // release the connection back to the shared pool before retrying
+        res.close();
+        future.completeExceptionally(new RetryableException());
+      } else {
+        future.complete(res);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Sends the given GET requests in a single OData '$batch' request, with subsequent retries in case of failure.
+   * The whole '$batch' request is retried if it or any of its requests fails with an HTTP code equal or above 500,
+   * or 429.
+   *
+   * @param batchEndpoint '$batch' URL of the service
+   * @param requestPaths  path and query of each request, relative to the service root
+   * @param mediaType     mediaType for Accept header property of each request
+   * @return response of each request, in the order of the requests
+   * @throws TransportException any error while calling the '$batch' URL or decoding its response
+   */
+  public List<SuccessFactorsResponseContainer> callSuccessFactorsBatchWithRetry(URL batchEndpoint,
+                                                                                List<String> requestPaths,
+                                                                                String mediaType,
+                                                                                int initialRetryDuration,
+                                                                                int maxRetryDuration,
+                                                                                int retryMultiplier,
+                                                                                int maxRetryCount)
+    throws TransportException {
+    LOG.debug("Calling {} with {} requests.", batchEndpoint, requestPaths.size());
+    String boundary = SuccessFactorsBatchCodec.newBoundary();
+    okhttp3.MediaType contentType = okhttp3.MediaType.get(SuccessFactorsBatchCodec.getContentType(boundary));
+    RequestBody requestBody = RequestBody.create(SuccessFactorsBatchCodec.encode(boundary, requestPaths, mediaType),
+                                                 contentType);
+    try {
+      return Failsafe.with(getRetryPolicy(initialRetryDuration, maxRetryDuration, retryMultiplier, maxRetryCount))
+        .get(() -> retryBatchCall(batchEndpoint, requestBody, requestPaths.size()));
+    } catch (FailsafeException e) {
+      if (e.getCause() instanceof TransportException) {
+        throw (TransportException) e.getCause();
+      }
+      if (e.getCause() != null) {
+        throw new RuntimeException(e.getCause());
+      }
+      throw e;
+    }
+  }
+
+  private List<SuccessFactorsResponseContainer> retryBatchCall(URL batchEndpoint, RequestBody requestBody,
+                                                               int requestCount) throws TransportException {
+    try (Response res = transport(batchEndpoint, SuccessFactorsBatchCodec.MULTIPART_MIXED, requestBody)) {
+      if (isRetryable(res.code())) {
+        throw new RetryableException();
+      }
+      ResponseBody body = decodeBody(res);
+      if (!res.isSuccessful() || body == null) {
+        // the '$batch' request itself was rejected, e.g. invalid credentials, reported as the response of each request
+        SuccessFactorsResponseContainer failure = prepareResponseContainer(res);
+        return Collections.nCopies(requestCount, failure);
+      }
+      List<SuccessFactorsResponseContainer> responses =
+        SuccessFactorsBatchCodec.decode(res.header(CONTENT_TYPE), body.byteStream(), requestCount);
+      for (SuccessFactorsResponseContainer response : responses) {
+        if (isRetryable(response.getHttpStatusCode())) {
+          throw new RetryableException();
+        }
+      }
+      return responses;
+    } catch (IOException e) {
+      LOG.error("Batch call failed for URL {}.", batchEndpoint);
+      throw new RetryableException("IOException occurred while calling SuccessFactors.");
+    }
+  }
+
   /**
    * Calls the given URL with retry logic.
    *
@@ -134,9 +331,25 @@ public class SuccessFactorsTransporter {
    * @return {@code Response}
    */
   public Response retrySapTransportCall(URL endpoint, String mediaType) {
+    return retrySapTransportCall(endpoint, mediaType, Collections.emptyMap());
+  }
+
+  /**
+   * Calls the given URL with additional request headers, failing with a {@code RetryableException} as in the call
+   * without request headers.
+   *
+   * @param endpoint       record fetch URL
+   * @param mediaType      mediaType for Accept header property
+   * @param requestHeaders additional request headers by name
+   * @return {@code Response}
+   */
+  public Response retrySapTransportCall(URL endpoint, String mediaType, Map<String, String> requestHeaders) {
+    Response response;
     try {
-      response = transport(endpoint, mediaType);
-      if (response != null && response.code() >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+      response = transport(endpoint, mediaType, null, requestHeaders);
+      if (response != null && isRetryable(response.code())) {
+        // release the connection back to the shared pool before retrying
+        response.close();
         throw new RetryableException();
       }
     } catch (Exception e) {
@@ -152,6 +365,15 @@ public class SuccessFactorsTransporter {
     return response;
   }
 
+  /**
+   * @param statusCode HTTP status code
+   * @return true for any server error and for HTTP 429 (Too Many Requests)
+   */
+  private static boolean isRetryable(int statusCode) {
+    return statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR
+      || statusCode == SuccessFactorsRequestLimiter.HTTP_TOO_MANY_REQUESTS;
+  }
+
   private RetryPolicy<Object> getRetryPolicy(int initialRetryDuration, int maxRetryDuration, int retryMultiplier,
                                              int maxRetryCount) {
     return RetryPolicy.builder()
@@ -159,7 +381,10 @@ public class SuccessFactorsTransporter {
       .withBackoff(Duration.ofSeconds(initialRetryDuration),
                    Duration.ofSeconds(maxRetryDuration), retryMultiplier)
       .withMaxRetries(maxRetryCount)
-      .onRetry(event -> LOG.debug("Retrying SapTransportCall. Retry count: {}", event.getAttemptCount()))
+      .onRetry(event -> {
+        readMetrics.increment(SuccessFactorsReadMetrics.Metric.RETRIES);
+        LOG.debug("Retrying SapTransportCall. Retry count: {}", event.getAttemptCount());
+      })
       .onSuccess(event -> LOG.debug("SapTransportCall executed successfully."))
       .onRetriesExceeded(event -> LOG.error("Retry limit reached for SapTransportCall."))
       .build();
@@ -175,81 +400,297 @@ public class SuccessFactorsTransporter {
    * @throws TransportException any error while preparing the {@code OkHttpClient}
    */
   private Response transport(URL endpoint, String mediaType) throws IOException, TransportException {
+    return transport(endpoint, mediaType, null);
+  }
+
+  /**
+   * Make an HTTP/S call to the given URL, a GET without request body or a POST of the given body.
+   *
+   * @param endpoint    SuccessFactors URL
+   * @param mediaType   mediaType for Accept header property
+   * @param requestBody body to POST or null to GET the URL
+   * @return {@code Response}
+   * @throws IOException        any http client exceptions
+   * @throws TransportException any error while preparing the {@code OkHttpClient}
+   */
+  private Response transport(URL endpoint, String mediaType, @Nullable RequestBody requestBody)
+    throws IOException, TransportException {
+    return transport(endpoint, mediaType, requestBody, Collections.emptyMap());
+  }
+
+  /**
+   * Make an HTTP/S call to the given URL with additional request headers.
+   *
+   * @param endpoint       SuccessFactors URL
+   * @param mediaType      mediaType for Accept header property
+   * @param requestBody    body to POST or null to GET the URL
+   * @param requestHeaders additional request headers by name
+   * @return {@code Response}
+   * @throws IOException        any http client exceptions
+   * @throws TransportException any error while preparing the {@code OkHttpClient}
+   */
+  private Response transport(URL endpoint, String mediaType, @Nullable RequestBody requestBody,
+                             Map<String, String> requestHeaders) throws IOException, TransportException {
     OkHttpClient enhancedOkHttpClient =
       buildConfiguredClient(config.getProxyUrl(), config.getProxyUsername(), config.getProxyPassword());
     Request req;
 
     if (SuccessFactorsConnectorConfig.BASIC_AUTH.equals(config.getAuthType())) {
-      req = buildRequest(endpoint, mediaType);
+      req = withHeaders(buildRequest(endpoint, mediaType, requestBody), requestHeaders);
     } else {
-      if (Strings.isNullOrEmpty(accessToken)) {
-        accessToken = getAccessToken();
-      }
-      req = buildRequestWithBearerToken(endpoint, mediaType, accessToken);
+      SuccessFactorsTokenManager tokenManager = SuccessFactorsTokenManager.getInstance(config);
+      String accessToken = trackAccessToken(tokenManager.getToken());
+      req = withHeaders(buildRequestWithBearerToken(endpoint, mediaType, accessToken, requestBody), requestHeaders);
       try {
-        Response response = enhancedOkHttpClient.newCall(req).execute();
+        Response response = execute(enhancedOkHttpClient, req);
         // If the response code is 403 (Forbidden), attempt to refresh access token
         if (response.code() == HttpURLConnection.HTTP_FORBIDDEN) {
           LOG.info("refreshing access token");
-          accessToken = getAccessToken(); // Refresh access token
-          req = buildRequestWithBearerToken(endpoint, mediaType, accessToken);
-          response = enhancedOkHttpClient.newCall(req).execute();
+          response.close();
+          accessToken = trackAccessToken(tokenManager.refreshRejected(accessToken)); // Refresh access token
+          req = withHeaders(buildRequestWithBearerToken(endpoint, mediaType, accessToken, requestBody),
+                            requestHeaders);
+          response = execute(enhancedOkHttpClient, req);
         }
         return response;
       } catch (IOException e) {
         throw new IOException("Failed to execute the request", e);
       }
     }
-    return enhancedOkHttpClient.newCall(req).execute();
+    return execute(enhancedOkHttpClient, req);
   }
 
-  private String getAccessToken() throws IOException {
-    SuccessFactorsAccessToken token = new SuccessFactorsAccessToken(config);
-
+  /**
+   * Asynchronous counterpart of {@code transport}: makes an HTTP/S GET call to the given URL, refreshing the access
+   * token once if SuccessFactors rejects it.
+   *
+   * @param endpoint  SuccessFactors URL
+   * @param mediaType mediaType for Accept header property
+   * @return {@code CompletableFuture} completed with the {@code Response}, or exceptionally with the error
+   */
+  private CompletableFuture<Response> transportAsync(URL endpoint, String mediaType) {
+    OkHttpClient enhancedOkHttpClient;
     try {
-      if (config.getAssertionToken() == null) {
-        return token.getAccessToken(token.getAssertionToken());
-      } else {
-        return token.getAccessToken(config.getAssertionToken());
-      }
+      enhancedOkHttpClient =
+        buildConfiguredClient(config.getProxyUrl(), config.getProxyUsername(), config.getProxyPassword());
     } catch (IOException e) {
-      throw new IOException("Unable to fetch access token", e);
+      return failedFuture(e);
+    }
+
+    if (SuccessFactorsConnectorConfig.BASIC_AUTH.equals(config.getAuthType())) {
+      return enqueue(enhancedOkHttpClient, buildRequest(endpoint, mediaType, null));
     }
+    // the token URL is called on the dispatcher threads, which are meant for blocking calls
+    Executor tokenExecutor = enhancedOkHttpClient.dispatcher().executorService();
+    SuccessFactorsTokenManager tokenManager = SuccessFactorsTokenManager.getInstance(config);
+    return tokenManager.getTokenAsync(tokenExecutor).thenCompose(token -> {
+      String accessToken = trackAccessToken(token);
+      return enqueue(enhancedOkHttpClient, buildRequestWithBearerToken(endpoint, mediaType, accessToken, null))
+        .thenCompose(response -> {
+          // If the response code is 403 (Forbidden), attempt to refresh access token
+          if (response.code() != HttpURLConnection.HTTP_FORBIDDEN) {
+            return CompletableFuture.completedFuture(response);
+          }
+          LOG.info("refreshing access token");
+          response.close();
+          return tokenManager.refreshRejectedAsync(accessToken, tokenExecutor)
+            .thenCompose(refreshedToken -> enqueue(enhancedOkHttpClient, buildRequestWithBearerToken(
+              endpoint, mediaType, trackAccessToken(refreshedToken), null)));
+        });
+    });
+  }
+
+  /**
+   * Enqueues the given request once the shared {@code SuccessFactorsRequestLimiter} allows it, and reports its
+   * outcome back to the limiter as in {@code execute}.
+   *
+   * @param client {@code OkHttpClient}
+   * @param req    {@code Request}
+   * @return {@code CompletableFuture} completed with the {@code Response}, or exceptionally with the IO error
+   */
+  private CompletableFuture<Response> enqueue(OkHttpClient client, Request req) {
+    return getRequestLimiter().acquireAsync().thenCompose(permit -> {
+      CompletableFuture<Response> future = new CompletableFuture<>();
+      long startNanos = System.nanoTime();
+      client.newCall(req).enqueue(new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          permit.release(-1, null);
+          readMetrics.recordFailure();
+          future.completeExceptionally(e);
+        }
+
+        @Override
+        public void onResponse(Call call, Response res) {
+          readMetrics.recordResponse(res.code(), System.nanoTime() - startNanos);
+          future.complete(releaseOnClose(res, permit));
+        }
+      });
+      return future;
+    });
+  }
+
+  private static <T> CompletableFuture<T> failedFuture(Throwable error) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(error);
+    return future;
+  }
+
+  private SuccessFactorsRequestLimiter getRequestLimiter() {
+    return SuccessFactorsRequestLimiter.getInstance(config.getBaseURL(), options);
+  }
+
+  /**
+   * Executes the given request once the shared {@code SuccessFactorsRequestLimiter} allows it, and reports its
+   * outcome back to the limiter. The request counts as in flight until its response body is read to the end or
+   * closed, as the body is streamed from the connection long after the headers are received.
+   *
+   * @param client {@code OkHttpClient}
+   * @param req    {@code Request}
+   * @return {@code Response}
+   * @throws IOException any http client exceptions
+   */
+  private Response execute(OkHttpClient client, Request req) throws IOException {
+    SuccessFactorsRequestLimiter.Permit permit = getRequestLimiter().acquire();
+    long startNanos = System.nanoTime();
+    Response res;
+    try {
+      res = client.newCall(req).execute();
+    } catch (IOException | RuntimeException e) {
+      permit.release(-1, null);
+      readMetrics.recordFailure();
+      throw e;
+    }
+    readMetrics.recordResponse(res.code(), System.nanoTime() - startNanos);
+    return releaseOnClose(res, permit);
+  }
+
+  /**
+   * Wraps the body of the given {@code Response} so that the given permit is released once the body is read to the
+   * end or closed, right away if the response has no body.
+   *
+   * @param res    {@code Response}
+   * @param permit {@code Permit} of the request
+   * @return {@code Response} holding the permit
+   */
+  private static Response releaseOnClose(Response res, SuccessFactorsRequestLimiter.Permit permit) {
+    int statusCode = res.code();
+    String retryAfter = res.header(RETRY_AFTER);
+    ResponseBody body = res.body();
+    if (body == null) {
+      permit.release(statusCode, retryAfter);
+      return res;
+    }
+    Source source = new ForwardingSource(body.source()) {
+      @Override
+      public long read(Buffer sink, long byteCount) throws IOException {
+        long read = super.read(sink, byteCount);
+        if (read == -1) {
+          permit.release(statusCode, retryAfter);
+        }
+        return read;
+      }
+
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          permit.release(statusCode, retryAfter);
+        }
+      }
+    };
+    return res.newBuilder()
+      .body(ResponseBody.create(Okio.buffer(source), body.contentType(), body.contentLength()))
+      .build();
   }
 
   /**
    * Prepares the {@code SuccessFactorsResponseContainer} from the given {@code Response}.
+   * <p>
+   * The body of a successful response is handed over as a live stream so that large pages are parsed straight from
+   * the socket, the caller is responsible for closing it. Any other response body is buffered and the connection
+   * released right away, as its text is only needed to build the error message.
    *
    * @param res {@code Response}
    * @return {@code SuccessFactorsResponseContainer}
    * @throws IOException any IO exception while setting up the response body bytes
    */
   private SuccessFactorsResponseContainer prepareResponseContainer(Response res) throws IOException {
-    return SuccessFactorsResponseContainer.builder()
+    SuccessFactorsResponseContainer.Builder builder = SuccessFactorsResponseContainer.builder()
       .httpStatusCode(res.code())
       .httpStatusMsg(res.message())
       .dataServiceVersion(res.header(SERVICE_VERSION))
-      .responseStream(res.body() != null ? res.body().bytes() : null)
-      .build();
+      .eTag(res.header(ETAG))
+      .lastModified(res.header(LAST_MODIFIED));
+
+    ResponseBody body = decodeBody(res);
+    if (body == null) {
+      return builder.build();
+    }
+    if (res.isSuccessful()) {
+      return builder.responseBody(body).build();
+    }
+    try {
+      return builder.responseStream(body.bytes()).build();
+    } finally {
+      res.close();
+    }
+  }
+
+  /**
+   * Wraps the body of the given {@code Response} so that it is decompressed, if needed, and counted while it is read.
+   * <p>
+   * Unless response compression is enabled, OkHttp negotiates gzip on its own and hands over the body already
+   * decompressed, so only the decoded bytes are known. With response compression enabled the request asks for gzip
+   * or deflate explicitly, which turns off the OkHttp transparent decompression, and the body is inflated here, one
+   * buffer at a time, while the parser reads it.
+   *
+   * @param res {@code Response}
+   * @return decoded response body, null if the response has no body
+   */
+  @Nullable
+  private ResponseBody decodeBody(Response res) {
+    ResponseBody body = res.body();
+    if (body == null) {
+      return null;
+    }
+    Source source = body.source();
+    if (options.isResponseCompression()) {
+      source = new CountingSource(source,
+                                  bytes -> readMetrics.add(SuccessFactorsReadMetrics.Metric.WIRE_BYTES, bytes));
+      String contentEncoding = res.header(CONTENT_ENCODING);
+      String encoding = contentEncoding == null ? "" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+      if (GZIP.equals(encoding)) {
+        source = new GzipSource(source);
+      } else if (DEFLATE.equals(encoding)) {
+        source = new InflaterSource(source, new Inflater());
+      }
+    }
+    BufferedSource decoded = Okio.buffer(new CountingSource(
+      source, bytes -> readMetrics.add(SuccessFactorsReadMetrics.Metric.DECODED_BYTES, bytes)));
+    return ResponseBody.create(decoded, body.contentType(), -1L);
   }
 
   /**
    * Prepares request for metadata and data calls.
    *
-   * @param mediaType supported types 'application/json' & 'application/xml'
+   * @param mediaType   supported types 'application/json' & 'application/xml'
+   * @param requestBody body to POST or null for a GET request
    * @return Request
    */
-  private Request buildRequest(URL endpoint, String mediaType) {
-    return new Request.Builder()
+  private Request buildRequest(URL endpoint, String mediaType, @Nullable RequestBody requestBody) {
+    Request.Builder builder = new Request.Builder()
       .addHeader("Authorization", getAuthenticationKey())
       .addHeader("Accept", mediaType)
-      .get()
-      .url(endpoint)
-      .build();
+      .method(requestBody == null ? GET : POST, requestBody)
+      .url(endpoint);
+    return addAcceptEncoding(builder).build();
   }
 
   /**
-   * Builds and configures an OkHttpClient with the specified proxy settings and authentication credentials.
+   * Returns the shared OkHttpClient for the specified proxy settings and authentication credentials. The client is
+   * created only once per JVM for a given configuration, see {@code SuccessFactorsHttpClientRegistry}.
    * @param proxyUrl The URL of the proxy server (e.g., "http://proxy.example.com:8080").
    * Set to null or an empty string to bypass proxy configuration.
    * @param proxyUsername  The username for proxy authentication. Set to null or an empty string if not required.
@@ -257,7 +698,21 @@ public class SuccessFactorsTransporter {
    * @return An OkHttpClient configured with the specified proxy settings and authentication credentials.
    */
   private OkHttpClient buildConfiguredClient(String proxyUrl, String proxyUsername, String proxyPassword)
-    throws MalformedURLException, TransportException {
+    throws IOException {
+    return SuccessFactorsHttpClientRegistry.getOrCreate(proxyUrl, proxyUsername, proxyPassword, options,
+                                                        () -> createClient(proxyUrl, proxyUsername, proxyPassword));
+  }
+
+  /**
+   * Builds and configures a new OkHttpClient with the specified proxy settings and authentication credentials.
+   *
+   * @param proxyUrl      The URL of the proxy server, null or empty to bypass proxy configuration.
+   * @param proxyUsername The username for proxy authentication, null or empty if not required.
+   * @param proxyPassword The password for proxy authentication, null or empty if not required.
+   * @return A new OkHttpClient configured with the specified proxy settings and authentication credentials.
+   */
+  private OkHttpClient createClient(String proxyUrl, String proxyUsername, String proxyPassword)
+    throws MalformedURLException {
     OkHttpClient.Builder builder = getConfiguredClient();
 
     if (SuccessFactorsUtil.isNotNullOrEmpty(proxyUrl)) {
@@ -288,17 +743,20 @@ public class SuccessFactorsTransporter {
    * Connection Timeout in seconds: 300
    * Read Timeout in seconds: 300
    * Write Timeout in seconds: 300
+   * Connection pool: as per the given {@code SuccessFactorsTransportOptions}
    *
    * @return {@code OkHttpClient.Builder}
    */
-  private OkHttpClient.Builder getConfiguredClient() throws TransportException {
+  private OkHttpClient.Builder getConfiguredClient() {
 
     // Setting up base timeout of 300 secs as per timeout configuration in SAP to
     // maximize the connection wait time
     OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
       .readTimeout(CONNECTION_TIMEOUT, TimeUnit.SECONDS)
       .writeTimeout(CONNECTION_TIMEOUT, TimeUnit.SECONDS)
-      .connectTimeout(CONNECTION_TIMEOUT, TimeUnit.SECONDS);
+      .connectTimeout(CONNECTION_TIMEOUT, TimeUnit.SECONDS)
+      .connectionPool(new ConnectionPool(options.getConnectionPoolSize(), options.getKeepAliveDuration(),
+                                         TimeUnit.SECONDS));
 
     return httpClientBuilder;
   }
@@ -317,13 +775,41 @@ public class SuccessFactorsTransporter {
       );
   }
 
-  private Request buildRequestWithBearerToken(URL endpoint, String mediaType, String accessToken) {
-    return new Request.Builder()
+  private Request buildRequestWithBearerToken(URL endpoint, String mediaType, String accessToken,
+                                              @Nullable RequestBody requestBody) {
+    Request.Builder builder = new Request.Builder()
       .addHeader("Authorization", "Bearer " + accessToken)
       .addHeader("Accept", mediaType)
-      .get()
-      .url(endpoint)
-      .build();
+      .method(requestBody == null ? GET : POST, requestBody)
+      .url(endpoint);
+    return addAcceptEncoding(builder).build();
+  }
+
+  private static Request withHeaders(Request req, Map<String, String> requestHeaders) {
+    if (requestHeaders.isEmpty()) {
+      return req;
+    }
+    Request.Builder builder = req.newBuilder();
+    requestHeaders.forEach(builder::header);
+    return builder.build();
+  }
+
+  /**
+   * Counts the given access token as a new one if it differs from the last one used by this transporter.
+   */
+  private String trackAccessToken(String accessToken) {
+    if (!accessToken.equals(lastAccessToken)) {
+      lastAccessToken = accessToken;
+      readMetrics.increment(SuccessFactorsReadMetrics.Metric.TOKEN_REFRESHES);
+    }
+    return accessToken;
+  }
+
+  private Request.Builder addAcceptEncoding(Request.Builder builder) {
+    if (options.isResponseCompression()) {
+      builder.addHeader(ACCEPT_ENCODING, GZIP + ", " + DEFLATE);
+    }
+    return builder;
   }
 
   /**
@@ -349,4 +835,25 @@ public class SuccessFactorsTransporter {
       throw new TransportException(ResourceConstants.ERR_CALL_SERVICE_FAILURE.getMsgForKey(), ioe);
     }
   }
+
+  /**
+   * Reports the number of bytes read from the delegate {@code Source}.
+   */
+  private static final class CountingSource extends ForwardingSource {
+    private final LongConsumer counter;
+
+    CountingSource(Source delegate, LongConsumer counter) {
+      super(delegate);
+      this.counter = counter;
+    }
+
+    @Override
+    public long read(Buffer sink, long byteCount) throws IOException {
+      long read = super.read(sink, byteCount);
+      if (read > 0) {
+        counter.accept(read);
+      }
+      return read;
+    }
+  }
 }
@@ -27,7 +27,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 /**
@@ -47,18 +50,83 @@ public class SuccessFactorsUrlContainer {
   private static final String FILTER_OPTION = "$filter";
   private static final String SELECT_OPTION = "$select";
   private static final String EXPAND_OPTION = "$expand";
+  private static final String ORDER_BY_OPTION = "$orderby";
+  private static final String FILTER_CONJUNCTION = " and ";
+  private static final String DESCENDING = " desc";
   private static final String COUNT = "$count";
   private static final String PAGING = "paging";
   private static final String SNAPSHOT = "snapshot";
   private static final String METADATA = "$metadata";
+  private static final String BATCH = "$batch";
   private static final String TESTURL_TOP_VALUE = "1";
 
   private final SuccessFactorsPluginConfig pluginConfig;
+  @Nullable
+  private List<String> nonNavigationalProperties;
+  @Nullable
+  private String partitionFilter;
+  @Nullable
+  private String incrementalFilter;
+  @Nullable
+  private String keysetColumn;
+  @Nullable
+  private String keysetStart;
 
   public SuccessFactorsUrlContainer(SuccessFactorsPluginConfig pluginConfig) {
     this.pluginConfig = pluginConfig;
   }
 
+  /**
+   * Sets the non-navigational properties used as default '$select' of the data URL, so that building the data URL
+   * of every page does not have to fetch and parse the entity metadata again.
+   *
+   * @param nonNavigationalProperties non-navigational properties of the entity
+   */
+  public void setNonNavigationalProperties(List<String> nonNavigationalProperties) {
+    this.nonNavigationalProperties = nonNavigationalProperties;
+  }
+
+  public boolean hasNonNavigationalProperties() {
+    return nonNavigationalProperties != null;
+  }
+
+  /**
+   * Sets the key range of the split being read, added to the user given '$filter' of the data and count URLs.
+   *
+   * @param partitionFilter '$filter' expression of the key range or null to read the whole entity
+   */
+  public void setPartitionFilter(@Nullable String partitionFilter) {
+    this.partitionFilter = partitionFilter;
+  }
+
+  /**
+   * Sets the bounds of the records changed since the last successful run, added to the user given '$filter' of the
+   * data, count and partition boundary URLs.
+   *
+   * @param incrementalFilter '$filter' expression of the incremental bounds or null to read all the records
+   */
+  public void setIncrementalFilter(@Nullable String incrementalFilter) {
+    this.incrementalFilter = incrementalFilter;
+  }
+
+  /**
+   * Orders the data URL on the given column, so that the pages can be advanced on its last seen value.
+   *
+   * @param keysetColumn unique property the pages are advanced on or null to advance them with '$skip'
+   */
+  public void setKeysetColumn(@Nullable String keysetColumn) {
+    this.keysetColumn = keysetColumn;
+  }
+
+  /**
+   * Sets the last seen value of the keyset column, the data URL only reads the records after it.
+   *
+   * @param keysetStart URI literal of the last seen value or null to read from the first record
+   */
+  public void setKeysetStart(@Nullable String keysetStart) {
+    this.keysetStart = keysetStart;
+  }
+
   /**
    * Construct tester URL.
    *
@@ -120,10 +188,11 @@ public class SuccessFactorsUrlContainer {
     if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getAdditionalQueryParameters())) {
       urlBuilder.query(pluginConfig.getAdditionalQueryParameters());
     }
-    if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getFilterOption())) {
-      urlBuilder.addQueryParameter(FILTER_OPTION, pluginConfig.getFilterOption());
+    String filterOption = isDataFetch ? getDataFilterOption() : getFilterOption();
+    if (filterOption != null) {
+      urlBuilder.addQueryParameter(FILTER_OPTION, filterOption);
     }
-    
+
     if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getSelectOption())) {
       if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getExpandOption())) {
         String selectFieldValue = pluginConfig.getSelectOption().concat(PROPERTY_SEPARATOR)
@@ -133,10 +202,13 @@ public class SuccessFactorsUrlContainer {
         urlBuilder.addQueryParameter(SELECT_OPTION, pluginConfig.getSelectOption());
       }
     } else if (getExpandLevel() <= 1  && isDataFetch) {
-      SuccessFactorsService successFactorsService = SuccessFactorsUtil.getSuccessFactorsService(pluginConfig);
       try {
-        StringBuilder selectNonNav = new StringBuilder(String.join(PROPERTY_SEPARATOR, successFactorsService.
-          getNonNavigationalProperties()));
+        if (nonNavigationalProperties == null) {
+          // no metadata was provided upfront, fetch it once and keep it for the subsequent pages
+          SuccessFactorsService successFactorsService = SuccessFactorsUtil.getSuccessFactorsService(pluginConfig);
+          nonNavigationalProperties = successFactorsService.getNonNavigationalProperties();
+        }
+        StringBuilder selectNonNav = new StringBuilder(String.join(PROPERTY_SEPARATOR, nonNavigationalProperties));
         if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getExpandOption())) {
           selectNonNav.append(PROPERTY_SEPARATOR).append(pluginConfig.getExpandOption());
         }
@@ -165,8 +237,9 @@ public class SuccessFactorsUrlContainer {
       .addPathSegment(pluginConfig.getEntityName())
       .addPathSegment(COUNT);
 
-    if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getFilterOption())) {
-      builder.addQueryParameter(FILTER_OPTION, pluginConfig.getFilterOption());
+    String filterOption = getFilterOption();
+    if (filterOption != null) {
+      builder.addQueryParameter(FILTER_OPTION, filterOption);
     }
     URL recordCountURL = builder.build().url();
 
@@ -186,6 +259,9 @@ public class SuccessFactorsUrlContainer {
       .addPathSegment(pluginConfig.getEntityName());
 
     buildQueryOptions(builder, Boolean.TRUE);
+    if (keysetColumn != null) {
+      builder.addQueryParameter(ORDER_BY_OPTION, keysetColumn);
+    }
     if (skip != null && skip != 0) {
       builder.addQueryParameter(SKIP_OPTION, String.valueOf(skip));
     }
@@ -200,6 +276,131 @@ public class SuccessFactorsUrlContainer {
     return dataURL;
   }
 
+  /**
+   * Constructs the '$batch' URL of the service, several requests are sent to it in a single multipart request.
+   *
+   * @return batch URL.
+   */
+  public URL getBatchURL() {
+    return HttpUrl.parse(pluginConfig.getConnection().getBaseURL())
+      .newBuilder()
+      .addPathSegment(BATCH)
+      .build()
+      .url();
+  }
+
+  /**
+   * Returns the path and query of the given URL relative to the service root, as addressed by a request within a
+   * '$batch' request e.g. 'Entity?$top=10'.
+   *
+   * @param url URL below the service root
+   * @return relative request path
+   */
+  public String getBatchRequestPath(URL url) {
+    String serviceRoot = HttpUrl.parse(pluginConfig.getConnection().getBaseURL()).newBuilder()
+      .addPathSegment("")
+      .build()
+      .toString();
+    String requestURL = HttpUrl.get(url.toString()).toString();
+    if (!requestURL.startsWith(serviceRoot)) {
+      throw new IllegalArgumentException(String.format("'%s' is not below the service root '%s'.", url, serviceRoot));
+    }
+    return requestURL.substring(serviceRoot.length());
+  }
+
+  /**
+   * Constructs the URL fetching the value of the partition column at the given position, in the order of that
+   * column, used to find the boundaries of the key ranges.
+   *
+   * @param partitionColumn property the entity is partitioned on
+   * @param skip            position of the boundary record
+   * @return partition boundary URL.
+   */
+  public URL getPartitionBoundaryURL(String partitionColumn, long skip) {
+    HttpUrl.Builder builder = HttpUrl.parse(pluginConfig.getConnection().getBaseURL())
+      .newBuilder()
+      .addPathSegment(pluginConfig.getEntityName());
+
+    if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getAdditionalQueryParameters())) {
+      builder.query(pluginConfig.getAdditionalQueryParameters());
+    }
+    String filterOption = combineFilters(pluginConfig.getFilterOption(), incrementalFilter);
+    if (filterOption != null) {
+      builder.addQueryParameter(FILTER_OPTION, filterOption);
+    }
+    return builder.addQueryParameter(SELECT_OPTION, partitionColumn)
+      .addQueryParameter(ORDER_BY_OPTION, partitionColumn)
+      .addQueryParameter(SKIP_OPTION, String.valueOf(skip))
+      .addQueryParameter(TOP_OPTION, TESTURL_TOP_VALUE)
+      .build()
+      .url();
+  }
+
+  /**
+   * Constructs the URL fetching the highest value of the incremental column among the records matching the user
+   * given '$filter', used as the upper bound of the records read by an incremental run.
+   *
+   * @param incrementalColumn property holding the last change of the records
+   * @return high watermark URL.
+   */
+  public URL getHighWatermarkURL(String incrementalColumn) {
+    HttpUrl.Builder builder = HttpUrl.parse(pluginConfig.getConnection().getBaseURL())
+      .newBuilder()
+      .addPathSegment(pluginConfig.getEntityName());
+
+    if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getAdditionalQueryParameters())) {
+      builder.query(pluginConfig.getAdditionalQueryParameters());
+    }
+    if (SuccessFactorsUtil.isNotNullOrEmpty(pluginConfig.getFilterOption())) {
+      builder.addQueryParameter(FILTER_OPTION, pluginConfig.getFilterOption());
+    }
+    return builder.addQueryParameter(SELECT_OPTION, incrementalColumn)
+      .addQueryParameter(ORDER_BY_OPTION, incrementalColumn + DESCENDING)
+      .addQueryParameter(TOP_OPTION, TESTURL_TOP_VALUE)
+      .build()
+      .url();
+  }
+
+  /**
+   * Combines the user given '$filter' with the incremental bounds and the key range of the split, if any.
+   */
+  @Nullable
+  private String getFilterOption() {
+    return combineFilters(pluginConfig.getFilterOption(), incrementalFilter, partitionFilter);
+  }
+
+  /**
+   * Adds the records after the last seen keyset value, if any, to the '$filter' of the data URL.
+   */
+  @Nullable
+  private String getDataFilterOption() {
+    if (keysetColumn == null || keysetStart == null) {
+      return getFilterOption();
+    }
+    return combineFilters(pluginConfig.getFilterOption(), incrementalFilter, partitionFilter,
+                          keysetColumn + " gt " + keysetStart);
+  }
+
+  /**
+   * Joins the given '$filter' expressions with 'and', each one in parentheses if there are more than one.
+   *
+   * @param filters '$filter' expressions, null or empty ones are left out
+   * @return combined '$filter' expression or null if there is none
+   */
+  @Nullable
+  private static String combineFilters(String... filters) {
+    List<String> presentFilters = new ArrayList<>();
+    for (String filter : filters) {
+      if (SuccessFactorsUtil.isNotNullOrEmpty(filter)) {
+        presentFilters.add(filter);
+      }
+    }
+    if (presentFilters.size() <= 1) {
+      return presentFilters.isEmpty() ? null : presentFilters.get(0);
+    }
+    return presentFilters.stream().map(filter -> "(" + filter + ")").collect(Collectors.joining(FILTER_CONJUNCTION));
+  }
+
   /*
    * Get the level up to which the entity has been expanded.
    */
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.common.util;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+
+public class SuccessFactorsAccessTokenTest {
+
+  private static final String TOKEN_URL = "https://localhost/oauth/token";
+  private static String privateKey;
+
+  @BeforeClass
+  public static void classSetup() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    privateKey = Base64.encodeBase64String(generator.generateKeyPair().getPrivate().getEncoded());
+  }
+
+  @After
+  public void tearDown() {
+    SuccessFactorsAccessToken.clearCache();
+  }
+
+  @Test
+  public void testSignedAssertionIsReused() {
+    String first = SuccessFactorsAccessToken.generateSignedSAMLAssertion("client", "user", TOKEN_URL, privateKey,
+                                                                         60, false);
+    String second = SuccessFactorsAccessToken.generateSignedSAMLAssertion("client", "user", TOKEN_URL, privateKey,
+                                                                          60, false);
+
+    Assert.assertNotNull(first);
+    Assert.assertSame(first, second);
+  }
+
+  @Test
+  public void testAssertionIsSignedPerUser() {
+    String first = SuccessFactorsAccessToken.generateSignedSAMLAssertion("client", "user", TOKEN_URL, privateKey,
+                                                                         60, false);
+    String other = SuccessFactorsAccessToken.generateSignedSAMLAssertion("client", "other", TOKEN_URL, privateKey,
+                                                                         60, false);
+
+    Assert.assertNotEquals(first, other);
+  }
+
+  @Test
+  public void testExpiredAssertionIsSignedAgain() {
+    // an assertion valid for 0 minutes is expired right away
+    String first = SuccessFactorsAccessToken.generateSignedSAMLAssertion("client", "user", TOKEN_URL, privateKey,
+                                                                         0, false);
+    String second = SuccessFactorsAccessToken.generateSignedSAMLAssertion("client", "user", TOKEN_URL, privateKey,
+                                                                          0, false);
+
+    Assert.assertNotEquals(first, second);
+  }
+}
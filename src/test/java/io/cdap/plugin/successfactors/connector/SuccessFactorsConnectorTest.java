@@ -39,6 +39,7 @@ import io.cdap.plugin.successfactors.source.SuccessFactorsSource;
 import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
 import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsEntityProvider;
 import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsSchemaGenerator;
+import io.cdap.plugin.successfactors.source.service.SuccessFactorsMetadataCache;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsResponseContainer;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsTransporter;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsUrlContainer;
@@ -55,11 +56,14 @@ import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public class SuccessFactorsConnectorTest {
+  private static final Map<String, String> NO_HEADERS = Collections.emptyMap();
+
   @Tested
   private SuccessFactorsPluginConfig.Builder pluginConfigBuilder;
   private SuccessFactorsPluginConfig pluginConfig;
@@ -75,6 +79,7 @@ public class SuccessFactorsConnectorTest {
 
   @Before
   public void testConfiguration() throws TransportException, SuccessFactorsServiceException {
+    SuccessFactorsMetadataCache.clear();
     pluginConfigBuilder = SuccessFactorsPluginConfig.builder()
       .referenceName("unit-test-ref-name")
       .baseURL("http://localhost")
@@ -93,7 +98,7 @@ public class SuccessFactorsConnectorTest {
     new Expectations(SuccessFactorsUrlContainer.class, SuccessFactorsTransporter.class,
                      SuccessFactorsSchemaGenerator.class) {
       {
-        successFactorsTransporter.callSuccessFactorsEntity(null, anyString);
+        successFactorsTransporter.callSuccessFactorsEntity(null, anyString, withAny(NO_HEADERS));
         result = getSuccessfulResponseContainer();
         minTimes = 1;
       }
@@ -110,7 +115,7 @@ public class SuccessFactorsConnectorTest {
     new Expectations(SuccessFactorsUrlContainer.class, SuccessFactorsTransporter.class,
                      SuccessFactorsSchemaGenerator.class) {
       {
-        successFactorsTransporter.callSuccessFactorsEntity(null, anyString);
+        successFactorsTransporter.callSuccessFactorsEntity(null, anyString, withAny(NO_HEADERS));
         result = getUnauthorisedResponseContainer();
         minTimes = 1;
       }
@@ -126,7 +131,7 @@ public class SuccessFactorsConnectorTest {
     new Expectations(SuccessFactorsUrlContainer.class, SuccessFactorsTransporter.class,
                      SuccessFactorsSchemaGenerator.class) {
       {
-        successFactorsTransporter.callSuccessFactorsEntity(null, anyString);
+        successFactorsTransporter.callSuccessFactorsEntity(null, anyString, withAny(NO_HEADERS));
         result = getNotFoundResponseContainer();
         minTimes = 1;
       }
@@ -158,7 +163,7 @@ public class SuccessFactorsConnectorTest {
     successFactorsTransporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
     new Expectations(SuccessFactorsTransporter.class) {
       {
-        successFactorsTransporter.callSuccessFactorsEntity(null, anyString);
+        successFactorsTransporter.callSuccessFactorsEntity(null, anyString, withAny(NO_HEADERS));
         result = getSuccessfulResponseContainer();
         minTimes = 1;
 
@@ -198,7 +203,7 @@ public class SuccessFactorsConnectorTest {
         result = getPluginSchema();
         minTimes = 1;
 
-        successFactorsTransporter.callSuccessFactorsEntity(null, anyString);
+        successFactorsTransporter.callSuccessFactorsEntity(null, anyString, withAny(NO_HEADERS));
         result = getResponseContainer();
         minTimes = 1;
       }
@@ -240,7 +245,7 @@ public class SuccessFactorsConnectorTest {
         result = entities;
         minTimes = 1;
 
-        successFactorsTransporter.callSuccessFactorsEntity(null, anyString);
+        successFactorsTransporter.callSuccessFactorsEntity(null, anyString, withAny(NO_HEADERS));
         result = getResponseContainer();
         minTimes = 1;
       }
@@ -268,7 +273,7 @@ public class SuccessFactorsConnectorTest {
     successFactorsTransporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
     new Expectations(SuccessFactorsTransporter.class, SuccessFactorsTransporter.class, SuccessFactorsConnector.class) {
       {
-        successFactorsTransporter.callSuccessFactorsEntity(null, anyString);
+        successFactorsTransporter.callSuccessFactorsEntity(null, anyString, withAny(NO_HEADERS));
         result = getResponseContainer();
         minTimes = 1;
       }
@@ -29,6 +29,7 @@ import io.cdap.plugin.successfactors.source.input.SuccessFactorsInputSplit;
 import io.cdap.plugin.successfactors.source.input.SuccessFactorsPartitionBuilder;
 import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsEntityProvider;
 import io.cdap.plugin.successfactors.source.metadata.SuccessFactorsSchemaGenerator;
+import io.cdap.plugin.successfactors.source.service.SuccessFactorsMetadataCache;
 import io.cdap.plugin.successfactors.source.service.SuccessFactorsService;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsResponseContainer;
 import io.cdap.plugin.successfactors.source.transport.SuccessFactorsTransporter;
@@ -46,11 +47,13 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class SuccessFactorsSourceTest {
+  private static final Map<String, String> NO_HEADERS = Collections.emptyMap();
 
   @Tested
   private SuccessFactorsPluginConfig.Builder pluginConfigBuilder;
@@ -74,6 +77,7 @@ public class SuccessFactorsSourceTest {
 
   @Before
   public void setUp() {
+    SuccessFactorsMetadataCache.clear();
     pipelineConfigurer = new MockPipelineConfigurer(null);
     pluginConfigBuilder = SuccessFactorsPluginConfig.builder()
       .referenceName("unit-test-ref-name")
@@ -158,7 +162,8 @@ public class SuccessFactorsSourceTest {
         result = getUrl();
         minTimes = 1;
 
-        successFactorsHttpClient.callSuccessFactorsWithRetry(null, anyString, anyInt, anyInt, anyInt, anyInt);
+        successFactorsHttpClient.callSuccessFactorsWithRetry(null, anyString, withAny(NO_HEADERS), anyInt,
+                                                             anyInt, anyInt, anyInt);
         result = getResponseContainer();
         minTimes = 1;
 
@@ -16,9 +16,12 @@
 
 package io.cdap.plugin.successfactors.source.input;
 
+import io.cdap.cdap.api.data.schema.Schema;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -95,6 +98,12 @@ public class SuccessFactorsPartitionBuilderTest {
     Assert.assertEquals("Batch size is not same", (batchSize), partitionList.get(0).getBatchSize());
   }
 
+  @Test
+  public void testWithoutRecords() {
+    Assert.assertTrue(partitionBuilder.buildSplits(0).isEmpty());
+    Assert.assertTrue(new SuccessFactorsPartitionBuilder(4, null, 100L, 1000L).buildSplits(0).isEmpty());
+  }
+
   @Test
   public void testUpdatedFetchRowCount() {
     long availableRowCount = 123;
@@ -180,4 +189,130 @@ public class SuccessFactorsPartitionBuilderTest {
     Assert.assertEquals("Batch size is not same", SuccessFactorsPartitionBuilder.MAX_ALLOWED_BATCH_SIZE,
       partitionList.get(0).getBatchSize());
   }
+
+  @Test
+  public void testPageAndSplitSizeFromEstimatedRowBytes() {
+    // 50 KB rows: 83 records in a 4 MB page, 32 pages in a 128 MB split
+    SuccessFactorsPartitionBuilder sizedBuilder = new SuccessFactorsPartitionBuilder(null, null, null, 50_000L);
+
+    List<SuccessFactorsInputSplit> partitionList = sizedBuilder.buildSplits(10000);
+
+    Assert.assertEquals("Split count is not same", 4, partitionList.size());
+    Assert.assertEquals("Batch size is not same", 83, partitionList.get(0).getBatchSize());
+    Assert.assertEquals("End is not same for split 1", 2656, partitionList.get(0).getEnd());
+    Assert.assertEquals("End is not same for last split", 10000, partitionList.get(3).getEnd());
+  }
+
+  @Test
+  public void testNarrowRowsKeepDefaultSplitAndBatchSize() {
+    SuccessFactorsPartitionBuilder sizedBuilder = new SuccessFactorsPartitionBuilder(null, null, null, 100L);
+
+    List<SuccessFactorsInputSplit> partitionList = sizedBuilder.buildSplits(190000);
+
+    Assert.assertEquals("Split count is not same", 19, partitionList.size());
+    Assert.assertEquals("Batch size is not same", SuccessFactorsPartitionBuilder.MAX_ALLOWED_BATCH_SIZE,
+                        partitionList.get(0).getBatchSize());
+  }
+
+  @Test
+  public void testSplitSizeIsCappedForUnevenPages() {
+    // 6 KB rows: 699 records in a 4 MB page, 14 whole pages fit in the default split size
+    SuccessFactorsPartitionBuilder sizedBuilder = new SuccessFactorsPartitionBuilder(null, null, null, 6000L);
+
+    List<SuccessFactorsInputSplit> partitionList = sizedBuilder.buildSplits(100000);
+
+    Assert.assertEquals("Batch size is not same", 699, partitionList.get(0).getBatchSize());
+    Assert.assertEquals("End is not same for split 1", 9786, partitionList.get(0).getEnd());
+  }
+
+  @Test
+  public void testIsRowSampleNeeded() {
+    Schema narrow = Schema.recordOf("row",
+                                    Schema.Field.of("id", Schema.of(Schema.Type.LONG)),
+                                    Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+    Schema expanded = Schema.recordOf("expanded",
+                                      Schema.Field.of("id", Schema.of(Schema.Type.LONG)),
+                                      Schema.Field.of("options", Schema.nullableOf(Schema.arrayOf(narrow))));
+
+    Assert.assertFalse(SuccessFactorsPartitionBuilder.isRowSampleNeeded(narrow));
+    Assert.assertTrue(SuccessFactorsPartitionBuilder.isRowSampleNeeded(expanded));
+  }
+
+  @Test
+  public void testTargetSplitCount() {
+    SuccessFactorsPartitionBuilder sizedBuilder = new SuccessFactorsPartitionBuilder(4, null, null, 0L);
+
+    List<SuccessFactorsInputSplit> partitionList = sizedBuilder.buildSplits(10);
+
+    Assert.assertEquals("Split count is not same", 4, partitionList.size());
+    Assert.assertEquals("Batch size is not same", 3, partitionList.get(0).getBatchSize());
+    Assert.assertEquals("End is not same for split 1", 3, partitionList.get(0).getEnd());
+    Assert.assertEquals("Batch size is not same for last split", 1, partitionList.get(3).getBatchSize());
+  }
+
+  @Test
+  public void testUserGivenSplitAndBatchSize() {
+    SuccessFactorsPartitionBuilder sizedBuilder = new SuccessFactorsPartitionBuilder(4, 500L, 200L, 50_000L);
+
+    List<SuccessFactorsInputSplit> partitionList = sizedBuilder.buildSplits(1200);
+
+    Assert.assertEquals("Split count is not same", 3, partitionList.size());
+    Assert.assertEquals("Batch size is not same", 200, partitionList.get(0).getBatchSize());
+    Assert.assertEquals("End is not same for split 2", 1000, partitionList.get(1).getEnd());
+  }
+
+  @Test
+  public void testEstimateRowBytesFromSchema() {
+    Schema schema = Schema.recordOf("row",
+                                    Schema.Field.of("id", Schema.of(Schema.Type.LONG)),
+                                    Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+                                    Schema.Field.of("active", Schema.of(Schema.Type.BOOLEAN)));
+
+    // (2 + 6 + 12) + (4 + 6 + 32) + (6 + 6 + 5)
+    Assert.assertEquals(79, SuccessFactorsPartitionBuilder.estimateRowBytes(schema));
+  }
+
+  @Test
+  public void testBuildKeyRangeSplits() {
+    List<SuccessFactorsInputSplit> partitionList = partitionBuilder
+      .buildKeyRangeSplits("userId", Arrays.asList("'A'", "'M'"));
+
+    Assert.assertEquals(3, partitionList.size());
+    Assert.assertEquals("userId lt 'A' or userId eq null", partitionList.get(0).getPartitionFilter());
+    Assert.assertEquals("userId ge 'A' and userId lt 'M'", partitionList.get(1).getPartitionFilter());
+    Assert.assertEquals("userId ge 'M'", partitionList.get(2).getPartitionFilter());
+  }
+
+  @Test
+  public void testBuildKeysetSplits() {
+    List<SuccessFactorsInputSplit> partitionList = partitionBuilder
+      .buildKeysetSplits("userId", Arrays.asList("'A'", "'M'"), 30000);
+
+    Assert.assertEquals(3, partitionList.size());
+    Assert.assertEquals("userId ge 'A' and userId lt 'M'", partitionList.get(1).getPartitionFilter());
+    Assert.assertEquals("userId", partitionList.get(1).getKeysetColumn());
+    Assert.assertEquals(SuccessFactorsPartitionBuilder.MAX_ALLOWED_BATCH_SIZE, partitionList.get(1).getBatchSize());
+    Assert.assertEquals(10001, partitionList.get(1).getStart());
+    Assert.assertEquals(30000, partitionList.get(2).getEnd());
+  }
+
+  @Test
+  public void testBuildKeysetSplitsWithoutBoundary() {
+    List<SuccessFactorsInputSplit> partitionList = partitionBuilder
+      .buildKeysetSplits("userId", Collections.emptyList(), 500);
+
+    Assert.assertEquals(1, partitionList.size());
+    Assert.assertNull(partitionList.get(0).getPartitionFilter());
+    Assert.assertEquals("userId", partitionList.get(0).getKeysetColumn());
+    Assert.assertEquals(500, partitionList.get(0).getEnd());
+  }
+
+  @Test
+  public void testBuildKeyRangeSplitsWithoutBoundary() {
+    List<SuccessFactorsInputSplit> partitionList = partitionBuilder
+      .buildKeyRangeSplits("userId", Collections.emptyList());
+
+    Assert.assertEquals(1, partitionList.size());
+    Assert.assertNull(partitionList.get(0).getPartitionFilter());
+  }
 }
@@ -0,0 +1,533 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.input;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.io.Closeable;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * Local SAP SuccessFactors OData v2 service, on top of WireMock, serving a single entity of synthetic rows:
+ * - '$metadata' of an entity type holding an 'id' key and the configured columns
+ * - '$count' of the configured number of rows
+ * - pages of rows, selected with '$skip' and '$top' for the Client-side pagination, or of the server page size and
+ * linked with '__next' and '$skiptoken' for the Server-side 'paging=snapshot' pagination
+ * <p>
+ * The values of a row only depend on its index, so that every page request of the same range returns the same
+ * rows. Page requests can be delayed and answered with 429 (Too Many Requests) or 503 (Service Unavailable) at the
+ * configured rates, the '$metadata' and '$count' requests are always answered right away. '$filter', '$orderby',
+ * '$expand' and '$batch' requests are not supported.
+ */
+public final class SuccessFactorsSimulator implements Closeable {
+
+  static final String SERVICE_PATH = "/odata/v2";
+  static final String KEY_COLUMN = "id";
+  static final String PAGE_REQUEST = "page";
+  private static final String METADATA_REQUEST = "metadata";
+  private static final String COUNT_REQUEST = "count";
+  private static final String OTHER_REQUEST = "other";
+  private static final String METADATA = "$metadata";
+  private static final String COUNT = "$count";
+  private static final String SKIP_OPTION = "$skip";
+  private static final String TOP_OPTION = "$top";
+  private static final String SKIP_TOKEN_OPTION = "$skiptoken";
+  private static final String PAGING = "paging";
+  private static final String SNAPSHOT = "snapshot";
+  private static final String CONTENT_TYPE = "Content-Type";
+  private static final String SERVICE_VERSION = "dataserviceversion";
+  private static final String RETRY_AFTER = "Retry-After";
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final int HTTP_UNAVAILABLE = 503;
+  // 2020-03-02T00:00:00Z
+  private static final long BASE_MILLIS = 1583107200000L;
+
+  /**
+   * Column types of the generated entity, with the OData v2 JSON form of their values.
+   */
+  public enum ColumnType {
+    STRING("Edm.String"),
+    INT32("Edm.Int32"),
+    INT64("Edm.Int64"),
+    DECIMAL("Edm.Decimal"),
+    DOUBLE("Edm.Double"),
+    BOOLEAN("Edm.Boolean"),
+    DATETIME("Edm.DateTime"),
+    DATETIMEOFFSET("Edm.DateTimeOffset"),
+    TIME("Edm.Time");
+
+    private final String edmType;
+
+    ColumnType(String edmType) {
+      this.edmType = edmType;
+    }
+
+    private void appendValue(StringBuilder page, long row, int column) {
+      long value = row * 31 + column;
+      switch (this) {
+        case STRING:
+          page.append("\"value ").append(row).append('_').append(column).append('"');
+          break;
+        case INT32:
+          page.append(value % Integer.MAX_VALUE);
+          break;
+        case INT64:
+          page.append('"').append(value).append('"');
+          break;
+        case DECIMAL:
+          page.append('"').append(value).append('.').append(String.format("%02d", row % 100)).append('"');
+          break;
+        case DOUBLE:
+          page.append(value).append(".25");
+          break;
+        case BOOLEAN:
+          page.append(row % 2 == 0);
+          break;
+        case DATETIME:
+          page.append("\"/Date(").append(BASE_MILLIS + value * 60_000L).append(")/\"");
+          break;
+        case DATETIMEOFFSET:
+          page.append("\"/Date(").append(BASE_MILLIS + value * 1_000L).append("+0000)/\"");
+          break;
+        case TIME:
+          page.append("\"PT").append(value % 24).append('H').append(value % 60).append('M')
+            .append(row % 60).append("S\"");
+          break;
+        default:
+          throw new IllegalStateException(String.format("Unsupported column type '%s'.", this));
+      }
+    }
+  }
+
+  private final String entityName;
+  private final long rowCount;
+  private final List<ColumnType> columns;
+  private final int serverPageSize;
+  private final int minLatencyMillis;
+  private final int maxLatencyMillis;
+  private final double throttleRate;
+  private final double serverErrorRate;
+  private final int retryAfterSeconds;
+  private final Random random;
+  private final WireMockServer server;
+  private final byte[] metadata;
+
+  private SuccessFactorsSimulator(Builder builder) {
+    this.entityName = builder.entityName;
+    this.rowCount = builder.rowCount;
+    this.columns = Collections.unmodifiableList(new ArrayList<>(builder.columns));
+    this.serverPageSize = builder.serverPageSize;
+    this.minLatencyMillis = builder.minLatencyMillis;
+    this.maxLatencyMillis = builder.maxLatencyMillis;
+    this.throttleRate = builder.throttleRate;
+    this.serverErrorRate = builder.serverErrorRate;
+    this.retryAfterSeconds = builder.retryAfterSeconds;
+    this.random = new Random(builder.seed);
+    this.metadata = buildMetadata().getBytes(StandardCharsets.UTF_8);
+    this.server = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                                       .dynamicPort()
+                                       .containerThreads(builder.containerThreads)
+                                       .asynchronousResponseEnabled(true)
+                                       .asynchronousResponseThreads(builder.containerThreads)
+                                       .extensions(new Responder()));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Starts the simulated service on a free local port.
+   */
+  public SuccessFactorsSimulator start() {
+    server.start();
+    server.stubFor(WireMock.any(WireMock.anyUrl()).willReturn(WireMock.aResponse()));
+    return this;
+  }
+
+  /**
+   * @return service URL, to be used as the base URL of the plugin
+   */
+  public String getServiceUrl() {
+    return "http://localhost:" + server.port() + SERVICE_PATH;
+  }
+
+  public String getEntityName() {
+    return entityName;
+  }
+
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Forgets the requests served so far, e.g. the '$metadata' and '$count' requests of the pipeline preparation.
+   */
+  public void resetRequests() {
+    server.resetRequests();
+  }
+
+  /**
+   * @return number of requests served so far by request kind and HTTP status, e.g. 'page 200' or 'page 429'
+   */
+  public Map<String, Long> getRequestCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    for (ServeEvent event : server.getAllServeEvents()) {
+      String kind = getRequestKind(getPath(event.getRequest().getUrl())) + " " + event.getResponse().getStatus();
+      counts.merge(kind, 1L, Long::sum);
+    }
+    return counts;
+  }
+
+  /**
+   * @return time in milliseconds spent answering each page request served so far, injected delay included,
+   * in ascending order
+   */
+  public long[] getPageLatencies() {
+    List<Long> latencies = new ArrayList<>();
+    for (ServeEvent event : server.getAllServeEvents()) {
+      if (PAGE_REQUEST.equals(getRequestKind(getPath(event.getRequest().getUrl()))) && event.getTiming() != null) {
+        latencies.add((long) event.getTiming().getTotalTime());
+      }
+    }
+    return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+  }
+
+  @Override
+  public void close() {
+    server.stop();
+  }
+
+  private String getEntityPath() {
+    return SERVICE_PATH + "/" + entityName;
+  }
+
+  private String getRequestKind(String path) {
+    if (path.equals(getEntityPath())) {
+      return PAGE_REQUEST;
+    }
+    if (path.equals(getEntityPath() + "/" + METADATA)) {
+      return METADATA_REQUEST;
+    }
+    if (path.equals(getEntityPath() + "/" + COUNT)) {
+      return COUNT_REQUEST;
+    }
+    return OTHER_REQUEST;
+  }
+
+  private static String getPath(String url) {
+    int queryStart = url.indexOf('?');
+    return queryStart < 0 ? url : url.substring(0, queryStart);
+  }
+
+  private String getColumnName(int column) {
+    return columns.get(column).name().toLowerCase(Locale.ROOT) + column;
+  }
+
+  private String buildMetadata() {
+    StringBuilder edmx = new StringBuilder()
+      .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+      .append("<edmx:Edmx xmlns:edmx=\"http://schemas.microsoft.com/ado/2007/06/edmx\" Version=\"1.0\">\n")
+      .append("  <edmx:DataServices xmlns:m=\"http://schemas.microsoft.com/ado/2007/08/dataservices/metadata\"")
+      .append(" m:DataServiceVersion=\"2.0\">\n")
+      .append("    <Schema xmlns=\"http://schemas.microsoft.com/ado/2008/09/edm\"")
+      .append(" xmlns:sap=\"http://www.successfactors.com/edm/sap\" Namespace=\"SFOData\">\n")
+      .append("      <EntityContainer Name=\"EntityContainer\" m:IsDefaultEntityContainer=\"true\">\n")
+      .append("        <EntitySet Name=\"").append(entityName).append("\" EntityType=\"SFOData.").append(entityName)
+      .append("\" />\n")
+      .append("      </EntityContainer>\n")
+      .append("      <EntityType Name=\"").append(entityName).append("\">\n")
+      .append("        <Key>\n")
+      .append("          <PropertyRef Name=\"").append(KEY_COLUMN).append("\" />\n")
+      .append("        </Key>\n");
+    appendProperty(edmx, KEY_COLUMN, ColumnType.INT64, false);
+    for (int column = 0; column < columns.size(); column++) {
+      appendProperty(edmx, getColumnName(column), columns.get(column), true);
+    }
+    return edmx.append("      </EntityType>\n")
+      .append("    </Schema>\n")
+      .append("  </edmx:DataServices>\n")
+      .append("</edmx:Edmx>\n")
+      .toString();
+  }
+
+  private static void appendProperty(StringBuilder edmx, String name, ColumnType type, boolean nullable) {
+    edmx.append("        <Property Name=\"").append(name).append("\" Type=\"").append(type.edmType)
+      .append("\" Nullable=\"").append(nullable).append('"');
+    if (type == ColumnType.DECIMAL) {
+      edmx.append(" Precision=\"20\" Scale=\"2\"");
+    }
+    edmx.append(" sap:visible=\"true\" sap:label=\"").append(name).append("\" />\n");
+  }
+
+  /**
+   * Builds the JSON page of the rows in the given range, starting at 0.
+   */
+  private byte[] buildPage(long firstRow, long endRow, @Nullable String nextLink) {
+    StringBuilder page = new StringBuilder(256 + (int) (endRow - firstRow) * (64 + columns.size() * 32));
+    page.append("{\"d\":{\"results\":[");
+    for (long row = firstRow; row < endRow; row++) {
+      if (row > firstRow) {
+        page.append(',');
+      }
+      page.append("{\"__metadata\":{\"uri\":\"").append(getServiceUrl()).append('/').append(entityName)
+        .append('(').append(row).append("L)\",\"type\":\"SFOData.").append(entityName).append("\"},\"")
+        .append(KEY_COLUMN).append("\":\"").append(row).append('"');
+      for (int column = 0; column < columns.size(); column++) {
+        page.append(",\"").append(getColumnName(column)).append("\":");
+        columns.get(column).appendValue(page, row, column);
+      }
+      page.append('}');
+    }
+    page.append(']');
+    if (nextLink != null) {
+      page.append(",\"__next\":\"").append(nextLink).append('"');
+    }
+    return page.append("}}").toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static long getLongOption(Request request, String name, long defaultValue) {
+    String value = getQueryOption(request, name);
+    return value == null ? defaultValue : Long.parseLong(value);
+  }
+
+  /**
+   * Returns the first value of the given query option, matched after URL decoding as clients send e.g. '$skip' as
+   * '%24skip'.
+   */
+  @Nullable
+  private static String getQueryOption(Request request, String name) {
+    String url = request.getUrl();
+    int queryStart = url.indexOf('?');
+    if (queryStart < 0) {
+      return null;
+    }
+    for (String option : url.substring(queryStart + 1).split("&")) {
+      int separator = option.indexOf('=');
+      String optionName = separator < 0 ? option : option.substring(0, separator);
+      if (name.equals(decode(optionName))) {
+        return separator < 0 ? "" : decode(option.substring(separator + 1));
+      }
+    }
+    return null;
+  }
+
+  private static String decode(String value) {
+    try {
+      return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static ResponseDefinition error(int status, String message) {
+    String body = String.format("{\"error\":{\"code\":\"%d\",\"message\":{\"lang\":\"en-US\",\"value\":\"%s\"}}}",
+                                status, message);
+    return ResponseDefinitionBuilder.responseDefinition()
+      .withStatus(status)
+      .withHeader(CONTENT_TYPE, "application/json")
+      .withBody(body)
+      .build();
+  }
+
+  /**
+   * Answers every request of the simulated service.
+   */
+  private final class Responder extends ResponseDefinitionTransformer {
+
+    @Override
+    public String getName() {
+      return "successfactors-simulator";
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition, FileSource files,
+                                        Parameters parameters) {
+      switch (getRequestKind(getPath(request.getUrl()))) {
+        case METADATA_REQUEST:
+          return ResponseDefinitionBuilder.responseDefinition()
+            .withStatus(200)
+            .withHeader(CONTENT_TYPE, "application/xml")
+            .withHeader(SERVICE_VERSION, "2.0")
+            .withBody(metadata)
+            .build();
+        case COUNT_REQUEST:
+          return ResponseDefinitionBuilder.responseDefinition()
+            .withStatus(200)
+            .withHeader(CONTENT_TYPE, "text/plain")
+            .withHeader(SERVICE_VERSION, "2.0")
+            .withBody(String.valueOf(rowCount))
+            .build();
+        case PAGE_REQUEST:
+          return page(request);
+        default:
+          return error(404, String.format("Resource '%s' is not found.", request.getUrl()));
+      }
+    }
+
+    private ResponseDefinition page(Request request) {
+      double fault;
+      int latencyMillis;
+      synchronized (random) {
+        fault = random.nextDouble();
+        latencyMillis = minLatencyMillis + random.nextInt(maxLatencyMillis - minLatencyMillis + 1);
+      }
+      if (fault < throttleRate) {
+        ResponseDefinition throttled = error(HTTP_TOO_MANY_REQUESTS, "Rate limit exceeded.");
+        return ResponseDefinitionBuilder.like(throttled)
+          .withHeader(RETRY_AFTER, String.valueOf(retryAfterSeconds))
+          .build();
+      }
+      if (fault < throttleRate + serverErrorRate) {
+        return ResponseDefinitionBuilder.like(error(HTTP_UNAVAILABLE, "Service is unavailable."))
+          .withFixedDelay(latencyMillis)
+          .build();
+      }
+
+      long firstRow;
+      long endRow;
+      String nextLink = null;
+      if (SNAPSHOT.equals(getQueryOption(request, PAGING))) {
+        firstRow = getLongOption(request, SKIP_TOKEN_OPTION, 0L);
+        endRow = Math.min(rowCount, firstRow + serverPageSize);
+        if (endRow < rowCount) {
+          nextLink = String.format("%s/%s?%s=%s&%s=%d", getServiceUrl(), entityName, PAGING, SNAPSHOT,
+                                   SKIP_TOKEN_OPTION, endRow);
+        }
+      } else {
+        firstRow = Math.min(rowCount, getLongOption(request, SKIP_OPTION, 0L));
+        endRow = Math.min(rowCount, firstRow + getLongOption(request, TOP_OPTION, serverPageSize));
+      }
+
+      return ResponseDefinitionBuilder.responseDefinition()
+        .withStatus(200)
+        .withHeader(CONTENT_TYPE, "application/json;charset=utf-8")
+        .withHeader(SERVICE_VERSION, "2.0")
+        .withBody(buildPage(firstRow, endRow, nextLink))
+        .withFixedDelay(latencyMillis)
+        .build();
+    }
+  }
+
+  /**
+   * Helper class to simplify {@link SuccessFactorsSimulator} class creation.
+   */
+  public static class Builder {
+    private String entityName = "SimulatedEntity";
+    private long rowCount = 10_000L;
+    private final List<ColumnType> columns = new ArrayList<>();
+    private int serverPageSize = 1000;
+    private int minLatencyMillis;
+    private int maxLatencyMillis;
+    private double throttleRate;
+    private double serverErrorRate;
+    private int retryAfterSeconds = 1;
+    private int containerThreads = 32;
+    private long seed = 20260101L;
+
+    public Builder entityName(String entityName) {
+      this.entityName = entityName;
+      return this;
+    }
+
+    public Builder rowCount(long rowCount) {
+      this.rowCount = rowCount;
+      return this;
+    }
+
+    /**
+     * Adds the given number of columns of the given type to the entity, after the columns added so far.
+     */
+    public Builder columns(ColumnType type, int count) {
+      for (int i = 0; i < count; i++) {
+        this.columns.add(type);
+      }
+      return this;
+    }
+
+    /**
+     * Sets the number of rows of the pages linked with '__next', and of the pages requested without '$top'.
+     */
+    public Builder serverPageSize(int serverPageSize) {
+      this.serverPageSize = serverPageSize;
+      return this;
+    }
+
+    /**
+     * Delays each page response by a uniformly distributed time in the given range.
+     */
+    public Builder latencyMillis(int minLatencyMillis, int maxLatencyMillis) {
+      this.minLatencyMillis = minLatencyMillis;
+      this.maxLatencyMillis = Math.max(minLatencyMillis, maxLatencyMillis);
+      return this;
+    }
+
+    /**
+     * Sets the share, from 0 to 1, of the page requests answered with 429 (Too Many Requests).
+     */
+    public Builder throttleRate(double throttleRate) {
+      this.throttleRate = throttleRate;
+      return this;
+    }
+
+    /**
+     * Sets the share, from 0 to 1, of the page requests answered with 503 (Service Unavailable).
+     */
+    public Builder serverErrorRate(double serverErrorRate) {
+      this.serverErrorRate = serverErrorRate;
+      return this;
+    }
+
+    public Builder retryAfterSeconds(int retryAfterSeconds) {
+      this.retryAfterSeconds = retryAfterSeconds;
+      return this;
+    }
+
+    public Builder containerThreads(int containerThreads) {
+      this.containerThreads = containerThreads;
+      return this;
+    }
+
+    public Builder seed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    public SuccessFactorsSimulator build() {
+      return new SuccessFactorsSimulator(this);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.input;
+
+import com.google.gson.Gson;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.plugin.successfactors.common.util.SuccessFactorsUtil;
+import io.cdap.plugin.successfactors.source.SuccessFactorsSource;
+import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
+import io.cdap.plugin.successfactors.source.service.SuccessFactorsService;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.Counters;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.StatusReporter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.JobContextImpl;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SuccessFactorsSimulatorTest {
+
+  private static final long ROW_COUNT = 12_345L;
+
+  private SuccessFactorsSimulator simulator;
+  private final Counters counters = new Counters();
+
+  @Before
+  public void setUp() {
+    simulator = SuccessFactorsSimulator.builder()
+      .rowCount(ROW_COUNT)
+      .serverPageSize(1000)
+      .columns(SuccessFactorsSimulator.ColumnType.STRING, 1)
+      .columns(SuccessFactorsSimulator.ColumnType.DECIMAL, 1)
+      .build()
+      .start();
+  }
+
+  @After
+  public void tearDown() {
+    simulator.close();
+  }
+
+  @Test
+  public void testClientSideSplitsReadEveryRowOnce() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = buildPluginConfigBuilder()
+      .paginationType("clientSide")
+      .setBatchSize(500L)
+      .setTargetSplitCount(4)
+      .setParallelPageRequests(2)
+      .build();
+
+    List<Long> ids = read(pluginConfig, false);
+
+    assertEveryRowOnce(ids);
+  }
+
+  @Test
+  public void testServerSidePagesReadEveryRowOnce() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = buildPluginConfigBuilder()
+      .paginationType("serverSide")
+      .build();
+
+    List<Long> ids = read(pluginConfig, true);
+
+    assertEveryRowOnce(ids);
+  }
+
+  private SuccessFactorsPluginConfig.Builder buildPluginConfigBuilder() {
+    return SuccessFactorsPluginConfig.builder()
+      .referenceName("simulator")
+      .baseURL(simulator.getServiceUrl())
+      .entityName(simulator.getEntityName())
+      .username("simulator")
+      .password("simulator")
+      .authType("basicAuth");
+  }
+
+  private static void assertEveryRowOnce(List<Long> ids) {
+    Assert.assertEquals(ROW_COUNT, ids.size());
+    Collections.sort(ids);
+    for (int row = 0; row < ROW_COUNT; row++) {
+      Assert.assertEquals("Row is missing or read twice.", row, ids.get(row).longValue());
+    }
+  }
+
+  /**
+   * Reads all the splits of the entity as a pipeline run does, see {@code SuccessFactorsSource}.
+   *
+   * @return ids of the records read
+   */
+  private List<Long> read(SuccessFactorsPluginConfig pluginConfig, boolean serverSide) throws Exception {
+    SuccessFactorsService successFactorsService = SuccessFactorsUtil.getSuccessFactorsService(pluginConfig);
+    List<SuccessFactorsInputSplit> partitions = serverSide
+      ? Collections.singletonList(new SuccessFactorsInputSplit())
+      : new SuccessFactorsPartitionBuilder(pluginConfig.getTargetSplitCount(), pluginConfig.getSplitSize(),
+                                           pluginConfig.getBatchSize(), 0L)
+      .buildSplits(successFactorsService.getTotalAvailableRowCount());
+
+    Gson gson = new Gson();
+    Configuration configuration = new Configuration(false);
+    configuration.set(SuccessFactorsInputFormat.SUCCESSFACTORS_PLUGIN_PROPERTIES, gson.toJson(pluginConfig));
+    configuration.set(SuccessFactorsInputFormat.PARTITIONS_PROPERTY, gson.toJson(partitions));
+    configuration.set(SuccessFactorsSource.OUTPUT_SCHEMA, successFactorsService.buildOutputSchema().toString());
+    configuration.set(SuccessFactorsInputFormat.ENCODED_ENTITY_METADATA_STRING,
+                      successFactorsService.getEncodedServiceMetadata());
+
+    StatusReporter reporter = Mockito.mock(StatusReporter.class);
+    Mockito.when(reporter.getCounter(Mockito.anyString(), Mockito.anyString()))
+      .thenAnswer(invocation -> counters.findCounter(invocation.<String>getArgument(0),
+                                                     invocation.<String>getArgument(1)));
+    SuccessFactorsInputFormat inputFormat = new SuccessFactorsInputFormat();
+    List<InputSplit> splits = inputFormat.getSplits(new JobContextImpl(configuration, new JobID()));
+    Assert.assertEquals(partitions.size(), splits.size());
+
+    List<Long> ids = new ArrayList<>();
+    for (InputSplit split : splits) {
+      TaskAttemptContext taskContext = new TaskAttemptContextImpl(configuration, new TaskAttemptID(), reporter);
+      try (RecordReader<LongWritable, StructuredRecord> reader = inputFormat.createRecordReader(split, taskContext)) {
+        reader.initialize(split, taskContext);
+        while (reader.nextKeyValue()) {
+          Number id = reader.getCurrentValue().get(SuccessFactorsSimulator.KEY_COLUMN);
+          ids.add(id.longValue());
+        }
+      }
+    }
+    return ids;
+  }
+}
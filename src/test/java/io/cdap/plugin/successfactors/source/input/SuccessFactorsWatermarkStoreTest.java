@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.successfactors.source.input;
+
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+public class SuccessFactorsWatermarkStoreTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  private SuccessFactorsWatermarkStore watermarkStore;
+
+  @Before
+  public void setUp() throws IOException {
+    watermarkStore = new SuccessFactorsWatermarkStore(temporaryFolder.newFolder().getAbsolutePath(),
+                                                      new Configuration());
+  }
+
+  @Test
+  public void testReadWithoutWatermark() throws IOException {
+    Assert.assertNull(watermarkStore.read("referenceName", "EmpJob", "lastModifiedDateTime"));
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    watermarkStore.write("referenceName", "EmpJob", "lastModifiedDateTime", "datetimeoffset'2024-01-01T00:00:00Z'");
+    watermarkStore.write("referenceName", "EmpJob", "lastModifiedDateTime", "datetimeoffset'2024-02-01T00:00:00Z'");
+    watermarkStore.write("referenceName", "PerPerson", "lastModifiedDateTime", "datetime'2023-01-01T00:00'");
+
+    Assert.assertEquals("datetimeoffset'2024-02-01T00:00:00Z'",
+                        watermarkStore.read("referenceName", "EmpJob", "lastModifiedDateTime"));
+    Assert.assertEquals("datetime'2023-01-01T00:00'",
+                        watermarkStore.read("referenceName", "PerPerson", "lastModifiedDateTime"));
+    Assert.assertNull(watermarkStore.read("otherReferenceName", "EmpJob", "lastModifiedDateTime"));
+  }
+
+  @Test
+  public void testReadWatermarkOfOtherColumn() throws IOException {
+    watermarkStore.write("referenceName", "EmpJob", "lastModifiedDateTime", "datetimeoffset'2024-01-01T00:00:00Z'");
+
+    Assert.assertNull(watermarkStore.read("referenceName", "EmpJob", "createdDateTime"));
+  }
+}
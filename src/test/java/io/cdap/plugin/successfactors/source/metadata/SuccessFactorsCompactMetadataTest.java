@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.metadata;
+
+import com.google.common.io.ByteStreams;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
+import org.apache.olingo.odata2.api.edm.Edm;
+import org.apache.olingo.odata2.api.edm.EdmEntitySet;
+import org.apache.olingo.odata2.api.edm.EdmMultiplicity;
+import org.apache.olingo.odata2.api.edm.EdmNavigationProperty;
+import org.apache.olingo.odata2.api.ep.EntityProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SuccessFactorsCompactMetadataTest {
+
+  private static final String EXPAND_OPTION = "picklistOptions/picklistLabels";
+
+  @Test
+  public void testEntityWithoutExpand() throws Exception {
+    byte[] metadata = readResource("successfactors-metadata3.xml");
+    String encodedMetadata = SuccessFactorsCompactMetadata.encode(metadata, "Picklist", null);
+    Edm edm = readMetadata(SuccessFactorsCompactMetadata.decode(encodedMetadata));
+
+    Assert.assertEquals(1, getEntitySetNames(edm).size());
+    SuccessFactorsEntityProvider serviceHelper = new SuccessFactorsEntityProvider(edm);
+    Assert.assertEquals(new SuccessFactorsEntityProvider(readMetadata(metadata)).getEntityType("Picklist")
+                          .getPropertyNames(), serviceHelper.getEntityType("Picklist").getPropertyNames());
+    // the deferred navigation property keeps its association
+    EdmNavigationProperty navigationProperty =
+      (EdmNavigationProperty) serviceHelper.getEntityType("Picklist").getProperty("picklistOptions");
+    Assert.assertEquals(EdmMultiplicity.MANY, navigationProperty.getMultiplicity());
+    Assert.assertTrue(encodedMetadata.length() < Base64.getEncoder().encodeToString(metadata).length() / 5);
+  }
+
+  @Test
+  public void testEntityWithExpand() throws Exception {
+    byte[] metadata = readResource("successfactors-metadata3.xml");
+    String encodedMetadata = SuccessFactorsCompactMetadata.encode(metadata, "Picklist", "picklistOptions");
+    Edm edm = readMetadata(SuccessFactorsCompactMetadata.decode(encodedMetadata));
+
+    List<String> entitySetNames = getEntitySetNames(edm);
+    Assert.assertEquals(2, entitySetNames.size());
+    Assert.assertTrue(entitySetNames.contains("PicklistOption"));
+    Assert.assertFalse(entitySetNames.contains("PicklistLabel"));
+  }
+
+  @Test
+  public void testExpandedSchemaIsPreserved() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = SuccessFactorsPluginConfig.builder()
+      .baseURL("baseUrl")
+      .entityName("Picklist")
+      .associateEntityName("PicklistOption,PicklistLabel")
+      .expandOption(EXPAND_OPTION)
+      .username("username")
+      .password("password")
+      .paginationType("serverSide").build();
+    byte[] metadata = readResource("successfactors-metadata3.xml");
+    String encodedMetadata = SuccessFactorsCompactMetadata.encode(metadata, "Picklist", EXPAND_OPTION);
+    Edm edm = readMetadata(SuccessFactorsCompactMetadata.decode(encodedMetadata));
+
+    Assert.assertEquals(3, getEntitySetNames(edm).size());
+    Assert.assertEquals(buildExpandOutputSchema(readMetadata(metadata), pluginConfig),
+                        buildExpandOutputSchema(edm, pluginConfig));
+  }
+
+  @Test
+  public void testUnknownEntityKeepsDocument() throws Exception {
+    byte[] metadata = readResource("successfactors-metadata3.xml");
+    String encodedMetadata = SuccessFactorsCompactMetadata.encode(metadata, "Unknown", null);
+
+    Assert.assertEquals(3, getEntitySetNames(readMetadata(SuccessFactorsCompactMetadata.decode(encodedMetadata)))
+      .size());
+  }
+
+  @Test
+  public void testDecodePlainDocument() throws Exception {
+    byte[] metadata = readResource("successfactors-metadata2.xml");
+    String encodedMetadata = Base64.getEncoder().encodeToString(metadata);
+
+    Assert.assertArrayEquals(metadata, SuccessFactorsCompactMetadata.decode(encodedMetadata));
+  }
+
+  @Test(expected = IOException.class)
+  public void testEncodeInvalidDocument() throws Exception {
+    SuccessFactorsCompactMetadata.encode("{50}".getBytes(StandardCharsets.UTF_8), "Picklist", null);
+  }
+
+  private static String buildExpandOutputSchema(Edm edm, SuccessFactorsPluginConfig pluginConfig) throws Exception {
+    return describe(new SuccessFactorsSchemaGenerator(new SuccessFactorsEntityProvider(edm))
+                      .buildExpandOutputSchema(pluginConfig.getEntityName(), pluginConfig.getExpandOption(),
+                                               pluginConfig.getAssociatedEntityName(), pluginConfig));
+  }
+
+  /**
+   * Describes the field names and types of the given schema, leaving out the record names which are random for the
+   * nested records.
+   */
+  private static String describe(Schema schema) {
+    switch (schema.getType()) {
+      case RECORD:
+        StringBuilder fields = new StringBuilder("{");
+        for (Schema.Field field : schema.getFields()) {
+          fields.append(field.getName()).append(':').append(describe(field.getSchema())).append(',');
+        }
+        return fields.append('}').toString();
+      case ARRAY:
+        return "[" + describe(schema.getComponentSchema()) + "]";
+      case UNION:
+        return schema.getUnionSchemas().stream().map(SuccessFactorsCompactMetadataTest::describe)
+          .collect(Collectors.joining("|"));
+      default:
+        return schema.toString();
+    }
+  }
+
+  private static List<String> getEntitySetNames(Edm edm) throws Exception {
+    List<String> entitySetNames = new ArrayList<>();
+    for (EdmEntitySet entitySet : edm.getEntitySets()) {
+      entitySetNames.add(entitySet.getName());
+    }
+    return entitySetNames;
+  }
+
+  private static Edm readMetadata(byte[] metadata) throws Exception {
+    return EntityProvider.readMetadata(new ByteArrayInputStream(metadata), false);
+  }
+
+  private static byte[] readResource(String resourceName) throws IOException {
+    try (InputStream stream = TestSuccessFactorsUtil.readResource(resourceName)) {
+      return ByteStreams.toByteArray(stream);
+    }
+  }
+}
@@ -16,6 +16,8 @@
 package io.cdap.plugin.successfactors.source.metadata;
 
 import com.google.gson.Gson;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.plugin.successfactors.common.exception.proto.SuccessFactorsError;
 import org.junit.Assert;
 import org.junit.Test;
@@ -24,6 +26,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -42,6 +46,39 @@ public class TestSuccessFactorsUtil {
     return null;
   }
 
+  /**
+   * Asserts that both record lists hold the same values, comparing nested records, arrays and bytes by content.
+   */
+  public static void assertRecordsEqual(List<StructuredRecord> expected, List<StructuredRecord> actual) {
+    Assert.assertEquals("Record count is not matching", expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertValueEquals("record[" + i + "]", expected.get(i), actual.get(i));
+    }
+  }
+
+  private static void assertValueEquals(String path, @Nullable Object expected, @Nullable Object actual) {
+    if (expected instanceof StructuredRecord && actual instanceof StructuredRecord) {
+      StructuredRecord expectedRecord = (StructuredRecord) expected;
+      StructuredRecord actualRecord = (StructuredRecord) actual;
+      Assert.assertEquals(path, expectedRecord.getSchema(), actualRecord.getSchema());
+      for (Schema.Field field : expectedRecord.getSchema().getFields()) {
+        assertValueEquals(path + "." + field.getName(), expectedRecord.get(field.getName()),
+                          actualRecord.get(field.getName()));
+      }
+    } else if (expected instanceof List && actual instanceof List) {
+      List<?> expectedList = (List<?>) expected;
+      List<?> actualList = (List<?>) actual;
+      Assert.assertEquals(path, expectedList.size(), actualList.size());
+      for (int i = 0; i < expectedList.size(); i++) {
+        assertValueEquals(path + "[" + i + "]", expectedList.get(i), actualList.get(i));
+      }
+    } else if (expected instanceof byte[] && actual instanceof byte[]) {
+      Assert.assertTrue(path, Arrays.equals((byte[]) expected, (byte[]) actual));
+    } else {
+      Assert.assertEquals(path, expected, actual);
+    }
+  }
+
   @Test
   public void testSuccessFactorsErrorStructure() {
     String errorJson = TestSuccessFactorsUtil.convertInputStreamToString(TestSuccessFactorsUtil
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cdap.plugin.successfactors.source.metadata.TestSuccessFactorsUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public class SuccessFactorsExpandedEntityFilterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void testFilterExpandedCollection() throws IOException {
+    String page = "{\"d\": {\"results\": [{" +
+      "\"__metadata\": {\"uri\": \"p1\"}, \"picklistId\": \"hrRanking\"," +
+      "\"status\": {\"__deferred\": {\"uri\": \"s1\"}}," +
+      "\"picklistOptions\": {\"results\": [{" +
+      "  \"__metadata\": {\"uri\": \"o1\"}, \"id\": \"663469\", \"sortOrder\": 1, \"tags\": [1, 2]," +
+      "  \"parentPicklistOption\": {\"__deferred\": {\"uri\": \"o1/parent\"}}," +
+      "  \"picklistLabels\": {\"results\": [{" +
+      "    \"__metadata\": {\"uri\": \"l1\"}, \"id\": \"6945840\", \"label\": \"A\"," +
+      "    \"picklistOption\": {\"__deferred\": {\"uri\": \"l1/option\"}}}]}" +
+      "}]}}], \"__next\": \"next\"}}";
+    String expected = "{\"d\": {\"results\": [{" +
+      "\"__metadata\": {\"uri\": \"p1\"}, \"picklistId\": \"hrRanking\"," +
+      "\"status\": {\"__deferred\": {\"uri\": \"s1\"}}," +
+      "\"picklistOptions\": {\"results\": [{" +
+      "  \"id\": \"663469\", \"sortOrder\": 1," +
+      "  \"picklistLabels\": {\"results\": [{\"id\": \"6945840\", \"label\": \"A\"}]}" +
+      "}]}}], \"__next\": \"next\"}}";
+
+    Assert.assertEquals(objectMapper.readTree(expected),
+                        objectMapper.readTree(filter(page, Collections.singleton("picklistOptions"))));
+  }
+
+  @Test
+  public void testFilterSingleExpandedEntity() throws IOException {
+    String page = "{\"d\": {\"results\": [{\"userId\": \"107030\"," +
+      "\"personNav\": {\"__metadata\": {\"uri\": \"n1\"}, \"personId\": \"42\"," +
+      "  \"emailNav\": {\"__deferred\": {\"uri\": \"n1/email\"}}}}]}}";
+    String expected = "{\"d\": {\"results\": [{\"userId\": \"107030\", \"personNav\": {\"personId\": \"42\"}}]}}";
+
+    Assert.assertEquals(objectMapper.readTree(expected),
+                        objectMapper.readTree(filter(page, Collections.singleton("personNav"))));
+  }
+
+  @Test
+  public void testFilterLargePageByteByByte() throws IOException {
+    StringBuilder page = new StringBuilder("{\"d\": {\"results\": [");
+    StringBuilder expected = new StringBuilder("{\"d\": {\"results\": [");
+    for (int i = 0; i < 1000; i++) {
+      String separator = i == 0 ? "" : ",";
+      page.append(separator).append("{\"userId\": \"").append(i).append("\", \"personNav\": {")
+        .append("\"__metadata\": {\"uri\": \"n").append(i).append("\"}, \"personId\": ").append(i).append("}}");
+      expected.append(separator).append("{\"userId\": \"").append(i).append("\", \"personNav\": {\"personId\": ")
+        .append(i).append("}}");
+    }
+    page.append("]}}");
+    expected.append("]}}");
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (InputStream filtered = new SuccessFactorsExpandedEntityFilter(
+      new ByteArrayInputStream(page.toString().getBytes(StandardCharsets.UTF_8)), Collections.singleton("personNav"))) {
+      int value;
+      while ((value = filtered.read()) != -1) {
+        output.write(value);
+      }
+    }
+    Assert.assertEquals(objectMapper.readTree(expected.toString()), objectMapper.readTree(output.toByteArray()));
+  }
+
+  @Test
+  public void testFilterAssociatedEntityPage() throws IOException {
+    String filtered = filter(TestSuccessFactorsUtil.convertInputStreamToString(
+      TestSuccessFactorsUtil.readResource("successfactors-data1.json")), Collections.singleton("picklistOptions"));
+
+    Assert.assertFalse(filtered.contains("parentPicklistOption"));
+    Assert.assertFalse(filtered.contains("PicklistOption(663469L)"));
+    Assert.assertTrue(filtered.contains("\"label\":\"A\""));
+    Assert.assertTrue(filtered.contains("Picklist('hrRanking')"));
+  }
+
+  @Test
+  public void testGetExpandFields() {
+    Assert.assertEquals(new HashSet<>(Arrays.asList("Products", "Category")),
+                        SuccessFactorsService.getExpandFields("Products/Suppliers, Category"));
+    Assert.assertEquals(Collections.singleton("personNav"), SuccessFactorsService.getExpandFields("personNav"));
+  }
+
+  private static String filter(String page, Set<String> expandFields) throws IOException {
+    try (InputStream filtered = new SuccessFactorsExpandedEntityFilter(
+      new ByteArrayInputStream(page.getBytes(StandardCharsets.UTF_8)), expandFields)) {
+      return TestSuccessFactorsUtil.convertInputStreamToString(filtered);
+    }
+  }
+}
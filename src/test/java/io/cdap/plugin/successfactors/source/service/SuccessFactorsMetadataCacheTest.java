@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.service;
+
+import com.google.common.io.ByteStreams;
+import io.cdap.plugin.successfactors.connector.SuccessFactorsConnectorConfig;
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsResponseContainer;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SuccessFactorsMetadataCacheTest {
+
+  private static final String SCOPE = "basicAuth\ntest";
+  private static final String ETAG = "W/\"v1\"";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  private final AtomicLong clock = new AtomicLong(1_000_000L);
+  private final List<Map<String, String>> requests = new ArrayList<>();
+
+  @Test
+  public void testFreshDocumentIsNotRevalidated() throws Exception {
+    SuccessFactorsMetadataCache cache = newCache(1024);
+    URL url = new URL("http://localhost/odata/v2/Entity/$metadata");
+
+    Assert.assertEquals("v1", read(cache.getMetadata(url, SCOPE, null, respond(200, "v1", ETAG))));
+    clock.addAndGet(SuccessFactorsMetadataCache.DEFAULT_FRESHNESS_MILLIS - 1);
+    Assert.assertEquals("v1", read(cache.getMetadata(url, SCOPE, null, respond(200, "v2", ETAG))));
+    Assert.assertEquals(1, requests.size());
+    Assert.assertTrue(requests.get(0).isEmpty());
+  }
+
+  @Test
+  public void testNotModifiedDocumentIsReused() throws Exception {
+    SuccessFactorsMetadataCache cache = newCache(1024);
+    URL url = new URL("http://localhost/odata/v2/Entity/$metadata");
+
+    cache.getMetadata(url, SCOPE, null, respond(200, "v1", ETAG)).close();
+    clock.addAndGet(SuccessFactorsMetadataCache.DEFAULT_FRESHNESS_MILLIS);
+    Assert.assertEquals("v1", read(cache.getMetadata(url, SCOPE, null, respond(304, "", ETAG))));
+    Assert.assertEquals(ETAG, requests.get(1).get(SuccessFactorsMetadataCache.IF_NONE_MATCH));
+
+    // revalidated, fresh again
+    Assert.assertEquals("v1", read(cache.getMetadata(url, SCOPE, null, respond(200, "v2", ETAG))));
+    Assert.assertEquals(2, requests.size());
+  }
+
+  @Test
+  public void testModifiedDocumentIsReplaced() throws Exception {
+    SuccessFactorsMetadataCache cache = newCache(1024);
+    URL url = new URL("http://localhost/odata/v2/Entity/$metadata");
+
+    cache.getMetadata(url, SCOPE, null, respond(200, "v1", ETAG)).close();
+    clock.addAndGet(SuccessFactorsMetadataCache.DEFAULT_FRESHNESS_MILLIS);
+    Assert.assertEquals("v2", read(cache.getMetadata(url, SCOPE, null, respond(200, "v2", "W/\"v2\""))));
+    Assert.assertEquals("v2", read(cache.getMetadata(url, SCOPE, null, respond(200, "v3", "W/\"v3\""))));
+    Assert.assertEquals(2, requests.size());
+  }
+
+  @Test
+  public void testErrorResponseIsNotCached() throws Exception {
+    SuccessFactorsMetadataCache cache = newCache(1024);
+    URL url = new URL("http://localhost/odata/v2/Entity/$metadata");
+
+    Assert.assertEquals("denied", read(cache.getMetadata(url, SCOPE, null, respond(401, "denied", null))));
+    Assert.assertEquals("v1", read(cache.getMetadata(url, SCOPE, null, respond(200, "v1", null))));
+    Assert.assertEquals(2, requests.size());
+    Assert.assertTrue(requests.get(1).isEmpty());
+  }
+
+  @Test
+  public void testCredentialScopesAreSeparated() throws Exception {
+    SuccessFactorsMetadataCache cache = newCache(1024);
+    URL url = new URL("http://localhost/odata/v2/Entity/$metadata");
+
+    cache.getMetadata(url, SCOPE, null, respond(200, "v1", ETAG)).close();
+    Assert.assertEquals("other", read(cache.getMetadata(url, "basicAuth\nother", null,
+                                                        respond(200, "other", ETAG))));
+    Assert.assertEquals(2, requests.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedDocumentIsEvicted() throws Exception {
+    SuccessFactorsMetadataCache cache = newCache(10);
+    URL first = new URL("http://localhost/odata/v2/First/$metadata");
+    URL second = new URL("http://localhost/odata/v2/Second/$metadata");
+    URL third = new URL("http://localhost/odata/v2/Third/$metadata");
+
+    cache.getMetadata(first, SCOPE, null, respond(200, "1111", null)).close();
+    cache.getMetadata(second, SCOPE, null, respond(200, "2222", null)).close();
+    // first is used again, second is now the least recently used one
+    cache.getMetadata(first, SCOPE, null, respond(200, "xxxx", null)).close();
+    cache.getMetadata(third, SCOPE, null, respond(200, "3333", null)).close();
+    Assert.assertEquals(8, cache.getMemoryBytes());
+    Assert.assertEquals(3, requests.size());
+
+    Assert.assertEquals("1111", read(cache.getMetadata(first, SCOPE, null, respond(200, "yyyy", null))));
+    Assert.assertEquals("2222", read(cache.getMetadata(second, SCOPE, null, respond(200, "2222", null))));
+    Assert.assertEquals(4, requests.size());
+  }
+
+  @Test
+  public void testDocumentIsRevalidatedFromDisk() throws Exception {
+    String directory = temporaryFolder.getRoot().getAbsolutePath();
+    URL url = new URL("http://localhost/odata/v2/Entity/$metadata");
+
+    newCache(1024).getMetadata(url, SCOPE, directory, respond(200, "v1", ETAG)).close();
+    Assert.assertEquals(1, temporaryFolder.getRoot().list().length);
+
+    // e.g. the next pipeline run
+    SuccessFactorsMetadataCache cache = newCache(1024);
+    Assert.assertEquals("v1", read(cache.getMetadata(url, SCOPE, directory, respond(304, "", ETAG))));
+    Assert.assertEquals(ETAG, requests.get(1).get(SuccessFactorsMetadataCache.IF_NONE_MATCH));
+    Assert.assertEquals(1, temporaryFolder.getRoot().list().length);
+  }
+
+  @Test
+  public void testDocumentWithoutValidatorIsNotWrittenToDisk() throws Exception {
+    String directory = temporaryFolder.getRoot().getAbsolutePath();
+    URL url = new URL("http://localhost/odata/v2/Entity/$metadata");
+
+    newCache(1024).getMetadata(url, SCOPE, directory, respond(200, "v1", null)).close();
+    Assert.assertEquals(0, temporaryFolder.getRoot().list().length);
+  }
+
+  @Test
+  public void testDifferentPasswordMissesCache() throws Exception {
+    SuccessFactorsMetadataCache cache = newCache(1024);
+    URL url = new URL("http://localhost/odata/v2/Entity/$metadata");
+    String scope = SuccessFactorsMetadataCache.getCredentialScope(buildBasicAuthConfig("secret"));
+
+    cache.getMetadata(url, scope, null, respond(200, "v1", ETAG)).close();
+    Assert.assertEquals(scope, SuccessFactorsMetadataCache.getCredentialScope(buildBasicAuthConfig("secret")));
+    String otherScope = SuccessFactorsMetadataCache.getCredentialScope(buildBasicAuthConfig("mistyped"));
+    Assert.assertFalse(otherScope.contains("mistyped"));
+    Assert.assertEquals("denied", read(cache.getMetadata(url, otherScope, null, respond(401, "denied", null))));
+    Assert.assertEquals(2, requests.size());
+  }
+
+
+  private SuccessFactorsMetadataCache newCache(long maxMemoryBytes) {
+    return new SuccessFactorsMetadataCache(maxMemoryBytes, SuccessFactorsMetadataCache.DEFAULT_FRESHNESS_MILLIS,
+                                           clock::get);
+  }
+
+  private SuccessFactorsMetadataCache.Fetcher respond(int statusCode, String body, String eTag) {
+    return requestHeaders -> {
+      requests.add(requestHeaders);
+      return SuccessFactorsResponseContainer.builder()
+        .httpStatusCode(statusCode)
+        .httpStatusMsg(statusCode == HttpURLConnection.HTTP_OK ? "OK" : "")
+        .eTag(eTag)
+        .responseStream(body.getBytes(StandardCharsets.UTF_8))
+        .build();
+    };
+  }
+
+  private static SuccessFactorsConnectorConfig buildBasicAuthConfig(String password) {
+    return new SuccessFactorsConnectorConfig("test", password, null, null, null, null, null, null,
+                                             "http://localhost", SuccessFactorsConnectorConfig.BASIC_AUTH, null,
+                                             null, null, null, null, null);
+  }
+
+  private static String read(InputStream stream) throws IOException {
+    try (InputStream input = stream) {
+      return new String(ByteStreams.toByteArray(input), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.apache.olingo.odata2.api.edm.EdmLiteralKind;
+import org.apache.olingo.odata2.api.edm.EdmSimpleType;
+import org.apache.olingo.odata2.api.edm.EdmSimpleTypeKind;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Differential test of the date and time fast path against the Olingo types followed by the former
+ * {@code GregorianCalendar} to {@code ZonedDateTime} conversion.
+ */
+public class SuccessFactorsDateTimeConverterTest {
+
+  private static final String DATETIME = "datetime";
+  private static final String TIMESTAMP = "timestamp";
+  private static final String TIME = "time";
+  private static final Schema SCHEMA = Schema.recordOf(
+    "dates",
+    Schema.Field.of(DATETIME, Schema.nullableOf(Schema.of(Schema.LogicalType.DATETIME))),
+    Schema.Field.of(TIMESTAMP, Schema.nullableOf(Schema.of(Schema.LogicalType.TIMESTAMP_MICROS))),
+    Schema.Field.of(TIME, Schema.nullableOf(Schema.of(Schema.LogicalType.TIME_MICROS))));
+  private static final int VALUE_COUNT = 20_000;
+  // from 1600-01-01 to 2400-01-01
+  private static final long MIN_MILLIS = -11_676_096_000_000L;
+  private static final long MAX_MILLIS = 13_569_465_600_000L;
+
+  private final Random random = new Random(20260101L);
+
+  @Test
+  public void testJsonDateTimeLiterals() throws Exception {
+    List<String> literals = new ArrayList<>();
+    literals.add("/Date(0)/");
+    literals.add("/Date(-1)/");
+    literals.add("/Date(999)/");
+    literals.add("/Date(-86400001)/");
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      literals.add("/Date(" + randomMillis() + ")/");
+    }
+    assertSameAsOlingo(EdmSimpleTypeKind.DateTime, DATETIME, literals);
+  }
+
+  @Test
+  public void testIsoDateTimeLiterals() throws Exception {
+    List<String> literals = new ArrayList<>();
+    literals.add("2020-02-29T23:59");
+    literals.add("1583-01-01T00:00:00");
+    literals.add("9999-12-31T23:59:59");
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("GMT"));
+      calendar.setTimeInMillis(randomMillis());
+      String literal = String.format("%1$tY-%1$tm-%1$tdT%1$tH:%1$tM", calendar);
+      literals.add(i % 2 == 0 ? literal : literal + String.format(":%1$tS", calendar));
+    }
+    assertSameAsOlingo(EdmSimpleTypeKind.DateTime, DATETIME, literals);
+  }
+
+  @Test
+  public void testJsonDateTimeOffsetLiterals() throws Exception {
+    List<String> literals = new ArrayList<>();
+    literals.add("/Date(1618796144000+0000)/");
+    literals.add("/Date(1618796144000)/");
+    literals.add("/Date(0+1439)/");
+    literals.add("/Date(-1-0330)/");
+    literals.add("/Date(1618796144000+1)/");
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      int offset = random.nextInt(24 * 60);
+      String sign = random.nextBoolean() ? "+" : "-";
+      literals.add("/Date(" + randomMillis() + sign + String.format("%04d", offset) + ")/");
+    }
+    assertSameAsOlingo(EdmSimpleTypeKind.DateTimeOffset, TIMESTAMP, literals);
+  }
+
+  @Test
+  public void testTimeLiterals() throws Exception {
+    List<String> literals = new ArrayList<>();
+    literals.add("PT0H");
+    literals.add("PT23H59M59S");
+    literals.add("PT5M");
+    literals.add("PT7S");
+    literals.add("PT1H2S");
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      literals.add(String.format("PT%02dH%02dM%02dS", random.nextInt(24), random.nextInt(60), random.nextInt(60)));
+    }
+    assertSameAsOlingo(EdmSimpleTypeKind.Time, TIME, literals);
+  }
+
+  @Test
+  public void testCalendarValues() {
+    String[] timeZones = {"GMT", "GMT+05:30", "GMT-09:45", "America/New_York", "Europe/Berlin"};
+    SuccessFactorsTransformer.FieldConverter dateTimeConverter =
+      SuccessFactorsTransformer.compileValueConverter(SCHEMA.getField(DATETIME).getSchema());
+    SuccessFactorsTransformer.FieldConverter timestampConverter =
+      SuccessFactorsTransformer.compileValueConverter(SCHEMA.getField(TIMESTAMP).getSchema());
+    SuccessFactorsTransformer.FieldConverter timeConverter =
+      SuccessFactorsTransformer.compileValueConverter(SCHEMA.getField(TIME).getSchema());
+
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone(timeZones[i % timeZones.length]));
+      calendar.setTimeInMillis(randomMillis());
+
+      StructuredRecord.Builder expected = StructuredRecord.builder(SCHEMA);
+      StructuredRecord.Builder actual = StructuredRecord.builder(SCHEMA);
+      expected.setDateTime(DATETIME, calendar.toZonedDateTime().toLocalDateTime());
+      expected.setTimestamp(TIMESTAMP, calendar.toZonedDateTime());
+      expected.setTime(TIME, calendar.toZonedDateTime().toLocalTime());
+      dateTimeConverter.set(actual, DATETIME, calendar);
+      timestampConverter.set(actual, TIMESTAMP, calendar);
+      timeConverter.set(actual, TIME, calendar);
+
+      StructuredRecord expectedRecord = expected.build();
+      StructuredRecord actualRecord = actual.build();
+      for (String field : new String[]{DATETIME, TIMESTAMP, TIME}) {
+        Object expectedValue = expectedRecord.get(field);
+        Object actualValue = actualRecord.get(field);
+        Assert.assertEquals(calendar.toZonedDateTime() + " " + field, expectedValue, actualValue);
+      }
+    }
+  }
+
+  @Test
+  public void testLiteralsLeftToOlingo() {
+    String[] dateTimes = {"/Date(1+0000)/", "/Date()/", "/Date(12)", "2020-02-30T00:00", "2020-01-01T24:00",
+      "1582-10-01T00:00", "2020-01-01T00:00:00.123", "2020-01-01T00:00Z", "2020-1-01T00:00",
+      "/Date(1234567890123456)/"};
+    for (String literal : dateTimes) {
+      Assert.assertEquals(literal, SuccessFactorsDateTimeConverter.NOT_PARSED,
+                          SuccessFactorsDateTimeConverter.parseDateTime(literal));
+    }
+
+    String[] dateTimeOffsets = {"/Date(0+1440)/", "/Date(0+00000)/", "/Date(0+)/", "/Date(0*0000)/",
+      "2020-01-01T00:00Z"};
+    for (String literal : dateTimeOffsets) {
+      Assert.assertEquals(literal, SuccessFactorsDateTimeConverter.NOT_PARSED,
+                          SuccessFactorsDateTimeConverter.parseJsonDate(literal, true));
+    }
+
+    String[] times = {"PT", "PT24H", "PT60M", "PT1.5S", "PT100S", "PT1M1H", "PT1H1H", "P1DT1H", "PT1"};
+    for (String literal : times) {
+      Assert.assertEquals(literal, SuccessFactorsDateTimeConverter.NOT_PARSED,
+                          SuccessFactorsDateTimeConverter.parseTime(literal));
+    }
+  }
+
+  private void assertSameAsOlingo(EdmSimpleTypeKind kind, String fieldName, List<String> literals) throws Exception {
+    EdmSimpleType edmType = kind.getEdmSimpleTypeInstance();
+    Schema fieldSchema = SCHEMA.getField(fieldName).getSchema().getNonNullable();
+    SuccessFactorsDateTimeConverter.LiteralConverter converter =
+      SuccessFactorsDateTimeConverter.forLiteral(kind, fieldSchema);
+    Assert.assertNotNull(converter);
+
+    for (String literal : literals) {
+      GregorianCalendar calendar = (GregorianCalendar) edmType.valueOfString(literal, EdmLiteralKind.JSON, null,
+                                                                             edmType.getDefaultType());
+      StructuredRecord.Builder expected = StructuredRecord.builder(SCHEMA);
+      if (fieldName.equals(DATETIME)) {
+        expected.setDateTime(fieldName, calendar.toZonedDateTime().toLocalDateTime());
+      } else if (fieldName.equals(TIMESTAMP)) {
+        // only the instant is stored, offsets beyond 18 hours have no java.time ZoneOffset
+        expected.setTimestamp(fieldName, calendar.toInstant().atZone(ZoneOffset.UTC));
+      } else {
+        expected.setTime(fieldName, calendar.toZonedDateTime().toLocalTime());
+      }
+
+      StructuredRecord.Builder actual = StructuredRecord.builder(SCHEMA);
+      Assert.assertTrue(literal, converter.set(actual, fieldName, literal));
+      Object expectedValue = expected.build().get(fieldName);
+      Object actualValue = actual.build().get(fieldName);
+      Assert.assertEquals(literal, expectedValue, actualValue);
+    }
+  }
+
+  private long randomMillis() {
+    return MIN_MILLIS + (long) (random.nextDouble() * (MAX_MILLIS - MIN_MILLIS));
+  }
+}
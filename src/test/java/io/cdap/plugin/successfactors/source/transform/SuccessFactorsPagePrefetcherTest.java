@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SuccessFactorsPagePrefetcherTest {
+
+  private static final Schema SCHEMA = Schema.recordOf("page", Schema.Field.of("page", Schema.of(Schema.Type.INT)));
+
+  @Test
+  public void testPagesAreReadInOrder() throws Exception {
+    try (SuccessFactorsPagePrefetcher prefetcher = new SuccessFactorsPagePrefetcher(new CountingSource(5), 2)) {
+      prefetcher.start();
+      for (int i = 1; i <= 5; i++) {
+        List<StructuredRecord> page = prefetcher.nextPage();
+        Assert.assertNotNull(page);
+        Assert.assertEquals(Integer.valueOf(i), page.get(0).get("page"));
+      }
+      Assert.assertNull(prefetcher.nextPage());
+      Assert.assertNull(prefetcher.nextPage());
+    }
+  }
+
+  @Test
+  public void testFetchIsBoundedByPrefetchDepth() throws Exception {
+    CountingSource source = new CountingSource(100);
+    try (SuccessFactorsPagePrefetcher prefetcher = new SuccessFactorsPagePrefetcher(source, 2)) {
+      prefetcher.start();
+      waitForFetchCount(source, 3);
+      TimeUnit.MILLISECONDS.sleep(200);
+      // 2 queued pages and 1 waiting to be queued
+      Assert.assertEquals(3, source.fetchCount.get());
+
+      prefetcher.nextPage();
+      waitForFetchCount(source, 4);
+      TimeUnit.MILLISECONDS.sleep(200);
+      Assert.assertEquals(4, source.fetchCount.get());
+    }
+  }
+
+  @Test
+  public void testFetchErrorIsRethrown() throws Exception {
+    SuccessFactorsPagePrefetcher.PageSource failingSource = new SuccessFactorsPagePrefetcher.PageSource() {
+      private final CountingSource delegate = new CountingSource(10);
+
+      @Override
+      public List<StructuredRecord> fetchNextPage() throws IOException {
+        List<StructuredRecord> page = delegate.fetchNextPage();
+        if (delegate.fetchCount.get() == 2) {
+          throw new IOException("Page fetch failed.");
+        }
+        return page;
+      }
+    };
+
+    try (SuccessFactorsPagePrefetcher prefetcher = new SuccessFactorsPagePrefetcher(failingSource, 3)) {
+      prefetcher.start();
+      Assert.assertNotNull(prefetcher.nextPage());
+      try {
+        prefetcher.nextPage();
+        Assert.fail("Fetch error is expected.");
+      } catch (IOException e) {
+        Assert.assertEquals("Page fetch failed.", e.getMessage());
+      }
+      Assert.assertNull(prefetcher.nextPage());
+    }
+  }
+
+  @Test
+  public void testFetchErrorDoesNotBlockReader() throws Exception {
+    SuccessFactorsPagePrefetcher.PageSource failingSource = () -> {
+      throw new OutOfMemoryError("Java heap space");
+    };
+
+    try (SuccessFactorsPagePrefetcher prefetcher = new SuccessFactorsPagePrefetcher(failingSource, 1)) {
+      prefetcher.start();
+      try {
+        prefetcher.nextPage();
+        Assert.fail("Fetch error is expected.");
+      } catch (IOException e) {
+        Assert.assertTrue(e.getCause() instanceof OutOfMemoryError);
+      }
+      Assert.assertNull(prefetcher.nextPage());
+    }
+  }
+
+  private static void waitForFetchCount(CountingSource source, int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (source.fetchCount.get() < count && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+  }
+
+  private static class CountingSource implements SuccessFactorsPagePrefetcher.PageSource {
+    private final int pageCount;
+    private final AtomicInteger fetchCount = new AtomicInteger();
+
+    private CountingSource(int pageCount) {
+      this.pageCount = pageCount;
+    }
+
+    @Override
+    public List<StructuredRecord> fetchNextPage() {
+      if (fetchCount.get() >= pageCount) {
+        return null;
+      }
+      int page = fetchCount.incrementAndGet();
+      return Collections.singletonList(StructuredRecord.builder(SCHEMA).set("page", page).build());
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SuccessFactorsParallelPageFetcherTest {
+
+  private static final Schema SCHEMA = Schema.recordOf("row", Schema.Field.of("row", Schema.of(Schema.Type.LONG)));
+
+  @Test
+  public void testPagesAreReadInOrder() throws Exception {
+    // the earlier pages take longer, so the later pages are fetched first
+    SuccessFactorsParallelPageFetcher.PageSource source = (offset, count) -> {
+      sleep(200 - offset * 20);
+      return buildPage(offset, count);
+    };
+
+    List<Long> rows = new ArrayList<>();
+    try (SuccessFactorsParallelPageFetcher fetcher = new SuccessFactorsParallelPageFetcher(source, 10, 3, 3)) {
+      fetcher.start();
+      List<StructuredRecord> page;
+      while ((page = fetcher.nextPage()) != null) {
+        for (StructuredRecord record : page) {
+          rows.add(record.get("row"));
+        }
+      }
+      Assert.assertNull(fetcher.nextPage());
+    }
+
+    Assert.assertEquals(10, rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      Assert.assertEquals(Long.valueOf(i), rows.get(i));
+    }
+  }
+
+  @Test
+  public void testFetchIsBoundedByParallelism() throws Exception {
+    AtomicInteger fetchCount = new AtomicInteger();
+    CountDownLatch firstPageFetched = new CountDownLatch(1);
+    SuccessFactorsParallelPageFetcher.PageSource source = (offset, count) -> {
+      fetchCount.incrementAndGet();
+      if (offset == 0) {
+        firstPageFetched.countDown();
+      }
+      return buildPage(offset, count);
+    };
+
+    try (SuccessFactorsParallelPageFetcher fetcher = new SuccessFactorsParallelPageFetcher(source, 100, 1, 2)) {
+      fetcher.start();
+      Assert.assertTrue(firstPageFetched.await(10, TimeUnit.SECONDS));
+      waitForFetchCount(fetchCount, 2);
+      TimeUnit.MILLISECONDS.sleep(200);
+      // pages fetched but not read yet hold their slot
+      Assert.assertEquals(2, fetchCount.get());
+
+      fetcher.nextPage();
+      waitForFetchCount(fetchCount, 3);
+      TimeUnit.MILLISECONDS.sleep(200);
+      Assert.assertEquals(3, fetchCount.get());
+    }
+  }
+
+  @Test
+  public void testWaitingReaderDoesNotExceedParallelism() throws Exception {
+    AtomicInteger fetchCount = new AtomicInteger();
+    CountDownLatch releaseFirstPage = new CountDownLatch(1);
+    SuccessFactorsParallelPageFetcher.PageSource source = (offset, count) -> {
+      fetchCount.incrementAndGet();
+      if (offset == 0) {
+        try {
+          releaseFirstPage.await();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+      return buildPage(offset, count);
+    };
+
+    try (SuccessFactorsParallelPageFetcher fetcher = new SuccessFactorsParallelPageFetcher(source, 100, 1, 2)) {
+      fetcher.start();
+      Thread reader = new Thread(() -> {
+        try {
+          fetcher.nextPage();
+        } catch (IOException | InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      });
+      reader.start();
+      waitForFetchCount(fetchCount, 2);
+      TimeUnit.MILLISECONDS.sleep(200);
+      // the page the reader waits for is still in flight, no further page is fetched
+      Assert.assertEquals(2, fetchCount.get());
+
+      releaseFirstPage.countDown();
+      reader.join(TimeUnit.SECONDS.toMillis(10));
+      waitForFetchCount(fetchCount, 3);
+      TimeUnit.MILLISECONDS.sleep(200);
+      Assert.assertEquals(3, fetchCount.get());
+    }
+  }
+
+  @Test
+  public void testFetchErrorIsRethrown() throws Exception {
+    SuccessFactorsParallelPageFetcher.PageSource source = (offset, count) -> {
+      if (offset == 2) {
+        throw new IOException("Page fetch failed.");
+      }
+      return buildPage(offset, count);
+    };
+
+    try (SuccessFactorsParallelPageFetcher fetcher = new SuccessFactorsParallelPageFetcher(source, 10, 2, 3)) {
+      fetcher.start();
+      Assert.assertNotNull(fetcher.nextPage());
+      try {
+        fetcher.nextPage();
+        Assert.fail("Fetch error is expected.");
+      } catch (IOException e) {
+        Assert.assertEquals("Page fetch failed.", e.getMessage());
+      }
+      Assert.assertNull(fetcher.nextPage());
+    }
+  }
+
+  private static List<StructuredRecord> buildPage(long offset, long count) {
+    List<StructuredRecord> page = new ArrayList<>();
+    for (long row = offset; row < offset + count; row++) {
+      page.add(StructuredRecord.builder(SCHEMA).set("row", row).build());
+    }
+    return page;
+  }
+
+  private static void sleep(long millis) throws IOException {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  private static void waitForFetchCount(AtomicInteger fetchCount, int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (fetchCount.get() < count && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+  }
+}
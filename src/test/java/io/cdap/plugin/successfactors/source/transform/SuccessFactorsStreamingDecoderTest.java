@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SuccessFactorsStreamingDecoderTest {
+
+  private static final Schema CHILD_SCHEMA = Schema.recordOf(
+    "child",
+    Schema.Field.of("id", Schema.of(Schema.Type.LONG)),
+    Schema.Field.of("label", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+
+  private static final Schema SCHEMA = Schema.recordOf(
+    "parent",
+    Schema.Field.of("userId", Schema.of(Schema.Type.STRING)),
+    Schema.Field.of("rank", Schema.nullableOf(Schema.of(Schema.Type.INT))),
+    Schema.Field.of("price", Schema.nullableOf(Schema.decimalOf(15, 2))),
+    Schema.Field.of("manager", Schema.nullableOf(CHILD_SCHEMA)),
+    Schema.Field.of("options", Schema.arrayOf(CHILD_SCHEMA)));
+
+  @Test
+  public void testReadPageWithNextLink() throws IOException {
+    String page = "{\"d\": {\"results\": [" +
+      "{\"__metadata\": {\"uri\": \"u1\"}, \"userId\": \"A\", \"rank\": 1, \"price\": \"10.5\"," +
+      " \"manager\": {\"__deferred\": {\"uri\": \"m1\"}}," +
+      " \"options\": {\"results\": [{\"id\": \"7\", \"label\": \"x\"}, {\"id\": \"8\", \"label\": null}]}," +
+      " \"unknown\": {\"nested\": [1, 2]}}," +
+      "{\"userId\": \"B\", \"manager\": {\"id\": \"9\", \"label\": \"boss\"}}" +
+      "], \"__next\": \"http://localhost/odata/v2/Entity?$skiptoken=2\"}}";
+
+    List<String> nextLinks = new ArrayList<>();
+    List<StructuredRecord> records = new ArrayList<>();
+    try (SuccessFactorsStreamingDecoder decoder = newDecoder(page, nextLinks)) {
+      StructuredRecord record;
+      while ((record = decoder.nextRecord()) != null) {
+        records.add(record);
+      }
+      Assert.assertEquals("http://localhost/odata/v2/Entity?$skiptoken=2", decoder.getNextLink());
+    }
+
+    Assert.assertEquals(1, nextLinks.size());
+    Assert.assertEquals(2, records.size());
+
+    StructuredRecord first = records.get(0);
+    Assert.assertEquals("A", first.get("userId"));
+    Assert.assertEquals(Integer.valueOf(1), first.get("rank"));
+    Assert.assertEquals(new BigDecimal("10.50"), first.getDecimal("price"));
+    Assert.assertNull(first.get("manager"));
+    List<StructuredRecord> options = first.get("options");
+    Assert.assertEquals(2, options.size());
+    Assert.assertEquals(Long.valueOf(7L), options.get(0).get("id"));
+    Assert.assertNull(options.get(1).get("label"));
+
+    StructuredRecord second = records.get(1);
+    Assert.assertNull(second.get("rank"));
+    Assert.assertEquals("boss", second.<StructuredRecord>get("manager").get("label"));
+    Assert.assertTrue(second.<List<StructuredRecord>>get("options").isEmpty());
+  }
+
+  @Test
+  public void testReadEmptyPage() throws IOException {
+    List<String> nextLinks = new ArrayList<>();
+    try (SuccessFactorsStreamingDecoder decoder = newDecoder("{\"d\": {\"results\": []}}", nextLinks)) {
+      Assert.assertNull(decoder.nextRecord());
+      Assert.assertNull(decoder.nextRecord());
+      Assert.assertNull(decoder.getNextLink());
+    }
+    Assert.assertTrue(nextLinks.isEmpty());
+  }
+
+  @Test(expected = IOException.class)
+  public void testInvalidValue() throws IOException {
+    try (SuccessFactorsStreamingDecoder decoder =
+           newDecoder("{\"d\": {\"results\": [{\"userId\": \"A\", \"rank\": \"high\"}]}}", new ArrayList<>())) {
+      decoder.nextRecord();
+    }
+  }
+
+  private static SuccessFactorsStreamingDecoder newDecoder(String page, List<String> nextLinks) throws IOException {
+    return new SuccessFactorsStreamingDecoder(new ByteArrayInputStream(page.getBytes(StandardCharsets.UTF_8)),
+                                              SCHEMA, null, nextLinks::add);
+  }
+}
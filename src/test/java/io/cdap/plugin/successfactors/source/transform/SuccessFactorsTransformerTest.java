@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transform;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.apache.olingo.odata2.api.ep.entry.ODataEntry;
+import org.apache.olingo.odata2.api.ep.feed.ODataDeltaFeed;
+import org.apache.olingo.odata2.core.ep.entry.ODataEntryImpl;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+
+public class SuccessFactorsTransformerTest {
+
+  private static final Schema ADDRESS_SCHEMA =
+    Schema.recordOf("address", Schema.Field.of("city", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+
+  private static final Schema SCHEMA = Schema.recordOf(
+    "User",
+    Schema.Field.of("userId", Schema.of(Schema.Type.STRING)),
+    Schema.Field.of("age", Schema.nullableOf(Schema.of(Schema.Type.INT))),
+    Schema.Field.of("salary", Schema.nullableOf(Schema.decimalOf(10, 2))),
+    Schema.Field.of("hireDate", Schema.nullableOf(Schema.of(Schema.LogicalType.DATETIME))),
+    Schema.Field.of("startTime", Schema.nullableOf(Schema.of(Schema.LogicalType.TIME_MICROS))),
+    Schema.Field.of("lastModified", Schema.nullableOf(Schema.of(Schema.LogicalType.TIMESTAMP_MICROS))),
+    Schema.Field.of("homeAddress", Schema.nullableOf(ADDRESS_SCHEMA)),
+    Schema.Field.of("workAddress", Schema.nullableOf(ADDRESS_SCHEMA)),
+    Schema.Field.of("addresses", Schema.arrayOf(ADDRESS_SCHEMA)),
+    Schema.Field.of("previousAddresses", Schema.arrayOf(ADDRESS_SCHEMA)),
+    Schema.Field.of("emergencyAddresses", Schema.arrayOf(ADDRESS_SCHEMA)));
+
+  @Test
+  public void testBuildCurrentRecord() {
+    GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+    calendar.setTimeInMillis(1_600_000_123_000L);
+
+    // the entries are mocked before stubbing the feed, Mockito does not allow nested stubbing
+    List<ODataEntry> previousEntries = Arrays.asList(address("Bangalore"), address("Pune"));
+    ODataDeltaFeed previousAddresses = Mockito.mock(ODataDeltaFeed.class);
+    Mockito.when(previousAddresses.getEntries()).thenReturn(previousEntries);
+
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("userId", "admin");
+    properties.put("salary", 1234.565d);
+    properties.put("hireDate", calendar);
+    properties.put("startTime", calendar);
+    properties.put("lastModified", calendar);
+    properties.put("homeAddress", address("Walldorf"));
+    properties.put("addresses", new ODataEntryImpl(Collections.singletonMap("city", "Berlin"), null, null, null));
+    properties.put("previousAddresses", previousAddresses);
+    properties.put("notInSchema", "ignored");
+
+    StructuredRecord record = new SuccessFactorsTransformer(SCHEMA).buildCurrentRecord(entry(properties));
+
+    Assert.assertEquals("admin", record.get("userId"));
+    Assert.assertNull(record.get("age"));
+    Assert.assertEquals(new BigDecimal("1234.57"), record.getDecimal("salary"));
+    Assert.assertEquals(LocalDateTime.of(2020, 9, 13, 12, 28, 43), record.getDateTime("hireDate"));
+    Assert.assertEquals(LocalTime.of(12, 28, 43), record.getTime("startTime"));
+    Assert.assertEquals(ZonedDateTime.of(2020, 9, 13, 12, 28, 43, 0, ZoneOffset.UTC).toInstant(),
+                        record.getTimestamp("lastModified").toInstant());
+
+    Assert.assertEquals("Walldorf", record.<StructuredRecord>get("homeAddress").get("city"));
+    Assert.assertNull(record.get("workAddress"));
+    Assert.assertEquals(Collections.singletonList("Berlin"), cities(record.get("addresses")));
+    Assert.assertEquals(Arrays.asList("Bangalore", "Pune"), cities(record.get("previousAddresses")));
+    // navigation entity of 1 to * multiplicity is never null
+    Assert.assertEquals(Collections.emptyList(), record.get("emergencyAddresses"));
+  }
+
+  @Test
+  public void testTransformerIsReusedAcrossRecords() {
+    SuccessFactorsTransformer transformer = new SuccessFactorsTransformer(SCHEMA);
+
+    for (int i = 0; i < 3; i++) {
+      Map<String, Object> properties = new HashMap<>();
+      properties.put("userId", "user" + i);
+      properties.put("age", 20 + i);
+      if (i % 2 == 0) {
+        properties.put("workAddress", address("City " + i));
+      }
+
+      StructuredRecord record = transformer.buildCurrentRecord(entry(properties));
+      Assert.assertEquals("user" + i, record.get("userId"));
+      Assert.assertEquals(Integer.valueOf(20 + i), record.get("age"));
+      if (i % 2 == 0) {
+        Assert.assertEquals("City " + i, record.<StructuredRecord>get("workAddress").get("city"));
+      } else {
+        Assert.assertNull(record.get("workAddress"));
+      }
+    }
+  }
+
+  @Test
+  public void testToDecimal() {
+    BigDecimal decimal = new BigDecimal("1234.56");
+    // already of the field scale
+    Assert.assertSame(decimal, SuccessFactorsTransformer.toDecimal(decimal, 2));
+
+    Object[] values = {new BigDecimal("1234.565"), new BigDecimal("-1234.565"), new BigDecimal("1E+3"),
+      new BigDecimal("0.00"), 1234.565d, -0.005d, 1e20d, 1.5e-7d, 12.5f, 42, 42L, (short) -7, (byte) 3, "99.995"};
+    Random random = new Random(20260101L);
+    List<Object> allValues = new ArrayList<>(Arrays.asList(values));
+    for (int i = 0; i < 10_000; i++) {
+      allValues.add(BigDecimal.valueOf(random.nextLong(), random.nextInt(12)));
+      allValues.add(random.nextDouble() * Math.pow(10, random.nextInt(16)) * (random.nextBoolean() ? 1 : -1));
+      allValues.add(random.nextLong());
+    }
+
+    for (Object value : allValues) {
+      for (int scale : new int[]{0, 2, 5}) {
+        // the former conversion through the string form
+        BigDecimal expected = new BigDecimal(String.valueOf(value)).setScale(scale, RoundingMode.HALF_UP);
+        BigDecimal actual = SuccessFactorsTransformer.toDecimal(value, scale);
+        Assert.assertEquals(value + " " + scale, expected, actual);
+      }
+    }
+  }
+
+  private static ODataEntry address(String city) {
+    return entry(Collections.singletonMap("city", city));
+  }
+
+  private static ODataEntry entry(Map<String, Object> properties) {
+    ODataEntry entry = Mockito.mock(ODataEntry.class);
+    Mockito.when(entry.getProperties()).thenReturn(properties);
+    return entry;
+  }
+
+  private static List<Object> cities(List<StructuredRecord> records) {
+    return Arrays.asList(records.stream().map(record -> record.get("city")).toArray());
+  }
+}
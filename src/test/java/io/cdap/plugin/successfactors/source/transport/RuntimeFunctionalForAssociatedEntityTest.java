@@ -118,6 +118,45 @@ public class RuntimeFunctionalForAssociatedEntityTest {
     }
   }
 
+  @Test
+  public void testKeysetColumnIsSingleKey() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.paginationType("clientSide")
+      .setClientPagination("keyset").build();
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    Assert.assertEquals("picklistId", successFactorsService.getKeysetColumn(edmData));
+  }
+
+  @Test
+  public void testStreamingDecoderMatchesOlingoForAssociatedEntity() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.build();
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    prepareStubForMetadata();
+    prepareStubForRun(pluginConfig);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    List<StructuredRecord> olingoRecords = readRecords(false);
+    List<StructuredRecord> streamedRecords = readRecords(true);
+
+    Assert.assertEquals(1, olingoRecords.size());
+    TestSuccessFactorsUtil.assertRecordsEqual(olingoRecords, streamedRecords);
+  }
+
+  private List<StructuredRecord> readRecords(boolean streamingDecoder) throws Exception {
+    SuccessFactorsRecordReader successFactorsRecordReader =
+      new SuccessFactorsRecordReader(successFactorsService, edmData, pluginSchema, 1L, 1L, 1L, streamingDecoder, 0);
+    successFactorsRecordReader.initialize(null, null);
+    List<StructuredRecord> recordList = new ArrayList<>();
+    while (successFactorsRecordReader.nextKeyValue()) {
+      recordList.add(successFactorsRecordReader.getCurrentValue());
+    }
+    successFactorsRecordReader.close();
+    return recordList;
+  }
+
   private void prepareStubForRun(SuccessFactorsPluginConfig pluginConfig) {
     String expectedBody = TestSuccessFactorsUtil.convertInputStreamToString(TestSuccessFactorsUtil.readResource
       ("successfactors-data1.json"));
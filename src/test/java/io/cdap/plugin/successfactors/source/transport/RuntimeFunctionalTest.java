@@ -53,6 +53,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.GregorianCalendar;
 import java.util.List;
@@ -63,6 +64,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 
@@ -135,6 +137,271 @@ public class RuntimeFunctionalTest {
     }
   }
 
+  @Test
+  public void verifyMetadataNotFetchedPerPage() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.paginationType("clientSide").build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForRun(pluginConfig);
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    // 3 pages of 3 records each
+    SuccessFactorsRecordReader successFactorsRecordReader =
+      new SuccessFactorsRecordReader(successFactorsService, edmData, pluginSchema, 1L, 9L, 3L);
+    successFactorsRecordReader.initialize(null, null);
+    while (successFactorsRecordReader.nextKeyValue()) {
+      successFactorsRecordReader.getCurrentValue();
+    }
+
+    verify(3, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign")));
+    verify(0, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign/$metadata")));
+  }
+
+  @Test
+  public void verifyStreamingDecoderMatchesOlingo() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForRun(pluginConfig);
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    List<StructuredRecord> olingoRecords = readRecords(false);
+    List<StructuredRecord> streamedRecords = readRecords(true);
+
+    Assert.assertEquals(3, olingoRecords.size());
+    TestSuccessFactorsUtil.assertRecordsEqual(olingoRecords, streamedRecords);
+  }
+
+  @Test
+  public void verifyPrefetchedRecordsMatchSequentialRead() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.paginationType("clientSide").build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForRun(pluginConfig);
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    // 3 pages of 3 records each
+    List<StructuredRecord> sequentialRecords = readRecords(1L, 9L, 3L, false, 0);
+    List<StructuredRecord> prefetchedRecords = readRecords(1L, 9L, 3L, false, 2);
+    List<StructuredRecord> prefetchedStreamedRecords = readRecords(1L, 9L, 3L, true, 2);
+
+    Assert.assertEquals(9, sequentialRecords.size());
+    TestSuccessFactorsUtil.assertRecordsEqual(sequentialRecords, prefetchedRecords);
+    TestSuccessFactorsUtil.assertRecordsEqual(sequentialRecords, prefetchedStreamedRecords);
+    verify(9, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign")));
+  }
+
+  @Test
+  public void verifyBatchRequestMatchesSequentialRead() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.paginationType("clientSide").build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForRun(pluginConfig);
+    String pageBody = TestSuccessFactorsUtil.convertInputStreamToString(TestSuccessFactorsUtil.readResource
+      ("successfactors-data.json"));
+    StringBuilder batchResponse = new StringBuilder();
+    for (int page = 0; page < 3; page++) {
+      batchResponse.append("--batchresponse_1\r\n")
+        .append("Content-Type: application/http\r\n")
+        .append("Content-Transfer-Encoding: binary\r\n\r\n")
+        .append("HTTP/1.1 200 OK\r\n")
+        .append("Content-Type: application/json;charset=utf-8\r\n")
+        .append("DataServiceVersion: 2.0\r\n\r\n")
+        .append(pageBody).append("\r\n");
+    }
+    batchResponse.append("--batchresponse_1--\r\n");
+    WireMock.stubFor(WireMock.post(urlPathEqualTo("/odata/v2/$batch"))
+                       .withHeader("Content-Type", WireMock.containing("multipart/mixed; boundary=batch_"))
+                       .willReturn(aResponse()
+                                     .withStatus(202)
+                                     .withHeader("Content-Type", "multipart/mixed; boundary=batchresponse_1")
+                                     .withBody(batchResponse.toString())));
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    // 3 pages of 3 records each, fetched in a single $batch request
+    List<StructuredRecord> sequentialRecords = readRecords(1L, 9L, 3L, true, 0);
+    List<StructuredRecord> batchedRecords = readRecords(1L, 9L, 3L, true, 0, 3);
+    List<StructuredRecord> prefetchedBatchedRecords = readRecords(1L, 9L, 3L, true, 2, 3);
+
+    Assert.assertEquals(9, batchedRecords.size());
+    TestSuccessFactorsUtil.assertRecordsEqual(sequentialRecords, batchedRecords);
+    TestSuccessFactorsUtil.assertRecordsEqual(sequentialRecords, prefetchedBatchedRecords);
+    verify(2, postRequestedFor(urlPathEqualTo("/odata/v2/$batch"))
+      .withRequestBody(WireMock.containing("GET Background_SpecialAssign?%24select="))
+      .withRequestBody(WireMock.containing("&%24top=3 HTTP/1.1"))
+      .withRequestBody(WireMock.containing("&%24skip=3&%24top=3 HTTP/1.1"))
+      .withRequestBody(WireMock.containing("&%24skip=6&%24top=3 HTTP/1.1")));
+    // only the sequential read calls the entity directly
+    verify(3, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign")));
+  }
+
+  @Test
+  public void verifyParallelFetchMatchesSequentialRead() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.paginationType("clientSide").build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForRun(pluginConfig);
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    // 3 pages of 3 records each, up to 2 of them fetched concurrently
+    List<StructuredRecord> sequentialRecords = readRecords(1L, 9L, 3L, false, 0);
+    List<StructuredRecord> parallelRecords = readRecords(1L, 9L, 3L, false, 0, 1, 2);
+    List<StructuredRecord> parallelStreamedRecords = readRecords(1L, 9L, 3L, true, 0, 1, 2);
+
+    Assert.assertEquals(9, parallelRecords.size());
+    TestSuccessFactorsUtil.assertRecordsEqual(sequentialRecords, parallelRecords);
+    TestSuccessFactorsUtil.assertRecordsEqual(sequentialRecords, parallelStreamedRecords);
+    verify(9, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign")));
+    verify(3, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+      .withQueryParam("%24skip", equalTo("6")));
+  }
+
+  @Test
+  public void verifySampledRowBytes() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.paginationType("clientSide").build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForRun(pluginConfig);
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    long pageBytes = TestSuccessFactorsUtil.convertInputStreamToString(TestSuccessFactorsUtil.readResource
+      ("successfactors-data.json")).getBytes(StandardCharsets.UTF_8).length;
+
+    // the sampled page holds 3 records
+    Assert.assertEquals(pageBytes / 3, successFactorsService.getSampledRowBytes(edmData, pluginSchema, 100L));
+    verify(1, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+      .withQueryParam("%24top", equalTo("100")));
+  }
+
+  @Test
+  public void verifyKeysetPaginationAdvancesOnLastSeenKey() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.paginationType("clientSide")
+      .setClientPagination("keyset").build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForRun(pluginConfig);
+    // the page after the last record of the data page is empty
+    WireMock.stubFor(WireMock.get(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+                       .withQueryParam("%24filter", equalTo("backgroundElementId gt 130169L"))
+                       .willReturn(WireMock.ok()
+                                     .withHeader(SuccessFactorsTransporter.SERVICE_VERSION, "2.0")
+                                     .withBody("{\"d\": {\"results\": []}}")));
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    edmData = new SuccessFactorsService(pluginConfig, transporter).getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    for (boolean streamingDecoder : new boolean[]{false, true}) {
+      successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+      // unique in the test data, the entity key is composite
+      successFactorsService.setKeysetColumn(edmData, "backgroundElementId");
+      SuccessFactorsRecordReader successFactorsRecordReader =
+        new SuccessFactorsRecordReader(successFactorsService, edmData, pluginSchema, 1L, 3L, 3L, streamingDecoder,
+                                       0, true);
+      successFactorsRecordReader.initialize(null, null);
+      List<StructuredRecord> recordList = new ArrayList<>();
+      while (successFactorsRecordReader.nextKeyValue()) {
+        recordList.add(successFactorsRecordReader.getCurrentValue());
+      }
+      Assert.assertEquals(3, recordList.size());
+    }
+
+    verify(4, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+      .withQueryParam("%24orderby", equalTo("backgroundElementId"))
+      .withQueryParam("%24top", equalTo("3")));
+    verify(2, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+      .withQueryParam("%24filter", equalTo("backgroundElementId gt 130169L")));
+    verify(0, getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+      .withQueryParam("%24skip", WireMock.matching(".*")));
+  }
+
+  @Test
+  public void verifyKeysetColumnMustBeSingleKey() throws Exception {
+    // backgroundElementId is only a part of the composite key of the entity
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.paginationType("clientSide")
+      .setClientPagination("keyset").setPartitionColumn("backgroundElementId").build();
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    exceptionRule.expect(SuccessFactorsServiceException.class);
+    exceptionRule.expectMessage(ResourceConstants.ERR_KEYSET_UNIQUE.getMsgForKeyWithCode(
+      "backgroundElementId", pluginConfig.getEntityName()));
+    successFactorsService.getKeysetColumn(edmData);
+  }
+
+  @Test
+  public void verifyIncrementalFilterBoundsCountAndData() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.setExtractionMode("incremental")
+      .setIncrementalColumn("lastModifiedDate").build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForRun(pluginConfig);
+    WireMock.stubFor(WireMock.get(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+                       .withQueryParam("%24orderby", equalTo("lastModifiedDate desc"))
+                       .willReturn(WireMock.ok()
+                                     .withHeader(SuccessFactorsTransporter.SERVICE_VERSION, "2.0")
+                                     .withBody("{\"d\": {\"results\": [{\"lastModifiedDate\": " +
+                                                 "\"/Date(1618796144000+0000)/\"}]}}")));
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    String highWatermark = successFactorsService.getHighWatermark(edmData, "lastModifiedDate");
+    Assert.assertNotNull(highWatermark);
+    Assert.assertTrue(highWatermark, highWatermark.startsWith("datetimeoffset'2021-04-19T01:35:44"));
+
+    String incrementalFilter = "lastModifiedDate le " + highWatermark;
+    successFactorsService.setIncrementalFilter(incrementalFilter);
+    SuccessFactorsRecordReader successFactorsRecordReader =
+      new SuccessFactorsRecordReader(successFactorsService, edmData, pluginSchema, null, null, null);
+    successFactorsRecordReader.initialize(null, null);
+    while (successFactorsRecordReader.nextKeyValue()) {
+      successFactorsRecordReader.getCurrentValue();
+    }
+    verify(getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+             .withQueryParam("%24filter", equalTo(incrementalFilter))
+             .withQueryParam("paging", equalTo("snapshot")));
+  }
+
+  @Test
+  public void verifyKeyRangeSplitsForServerSidePagination() throws Exception {
+    SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.setNumPartitions(3).setPartitionColumn("userId")
+      .build();
+    prepareStubForMetadata(pluginConfig);
+    prepareStubForPartitionBoundary(3, "gsteward");
+    prepareStubForPartitionBoundary(6, "sfadmin");
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection());
+    successFactorsService = new SuccessFactorsService(pluginConfig, transporter);
+    edmData = successFactorsService.getSuccessFactorsServiceEdm(encodedMetadataString);
+
+    String partitionColumn = successFactorsService.getPartitionColumn(edmData);
+    List<String> boundaries = successFactorsService.getPartitionBoundaries(edmData, partitionColumn, 3, 9L);
+    List<SuccessFactorsInputSplit> splits = new SuccessFactorsPartitionBuilder()
+      .buildKeyRangeSplits(partitionColumn, boundaries);
+
+    Assert.assertEquals(Arrays.asList("'gsteward'", "'sfadmin'"), boundaries);
+    Assert.assertEquals(3, splits.size());
+    verify(getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+             .withQueryParam("%24orderby", equalTo("userId"))
+             .withQueryParam("%24skip", equalTo("3")));
+
+    // every split reads its own key range with snapshot pagination
+    prepareStubForRun(pluginConfig);
+    successFactorsService.setPartitionFilter(splits.get(1).getPartitionFilter());
+    SuccessFactorsRecordReader successFactorsRecordReader =
+      new SuccessFactorsRecordReader(successFactorsService, edmData, pluginSchema, null, null, null);
+    successFactorsRecordReader.initialize(null, null);
+    while (successFactorsRecordReader.nextKeyValue()) {
+      successFactorsRecordReader.getCurrentValue();
+    }
+    verify(getRequestedFor(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+             .withQueryParam("%24filter", equalTo("userId ge 'gsteward' and userId lt 'sfadmin'"))
+             .withQueryParam("paging", equalTo("snapshot")));
+  }
+
   @Test
   public void verifyFailToDecodeMetadataString() throws SuccessFactorsServiceException {
     SuccessFactorsPluginConfig pluginConfig = pluginConfigBuilder.build();
@@ -221,6 +488,36 @@ public class RuntimeFunctionalTest {
     return fieldValue;
   }
 
+  private List<StructuredRecord> readRecords(boolean streamingDecoder) throws Exception {
+    return readRecords(1L, 3L, 3L, streamingDecoder, 0);
+  }
+
+  private List<StructuredRecord> readRecords(long start, long end, long batchSize, boolean streamingDecoder,
+                                             int prefetchDepth) throws Exception {
+    return readRecords(start, end, batchSize, streamingDecoder, prefetchDepth, 1);
+  }
+
+  private List<StructuredRecord> readRecords(long start, long end, long batchSize, boolean streamingDecoder,
+                                             int prefetchDepth, int pagesPerBatchRequest) throws Exception {
+    return readRecords(start, end, batchSize, streamingDecoder, prefetchDepth, pagesPerBatchRequest, 1);
+  }
+
+  private List<StructuredRecord> readRecords(long start, long end, long batchSize, boolean streamingDecoder,
+                                             int prefetchDepth, int pagesPerBatchRequest,
+                                             int parallelPageRequests) throws Exception {
+    SuccessFactorsRecordReader successFactorsRecordReader =
+      new SuccessFactorsRecordReader(successFactorsService, edmData, pluginSchema, start, end, batchSize,
+                                     streamingDecoder, prefetchDepth, false, pagesPerBatchRequest,
+                                     parallelPageRequests);
+    successFactorsRecordReader.initialize(null, null);
+    List<StructuredRecord> recordList = new ArrayList<>();
+    while (successFactorsRecordReader.nextKeyValue()) {
+      recordList.add(successFactorsRecordReader.getCurrentValue());
+    }
+    successFactorsRecordReader.close();
+    return recordList;
+  }
+
   private ODataFeed prepareODataFeed(SuccessFactorsPluginConfig pluginConfig) throws EntityProviderException,
     EdmException {
     try (InputStream metadataStream = TestSuccessFactorsUtil.readResource("successfactors-metadata2.xml");
@@ -235,6 +532,14 @@ public class RuntimeFunctionalTest {
     }
   }
 
+  private void prepareStubForPartitionBoundary(long skip, String userId) {
+    WireMock.stubFor(WireMock.get(urlPathEqualTo("/odata/v2/Background_SpecialAssign"))
+                       .withQueryParam("%24skip", equalTo(String.valueOf(skip)))
+                       .willReturn(WireMock.ok()
+                                     .withHeader(SuccessFactorsTransporter.SERVICE_VERSION, "2.0")
+                                     .withBody("{\"d\": {\"results\": [{\"userId\": \"" + userId + "\"}]}}")));
+  }
+
   private void prepareStubForRun(SuccessFactorsPluginConfig pluginConfig) {
     String expectedBody = TestSuccessFactorsUtil.convertInputStreamToString(TestSuccessFactorsUtil.readResource
       ("successfactors-data.json"));
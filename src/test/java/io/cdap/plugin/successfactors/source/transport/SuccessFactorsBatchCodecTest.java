@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import com.google.common.io.ByteStreams;
+import io.cdap.plugin.successfactors.source.metadata.TestSuccessFactorsUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+public class SuccessFactorsBatchCodecTest {
+
+  private static final String CRLF = "\r\n";
+
+  @Test
+  public void testEncode() {
+    byte[] body = SuccessFactorsBatchCodec.encode("batch_1", Arrays.asList("Entity?%24top=2", "Entity/%24count"),
+                                                  "application/json");
+
+    String expected = "--batch_1" + CRLF
+      + "Content-Type: application/http" + CRLF
+      + "Content-Transfer-Encoding: binary" + CRLF
+      + CRLF
+      + "GET Entity?%24top=2 HTTP/1.1" + CRLF
+      + "Accept: application/json" + CRLF
+      + CRLF
+      + "--batch_1" + CRLF
+      + "Content-Type: application/http" + CRLF
+      + "Content-Transfer-Encoding: binary" + CRLF
+      + CRLF
+      + "GET Entity/%24count HTTP/1.1" + CRLF
+      + "Accept: application/json" + CRLF
+      + CRLF
+      + "--batch_1--" + CRLF;
+    Assert.assertEquals(expected, new String(body, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testDecode() throws IOException {
+    // the first body holds a non ASCII character and a boundary like text which is not at the start of a line
+    String firstBody = "{\"d\": {\"results\": [{\"name\": \"Müller --batchresponse_1\"}]}}";
+    String secondBody = "{\"error\": {\"code\": \"NOT_FOUND\"}}";
+    String response = "--batchresponse_1" + CRLF
+      + "Content-Type: application/http" + CRLF
+      + "Content-Transfer-Encoding: binary" + CRLF
+      + CRLF
+      + "HTTP/1.1 200 OK" + CRLF
+      + "Content-Type: application/json;charset=utf-8" + CRLF
+      + "DataServiceVersion: 2.0" + CRLF
+      + CRLF
+      + firstBody + CRLF
+      + "--batchresponse_1" + CRLF
+      + "Content-Type: application/http" + CRLF
+      + "Content-Transfer-Encoding: binary" + CRLF
+      + CRLF
+      + "HTTP/1.1 404 Not Found" + CRLF
+      + "Content-Type: application/json;charset=utf-8" + CRLF
+      + CRLF
+      + secondBody + CRLF
+      + "--batchresponse_1--" + CRLF;
+
+    List<SuccessFactorsResponseContainer> responses = SuccessFactorsBatchCodec.decode(
+      "multipart/mixed; boundary=batchresponse_1", toStream(response), 2);
+
+    Assert.assertEquals(2, responses.size());
+    Assert.assertEquals(200, responses.get(0).getHttpStatusCode());
+    Assert.assertEquals("OK", responses.get(0).getHttpStatusMsg());
+    Assert.assertEquals("2.0", responses.get(0).getDataServiceVersion());
+    Assert.assertEquals(firstBody,
+                        TestSuccessFactorsUtil.convertInputStreamToString(responses.get(0).getResponseStream()));
+    Assert.assertEquals(404, responses.get(1).getHttpStatusCode());
+    Assert.assertEquals("Not Found", responses.get(1).getHttpStatusMsg());
+    Assert.assertNull(responses.get(1).getDataServiceVersion());
+    Assert.assertEquals(secondBody,
+                        TestSuccessFactorsUtil.convertInputStreamToString(responses.get(1).getResponseStream()));
+  }
+
+  @Test
+  public void testDecodePartLargerThanBuffer() throws IOException {
+    // a body spanning several reads, with line breaks of a single LF
+    StringBuilder body = new StringBuilder("{\"d\": {\"results\": [");
+    for (int i = 0; i < 2000; i++) {
+      body.append(i == 0 ? "" : ",\n").append("{\"id\": ").append(i).append("}");
+    }
+    body.append("]}}");
+    String response = "--batchresponse_1\n"
+      + "Content-Type: application/http\n"
+      + "\n"
+      + "HTTP/1.1 200 OK\n"
+      + "\n"
+      + body + "\n"
+      + "--batchresponse_1--";
+
+    List<SuccessFactorsResponseContainer> responses = SuccessFactorsBatchCodec.decode(
+      "multipart/mixed; boundary=batchresponse_1", toStream(response), 1);
+
+    Assert.assertArrayEquals(body.toString().getBytes(StandardCharsets.UTF_8),
+                             ByteStreams.toByteArray(responses.get(0).getResponseStream()));
+  }
+
+  @Test(expected = IOException.class)
+  public void testDecodeUnterminatedPart() throws IOException {
+    String response = "--batchresponse_1" + CRLF
+      + "Content-Type: application/http" + CRLF
+      + CRLF
+      + "HTTP/1.1 200 OK" + CRLF
+      + CRLF
+      + "{}";
+
+    SuccessFactorsBatchCodec.decode("multipart/mixed; boundary=batchresponse_1", toStream(response), 1);
+  }
+
+  @Test(expected = IOException.class)
+  public void testDecodeMissingPart() throws IOException {
+    String response = "--batchresponse_1" + CRLF
+      + "Content-Type: application/http" + CRLF
+      + CRLF
+      + "HTTP/1.1 200 OK" + CRLF
+      + CRLF
+      + "{}" + CRLF
+      + "--batchresponse_1--" + CRLF;
+
+    SuccessFactorsBatchCodec.decode("multipart/mixed; boundary=batchresponse_1", toStream(response), 2);
+  }
+
+  @Test(expected = IOException.class)
+  public void testDecodeMissingBoundary() throws IOException {
+    SuccessFactorsBatchCodec.decode("application/json", toStream("{}"), 1);
+  }
+
+  private static InputStream toStream(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
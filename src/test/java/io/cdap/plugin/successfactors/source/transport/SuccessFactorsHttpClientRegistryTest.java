@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class SuccessFactorsHttpClientRegistryTest {
+
+  @Before
+  public void setUp() {
+    SuccessFactorsHttpClientRegistry.clear();
+  }
+
+  @After
+  public void tearDown() {
+    SuccessFactorsHttpClientRegistry.clear();
+  }
+
+  @Test
+  public void testSameConfigurationSharesClient() throws IOException {
+    SuccessFactorsTransportOptions options = SuccessFactorsTransportOptions.defaults();
+    OkHttpClient first = SuccessFactorsHttpClientRegistry.getOrCreate(null, null, null, options, OkHttpClient::new);
+    OkHttpClient second = SuccessFactorsHttpClientRegistry.getOrCreate(null, null, null,
+                                                                       SuccessFactorsTransportOptions.defaults(),
+                                                                       OkHttpClient::new);
+
+    Assert.assertSame(first, second);
+    Assert.assertEquals(1, SuccessFactorsHttpClientRegistry.size());
+  }
+
+  @Test
+  public void testDifferentConfigurationUsesNewClient() throws IOException {
+    OkHttpClient defaultClient = SuccessFactorsHttpClientRegistry.getOrCreate(
+      null, null, null, SuccessFactorsTransportOptions.defaults(), OkHttpClient::new);
+    OkHttpClient tunedClient = SuccessFactorsHttpClientRegistry.getOrCreate(
+      null, null, null, SuccessFactorsTransportOptions.builder().connectionPoolSize(10).build(), OkHttpClient::new);
+    OkHttpClient proxyClient = SuccessFactorsHttpClientRegistry.getOrCreate(
+      "http://proxy:8080", null, null, SuccessFactorsTransportOptions.defaults(), OkHttpClient::new);
+
+    Assert.assertNotSame(defaultClient, tunedClient);
+    Assert.assertNotSame(defaultClient, proxyClient);
+    Assert.assertEquals(3, SuccessFactorsHttpClientRegistry.size());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import io.cdap.plugin.successfactors.source.transport.SuccessFactorsReadMetrics.Metric;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class SuccessFactorsReadMetricsTest {
+
+  @Test
+  public void testRecordResponse() {
+    SuccessFactorsReadMetrics metrics = new SuccessFactorsReadMetrics();
+    metrics.recordResponse(200, TimeUnit.MILLISECONDS.toNanos(80));
+    metrics.recordResponse(429, TimeUnit.MILLISECONDS.toNanos(100));
+    metrics.recordResponse(503, TimeUnit.MILLISECONDS.toNanos(101));
+    metrics.recordResponse(200, TimeUnit.SECONDS.toNanos(45));
+    metrics.recordFailure();
+
+    Assert.assertEquals(5, metrics.get(Metric.REQUESTS));
+    Assert.assertEquals(1, metrics.get(Metric.THROTTLED_RESPONSES));
+    Assert.assertEquals(1, metrics.get(Metric.SERVER_ERRORS));
+    Assert.assertEquals(1, metrics.get(Metric.IO_ERRORS));
+    Assert.assertEquals(45_281, metrics.get(Metric.HTTP_LATENCY));
+
+    Map<String, Long> values = metrics.getValues();
+    Assert.assertEquals(Long.valueOf(2), values.get("http.latency.le.100ms"));
+    Assert.assertEquals(Long.valueOf(1), values.get("http.latency.le.250ms"));
+    Assert.assertEquals(Long.valueOf(0), values.get("http.latency.le.30000ms"));
+    Assert.assertEquals(Long.valueOf(1), values.get("http.latency.gt.30000ms"));
+  }
+
+  @Test
+  public void testPublishSkipsZeroValues() {
+    SuccessFactorsReadMetrics metrics = new SuccessFactorsReadMetrics();
+    metrics.add(Metric.RECORDS, 42);
+    metrics.add(Metric.TRANSFORM_TIME, TimeUnit.MILLISECONDS.toNanos(7));
+
+    Map<String, Long> published = new HashMap<>();
+    metrics.publish(published::put);
+
+    Map<String, Long> expected = new HashMap<>();
+    expected.put("records", 42L);
+    expected.put("transform.millis", 7L);
+    Assert.assertEquals(expected, published);
+  }
+
+  @Test
+  public void testMetricsAreKeptPerReader() {
+    SuccessFactorsReadMetrics split1 = new SuccessFactorsReadMetrics();
+    SuccessFactorsReadMetrics split2 = new SuccessFactorsReadMetrics();
+    split1.add(Metric.PAGES, 3);
+    split2.add(Metric.PAGES, 4);
+    split2.increment(Metric.RETRIES);
+
+    Map<String, Long> published = new HashMap<>();
+    split1.publish(published::put);
+    Assert.assertEquals(Collections.singletonMap("pages", 3L), published);
+    Assert.assertEquals(1, split2.get(Metric.RETRIES));
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InterruptedIOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SuccessFactorsRequestLimiterTest {
+
+  private AtomicLong clock;
+  private List<Long> sleeps;
+
+  @Before
+  public void setUp() {
+    clock = new AtomicLong(1_000_000L);
+    sleeps = new ArrayList<>();
+  }
+
+  private SuccessFactorsRequestLimiter newLimiter(int maxRequestsPerSecond, int maxInFlightRequests) {
+    return new SuccessFactorsRequestLimiter(maxRequestsPerSecond, maxInFlightRequests, clock::get, millis -> {
+      sleeps.add(millis);
+      clock.addAndGet(millis);
+    });
+  }
+
+  @Test
+  public void testRequestsPerSecond() throws InterruptedIOException {
+    SuccessFactorsRequestLimiter limiter = newLimiter(2, 0);
+
+    // a burst of up to one second worth of requests is let through right away
+    limiter.acquire().release(200, null);
+    limiter.acquire().release(200, null);
+    Assert.assertTrue(sleeps.isEmpty());
+
+    limiter.acquire().release(200, null);
+    limiter.acquire().release(200, null);
+    Assert.assertEquals(Arrays.asList(500L, 500L), sleeps);
+  }
+
+  @Test
+  public void testThrottledResponseHalvesRequestsInFlight() throws InterruptedIOException {
+    SuccessFactorsRequestLimiter limiter = newLimiter(0, 8);
+    SuccessFactorsRequestLimiter.Permit first = limiter.acquire();
+    SuccessFactorsRequestLimiter.Permit second = limiter.acquire();
+
+    first.release(SuccessFactorsRequestLimiter.HTTP_TOO_MANY_REQUESTS, null);
+    Assert.assertEquals(4, limiter.getConcurrencyLimit());
+    // sent before the decrease, so it does not decrease the limit again
+    second.release(SuccessFactorsRequestLimiter.HTTP_TOO_MANY_REQUESTS, null);
+    Assert.assertEquals(4, limiter.getConcurrencyLimit());
+
+    limiter.acquire().release(503, null);
+    Assert.assertEquals(2, limiter.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testSuccessfulResponsesRestoreRequestsInFlight() throws InterruptedIOException {
+    SuccessFactorsRequestLimiter limiter = newLimiter(0, 4);
+    limiter.acquire().release(SuccessFactorsRequestLimiter.HTTP_TOO_MANY_REQUESTS, null);
+    Assert.assertEquals(2, limiter.getConcurrencyLimit());
+
+    for (int i = 0; i < 3; i++) {
+      limiter.acquire().release(200, null);
+    }
+    Assert.assertEquals(3, limiter.getConcurrencyLimit());
+
+    for (int i = 0; i < 100; i++) {
+      limiter.acquire().release(200, null);
+    }
+    Assert.assertEquals(4, limiter.getConcurrencyLimit());
+  }
+
+  @Test
+  public void testRetryAfterHoldsBackRequests() throws InterruptedIOException {
+    SuccessFactorsRequestLimiter limiter = newLimiter(0, 0);
+
+    limiter.acquire().release(503, "2");
+    limiter.acquire().release(200, null);
+    Assert.assertEquals(Collections.singletonList(2000L), sleeps);
+
+    // the pause is over
+    limiter.acquire().release(200, null);
+    Assert.assertEquals(Collections.singletonList(2000L), sleeps);
+  }
+
+  @Test
+  public void testRetryAfterIsIgnoredOnSuccess() throws InterruptedIOException {
+    SuccessFactorsRequestLimiter limiter = newLimiter(0, 0);
+
+    limiter.acquire().release(200, "2");
+    limiter.acquire().release(200, null);
+    Assert.assertTrue(sleeps.isEmpty());
+  }
+
+  @Test
+  public void testAsyncRequestWaitsForReleasedSlot() throws Exception {
+    SuccessFactorsRequestLimiter limiter = newLimiter(0, 1);
+    SuccessFactorsRequestLimiter.Permit first = limiter.acquireAsync().get(1, TimeUnit.SECONDS);
+    CompletableFuture<SuccessFactorsRequestLimiter.Permit> second = limiter.acquireAsync();
+
+    Assert.assertFalse("Request sent beyond the max requests in flight.", second.isDone());
+    first.release(200, null);
+    second.get(1, TimeUnit.SECONDS).release(200, null);
+    Assert.assertEquals(0, limiter.getInFlight());
+    Assert.assertTrue(sleeps.isEmpty());
+  }
+
+  @Test
+  public void testAsyncRequestIsPacedWithoutSleeping() throws Exception {
+    SuccessFactorsRequestLimiter limiter = newLimiter(10, 0);
+    for (int i = 0; i < 10; i++) {
+      limiter.acquireAsync().get(1, TimeUnit.SECONDS).release(200, null);
+    }
+    CompletableFuture<SuccessFactorsRequestLimiter.Permit> paced = limiter.acquireAsync();
+
+    // the bucket is empty, the permit is handed over by a timer a tenth of a second later
+    Assert.assertFalse(paced.isDone());
+    paced.get(1, TimeUnit.SECONDS).release(200, null);
+    Assert.assertTrue(sleeps.isEmpty());
+  }
+
+  @Test
+  public void testGetRetryAfterMillis() {
+    long now = 1_700_000_000_000L;
+    String httpDate = DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(now + 30_000L)
+                                                                    .atZone(ZoneOffset.UTC));
+
+    Assert.assertEquals(120_000L, SuccessFactorsRequestLimiter.getRetryAfterMillis("120", now));
+    Assert.assertEquals(30_000L, SuccessFactorsRequestLimiter.getRetryAfterMillis(httpDate, now));
+    Assert.assertEquals(0L, SuccessFactorsRequestLimiter.getRetryAfterMillis("soon", now));
+    Assert.assertEquals(0L, SuccessFactorsRequestLimiter.getRetryAfterMillis(null, now));
+  }
+}
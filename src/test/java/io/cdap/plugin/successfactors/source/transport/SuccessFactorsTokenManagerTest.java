@@ -0,0 +1,223 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.successfactors.source.transport;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import io.cdap.plugin.successfactors.common.util.SuccessFactorsAccessToken;
+import io.cdap.plugin.successfactors.connector.SuccessFactorsConnectorConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+public class SuccessFactorsTokenManagerTest {
+
+  private static final long ONE_HOUR = TimeUnit.HOURS.toSeconds(1);
+
+  @Rule
+  public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort());
+
+  private final AtomicLong clock = new AtomicLong(0);
+  private final AtomicInteger fetchCount = new AtomicInteger();
+  private SuccessFactorsTokenManager tokenManager;
+
+  @Before
+  public void setUp() {
+    SuccessFactorsTokenManager.clear();
+    tokenManager = new SuccessFactorsTokenManager(
+      () -> new SuccessFactorsAccessToken.Token("token-" + fetchCount.incrementAndGet(), ONE_HOUR), clock::get);
+  }
+
+  @After
+  public void tearDown() {
+    SuccessFactorsTokenManager.clear();
+  }
+
+  @Test
+  public void testTokenIsReusedUntilRefreshTime() throws IOException {
+    Assert.assertEquals("token-1", tokenManager.getToken());
+    clock.set(TimeUnit.MINUTES.toMillis(50));
+    Assert.assertEquals("token-1", tokenManager.getToken());
+    Assert.assertEquals(1, fetchCount.get());
+  }
+
+  @Test
+  public void testTokenIsRefreshedAheadOfExpiry() throws IOException {
+    tokenManager.getToken();
+    // within the last 5 minutes before the expiry
+    clock.set(TimeUnit.MINUTES.toMillis(57));
+    Assert.assertEquals("token-2", tokenManager.getToken());
+    Assert.assertEquals("token-2", tokenManager.getToken());
+    Assert.assertEquals(2, fetchCount.get());
+  }
+
+  @Test
+  public void testFailedRefreshAheadKeepsValidToken() throws IOException {
+    SuccessFactorsTokenManager failingManager = new SuccessFactorsTokenManager(() -> {
+      if (fetchCount.incrementAndGet() > 1) {
+        throw new IOException("token URL unavailable");
+      }
+      return new SuccessFactorsAccessToken.Token("token-1", ONE_HOUR);
+    }, clock::get);
+
+    failingManager.getToken();
+    clock.set(TimeUnit.MINUTES.toMillis(57));
+    Assert.assertEquals("token-1", failingManager.getToken());
+    Assert.assertEquals(2, fetchCount.get());
+  }
+
+  @Test
+  public void testAsyncTokenIsFetchedOnExecutor() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    CompletableFuture<String> fetched = tokenManager.getTokenAsync(tasks::add);
+
+    // nothing is fetched on the calling thread
+    Assert.assertFalse(fetched.isDone());
+    Assert.assertEquals(1, tasks.size());
+    tasks.get(0).run();
+    Assert.assertEquals("token-1", fetched.get());
+
+    // the valid token is returned right away
+    Assert.assertEquals("token-1", tokenManager.getTokenAsync(tasks::add).get());
+    CompletableFuture<String> refreshed = tokenManager.refreshRejectedAsync("token-1", tasks::add);
+    Assert.assertEquals(2, tasks.size());
+    tasks.get(1).run();
+    Assert.assertEquals("token-2", refreshed.get());
+    Assert.assertEquals(2, fetchCount.get());
+  }
+
+  @Test
+  public void testExpiredTokenIsRefreshed() throws IOException {
+    tokenManager.getToken();
+    clock.set(TimeUnit.HOURS.toMillis(2));
+    Assert.assertEquals("token-2", tokenManager.getToken());
+  }
+
+  @Test
+  public void testTokenWithoutLifetimeIsKeptUntilRejected() throws IOException {
+    SuccessFactorsTokenManager manager = new SuccessFactorsTokenManager(
+      () -> new SuccessFactorsAccessToken.Token("token-" + fetchCount.incrementAndGet(), null), clock::get);
+
+    manager.getToken();
+    clock.set(TimeUnit.DAYS.toMillis(2));
+    Assert.assertEquals("token-1", manager.getToken());
+    Assert.assertEquals("token-2", manager.refreshRejected("token-1"));
+  }
+
+  @Test
+  public void testRejectedTokensAreRefreshedOnce() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    SuccessFactorsTokenManager slowManager = new SuccessFactorsTokenManager(() -> {
+      int count = fetchCount.incrementAndGet();
+      if (count > 1) {
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return new SuccessFactorsAccessToken.Token("token-" + count, ONE_HOUR);
+    }, clock::get);
+    String rejected = slowManager.getToken();
+
+    int callers = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+      List<Future<String>> tokens = new ArrayList<>();
+      for (int i = 0; i < callers; i++) {
+        tokens.add(executor.submit(() -> slowManager.refreshRejected(rejected)));
+      }
+      release.countDown();
+      for (Future<String> token : tokens) {
+        Assert.assertEquals("token-2", token.get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertEquals(2, fetchCount.get());
+  }
+
+  @Test
+  public void testSameCredentialsShareToken() throws IOException {
+    WireMock.stubFor(WireMock.post("/oauth/token")
+                       .willReturn(WireMock.ok()
+                                     .withBody("{\"access_token\": \"abc\", \"token_type\": \"Bearer\", "
+                                                 + "\"expires_in\": 3600}")));
+    String tokenURL = "http://localhost:" + wireMockRule.port() + "/oauth/token";
+
+    String first = SuccessFactorsTokenManager.getInstance(buildConfig(tokenURL)).getToken();
+    String second = SuccessFactorsTokenManager.getInstance(buildConfig(tokenURL)).getToken();
+
+    Assert.assertEquals("abc", first);
+    Assert.assertEquals("abc", second);
+    WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo("/oauth/token"))
+      .withRequestBody(WireMock.containing("company_id=company")));
+  }
+
+  @Test
+  public void testRotatedAssertionTokenIsUsed() throws IOException {
+    WireMock.stubFor(WireMock.post("/oauth/token")
+                       .withRequestBody(WireMock.containing("assertion=rotated"))
+                       .willReturn(WireMock.ok()
+                                     .withBody("{\"access_token\": \"def\", \"token_type\": \"Bearer\", "
+                                                 + "\"expires_in\": 3600}")));
+    WireMock.stubFor(WireMock.post("/oauth/token")
+                       .withRequestBody(WireMock.containing("assertion=assertion"))
+                       .willReturn(WireMock.ok()
+                                     .withBody("{\"access_token\": \"abc\", \"token_type\": \"Bearer\", "
+                                                 + "\"expires_in\": 3600}")));
+    String tokenURL = "http://localhost:" + wireMockRule.port() + "/oauth/token";
+
+    SuccessFactorsTokenManager manager = SuccessFactorsTokenManager.getInstance(buildConfig(tokenURL));
+    Assert.assertEquals("abc", manager.getToken());
+    SuccessFactorsTokenManager rotatedManager =
+      SuccessFactorsTokenManager.getInstance(buildConfig(tokenURL, "rotated"));
+    Assert.assertEquals("def", rotatedManager.getToken());
+    // the manager of the rotated credentials replaced the previous one
+    Assert.assertNotSame(manager, rotatedManager);
+    Assert.assertSame(rotatedManager, SuccessFactorsTokenManager.getInstance(buildConfig(tokenURL, "rotated")));
+    Assert.assertNotSame(manager, SuccessFactorsTokenManager.getInstance(buildConfig(tokenURL)));
+    WireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo("/oauth/token")));
+  }
+
+  private static SuccessFactorsConnectorConfig buildConfig(String tokenURL) {
+    return buildConfig(tokenURL, "assertion");
+  }
+
+  private static SuccessFactorsConnectorConfig buildConfig(String tokenURL, String assertionToken) {
+    return new SuccessFactorsConnectorConfig(null, null, tokenURL, "client", null, null, "user",
+                                             "company", "http://localhost", SuccessFactorsConnectorConfig.OAUTH2,
+                                             SuccessFactorsConnectorConfig.ENTER_TOKEN, null, assertionToken,
+                                             null, null, null);
+  }
+}
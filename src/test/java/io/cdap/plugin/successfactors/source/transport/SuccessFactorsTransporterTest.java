@@ -18,9 +18,12 @@ package io.cdap.plugin.successfactors.source.transport;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import io.cdap.cdap.api.retry.RetryableException;
 import io.cdap.plugin.successfactors.common.exception.TransportException;
 import io.cdap.plugin.successfactors.common.util.ResourceConstants;
+import io.cdap.plugin.successfactors.common.util.SuccessFactorsAccessToken;
+import io.cdap.plugin.successfactors.connector.SuccessFactorsConnectorConfig;
 import io.cdap.plugin.successfactors.source.config.SuccessFactorsPluginConfig;
 import io.cdap.plugin.successfactors.source.metadata.TestSuccessFactorsUtil;
 import io.cdap.plugin.successfactors.source.service.SuccessFactorsService;
@@ -38,14 +41,24 @@ import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSession;
@@ -63,7 +76,9 @@ public class SuccessFactorsTransporterTest {
   @Rule
   public final ExpectedException exception = ExpectedException.none();
   @Rule
-  public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort().dynamicHttpsPort());
+  public WireMockRule wireMockRule = new WireMockRule(wireMockConfig().dynamicPort().dynamicHttpsPort()
+                                                        // responses are only compressed where a test says so
+                                                        .gzipDisabled(true));
   private SuccessFactorsPluginConfig.Builder pluginConfigBuilder;
   private SuccessFactorsTransporter transporter;
   private SuccessFactorsPluginConfig pluginConfig;
@@ -239,6 +254,285 @@ public class SuccessFactorsTransporterTest {
                         response.getHttpStatusCode());
   }
 
+  @Test
+  public void testConditionalMetadataCall() throws TransportException {
+    WireMock.stubFor(WireMock.get("/Entity/$metadata")
+                       .willReturn(WireMock.ok("<edmx/>")
+                                     .withHeader("ETag", "W/\"v1\"")
+                                     .withHeader("Last-Modified", "Wed, 14 Oct 2026 08:00:00 GMT")));
+    WireMock.stubFor(WireMock.get("/Entity/$metadata")
+                       .withHeader("If-None-Match", WireMock.equalTo("W/\"v1\""))
+                       .willReturn(WireMock.aResponse().withStatus(HttpURLConnection.HTTP_NOT_MODIFIED)
+                                     .withHeader("ETag", "W/\"v1\"")));
+
+    String eTag;
+    try (SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactorsWithRetry(successFactorsURL.getMetadataURL(), MediaType.APPLICATION_XML, 1, 2, 2, 2)) {
+      Assert.assertEquals(HttpURLConnection.HTTP_OK, response.getHttpStatusCode());
+      Assert.assertEquals("W/\"v1\"", response.getETag());
+      Assert.assertEquals("Wed, 14 Oct 2026 08:00:00 GMT", response.getLastModified());
+      eTag = response.getETag();
+    }
+
+    // revalidated with the ETag as received, the stub does not compress the responses so it is not rewritten
+    SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactorsWithRetry(successFactorsURL.getMetadataURL(), MediaType.APPLICATION_XML,
+                                   Collections.singletonMap("If-None-Match", eTag), 1, 2, 2, 2);
+    Assert.assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, response.getHttpStatusCode());
+    Assert.assertEquals("W/\"v1\"", response.getETag());
+    WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/Entity/$metadata"))
+      .withHeader("If-None-Match", WireMock.equalTo("W/\"v1\"")));
+  }
+
+  @Test
+  public void testSuccessfulResponseIsStreamed() throws Exception {
+    String expectedBody = "{\"d\": [{\"ID\": 0,\"Name\": \"Bread\"}}]}";
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .willReturn(WireMock.ok()
+                                     .withHeader(SuccessFactorsTransporter.SERVICE_VERSION, "2.0")
+                                     .withBody(expectedBody)));
+    try (SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactors(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, SuccessFactorsService.TEST)) {
+
+      Assert.assertTrue("Successful response body is not streamed.", response.isStreaming());
+      Assert.assertEquals("HTTP response body is not same.",
+                          expectedBody,
+                          TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    }
+  }
+
+  @Test
+  public void testStreamedResponseHoldsRequestPermit() throws Exception {
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .willReturn(WireMock.ok().withBody("{\"d\": []}")));
+    SuccessFactorsRequestLimiter.clear();
+    SuccessFactorsRequestLimiter limiter = SuccessFactorsRequestLimiter.getInstance(
+      pluginConfig.getConnection().getBaseURL(), SuccessFactorsTransportOptions.defaults());
+
+    SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactors(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, SuccessFactorsService.TEST);
+    // the body is still to be read from the connection
+    Assert.assertEquals(1, limiter.getInFlight());
+    response.close();
+    Assert.assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  public void testGzipResponseIsDecompressed() throws Exception {
+    String expectedBody = "{\"d\": [{\"ID\": 0,\"Name\": \"Bread\"}, {\"ID\": 1,\"Name\": \"Bread\"}]}";
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(expectedBody.getBytes(StandardCharsets.UTF_8));
+    }
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .withHeader("Accept-Encoding", WireMock.equalTo("gzip, deflate"))
+                       .willReturn(WireMock.ok()
+                                     .withHeader("Content-Encoding", "gzip")
+                                     .withBody(compressed.toByteArray())));
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection(), SuccessFactorsTransportOptions.builder()
+      .responseCompression(true).build());
+
+    try (SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactors(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, SuccessFactorsService.TEST)) {
+      Assert.assertEquals(expectedBody,
+                          TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    }
+    SuccessFactorsReadMetrics readMetrics = transporter.getReadMetrics();
+    Assert.assertEquals(compressed.size(), readMetrics.get(SuccessFactorsReadMetrics.Metric.WIRE_BYTES));
+    Assert.assertEquals(expectedBody.length(), readMetrics.get(SuccessFactorsReadMetrics.Metric.DECODED_BYTES));
+  }
+
+  @Test
+  public void testDeflateResponseIsDecompressed() throws Exception {
+    String expectedBody = "{\"d\": [{\"ID\": 0,\"Name\": \"Bread\"}]}";
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream out = new DeflaterOutputStream(compressed)) {
+      out.write(expectedBody.getBytes(StandardCharsets.UTF_8));
+    }
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .willReturn(WireMock.ok()
+                                     .withHeader("Content-Encoding", "deflate")
+                                     .withBody(compressed.toByteArray())));
+    transporter = new SuccessFactorsTransporter(pluginConfig.getConnection(), SuccessFactorsTransportOptions.builder()
+      .responseCompression(true).build());
+
+    try (SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactors(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, SuccessFactorsService.TEST)) {
+      Assert.assertEquals(expectedBody,
+                          TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    }
+    Assert.assertEquals(compressed.size(),
+                        transporter.getReadMetrics().get(SuccessFactorsReadMetrics.Metric.WIRE_BYTES));
+  }
+
+  @Test
+  public void testUncompressedResponseBytesAreCounted() throws Exception {
+    String expectedBody = "{\"d\": [{\"ID\": 0,\"Name\": \"Bread\"}]}";
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .willReturn(WireMock.ok().withBody(expectedBody)));
+
+    try (SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactors(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, SuccessFactorsService.TEST)) {
+      Assert.assertEquals(expectedBody,
+                          TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    }
+    // OkHttp asks for gzip on its own, the identity response is read as is and only its decoded size is known
+    WireMock.verify(WireMock.getRequestedFor(WireMock.anyUrl())
+                      .withHeader("Accept-Encoding", WireMock.equalTo("gzip")));
+    SuccessFactorsReadMetrics readMetrics = transporter.getReadMetrics();
+    Assert.assertEquals(0, readMetrics.get(SuccessFactorsReadMetrics.Metric.WIRE_BYTES));
+    Assert.assertEquals(expectedBody.length(), readMetrics.get(SuccessFactorsReadMetrics.Metric.DECODED_BYTES));
+  }
+
+  @Test
+  public void testTooManyRequestsIsRetried() throws Exception {
+    String expectedBody = "{\"d\": [{\"ID\": 0,\"Name\": \"Bread\"}]}";
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .inScenario("throttled")
+                       .whenScenarioStateIs(Scenario.STARTED)
+                       .willReturn(WireMock.status(429).withHeader("Retry-After", "0"))
+                       .willSetStateTo("recovered"));
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .inScenario("throttled")
+                       .whenScenarioStateIs("recovered")
+                       .willReturn(WireMock.ok().withBody(expectedBody)));
+
+    try (SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactorsWithRetry(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, 1, 2, 2, 2)) {
+      Assert.assertEquals(HttpURLConnection.HTTP_OK, response.getHttpStatusCode());
+      Assert.assertEquals(expectedBody,
+                          TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    }
+    WireMock.verify(2, WireMock.getRequestedFor(WireMock.anyUrl()));
+    SuccessFactorsReadMetrics readMetrics = transporter.getReadMetrics();
+    Assert.assertEquals(2, readMetrics.get(SuccessFactorsReadMetrics.Metric.REQUESTS));
+    Assert.assertEquals(1, readMetrics.get(SuccessFactorsReadMetrics.Metric.THROTTLED_RESPONSES));
+    Assert.assertEquals(1, readMetrics.get(SuccessFactorsReadMetrics.Metric.RETRIES));
+    Assert.assertEquals(0, readMetrics.get(SuccessFactorsReadMetrics.Metric.SERVER_ERRORS));
+  }
+
+  @Test
+  public void testCallAsync() throws Exception {
+    String expectedBody = "{\"d\": [{\"ID\": 0,\"Name\": \"Bread\"}]}";
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .inScenario("unavailable")
+                       .whenScenarioStateIs(Scenario.STARTED)
+                       .willReturn(WireMock.serverError())
+                       .willSetStateTo("available"));
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .inScenario("unavailable")
+                       .whenScenarioStateIs("available")
+                       .willReturn(WireMock.ok()
+                                     .withHeader(SuccessFactorsTransporter.SERVICE_VERSION, "2.0")
+                                     .withBody(expectedBody)));
+
+    CompletableFuture<SuccessFactorsResponseContainer> future =
+      transporter.callAsync(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, 1, 2, 2, 2);
+
+    try (SuccessFactorsResponseContainer response = future.get(30, TimeUnit.SECONDS)) {
+      Assert.assertEquals(HttpURLConnection.HTTP_OK, response.getHttpStatusCode());
+      Assert.assertEquals("2.0", response.getDataServiceVersion());
+      Assert.assertTrue("Successful response body is not streamed.", response.isStreaming());
+      Assert.assertEquals(expectedBody,
+                          TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    }
+    WireMock.verify(2, WireMock.getRequestedFor(WireMock.anyUrl()));
+  }
+
+  @Test
+  public void testCallAsyncRetriesExhausted() throws Exception {
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .willReturn(WireMock.serverError()));
+
+    CompletableFuture<SuccessFactorsResponseContainer> future =
+      transporter.callAsync(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, 1, 2, 2, 2);
+    try {
+      future.get(30, TimeUnit.SECONDS);
+      Assert.fail("Expected the call to fail once the retries are exhausted.");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof RetryableException);
+    }
+    WireMock.verify(3, WireMock.getRequestedFor(WireMock.anyUrl()));
+  }
+
+  @Test
+  public void testCallAsyncRefreshesRejectedToken() throws Exception {
+    AtomicInteger fetchCount = new AtomicInteger();
+    SuccessFactorsTokenManager tokenManager = new SuccessFactorsTokenManager(
+      () -> new SuccessFactorsAccessToken.Token("token-" + fetchCount.incrementAndGet(), null),
+      System::currentTimeMillis);
+    new MockUp<SuccessFactorsTokenManager>() {
+      @Mock
+      SuccessFactorsTokenManager getInstance(SuccessFactorsConnectorConfig config) {
+        return tokenManager;
+      }
+    };
+    String expectedBody = "{\"d\": [{\"ID\": 0,\"Name\": \"Bread\"}]}";
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .withHeader("Authorization", WireMock.equalTo("Bearer token-1"))
+                       .willReturn(WireMock.forbidden()));
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .withHeader("Authorization", WireMock.equalTo("Bearer token-2"))
+                       .willReturn(WireMock.ok().withBody(expectedBody)));
+    transporter = new SuccessFactorsTransporter(pluginConfigBuilder.authType("oAuth2").build().getConnection());
+
+    try (SuccessFactorsResponseContainer response = transporter
+      .callAsync(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, 1, 2, 2, 2)
+      .get(30, TimeUnit.SECONDS)) {
+      Assert.assertEquals(HttpURLConnection.HTTP_OK, response.getHttpStatusCode());
+      Assert.assertEquals(expectedBody,
+                          TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    }
+    Assert.assertEquals(2, fetchCount.get());
+    Assert.assertEquals(2, transporter.getReadMetrics().get(SuccessFactorsReadMetrics.Metric.TOKEN_REFRESHES));
+  }
+
+  @Test
+  public void testRejectedTokenIsRefreshed() throws Exception {
+    AtomicInteger fetchCount = new AtomicInteger();
+    SuccessFactorsTokenManager tokenManager = new SuccessFactorsTokenManager(
+      () -> new SuccessFactorsAccessToken.Token("token-" + fetchCount.incrementAndGet(), null),
+      System::currentTimeMillis);
+    new MockUp<SuccessFactorsTokenManager>() {
+      @Mock
+      SuccessFactorsTokenManager getInstance(SuccessFactorsConnectorConfig config) {
+        return tokenManager;
+      }
+    };
+    String expectedBody = "{\"d\": [{\"ID\": 0,\"Name\": \"Bread\"}]}";
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .withHeader("Authorization", WireMock.equalTo("Bearer token-1"))
+                       .willReturn(WireMock.forbidden()));
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .withHeader("Authorization", WireMock.equalTo("Bearer token-2"))
+                       .willReturn(WireMock.ok().withBody(expectedBody)));
+    transporter = new SuccessFactorsTransporter(pluginConfigBuilder.authType("oAuth2").build().getConnection());
+
+    try (SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactorsWithRetry(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, 1, 2, 2, 2)) {
+      Assert.assertEquals(HttpURLConnection.HTTP_OK, response.getHttpStatusCode());
+      Assert.assertEquals(expectedBody,
+                          TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    }
+    Assert.assertEquals(2, fetchCount.get());
+    // the rejected token and the refreshed one
+    Assert.assertEquals(2, transporter.getReadMetrics().get(SuccessFactorsReadMetrics.Metric.TOKEN_REFRESHES));
+  }
+
+  @Test
+  public void testErrorResponseIsBuffered() throws TransportException {
+    String errorBody = "{\"error\": {\"code\": \"COE_GENERAL_BAD_REQUEST\"}}";
+    WireMock.stubFor(WireMock.get("/Entity?%24expand=Products%2FSupplier&%24top=1")
+                       .willReturn(WireMock.badRequest().withBody(errorBody)));
+    SuccessFactorsResponseContainer response = transporter
+      .callSuccessFactors(successFactorsURL.getTesterURL(), MediaType.APPLICATION_JSON, SuccessFactorsService.TEST);
+
+    Assert.assertFalse("Error response body is not buffered.", response.isStreaming());
+    // buffered body can be read more than once
+    Assert.assertEquals(errorBody, TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+    Assert.assertEquals(errorBody, TestSuccessFactorsUtil.convertInputStreamToString(response.getResponseStream()));
+  }
+
   @Test
   public void testInvalidHost() throws TransportException {
     successFactorsURL = new SuccessFactorsUrlContainer(pluginConfigBuilder.baseURL("http://INVALID-HOST").build());
@@ -268,7 +562,7 @@ public class SuccessFactorsTransporterTest {
                                                  1, 3, 2, retryCount);
     } finally {
       verify(transporterSpy, times(retryCount + 1))
-        .retrySapTransportCall(Mockito.any(URL.class), Mockito.anyString());
+        .retrySapTransportCall(Mockito.any(URL.class), Mockito.anyString(), Mockito.anyMap());
     }
   }
 }
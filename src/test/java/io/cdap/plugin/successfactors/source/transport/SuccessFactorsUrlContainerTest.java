@@ -80,4 +80,59 @@ public class SuccessFactorsUrlContainerTest {
     URL actualUrl = urlContainer.getTesterURL();
     Assert.assertEquals(expectedUrl, actualUrl.toString());
   }
+
+  @Test
+  public void testGetURLWithPartitionFilter() {
+    SuccessFactorsUrlContainer urlContainer = new SuccessFactorsUrlContainer(pluginConfig);
+    urlContainer.setPartitionFilter("userId ge 'A'");
+    String expectedUrl = "https://baseurl/entityName/$count?%24filter=%28filterOption%29%20and%20%28userId%20ge" +
+      "%20%27A%27%29";
+    Assert.assertEquals(expectedUrl, urlContainer.getTotalRecordCountURL().toString());
+  }
+
+  @Test
+  public void testGetDataFetchURLWithKeysetStart() {
+    SuccessFactorsUrlContainer urlContainer = new SuccessFactorsUrlContainer(pluginConfig);
+    urlContainer.setKeysetColumn("userId");
+    urlContainer.setKeysetStart("'gsteward'");
+    String expectedUrl = "https://baseurl/entityName?%24filter=%28filterOption%29%20and%20%28userId%20gt" +
+      "%20%27gsteward%27%29&%24select=selectOption%2CexpandOption&%24expand=expandOption&%24orderby=userId" +
+      "&%24top=100";
+    Assert.assertEquals(expectedUrl, urlContainer.getDataFetchURL(null, 100L).toString());
+  }
+
+  @Test
+  public void testGetURLWithIncrementalFilter() {
+    SuccessFactorsUrlContainer urlContainer = new SuccessFactorsUrlContainer(pluginConfig);
+    urlContainer.setIncrementalFilter("lastModifiedDateTime gt datetime'2024-01-01T00:00'");
+    urlContainer.setPartitionFilter("userId ge 'A'");
+    String expectedUrl = "https://baseurl/entityName/$count?%24filter=%28filterOption%29%20and%20%28" +
+      "lastModifiedDateTime%20gt%20datetime%272024-01-01T00%3A00%27%29%20and%20%28userId%20ge%20%27A%27%29";
+    Assert.assertEquals(expectedUrl, urlContainer.getTotalRecordCountURL().toString());
+  }
+
+  @Test
+  public void testGetHighWatermarkURL() {
+    SuccessFactorsUrlContainer urlContainer = new SuccessFactorsUrlContainer(pluginConfig);
+    urlContainer.setIncrementalFilter("lastModifiedDateTime gt datetime'2024-01-01T00:00'");
+    String expectedUrl = "https://baseurl/entityName?%24filter=filterOption&%24select=lastModifiedDateTime" +
+      "&%24orderby=lastModifiedDateTime%20desc&%24top=1";
+    Assert.assertEquals(expectedUrl, urlContainer.getHighWatermarkURL("lastModifiedDateTime").toString());
+  }
+
+  @Test
+  public void testGetPartitionBoundaryURL() {
+    SuccessFactorsUrlContainer urlContainer = new SuccessFactorsUrlContainer(pluginConfig);
+    String expectedUrl = "https://baseurl/entityName?%24filter=filterOption&%24select=userId&%24orderby=userId" +
+      "&%24skip=500&%24top=1";
+    Assert.assertEquals(expectedUrl, urlContainer.getPartitionBoundaryURL("userId", 500L).toString());
+  }
+
+  @Test
+  public void testGetBatchURLAndRequestPath() {
+    SuccessFactorsUrlContainer urlContainer = new SuccessFactorsUrlContainer(pluginConfig);
+    Assert.assertEquals("https://baseurl/$batch", urlContainer.getBatchURL().toString());
+    Assert.assertEquals("entityName/$count?%24filter=filterOption",
+                        urlContainer.getBatchRequestPath(urlContainer.getTotalRecordCountURL()));
+  }
 }